@@ -2,6 +2,8 @@ package com.example.task_management_api;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.annotation.ImportRuntimeHints;
+import com.example.task_management_api.config.TaskRuntimeHints;
 
 /******************************************************************************
  *
@@ -10,14 +12,17 @@ import org.springframework.boot.autoconfigure.SpringBootApplication;
  *           also directly throw HTTP errors for the controller to answer directly. That is not
  *           proper separation of concerns, but enough to get this toy project going.
  * 
- * @implNote No injection of specific repository implementation via interface atm. Would be better
- *           to allow different implementations (e.g. in-memory, database, mock for testing). But
- *           simplicity first.
+ * @implNote The repository implementation is selected via configuration in
+ *           config/RepositoryConfig.java and injected via the TaskRepository interface.
+ *
+ * @implNote Reflection metadata for GraalVM native images is registered in
+ *           config/TaskRuntimeHints.java.
  *
  ******************************************************************************/
 
 
 @SpringBootApplication
+@ImportRuntimeHints(TaskRuntimeHints.class)
 public class TaskManagementApiApplication {
 
     public static void main(String[] args) {
@@ -0,0 +1,77 @@
+package com.example.task_management_api.cluster;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.List;
+import jakarta.servlet.http.HttpServletRequest;
+
+
+/**
+ * Marks and recognizes requests forwarded between the nodes of a cluster. Forwarded requests are
+ * answered from the local partition only and are not rate limited again, so a client must not be
+ * able to pass one off as forwarded.
+ * <p>
+ * Nodes send the {@value ClusteredTaskService#FORWARDED_HEADER} header with the shared secret
+ * {@code tasks.cluster.secret} as value, or their own base URL if no secret is configured. A
+ * request counts as forwarded only if cluster mode is on and the header carries that secret,
+ * respectively the base URL of one of the configured nodes.
+ * </p>
+ *
+ * @implNote Without a secret, anybody who knows a node's base URL can send a forwarded request.
+ *           Configure a secret unless the nodes are only reachable from a trusted network.
+ */
+
+public final class ClusterForwarding {
+
+    /**
+     * Constructor.
+     *
+     * @param nodes Base URLs of all nodes of the cluster, empty in single instance mode.
+     * @param self Base URL of this node, empty in single instance mode.
+     * @param secret Shared secret of the nodes, empty to identify the nodes by base URL.
+     */
+    public ClusterForwarding(List<String> nodes, String self, String secret) {
+        this.nodes = List.copyOf(nodes);
+        this.self = self;
+        this.secret = secret == null || secret.isEmpty() ? null : secret;
+    }
+
+    /**
+     * Get the value of the {@value ClusteredTaskService#FORWARDED_HEADER} header this node sends.
+     *
+     * @return The shared secret, or the base URL of this node if there is none.
+     */
+    public String headerValue() {
+        return secret != null ? secret : self;
+    }
+
+    /**
+     * Check whether a request was forwarded by a node of the cluster.
+     *
+     * @param request The request.
+     *
+     * @return true if cluster mode is on and the request carries a valid
+     *         {@value ClusteredTaskService#FORWARDED_HEADER} header.
+     */
+    public boolean isForwarded(HttpServletRequest request) {
+        String value = request.getHeader(ClusteredTaskService.FORWARDED_HEADER);
+        if (value == null || nodes.isEmpty()) {
+            return false;
+        }
+        if (secret != null) {
+            // constant time, so the secret cannot be guessed byte by byte
+            return MessageDigest.isEqual(value.getBytes(StandardCharsets.UTF_8),
+                    secret.getBytes(StandardCharsets.UTF_8));
+        }
+        return nodes.contains(value);
+    }
+
+
+    // ------------------------------------------------------------------------
+    // Private section from here on
+    // ------------------------------------------------------------------------
+
+    private final List<String> nodes;
+    private final String self;
+    private final String secret;
+}
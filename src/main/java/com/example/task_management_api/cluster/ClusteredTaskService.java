@@ -0,0 +1,534 @@
+package com.example.task_management_api.cluster;
+
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestClient;
+import org.springframework.web.client.RestClientResponseException;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.server.ResponseStatusException;
+import com.example.task_management_api.dataset.TaskGenerator;
+import com.example.task_management_api.model.Task;
+import com.example.task_management_api.model.TaskDelta;
+import com.example.task_management_api.model.TaskLookup;
+import com.example.task_management_api.repository.TaskRepository;
+import com.example.task_management_api.service.TaskService;
+import jakarta.annotation.PreDestroy;
+
+
+/**
+ * Routing layer in front of {@link TaskService} for a cluster of API instances, each holding one
+ * partition of the tasks. Replaces the plain TaskService when {@code tasks.cluster.nodes} is set.
+ * <p>
+ * Tasks are partitioned by UUID over the nodes with a {@link ConsistentHashRing}. Single-task
+ * operations (get, delete) are forwarded to the owning node, multi-gets are split into one lookup
+ * per owning node; listings, count and emptiness are scatter-gathered over all nodes in parallel.
+ * </p>
+ * <p>
+ * The (title, author) uniqueness check stays correct across partitions: creates are forwarded to
+ * the node owning the hash of (title, author), and that node picks the UUID of the new task so
+ * that the task is also owned by itself. All tasks with the same (title, author) therefore live on
+ * the same node, where the local check sees them.
+ * </p>
+ * <p>
+ * Forwarded requests carry the {@value #FORWARDED_HEADER} header and are answered locally by the
+ * receiving node. Requests with a header not matching the cluster's (see {@link ClusterForwarding})
+ * are treated like any client request.
+ * </p>
+ *
+ * @implNote The predefined tasks are seeded on the node owning their (title, author), like created
+ *           tasks. They keep their hardcoded UUID only if that node also owns it, otherwise they
+ *           get a UUID derived from it that the node owns.
+ * @implNote Delta sync is not supported across nodes, as every node has its own versions.
+ */
+
+@Service
+@ConditionalOnExpression("!'${tasks.cluster.nodes:}'.isEmpty()")
+public class ClusteredTaskService extends TaskService {
+
+    /**
+     * Header marking requests forwarded by another cluster node.
+     */
+    public static final String FORWARDED_HEADER = "X-Task-Cluster-Forwarded";
+
+    /**
+     * Constructor.
+     *
+     * @param taskRepository The repository holding the partition of this node.
+     * @param self Base URL of this node, must be contained in nodes.
+     * @param nodes Base URLs of all nodes of the cluster.
+     * @param virtualNodes Number of positions per node on the hash ring.
+     * @param secret Shared secret marking forwarded requests, see {@link ClusterForwarding}.
+     * @param restClientBuilder Builder for the HTTP clients to the other nodes.
+     */
+    public ClusteredTaskService(TaskRepository taskRepository,
+            @Value("${tasks.cluster.self}") String self,
+            @Value("${tasks.cluster.nodes}") List<String> nodes,
+            @Value("${tasks.cluster.virtual-nodes:128}") int virtualNodes,
+            @Value("${tasks.cluster.secret:}") String secret,
+            RestClient.Builder restClientBuilder) {
+        super(taskRepository);
+        if (!nodes.contains(self)) {
+            throw new IllegalStateException(
+                    "tasks.cluster.self '" + self + "' is not one of tasks.cluster.nodes " + nodes);
+        }
+        this.taskRepository = taskRepository;
+        this.self = self;
+        this.ring = new ConsistentHashRing<>(nodes, virtualNodes);
+        this.forwarding = new ClusterForwarding(nodes, self, secret);
+        for (String node : nodes) {
+            if (!node.equals(self)) {
+                clients.put(node, restClientBuilder.clone()
+                        .baseUrl(node)
+                        .defaultHeader(FORWARDED_HEADER, forwarding.headerValue())
+                        .build());
+            }
+        }
+    }
+
+    /**
+     * At startup, seeds the predefined tasks owned by this node, if the local partition is empty.
+     */
+    @Override
+    public void initializeTasks() {
+        if (super.isEmpty()) {
+            createOwnedPredefinedTasks();
+        }
+    }
+
+    // Create
+
+    @Override
+    public Task createTask(String title, String author, String project, String status,
+            String description) {
+        String owner = ring.ownerOf(title, author);
+        if (isForwarded() || owner.equals(self)) {
+            return super.createTask(title, author, project, status, description);
+        }
+        Map<String, String> request = new LinkedHashMap<>();
+        request.put("title", title);
+        request.put("author", author);
+        request.put("project", project);
+        request.put("status", status);
+        request.put("description", description);
+        return remote(owner, client -> client.post()
+                .uri("/tasks")
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(request)
+                .retrieve()
+                .body(Task.class));
+    }
+
+    /**
+     * Not supported: the bulk loader writes into the local partition, also tasks owned by other
+     * nodes.
+     */
+    @Override
+    public long createGeneratedTasks(TaskGenerator generator, long count) {
+        throw new ResponseStatusException(HttpStatus.NOT_IMPLEMENTED,
+                "Generating tasks is not supported in cluster mode.");
+    }
+
+    /**
+     * Not supported: the bulk loader writes into the local partition, also tasks owned by other
+     * nodes.
+     */
+    @Override
+    public long importTasks(InputStream ndjson) {
+        throw new ResponseStatusException(HttpStatus.NOT_IMPLEMENTED,
+                "Importing tasks is not supported in cluster mode.");
+    }
+
+    // Read
+
+    @Override
+    public List<Task> getAllTasks() {
+        if (isForwarded()) {
+            return super.getAllTasks();
+        }
+        return flatten(scatter(super::getAllTasks, client -> client.get()
+                .uri("/tasks")
+                .retrieve()
+                .body(TASK_LIST)));
+    }
+
+    @Override
+    public List<Task> getTasksByStatus(String status) {
+        if (isForwarded()) {
+            return super.getTasksByStatus(status);
+        }
+        return flatten(scatter(() -> super.getTasksByStatus(status), client -> client.get()
+                .uri(uri -> uri.path("/tasks").queryParam("status", status).build())
+                .retrieve()
+                .body(TASK_LIST)));
+    }
+
+    @Override
+    public TaskDelta getTasksChangedSince(long version) {
+        if (isForwarded()) {
+            return super.getTasksChangedSince(version);
+        }
+        throw new ResponseStatusException(HttpStatus.NOT_IMPLEMENTED,
+                "Delta sync is not supported in cluster mode.");
+    }
+
+    @Override
+    public Task getTaskById(UUID id) {
+        String owner = ring.ownerOf(id);
+        if (isForwarded() || owner.equals(self)) {
+            return super.getTaskById(id);
+        }
+        return remote(owner, client -> client.get()
+                .uri("/tasks/{id}", id)
+                .retrieve()
+                .body(Task.class));
+    }
+
+    /**
+     * Versions are per node, so versions of tasks are only available on forwarded requests.
+     * 
+     * @return the version on forwarded requests, -1 otherwise
+     */
+    @Override
+    public long getTaskVersion(UUID id) {
+        return isForwarded() ? super.getTaskVersion(id) : -1;
+    }
+
+    @Override
+    public CompletableFuture<Void> watchTask(UUID id, long version) {
+        if (isForwarded()) {
+            return super.watchTask(id, version);
+        }
+        throw new ResponseStatusException(HttpStatus.NOT_IMPLEMENTED,
+                "Watching tasks is not supported in cluster mode.");
+    }
+
+    /**
+     * Groups the IDs by owning node and looks them up with one request per node, in parallel. The
+     * merged result keeps the order of the request.
+     */
+    @Override
+    public TaskLookup lookupTasks(Collection<UUID> ids) {
+        if (isForwarded()) {
+            return super.lookupTasks(ids);
+        }
+        Set<UUID> distinct = new LinkedHashSet<>(ids);
+        Map<String, List<UUID>> byOwner = new LinkedHashMap<>();
+        for (UUID id : distinct) {
+            byOwner.computeIfAbsent(ring.ownerOf(id), node -> new ArrayList<>()).add(id);
+        }
+        if (byOwner.size() == 1 && byOwner.containsKey(self)) {
+            return super.lookupTasks(byOwner.get(self));
+        }
+        List<CompletableFuture<TaskLookup>> futures = new ArrayList<>(byOwner.size());
+        for (Map.Entry<String, List<UUID>> entry : byOwner.entrySet()) {
+            if (!entry.getKey().equals(self)) {
+                futures.add(CompletableFuture.supplyAsync(() -> remote(entry.getKey(),
+                        client -> client.post()
+                                .uri("/tasks/lookup")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .body(Map.of("ids", entry.getValue()))
+                                .retrieve()
+                                .body(TaskLookup.class)),
+                        scatterPool));
+            }
+        }
+        Map<UUID, Task> found = new HashMap<>();
+        if (byOwner.containsKey(self)) {
+            super.lookupTasks(byOwner.get(self)).tasks()
+                    .forEach(task -> found.put(task.id(), task));
+        }
+        for (CompletableFuture<TaskLookup> future : futures) {
+            join(future).tasks().forEach(task -> found.put(task.id(), task));
+        }
+        List<Task> tasks = new ArrayList<>(found.size());
+        List<UUID> missing = new ArrayList<>();
+        for (UUID id : distinct) {
+            Task task = found.get(id);
+            if (task != null) {
+                tasks.add(task);
+            } else {
+                missing.add(id);
+            }
+        }
+        return new TaskLookup(tasks, missing);
+    }
+
+    // Update
+
+    /**
+     * Claims from the local partition first, then from the other nodes one after the other until
+     * one has a pending task. Oldest first holds per node only.
+     */
+    @Override
+    public Optional<Task> claimTask() {
+        Optional<Task> claimed = super.claimTask();
+        if (isForwarded() || claimed.isPresent()) {
+            return claimed;
+        }
+        for (String node : clients.keySet()) {
+            Task task = remote(node, client -> client.post()
+                    .uri("/tasks/claim")
+                    .retrieve()
+                    .body(Task.class));
+            if (task != null) {
+                return Optional.of(task);
+            }
+        }
+        return Optional.empty();
+    }
+
+    // Delete
+
+    @Override
+    public void deleteAllTasks() {
+        if (isForwarded()) {
+            super.deleteAllTasks();
+            return;
+        }
+        scatter(() -> {
+            super.deleteAllTasks();
+            return true;
+        }, client -> {
+            client.delete().uri("/tasks").retrieve().toBodilessEntity();
+            return true;
+        });
+    }
+
+    @Override
+    public void deleteTaskById(UUID id) {
+        String owner = ring.ownerOf(id);
+        if (isForwarded() || owner.equals(self)) {
+            super.deleteTaskById(id);
+            return;
+        }
+        remote(owner, client -> client.delete()
+                .uri("/tasks/{id}", id)
+                .retrieve()
+                .toBodilessEntity());
+    }
+
+    // Special queries empty and count
+
+    @Override
+    public long countTasks() {
+        if (isForwarded()) {
+            return super.countTasks();
+        }
+        return scatter(super::countTasks, client -> client.get()
+                .uri("/tasks/count")
+                .retrieve()
+                .body(COUNT).get("count"))
+                .stream().mapToLong(Long::longValue).sum();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        if (isForwarded()) {
+            return super.isEmpty();
+        }
+        return scatter(super::isEmpty, client -> client.get()
+                .uri("/tasks/isempty")
+                .retrieve()
+                .body(EMPTY).get("empty"))
+                .stream().allMatch(Boolean::booleanValue);
+    }
+
+    /**
+     * Versions are per node, so cluster-wide responses cannot be cached by version.
+     * 
+     * @return -1
+     */
+    @Override
+    public long currentVersion() {
+        return isForwarded() ? super.currentVersion() : -1;
+    }
+
+    /**
+     * Creates the predefined tasks on the nodes owning them.
+     */
+    @Override
+    public void createPredefinedTasks() {
+        if (isForwarded()) {
+            createOwnedPredefinedTasks();
+            return;
+        }
+        scatter(() -> {
+            createOwnedPredefinedTasks();
+            return true;
+        }, client -> {
+            client.get().uri("/tasks/populate").retrieve().toBodilessEntity();
+            return true;
+        });
+    }
+
+    /**
+     * Stop the threads used for scatter-gather.
+     */
+    @PreDestroy
+    public void shutdown() {
+        scatterPool.shutdownNow();
+    }
+
+
+    // ------------------------------------------------------------------------
+    // Private section from here on
+    // ------------------------------------------------------------------------
+
+    private static final ParameterizedTypeReference<List<Task>> TASK_LIST =
+            new ParameterizedTypeReference<>() {};
+    private static final ParameterizedTypeReference<Map<String, Long>> COUNT =
+            new ParameterizedTypeReference<>() {};
+    private static final ParameterizedTypeReference<Map<String, Boolean>> EMPTY =
+            new ParameterizedTypeReference<>() {};
+
+    // max. number of UUIDs tried to find one owned by this node
+    private static final int MAX_PLACEMENT_TRIES = 1000;
+
+    private final TaskRepository taskRepository;
+    private final String self;
+    private final ConsistentHashRing<String> ring;
+    private final ClusterForwarding forwarding;
+    private final Map<String, RestClient> clients = new LinkedHashMap<>();
+
+    // blocking HTTP calls, so not the common fork-join pool
+    private final ExecutorService scatterPool = Executors.newCachedThreadPool(r -> {
+        Thread thread = new Thread(r, "task-cluster-scatter");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+
+    /**
+     * Picks a UUID owned by this node, so that the new task lives on the same node as its (title,
+     * author) pair.
+     */
+    @Override
+    protected UUID newTaskId(String title, String author) {
+        for (int i = 0; i < MAX_PLACEMENT_TRIES; ++i) {
+            UUID id = super.newTaskId(title, author);
+            if (ring.ownerOf(id).equals(self)) {
+                return id;
+            }
+        }
+        throw new IllegalStateException("Tried " + MAX_PLACEMENT_TRIES
+                + " times to create a UUID owned by node " + self + ". Failed?");
+    }
+
+    private void createOwnedPredefinedTasks() {
+        for (Task task : predefinedTasks()) {
+            if (!ring.ownerOf(task.title(), task.author()).equals(self)) {
+                continue;
+            }
+            UUID id = task.id();
+            // derived from the hardcoded one, so that seeding again replaces instead of adding
+            for (int i = 0; !ring.ownerOf(id).equals(self); ++i) {
+                if (i == MAX_PLACEMENT_TRIES) {
+                    throw new IllegalStateException("Tried " + MAX_PLACEMENT_TRIES
+                            + " times to derive a UUID owned by node " + self + ". Failed?");
+                }
+                id = UUID.nameUUIDFromBytes(
+                        (task.id() + "/" + i).getBytes(StandardCharsets.UTF_8));
+            }
+            taskRepository.create(new Task(id, task.title(), task.author(), task.project(),
+                    task.status(), task.description(), task.createdAt(), task.updatedAt()));
+        }
+    }
+
+    private boolean isForwarded() {
+        return RequestContextHolder.getRequestAttributes()
+                instanceof ServletRequestAttributes request
+                && forwarding.isForwarded(request.getRequest());
+    }
+
+    /**
+     * Call another node, translating its HTTP errors into the same ResponseStatusException the
+     * local service would throw, with the reason given by the other node.
+     */
+    private <T> T remote(String node, Function<RestClient, T> call) {
+        try {
+            return call.apply(clients.get(node));
+        } catch (RestClientResponseException e) {
+            throw new ResponseStatusException(e.getStatusCode(), reason(e));
+        } catch (ResourceAccessException e) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE,
+                    "Cluster node " + node + " is unreachable.", e);
+        }
+    }
+
+    /**
+     * The reason of an error answer of another node: the message of Spring Boot's error body or
+     * the detail of a problem detail body, if the node includes it, the status text otherwise.
+     */
+    private static String reason(RestClientResponseException e) {
+        try {
+            Map<?, ?> body = e.getResponseBodyAs(Map.class);
+            if (body != null) {
+                for (String key : List.of("message", "detail")) {
+                    if (body.get(key) instanceof String reason && !reason.isBlank()) {
+                        return reason;
+                    }
+                }
+            }
+        } catch (RuntimeException notJson) {
+            // fall through to the status text
+        }
+        return e.getStatusText();
+    }
+
+    /**
+     * Run a query on all nodes in parallel: remotely on the other nodes, locally on this one.
+     */
+    private <T> List<T> scatter(Supplier<T> local, Function<RestClient, T> call) {
+        List<CompletableFuture<T>> futures = new ArrayList<>(clients.size());
+        for (String node : clients.keySet()) {
+            futures.add(CompletableFuture.supplyAsync(() -> remote(node, call), scatterPool));
+        }
+        List<T> results = new ArrayList<>(clients.size() + 1);
+        results.add(local.get());
+        for (CompletableFuture<T> future : futures) {
+            results.add(join(future));
+        }
+        return results;
+    }
+
+    private static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private static List<Task> flatten(List<List<Task>> lists) {
+        List<Task> tasks = new ArrayList<>();
+        lists.forEach(tasks::addAll);
+        return tasks;
+    }
+}
@@ -0,0 +1,114 @@
+package com.example.task_management_api.cluster;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.UUID;
+
+
+/**
+ * Consistent hash ring assigning keys (task UUIDs, (title, author) pairs) to cluster nodes.
+ * <p>
+ * Each node is placed on the ring at a number of virtual positions, which evens out the share of
+ * keys per node. A key belongs to the first node position at or after the key's hash, wrapping
+ * around. Adding or removing a node thus only moves the keys of its own ring segments.
+ * </p>
+ *
+ * @param <N> Type identifying a node.
+ */
+
+public class ConsistentHashRing<N> {
+
+    /**
+     * Constructor.
+     *
+     * @param nodes The nodes of the cluster. Their toString() must be unique and stable, it
+     *        determines the ring positions.
+     * @param virtualNodes Number of ring positions per node.
+     */
+    public ConsistentHashRing(Collection<N> nodes, int virtualNodes) {
+        if (nodes.isEmpty()) {
+            throw new IllegalArgumentException("A hash ring needs at least one node");
+        }
+        for (N node : nodes) {
+            for (int i = 0; i < virtualNodes; ++i) {
+                ring.put(hash(node + "#" + i), node);
+            }
+        }
+        this.nodes = List.copyOf(nodes);
+    }
+
+    /**
+     * Get the node owning a task UUID.
+     *
+     * @param id The UUID of the task.
+     *
+     * @return The owning node.
+     */
+    public N ownerOf(UUID id) {
+        return ownerOf(mix(id.getMostSignificantBits() ^ Long.rotateLeft(
+                id.getLeastSignificantBits(), 32)));
+    }
+
+    /**
+     * Get the node owning a (title, author) pair.
+     *
+     * @param title The title of the task.
+     * @param author The author of the task.
+     *
+     * @return The owning node.
+     */
+    public N ownerOf(String title, String author) {
+        return ownerOf(hash(title + '\u0000' + author));
+    }
+
+    /**
+     * Get all nodes of the ring.
+     *
+     * @return list of nodes, in the order given to the constructor
+     */
+    public List<N> nodes() {
+        return nodes;
+    }
+
+
+    // ------------------------------------------------------------------------
+    // Private section from here on
+    // ------------------------------------------------------------------------
+
+    private final NavigableMap<Long, N> ring = new TreeMap<>();
+    private final List<N> nodes;
+
+
+    private N ownerOf(long hash) {
+        Map.Entry<Long, N> entry = ring.ceilingEntry(hash);
+        return entry != null ? entry.getValue() : ring.firstEntry().getValue();
+    }
+
+    /**
+     * 64 bit FNV-1a over the UTF-8 bytes, finished with {@link #mix(long)} for better spreading.
+     */
+    private static long hash(String key) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : key.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b;
+            hash *= 0x100000001b3L;
+        }
+        return mix(hash);
+    }
+
+    /**
+     * Finalizer of MurmurHash3 (fmix64).
+     */
+    private static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
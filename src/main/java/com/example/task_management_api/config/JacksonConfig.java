@@ -1,22 +1,55 @@
 package com.example.task_management_api.config;
 
+import com.fasterxml.jackson.annotation.JsonFilter;
 import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.databind.JsonSerializer;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.databind.SerializerProvider;
 import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import com.example.task_management_api.model.Task;
 
 import java.io.IOException;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 
+/**
+ * Jackson setup for JSON and the binary wire formats Smile ({@code application/x-jackson-smile})
+ * and CBOR ({@code application/cbor}). All formats share the same configuration, so a Task looks
+ * the same in each of them; the binary formats are chosen by content negotiation via the Accept and
+ * Content-Type headers.
+ *
+ * @implNote In the binary formats Jackson writes UUIDs as 16 raw bytes instead of a 36 character
+ *           string. Timestamps stay ISO-8601 strings with seconds precision in all formats. Task is
+ *           serialized through the property filter {@link #TASK_FIELDS_FILTER}, which writes all
+ *           fields unless a request selects some (sparse fieldsets, see TaskFields).
+ */
+
 @Configuration
 public class JacksonConfig {
 
+    /**
+     * Id of the property filter applied to Task. Writes all properties unless overridden per
+     * request.
+     */
+    public static final String TASK_FIELDS_FILTER = "taskFields";
+
+    /**
+     * Mix-in attaching the property filter to Task, keeping the model free of Jackson annotations.
+     */
+    @JsonFilter(TASK_FIELDS_FILTER)
+    interface TaskFieldsMixIn {
+    }
+
     /**
      * Custom serializer for Instant that truncates to seconds (no milliseconds/nanoseconds)
      */
@@ -35,8 +68,27 @@ public class JacksonConfig {
 
     @Bean
     public ObjectMapper objectMapper() {
-        ObjectMapper mapper = new ObjectMapper();
+        return configure(new ObjectMapper());
+    }
 
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter() {
+        return new MappingJackson2SmileHttpMessageConverter(configure(new SmileMapper()));
+    }
+
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter() {
+        return new MappingJackson2CborHttpMessageConverter(configure(new CBORMapper()));
+    }
+
+    /**
+     * Apply the common configuration to a mapper of any format.
+     *
+     * @param mapper The mapper to configure.
+     *
+     * @return The same mapper, for chaining.
+     */
+    public static <M extends ObjectMapper> M configure(M mapper) {
         // Register the JavaTimeModule for Java 8 date/time types
         mapper.registerModule(new JavaTimeModule());
 
@@ -48,6 +100,11 @@ public class JacksonConfig {
         // Use ISO-8601 string format instead of timestamps
         mapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
 
+        // All Task fields by default, a subset if a request overrides the filter
+        mapper.addMixIn(Task.class, TaskFieldsMixIn.class);
+        mapper.setFilterProvider(new SimpleFilterProvider()
+                .addFilter(TASK_FIELDS_FILTER, SimpleBeanPropertyFilter.serializeAll()));
+
         return mapper;
     }
 }
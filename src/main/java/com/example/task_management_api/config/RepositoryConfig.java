@@ -0,0 +1,116 @@
+package com.example.task_management_api.config;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Set;
+import javax.sql.DataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import com.example.task_management_api.repository.TaskChangeLog;
+import com.example.task_management_api.repository.TaskRepository;
+import com.example.task_management_api.repository.TaskRepositoryCached;
+import com.example.task_management_api.repository.TaskRepositoryInMemory;
+import com.example.task_management_api.repository.TaskRepositoryJdbc;
+import com.example.task_management_api.repository.TaskRepositorySharded;
+import com.example.task_management_api.repository.TaskRepositoryTiered;
+
+/**
+ * Selects the TaskRepository implementation from configuration.
+ * <p>
+ * With {@code tasks.repository.shards=1} (default), a single {@link TaskRepositoryInMemory} is used.
+ * Higher values partition the tasks over that many independent in-memory shards, see
+ * {@link TaskRepositorySharded}. With a single shard and {@code tasks.repository.hot-capacity}
+ * above 0, cold completed tasks beyond that many are spilled to disk, see
+ * {@link TaskRepositoryTiered}.
+ * </p>
+ * <p>
+ * With the Spring profile {@code jdbc}, tasks are stored in a relational database instead, see
+ * {@link TaskRepositoryJdbc} and application-jdbc.properties.
+ * </p>
+ * <p>
+ * With {@code tasks.cache.maximum-size} above 0, the repository is wrapped in a
+ * {@link TaskRepositoryCached} caching up to that many tasks, for backends where reads cost I/O.
+ * </p>
+ */
+
+@Configuration
+public class RepositoryConfig {
+
+    /**
+     * Constructor.
+     *
+     * @param cacheSize Maximum number of tasks cached in front of the repository, 0 for no cache.
+     * @param cacheExpiry How long a cached task or listing is kept at most.
+     * @param cacheNegativeTtl How long an ID without a task is cached.
+     */
+    public RepositoryConfig(@Value("${tasks.cache.maximum-size:0}") long cacheSize,
+            @Value("${tasks.cache.expire-after-write:PT10M}") Duration cacheExpiry,
+            @Value("${tasks.cache.negative-ttl:PT10S}") Duration cacheNegativeTtl) {
+        this.cacheSize = cacheSize;
+        this.cacheExpiry = cacheExpiry;
+        this.cacheNegativeTtl = cacheNegativeTtl;
+    }
+
+    @Bean
+    @Profile("!jdbc")
+    public TaskRepository taskRepository(TaskChangeLog changeLog,
+            @Value("${tasks.repository.shards:1}") int shards,
+            @Value("${tasks.sync.tombstone-retention:PT24H}") Duration tombstoneRetention,
+            @Value("${tasks.repository.hot-capacity:0}") int hotCapacity,
+            @Value("${tasks.repository.spillable-statuses:completed}") Set<String> spillable,
+            @Value("${tasks.repository.spill-dir:${java.io.tmpdir}}") Path spillDir) {
+        if (shards <= 1 && hotCapacity > 0) {
+            return cached(new TaskRepositoryTiered(changeLog, tombstoneRetention, hotCapacity,
+                    spillable, spillDir));
+        }
+        if (shards <= 1) {
+            return cached(new TaskRepositoryInMemory(changeLog, tombstoneRetention));
+        }
+        return cached(new TaskRepositorySharded(shards, changeLog, tombstoneRetention));
+    }
+
+    @Bean
+    @Profile("jdbc")
+    public TaskRepository jdbcTaskRepository(TaskChangeLog changeLog, DataSource dataSource,
+            @Value("${tasks.sync.tombstone-retention:PT24H}") Duration tombstoneRetention,
+            @Value("${tasks.jdbc.batch-size:500}") int batchSize,
+            @Value("${tasks.jdbc.fetch-size:1000}") int fetchSize) {
+        return cached(new TaskRepositoryJdbc(dataSource, changeLog, tombstoneRetention, batchSize,
+                fetchSize));
+    }
+
+    /**
+     * Metrics of the cache in front of the repository ({@code tasks.cache.*}), if any.
+     *
+     * @param taskRepository The repository bean.
+     * @return binder registering the metrics of the cache, a no-op without cache
+     */
+    @Bean
+    public MeterBinder taskRepositoryCacheMetrics(TaskRepository taskRepository) {
+        return registry -> {
+            if (taskRepository instanceof TaskRepositoryCached cache) {
+                cache.bindTo(registry);
+            }
+        };
+    }
+
+
+    // ------------------------------------------------------------------------
+    // Private section from here on
+    // ------------------------------------------------------------------------
+
+    private final long cacheSize;
+    private final Duration cacheExpiry;
+    private final Duration cacheNegativeTtl;
+
+
+    private TaskRepository cached(TaskRepository repository) {
+        if (cacheSize <= 0) {
+            return repository;
+        }
+        return new TaskRepositoryCached(repository, cacheSize, cacheExpiry, cacheNegativeTtl);
+    }
+}
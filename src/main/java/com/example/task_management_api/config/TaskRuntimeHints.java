@@ -0,0 +1,41 @@
+package com.example.task_management_api.config;
+
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import com.example.task_management_api.controller.TaskController.TaskCreateRequest;
+import com.example.task_management_api.controller.TaskController.TaskLookupRequest;
+import com.example.task_management_api.model.Task;
+import com.example.task_management_api.model.TaskDelta;
+import com.example.task_management_api.model.TaskLookup;
+import com.example.task_management_api.model.TaskTombstone;
+import com.example.task_management_api.repository.TaskChangeEvent;
+
+
+/**
+ * Reflection metadata for a GraalVM native image ({@code ./mvnw -Pnative native:compile}).
+ * <p>
+ * Spring AOT infers most hints from the controllers, but not everything reached reflectively at
+ * runtime: Jackson binds the records via their components and canonical constructors (also for
+ * Smile and CBOR), including the {@link TaskChangeEvent} sent on the change stream, which no
+ * handler signature names, and the multi-get types {@link TaskLookupRequest} and
+ * {@link TaskLookup}, hidden behind the MappingJacksonValue the lookup returns. {@link JacksonConfig.InstantSecondsSerializer} is instantiated by Jackson, and
+ * the filter annotation of {@link JacksonConfig.TaskFieldsMixIn} is read reflectively.
+ * {@link TaskCreateRequest} validates itself without reflection, see
+ * {@link TaskCreateRequest#violations()}.
+ * </p>
+ */
+
+public class TaskRuntimeHints implements RuntimeHintsRegistrar {
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        new BindingReflectionHintsRegistrar().registerReflectionHints(hints.reflection(),
+                Task.class, TaskCreateRequest.class, TaskDelta.class, TaskTombstone.class,
+                TaskChangeEvent.class, TaskLookupRequest.class, TaskLookup.class);
+        hints.reflection().registerType(JacksonConfig.InstantSecondsSerializer.class,
+                MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS);
+        hints.reflection().registerType(JacksonConfig.TaskFieldsMixIn.class);
+    }
+}
@@ -0,0 +1,195 @@
+package com.example.task_management_api.controller;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+import com.example.task_management_api.service.TaskService;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+
+/**
+ * Collapses concurrent identical task listings ({@code GET /tasks} with any parameters) into one
+ * computation (single-flight).
+ * <p>
+ * The first request for a key (leader) runs the listing as usual and captures the encoded response.
+ * Identical requests arriving while it is in progress (followers) wait for it and get a copy of
+ * the same bytes, without querying the repository or serializing again. Only successful responses
+ * are shared; followers of a failed leader run their own request. So do followers that waited
+ * longer than {@code tasks.coalescing.follower-timeout}, so that a hanging leader does not hold
+ * their threads indefinitely.
+ * </p>
+ * <p>
+ * The key contains the repository version read when the request arrives, besides query string and
+ * the headers the response depends on. This is {@link TaskService#currentVersion()}, which counts
+ * every acknowledged write, not the change-log watermark that stops at the oldest write still in
+ * progress. A request arriving after a write has been acknowledged sees a later version than any
+ * request before the write, so it can only join a flight whose leader started after the write and
+ * therefore sees it too. No stale data is served.
+ * </p>
+ * <p>
+ * Metrics: {@code tasks.coalescing.requests} with tag role=leader or role=follower. The coalescing
+ * ratio is followers / (leaders + followers).
+ * </p>
+ */
+
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE - 1)
+public class CoalescingFilter extends OncePerRequestFilter implements MeterBinder {
+
+    /**
+     * Constructor.
+     *
+     * @param taskService The service providing the repository version.
+     * @param followerTimeout How long a follower waits for the leader before running the request
+     *        itself.
+     */
+    public CoalescingFilter(TaskService taskService,
+            @Value("${tasks.coalescing.follower-timeout:PT5S}") Duration followerTimeout) {
+        this.taskService = taskService;
+        this.followerTimeoutNanos = followerTimeout.toNanos();
+    }
+
+    /**
+     * Get the number of requests that computed their response.
+     *
+     * @return number of leaders
+     */
+    public long leaderCount() {
+        return leaders.sum();
+    }
+
+    /**
+     * Get the number of requests that got the response of a concurrent identical request.
+     *
+     * @return number of followers
+     */
+    public long followerCount() {
+        return followers.sum();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("tasks.coalescing.requests", leaders, LongAdder::sum)
+                .tag("role", "leader")
+                .description("Task listings computed")
+                .register(registry);
+        FunctionCounter.builder("tasks.coalescing.requests", followers, LongAdder::sum)
+                .tag("role", "follower")
+                .description("Task listings answered with the result of a concurrent request")
+                .register(registry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !"GET".equals(request.getMethod()) || !"/tasks".equals(request.getRequestURI());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+            FilterChain chain) throws ServletException, IOException {
+        long version = taskService.currentVersion();
+        if (version < 0) {
+            chain.doFilter(request, response);
+            return;
+        }
+        String key = version + "|" + request.getQueryString() + "|"
+                + request.getHeader(HttpHeaders.ACCEPT) + "|"
+                + request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+        CompletableFuture<Captured> flight = new CompletableFuture<>();
+        CompletableFuture<Captured> existing = flights.putIfAbsent(key, flight);
+        if (existing != null) {
+            Captured captured = await(existing); // null if the leader failed or did not answer 200
+            if (captured != null) {
+                followers.increment();
+                captured.writeTo(response);
+            } else {
+                chain.doFilter(request, response);
+            }
+            return;
+        }
+
+        leaders.increment();
+        try {
+            ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+            chain.doFilter(request, wrapper);
+            flight.complete(wrapper.getStatus() == HttpStatus.OK.value()
+                    ? new Captured(wrapper.getContentType(),
+                            wrapper.getHeader(HttpHeaders.CONTENT_ENCODING),
+                            wrapper.getHeader(HttpHeaders.VARY), wrapper.getContentAsByteArray())
+                    : null);
+            wrapper.copyBodyToResponse();
+        } finally {
+            flight.complete(null); // no-op unless the chain threw
+            flights.remove(key, flight);
+        }
+    }
+
+
+    // ------------------------------------------------------------------------
+    // Private section from here on
+    // ------------------------------------------------------------------------
+
+    private final TaskService taskService;
+    private final long followerTimeoutNanos;
+    private final Map<String, CompletableFuture<Captured>> flights = new ConcurrentHashMap<>();
+    private final LongAdder leaders = new LongAdder();
+    private final LongAdder followers = new LongAdder();
+
+
+    /**
+     * Wait for the leader's response, at most the follower timeout.
+     *
+     * @return The response, null if there is none to share or the wait is over.
+     */
+    private Captured await(CompletableFuture<Captured> flight) {
+        try {
+            return flight.get(followerTimeoutNanos, TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        } catch (ExecutionException e) {
+            return null; // not completed exceptionally by the leader, just to be safe
+        }
+    }
+
+    /**
+     * A successful response as encoded by the leader.
+     */
+    private record Captured(String contentType, String contentEncoding, String vary, byte[] body) {
+
+        void writeTo(HttpServletResponse response) throws IOException {
+            response.setStatus(HttpStatus.OK.value());
+            response.setContentType(contentType);
+            if (contentEncoding != null) {
+                response.setHeader(HttpHeaders.CONTENT_ENCODING, contentEncoding);
+            }
+            if (vary != null) {
+                response.setHeader(HttpHeaders.VARY, vary);
+            }
+            response.setContentLength(body.length);
+            response.getOutputStream().write(body);
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package com.example.task_management_api.controller;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.GZIPOutputStream;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+import com.example.task_management_api.service.TaskService;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+
+/**
+ * Serves the full task listing ({@code GET /tasks} without parameters) from a gzip compressed
+ * cache, so a large listing is serialized and compressed once per repository version instead of on
+ * every request.
+ * <p>
+ * Entries are keyed by the Accept header (one per wire format) and tagged with the repository
+ * version they were rendered at ({@link TaskService#currentVersion()}, which covers every write
+ * already acknowledged). A request at a different version renders the listing again and replaces
+ * the entry. Only requests accepting gzip with a q-value above 0 are served from the cache.
+ * Responses below {@code server.compression.min-response-size} are neither cached nor compressed
+ * here; all other responses are left to the regular Tomcat compression, which skips responses that
+ * already carry a Content-Encoding.
+ * </p>
+ *
+ * @implNote The version is read before the listing is rendered, so an entry can only be newer than
+ *           its tag, never older. Such an entry is simply rendered again on the next request.
+ */
+
+@Component
+public class PrecompressedListingFilter extends OncePerRequestFilter {
+
+    /**
+     * Constructor.
+     *
+     * @param taskService The service providing the repository version.
+     * @param minResponseSize Responses smaller than this are not compressed.
+     */
+    public PrecompressedListingFilter(TaskService taskService,
+            @Value("${server.compression.min-response-size:2KB}") DataSize minResponseSize) {
+        this.taskService = taskService;
+        this.minResponseSize = minResponseSize.toBytes();
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !"GET".equals(request.getMethod()) || !"/tasks".equals(request.getRequestURI())
+                || request.getQueryString() != null
+                || !acceptsGzip(request.getHeader(HttpHeaders.ACCEPT_ENCODING));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+            FilterChain chain) throws ServletException, IOException {
+        long version = taskService.currentVersion();
+        if (version < 0) {
+            chain.doFilter(request, response);
+            return;
+        }
+        String key = String.valueOf(request.getHeader(HttpHeaders.ACCEPT));
+        Entry entry = cache.get(key);
+        if (entry == null || entry.version() != version) {
+            ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+            chain.doFilter(request, wrapper);
+            if (wrapper.getStatus() != HttpStatus.OK.value()
+                    || wrapper.getContentSize() < minResponseSize) {
+                wrapper.copyBodyToResponse();
+                return;
+            }
+            entry = new Entry(version, wrapper.getContentType(),
+                    gzip(wrapper.getContentAsByteArray()));
+            if (cache.size() < MAX_ENTRIES || cache.containsKey(key)) {
+                cache.put(key, entry);
+            }
+        }
+        response.setStatus(HttpStatus.OK.value());
+        response.setContentType(entry.contentType());
+        response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+        // keyed by Accept as well: shared caches must not serve one wire format for another
+        response.setHeader(HttpHeaders.VARY,
+                HttpHeaders.ACCEPT + ", " + HttpHeaders.ACCEPT_ENCODING);
+        response.setContentLength(entry.body().length);
+        response.getOutputStream().write(entry.body());
+    }
+
+
+    // ------------------------------------------------------------------------
+    // Private section from here on
+    // ------------------------------------------------------------------------
+
+    /** Bound on distinct Accept headers, protects against clients sending arbitrary values. */
+    private static final int MAX_ENTRIES = 16;
+
+    private final TaskService taskService;
+    private final long minResponseSize;
+    private final Map<String, Entry> cache = new ConcurrentHashMap<>();
+
+
+    private record Entry(long version, String contentType, byte[] body) {
+    }
+
+    /**
+     * Check whether an Accept-Encoding header allows gzip: listed with a q-value above 0, or not
+     * listed and * above 0.
+     */
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        Double gzip = null;
+        Double any = null;
+        for (String element : acceptEncoding.split(",")) {
+            String[] parts = element.split(";");
+            String coding = parts[0].trim().toLowerCase(Locale.ROOT);
+            double q = 1;
+            for (int i = 1; i < parts.length; ++i) {
+                String parameter = parts[i].trim();
+                if (parameter.length() > 2 && parameter.regionMatches(true, 0, "q=", 0, 2)) {
+                    try {
+                        q = Double.parseDouble(parameter.substring(2).trim());
+                    } catch (NumberFormatException e) {
+                        q = 0; // a malformed q-value refuses the coding
+                    }
+                }
+            }
+            if (coding.equals("gzip") || coding.equals("x-gzip")) {
+                gzip = q;
+            } else if (coding.equals("*")) {
+                any = q;
+            }
+        }
+        return gzip != null ? gzip > 0 : any != null && any > 0;
+    }
+
+    private static byte[] gzip(byte[] content) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(content.length / 4 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(content);
+        }
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.task_management_api.controller;
+
+import org.springframework.context.annotation.Lazy;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import com.example.task_management_api.service.TaskChangeStreamer;
+
+
+/**
+ * REST controller for the change data capture stream of the task repository. Kept separate from
+ * {@link TaskController} as it serves a long-lived event stream instead of request / response.
+ */
+
+@RestController
+@RequestMapping("/tasks/changes")
+public class TaskChangeController {
+
+    /**
+     * Constructor for TaskChangeController, injecting the TaskChangeStreamer.
+     *
+     * @param changeStreamer The service streaming repository changes. Injected as lazy proxy, the
+     *        streamer is only created on first use.
+     */
+
+    public TaskChangeController(@Lazy TaskChangeStreamer changeStreamer) {
+        this.changeStreamer = changeStreamer;
+    }
+
+    /**
+     * Stream task mutations as Server-Sent Events.
+     *
+     * @param since Optional query parameter: sequence number after which to resume. If neither this
+     *        nor Last-Event-ID is given, only new events are streamed.
+     * @param lastEventId Optional header sent by reconnecting SSE clients. Takes precedence over
+     *        since.
+     *
+     * @return The SSE stream. Emits a "resync" event and completes if the client fell too far behind
+     *         and must re-read GET /tasks.
+     */
+
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamChanges(
+            @RequestParam(name = "since", required = false) Long since,
+            @RequestHeader(name = "Last-Event-ID", required = false) Long lastEventId) {
+        return changeStreamer.subscribe(lastEventId != null ? lastEventId : since);
+    }
+
+    // ------------------------------------------------------------------------
+    // Private section from here on
+    // ------------------------------------------------------------------------
+
+
+    private final TaskChangeStreamer changeStreamer;
+
+}
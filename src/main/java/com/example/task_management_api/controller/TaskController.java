@@ -1,11 +1,18 @@
 package com.example.task_management_api.controller;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.converter.json.MappingJacksonValue;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -14,11 +21,16 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.server.ResponseStatusException;
+import com.example.task_management_api.dataset.TaskGenerator;
+import com.example.task_management_api.dataset.TaskNdjson;
 import com.example.task_management_api.model.Task;
+import com.example.task_management_api.model.TaskDelta;
+import com.example.task_management_api.model.TaskLookup;
+import com.example.task_management_api.service.TaskClaimer;
 import com.example.task_management_api.service.TaskService;
-import jakarta.validation.Valid;
-import jakarta.validation.constraints.NotBlank;
-import jakarta.validation.constraints.Pattern;
+import jakarta.servlet.http.HttpServletResponse;
 
 
 /**
@@ -30,27 +42,63 @@ import jakarta.validation.constraints.Pattern;
 @RequestMapping("/tasks")
 public class TaskController {
 
+    /**
+     * Response header carrying the version of a single task, to be passed as waitForChange.
+     */
+    public static final String VERSION_HEADER = "X-Task-Version";
+
     /**
      * Constructor for TaskController, injecting the TaskService.
      * 
      * @param taskService The service layer for task operations.
+     * @param taskClaimer The service handing out pending tasks to workers. Injected as lazy proxy,
+     *        it is only created on first use.
+     * @param maxLookupIds Maximum number of IDs accepted by one multi-get.
+     * @param maxWatchMs Upper limit in milliseconds for the timeout of a watch.
+     * @param generatorStatuses Status weights of generated tasks, see
+     *        {@link TaskGenerator.Spec#parse}.
+     * @param generatorAuthors Number of distinct authors of generated tasks.
+     * @param generatorProjects Number of distinct projects of generated tasks.
+     * @param generatorSkew Zipf exponent of the author and project popularity.
+     * @param generatorDescriptionLength Range of description lengths of generated tasks.
+     * @param maxGeneratedTasks Maximum number of tasks generated by one request.
      */
 
-    public TaskController(TaskService taskService) {
+    public TaskController(TaskService taskService, @Lazy TaskClaimer taskClaimer,
+            @Value("${tasks.lookup.max-ids:1000}") int maxLookupIds,
+            @Value("${tasks.watch.max-timeout-ms:60000}") long maxWatchMs,
+            @Value("${tasks.generator.statuses:" + TaskGenerator.DEFAULT_STATUSES + "}")
+            String generatorStatuses,
+            @Value("${tasks.generator.authors:1000}") int generatorAuthors,
+            @Value("${tasks.generator.projects:50}") int generatorProjects,
+            @Value("${tasks.generator.skew:1.0}") double generatorSkew,
+            @Value("${tasks.generator.description-length:"
+                    + TaskGenerator.DEFAULT_DESCRIPTION_LENGTH + "}")
+            String generatorDescriptionLength,
+            @Value("${tasks.generator.max-tasks:100000}") long maxGeneratedTasks) {
         this.taskService = taskService;
+        this.taskClaimer = taskClaimer;
+        this.maxLookupIds = maxLookupIds;
+        this.maxWatchMs = maxWatchMs;
+        this.generatorSpec = TaskGenerator.Spec.parse(generatorStatuses, generatorAuthors,
+                generatorProjects, generatorSkew, generatorDescriptionLength);
+        this.maxGeneratedTasks = maxGeneratedTasks;
     }
 
     /**
      * Retrieve all tasks, optionally filtered by status.
      * 
      * @param status Optional query parameter to filter tasks by their status.
+     * @param fields Optional comma separated list of the task properties to return, see
+     *        {@link TaskFields}.
      * 
      * @return A ResponseEntity containing the list of tasks (filtered if status is provided).
      */
 
     @GetMapping
-    public ResponseEntity<List<Task>> getAllTasks(
-            @RequestParam(name = "status", required = false) String status) {
+    public ResponseEntity<MappingJacksonValue> getAllTasks(
+            @RequestParam(name = "status", required = false) String status,
+            @RequestParam(name = "fields", required = false) String fields) {
         List<Task> tasks;
         if (status != null) {
             status = status.trim().toLowerCase();
@@ -60,22 +108,151 @@ public class TaskController {
         } else {
             tasks = taskService.getAllTasks();
         }
-        return ResponseEntity.ok(tasks);
+        return ResponseEntity.ok(TaskFields.project(tasks, fields));
+    }
+
+    /**
+     * Retrieve only what changed since a given repository version (delta sync). Selected instead of
+     * {@link #getAllTasks(String, String)} whenever the sinceVersion parameter is present.
+     * 
+     * @param sinceVersion The repository version the client is in sync with, 0 for a first sync.
+     * @param status Not supported together with sinceVersion, answered with 400 if present.
+     * 
+     * @return A ResponseEntity containing the delta, or all tasks flagged as full resync if the
+     *         version is older than the retained history.
+     */
+
+    @GetMapping(params = "sinceVersion")
+    public ResponseEntity<TaskDelta> getTasksChangedSince(
+            @RequestParam(name = "sinceVersion") long sinceVersion,
+            @RequestParam(name = "status", required = false) String status) {
+        if (status != null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Parameters 'sinceVersion' and 'status' cannot be combined.");
+        }
+        return ResponseEntity.ok(taskService.getTasksChangedSince(sinceVersion));
     }
 
     /**
      * Retrieve a specific task by its unique ID.
      * 
      * @param id The UUID of the task to retrieve.
+     * @param fields Optional comma separated list of the task properties to return, see
+     *        {@link TaskFields}.
      * 
-     * @return A ResponseEntity containing the found task, or 404 if not found.
+     * @return A ResponseEntity containing the found task and its version in the X-Task-Version
+     *         header, or 404 if not found.
      */
 
     @GetMapping("/{id}")
-    public ResponseEntity<Task> getTaskById(
-            @PathVariable UUID id) {
-        var task = taskService.getTaskById(id);
-        return ResponseEntity.ok(task);
+    public ResponseEntity<MappingJacksonValue> getTaskById(
+            @PathVariable UUID id,
+            @RequestParam(name = "fields", required = false) String fields) {
+        return currentTask(id, fields);
+    }
+
+    /**
+     * Wait for a specific task to change (long-poll), instead of polling
+     * {@link #getTaskById(UUID, String)}. Selected instead of it whenever the waitForChange
+     * parameter is present. The request does not hold a servlet thread while waiting.
+     * 
+     * @param id The UUID of the task to watch.
+     * @param waitForChange The version of the task the client knows, usually the X-Task-Version
+     *        header of its last response. Any repository version the client is in sync with works
+     *        as well.
+     * @param timeout How long to wait in milliseconds, capped at tasks.watch.max-timeout-ms.
+     * @param fields Optional comma separated list of the task properties to return, see
+     *        {@link TaskFields}.
+     * 
+     * @return The deferred ResponseEntity containing the task as soon as it changed after the
+     *         given version (right away if it already has), 404 if it was deleted or does not
+     *         exist, or 304 (Not Modified) if it did not change in time.
+     */
+
+    @GetMapping(path = "/{id}", params = "waitForChange")
+    public DeferredResult<ResponseEntity<MappingJacksonValue>> watchTask(
+            @PathVariable UUID id,
+            @RequestParam(name = "waitForChange") long waitForChange,
+            @RequestParam(name = "timeout", defaultValue = "30000") long timeout,
+            @RequestParam(name = "fields", required = false) String fields) {
+        CompletableFuture<Void> changed = taskService.watchTask(id, waitForChange);
+        var result = new DeferredResult<ResponseEntity<MappingJacksonValue>>(
+                Math.min(Math.max(timeout, 1), maxWatchMs));
+        result.onTimeout(() -> result.setResult(ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                .header(VERSION_HEADER, Long.toString(taskService.getTaskVersion(id)))
+                .build()));
+        // stop watching once answered, whether by change, timeout or the client going away
+        result.onCompletion(() -> changed.cancel(false));
+        // completed on the thread of the mutation, which only hands the response to the container
+        changed.thenRun(() -> {
+            try {
+                result.setResult(currentTask(id, fields));
+            } catch (RuntimeException e) {
+                result.setErrorResult(e);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Retrieve many tasks by their IDs in one request (multi-get), instead of one
+     * {@link #getTaskById(UUID, String)} per ID.
+     * 
+     * @param request The request body listing the IDs, at most tasks.lookup.max-ids.
+     * @param fields Optional comma separated list of the task properties to return, see
+     *        {@link TaskFields}.
+     * 
+     * @return A ResponseEntity containing the tasks found and the IDs missing, both in request
+     *         order. 400 if no IDs, a null ID or too many IDs are given.
+     */
+
+    @PostMapping("/lookup")
+    public ResponseEntity<MappingJacksonValue> lookupTasks(
+            @RequestBody TaskLookupRequest request,
+            @RequestParam(name = "fields", required = false) String fields) {
+        List<UUID> ids = request.ids();
+        if (ids == null || ids.isEmpty() || ids.contains(null)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Ids are required and must not contain null.");
+        }
+        if (ids.size() > maxLookupIds) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "At most " + maxLookupIds + " ids per lookup, got " + ids.size() + ".");
+        }
+        TaskLookup lookup = taskService.lookupTasks(ids);
+        return ResponseEntity.ok(TaskFields.project(lookup, fields));
+    }
+
+    /**
+     * Claim the oldest pending task (work queue): it is atomically moved to "in-progress" and
+     * returned, so that concurrent workers never get the same task.
+     * 
+     * @return A ResponseEntity containing the claimed task, or 204 (No Content) if no task is
+     *         pending.
+     */
+
+    @PostMapping("/claim")
+    public ResponseEntity<Task> claimTask() {
+        return taskClaimer.claimNow()
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.noContent().build());
+    }
+
+    /**
+     * Claim the oldest pending task, waiting for one if none is pending (long-poll). Selected
+     * instead of {@link #claimTask()} whenever the waitMs parameter is present.
+     * 
+     * @param waitMs How long to wait for a pending task in milliseconds, capped at
+     *        tasks.claim.max-wait-ms.
+     * 
+     * @return The deferred ResponseEntity containing the claimed task, or 204 (No Content) if no
+     *         task became pending in time.
+     */
+
+    @PostMapping(path = "/claim", params = "waitMs")
+    public DeferredResult<ResponseEntity<Task>> claimTaskWaiting(
+            @RequestParam(name = "waitMs") long waitMs) {
+        return taskClaimer.claim(waitMs);
     }
 
     /**
@@ -116,7 +293,12 @@ public class TaskController {
      */
     @PostMapping
     public ResponseEntity<Task> createTask(
-            @Valid @RequestBody TaskCreateRequest request) {
+            @RequestBody TaskCreateRequest request) {
+        List<String> violations = request.violations();
+        if (!violations.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    String.join("; ", violations));
+        }
         Task createdTask = taskService.createTask(
                 request.title(),
                 request.author(),
@@ -156,25 +338,84 @@ public class TaskController {
 
 
     /**
-     * Populate the system with a predefined set of tasks for testing or demonstration purposes.
+     * Populate the system with a predefined set of tasks for testing or demonstration purposes, or
+     * with n generated tasks for scale tests (see {@link TaskGenerator}, distributions configured
+     * by tasks.generator.*). Generated tasks are loaded in parallel straight into the repository,
+     * without validation or duplicate check.
+     * 
+     * @param n Optional number of tasks to generate, at most tasks.generator.max-tasks (100000
+     *        unless configured higher). Without, the predefined tasks are created.
+     * @param seed Seed of the generated tasks: the same seed gives the same tasks, so populating
+     *        again with it replaces them instead of adding more.
      * 
      * @return A ResponseEntity indicating that the tasks have been populated, with status 201
-     *         (Created).
+     *         (Created), and the number of generated tasks if any.
      */
 
     @GetMapping("/populate")
-    public ResponseEntity<Map<String, Boolean>> populate() {
-        taskService.createPredefinedTasks();
+    public ResponseEntity<Map<String, Object>> populate(
+            @RequestParam(name = "n", required = false) Long n,
+            @RequestParam(name = "seed", defaultValue = "1") long seed) {
+        if (n == null) {
+            taskService.createPredefinedTasks();
+            return ResponseEntity.status(HttpStatus.CREATED)
+                    .body(Map.of("populated", true));
+        }
+        if (n < 0 || n > maxGeneratedTasks) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "n must be between 0 and " + maxGeneratedTasks + ".");
+        }
+        long created = taskService.createGeneratedTasks(new TaskGenerator(generatorSpec, seed), n);
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .body(Map.of("populated", true, "count", created));
+    }
+
+    /**
+     * Dump all tasks as newline delimited JSON, one task per line with timestamps in full
+     * precision, to be loaded again with {@link #importTasks(InputStream)}.
+     * 
+     * @param response The response to stream the tasks to.
+     * 
+     * @throws IOException if writing the response fails.
+     */
+
+    @GetMapping(value = "/export", produces = TaskNdjson.MEDIA_TYPE)
+    public void exportTasks(HttpServletResponse response) throws IOException {
+        List<Task> tasks = taskService.getAllTasks();
+        response.setContentType(TaskNdjson.MEDIA_TYPE);
+        TaskNdjson.write(tasks.iterator(), response.getOutputStream());
+    }
+
+    /**
+     * Load tasks from newline delimited JSON, e.g. a dump of {@link #exportTasks} or a dataset
+     * written by the command line tool {@link TaskNdjson}. Loaded in parallel straight into the
+     * repository, without validation or duplicate check; tasks with the ID of an existing task
+     * replace it.
+     * 
+     * @param body The tasks, one per line.
+     * 
+     * @return A ResponseEntity with the number of imported tasks, with status 201 (Created), or
+     *         400 (Bad Request) naming the first line that is not a valid task.
+     */
+
+    @PostMapping(value = "/import", consumes = TaskNdjson.MEDIA_TYPE)
+    public ResponseEntity<Map<String, Long>> importTasks(InputStream body) {
+        long imported = taskService.importTasks(body);
         return ResponseEntity.status(HttpStatus.CREATED)
-                .body(Map.of("populated", true));
+                .body(Map.of("imported", imported));
     }
 
     /**
-     * Record representing the request body for creating a new Task. Includes validation annotations
-     * to ensure required fields are present and valid.
+     * Record representing the request body for creating a new Task. Normalizes its fields on
+     * construction and checks them in {@link #violations()}.
      * 
      * Note: description is optional and defaults to an empty string if not provided.
      * 
+     * @implNote Validation used to be done by Hibernate Validator via {@code @NotBlank} and a case
+     *           insensitive {@code @Pattern} on status. Validating by hand on the already
+     *           normalized fields avoids the reflection and the regex on every POST /tasks, with
+     *           the same messages and 400 semantics.
+     * 
      * @param title Title of the task (required, non-blank).
      * @param author Author of the task (required, non-blank).
      * @param project Project associated with the task (required, non-blank).
@@ -184,19 +425,24 @@ public class TaskController {
      */
 
     public record TaskCreateRequest(
-            @NotBlank(message = "Title is required") String title,
-            @NotBlank(message = "Author is required") String author,
-            @NotBlank(message = "Project is required") String project,
-            @NotBlank(message = "Status is required") @Pattern(
-                    regexp = "(?i)^(pending|in-progress|completed)$",
-                    message = "Status must be 'pending', 'in-progress', or 'completed'.") String status,
+            String title,
+            String author,
+            String project,
+            String status,
             String description) {
 
+        public static final String TITLE_REQUIRED = "Title is required";
+        public static final String AUTHOR_REQUIRED = "Author is required";
+        public static final String PROJECT_REQUIRED = "Project is required";
+        public static final String STATUS_REQUIRED = "Status is required";
+        public static final String STATUS_INVALID =
+                "Status must be 'pending', 'in-progress', or 'completed'.";
 
         /**
          * Canonical constructor. Using it to catch empty descriptions at entry point as well as
          * transform all strings to their stored version: lower case and trimmed for status, trimmed
          * for others. This is a design choice that would need to be discussed in a real-world.
+         * Missing required fields stay null and are reported by {@link #violations()}.
          *
          */
 
@@ -227,7 +473,9 @@ public class TaskController {
 
             // normalize inputs
 
-            status = status.trim().toLowerCase();
+            if (status != null) {
+                status = status.trim().toLowerCase();
+            }
 
             if (description == null) {
                 description = "";
@@ -235,10 +483,65 @@ public class TaskController {
                 description = description.trim();
             }
 
-            title = title.trim();
-            author = author.trim();
-            project = project.trim();
+            title = trim(title);
+            author = trim(author);
+            project = trim(project);
+        }
+
+        /**
+         * Check the normalized fields.
+         * 
+         * @return The messages of all violated constraints, empty if the request is valid.
+         */
+        public List<String> violations() {
+            List<String> violations = null;
+            if (isBlank(title)) {
+                violations = add(violations, TITLE_REQUIRED);
+            }
+            if (isBlank(author)) {
+                violations = add(violations, AUTHOR_REQUIRED);
+            }
+            if (isBlank(project)) {
+                violations = add(violations, PROJECT_REQUIRED);
+            }
+            if (isBlank(status)) {
+                violations = add(violations, STATUS_REQUIRED);
+            }
+            if (status != null) {
+                switch (status) {
+                    case "pending", "in-progress", "completed" -> {
+                        // valid
+                    }
+                    default -> violations = add(violations, STATUS_INVALID);
+                }
+            }
+            return violations == null ? List.of() : violations;
+        }
+
+        private static String trim(String value) {
+            return value == null ? null : value.trim();
         }
+
+        private static boolean isBlank(String value) {
+            return value == null || value.isEmpty();
+        }
+
+        private static List<String> add(List<String> violations, String message) {
+            if (violations == null) {
+                violations = new ArrayList<>(2);
+            }
+            violations.add(message);
+            return violations;
+        }
+    }
+
+    /**
+     * Record representing the request body of a multi-get.
+     * 
+     * @param ids The UUIDs of the tasks to retrieve.
+     */
+
+    public record TaskLookupRequest(List<UUID> ids) {
     }
 
     // ------------------------------------------------------------------------
@@ -247,5 +550,25 @@ public class TaskController {
 
 
     private final TaskService taskService;
+    private final TaskClaimer taskClaimer;
+    private final int maxLookupIds;
+    private final long maxWatchMs;
+    private final TaskGenerator.Spec generatorSpec;
+    private final long maxGeneratedTasks;
+
+
+    /**
+     * The task with its version. The version is read first: if the task changes in between, the
+     * client is answered the newer task with the older version and simply sees that change again.
+     */
+    private ResponseEntity<MappingJacksonValue> currentTask(UUID id, String fields) {
+        long version = taskService.getTaskVersion(id);
+        var task = taskService.getTaskById(id);
+        var response = ResponseEntity.ok();
+        if (version > 0) {
+            response.header(VERSION_HEADER, Long.toString(version));
+        }
+        return response.body(TaskFields.project(task, fields));
+    }
 
 }
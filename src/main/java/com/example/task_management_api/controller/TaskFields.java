@@ -0,0 +1,89 @@
+package com.example.task_management_api.controller;
+
+import java.lang.reflect.RecordComponent;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.converter.json.MappingJacksonValue;
+import org.springframework.web.server.ResponseStatusException;
+import com.example.task_management_api.config.JacksonConfig;
+import com.example.task_management_api.model.Task;
+import com.fasterxml.jackson.databind.ser.FilterProvider;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+
+
+/**
+ * Sparse fieldsets: the {@code fields} parameter of the task endpoints, e.g.
+ * {@code GET /tasks?fields=id,title,status}, restricts the serialized properties of every Task in
+ * the response to the listed ones. Works the same in all wire formats.
+ * <p>
+ * The Jackson filter for a field set is built once and cached under the normalized (sorted) field
+ * set, so {@code fields=title,id} and {@code fields=id, title} share it. With 8 Task properties
+ * there are at most 255 distinct field sets, so the cache is bounded without eviction. The
+ * serializers themselves are cached by Jackson and shared by all field sets; the filter only
+ * skips properties while writing.
+ * </p>
+ */
+
+final class TaskFields {
+
+    /**
+     * Wrap a response body, restricting Task properties to the requested fields.
+     *
+     * @param body The response body: a Task or a collection of them.
+     * @param fields Comma separated property names, or null for all properties.
+     *
+     * @return The body wrapped with the matching filter.
+     *
+     * @throws ResponseStatusException with status 400 if no or unknown fields are requested.
+     */
+    static MappingJacksonValue project(Object body, String fields) {
+        var value = new MappingJacksonValue(body);
+        if (fields != null) {
+            value.setFilters(filtersFor(fields));
+        }
+        return value;
+    }
+
+
+    // ------------------------------------------------------------------------
+    // Private section from here on
+    // ------------------------------------------------------------------------
+
+    private static final Set<String> PROPERTIES = Arrays.stream(Task.class.getRecordComponents())
+            .map(RecordComponent::getName)
+            .collect(Collectors.toUnmodifiableSet());
+
+    private static final Map<String, FilterProvider> FILTERS = new ConcurrentHashMap<>();
+
+
+    private TaskFields() {
+    }
+
+    private static FilterProvider filtersFor(String fields) {
+        Set<String> selected = new TreeSet<>();
+        for (String field : fields.split(",")) {
+            String name = field.trim();
+            if (name.isEmpty()) {
+                continue;
+            }
+            if (!PROPERTIES.contains(name)) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unknown field '" + name
+                        + "' in 'fields', must be some of " + new TreeSet<>(PROPERTIES));
+            }
+            selected.add(name);
+        }
+        if (selected.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Parameter 'fields' must list at least one field.");
+        }
+        return FILTERS.computeIfAbsent(String.join(",", selected),
+                key -> new SimpleFilterProvider().addFilter(JacksonConfig.TASK_FIELDS_FILTER,
+                        SimpleBeanPropertyFilter.filterOutAllExcept(selected)));
+    }
+}
@@ -0,0 +1,195 @@
+package com.example.task_management_api.dataset;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+import com.example.task_management_api.model.Task;
+import com.example.task_management_api.repository.TaskRepository;
+
+
+/**
+ * Loads many tasks straight into a TaskRepository, bypassing HTTP and the service layer: in
+ * batches through {@link TaskRepository#createAll(List)}, on several threads at once.
+ * <p>
+ * No validation and no duplicate check by title and author takes place, tasks with an ID already
+ * present replace the stored one. Meant for filling a store for scale tests and benchmarks with
+ * generated ({@link TaskGenerator}) or previously dumped ({@link TaskNdjson}) tasks.
+ * </p>
+ *
+ * @implNote Generated tasks are also generated on the loading threads, each claiming the next range
+ *           of indexes, so generation scales with the threads as well. Tasks read from a stream are
+ *           parsed on the calling thread, and at most two batches per thread wait to be loaded.
+ */
+
+public final class TaskBulkLoader {
+
+    /**
+     * Default number of tasks per {@link TaskRepository#createAll(List)}.
+     */
+    public static final int DEFAULT_BATCH_SIZE = 1_000;
+
+    /**
+     * Constructor.
+     *
+     * @param repository The repository to load into.
+     * @param threads Number of loading threads.
+     * @param batchSize Number of tasks per createAll.
+     */
+    public TaskBulkLoader(TaskRepository repository, int threads, int batchSize) {
+        if (threads < 1 || batchSize < 1) {
+            throw new IllegalArgumentException("Need at least one thread and one task per batch.");
+        }
+        this.repository = repository;
+        this.threads = threads;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Constructor, with a loading thread per available processor and the default batch size.
+     *
+     * @param repository The repository to load into.
+     */
+    public TaskBulkLoader(TaskRepository repository) {
+        this(repository, Runtime.getRuntime().availableProcessors(), DEFAULT_BATCH_SIZE);
+    }
+
+    /**
+     * Generate tasks 0 to {@code count - 1} of a dataset and load them.
+     *
+     * @param generator The generator of the dataset.
+     * @param count Number of tasks.
+     *
+     * @return The number of tasks loaded, {@code count}.
+     *
+     * @throws RuntimeException the first exception thrown by the repository. The other threads
+     *         stop after their current batch, tasks loaded until then stay loaded.
+     */
+    public long load(TaskGenerator generator, long count) {
+        AtomicLong next = new AtomicLong();
+        List<Future<?>> workers = new ArrayList<>(threads);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            for (int t = 0; t < threads; ++t) {
+                workers.add(executor.submit(() -> {
+                    try {
+                        for (long first; (first = next.getAndAdd(batchSize)) < count;) {
+                            repository.createAll(generator.tasks(first,
+                                    (int) Math.min(batchSize, count - first)));
+                        }
+                    } catch (RuntimeException e) {
+                        // no more ranges for the other threads
+                        next.set(count);
+                        throw e;
+                    }
+                }));
+            }
+            awaitAll(workers, executor);
+        } finally {
+            executor.shutdownNow();
+        }
+        return count;
+    }
+
+    /**
+     * Load all tasks of a stream.
+     *
+     * @param tasks The tasks, e.g. from {@link TaskNdjson#read(java.io.InputStream)}.
+     *
+     * @return The number of tasks loaded.
+     *
+     * @throws RuntimeException the first exception thrown by the stream or the repository. The
+     *         other threads stop after their current batch, tasks loaded until then stay loaded.
+     */
+    public long load(Iterator<Task> tasks) {
+        Semaphore queued = new Semaphore(2 * threads);
+        Deque<Future<?>> batches = new ArrayDeque<>();
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        long count = 0;
+        try {
+            while (tasks.hasNext()) {
+                List<Task> batch = new ArrayList<>(batchSize);
+                while (batch.size() < batchSize && tasks.hasNext()) {
+                    batch.add(tasks.next());
+                }
+                queued.acquireUninterruptibly();
+                batches.add(executor.submit(() -> {
+                    try {
+                        repository.createAll(batch);
+                    } finally {
+                        queued.release();
+                    }
+                }));
+                count += batch.size();
+                // fail early rather than parsing the rest of a stream that cannot be loaded
+                awaitDone(batches);
+            }
+            awaitAll(batches, executor);
+        } finally {
+            executor.shutdownNow();
+        }
+        return count;
+    }
+
+
+    // ------------------------------------------------------------------------
+    // Private section from here on
+    // ------------------------------------------------------------------------
+
+    private final TaskRepository repository;
+    private final int threads;
+    private final int batchSize;
+
+
+    /**
+     * Wait for all futures, stopping the others as soon as one fails, and rethrow its exception.
+     */
+    private static void awaitAll(Collection<Future<?>> futures, ExecutorService executor) {
+        for (Future<?> future : futures) {
+            try {
+                future.get();
+            } catch (ExecutionException e) {
+                executor.shutdownNow();
+                throw unwrap(e);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                executor.shutdownNow();
+                throw new IllegalStateException("Interrupted while loading tasks", e);
+            }
+        }
+    }
+
+    /**
+     * Remove the completed futures from the front, rethrowing the exception of a failed one.
+     */
+    private static void awaitDone(Deque<Future<?>> futures) {
+        while (!futures.isEmpty() && futures.peekFirst().isDone()) {
+            try {
+                futures.pollFirst().get();
+            } catch (ExecutionException e) {
+                throw unwrap(e);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while loading tasks", e);
+            }
+        }
+    }
+
+    private static RuntimeException unwrap(ExecutionException e) {
+        if (e.getCause() instanceof RuntimeException cause) {
+            return cause;
+        }
+        if (e.getCause() instanceof Error error) {
+            throw error;
+        }
+        return new IllegalStateException(e.getCause());
+    }
+}
@@ -0,0 +1,276 @@
+package com.example.task_management_api.dataset;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import com.example.task_management_api.model.Task;
+
+
+/**
+ * Generates synthetic tasks for scale tests and benchmarks, with configurable distributions of
+ * status, author, project and description length (see {@link Spec}).
+ * <p>
+ * Task number {@code i} depends only on the seed and {@code i}, not on the tasks generated before
+ * it: any range of tasks can be generated on its own, in any order or in parallel, and the same
+ * seed always gives the same dataset. Titles are "Generated task seed-i", so (title, author) is
+ * unique also across datasets with different seeds.
+ * </p>
+ *
+ * @implNote Author and project names are shared String instances, descriptions are slices of one
+ *           fixed text. Timestamps are whole seconds, as the REST API writes them.
+ */
+
+public final class TaskGenerator {
+
+    /**
+     * Distributions of the generated tasks.
+     *
+     * @param statusWeights Relative weight of each status, e.g. pending=2, completed=7.
+     * @param authors Number of distinct authors.
+     * @param projects Number of distinct projects.
+     * @param skew Zipf exponent of the author and project popularity: 0 for uniform, 1 for a few
+     *        authors and projects owning most tasks.
+     * @param minDescription Minimum description length in characters.
+     * @param maxDescription Maximum description length in characters, lengths are uniform in
+     *        between.
+     */
+    public record Spec(Map<String, Integer> statusWeights, int authors, int projects,
+            double skew, int minDescription, int maxDescription) {
+
+        public Spec {
+            statusWeights = Map.copyOf(statusWeights);
+            if (statusWeights.isEmpty() || !STATUSES.containsAll(statusWeights.keySet())
+                    || statusWeights.values().stream().anyMatch(weight -> weight < 0)
+                    || statusWeights.values().stream().mapToInt(Integer::intValue).sum() <= 0) {
+                throw new IllegalArgumentException("Status weights must be non-negative, for "
+                        + STATUSES + ", not all 0: " + statusWeights);
+            }
+            if (authors < 1 || projects < 1) {
+                throw new IllegalArgumentException("Need at least one author and one project.");
+            }
+            if (skew < 0) {
+                throw new IllegalArgumentException("Skew must not be negative: " + skew);
+            }
+            if (minDescription < 0 || maxDescription < minDescription
+                    || maxDescription > TEXT.length()) {
+                throw new IllegalArgumentException("Description length must be within 0.."
+                        + TEXT.length() + ": " + minDescription + ".." + maxDescription);
+            }
+        }
+
+        /**
+         * Parse a spec from its textual form, as in configuration and on the command line.
+         *
+         * @param statusWeights Comma separated status:weight pairs, e.g.
+         *        {@code pending:2,in-progress:1,completed:7}.
+         * @param authors Number of distinct authors.
+         * @param projects Number of distinct projects.
+         * @param skew Zipf exponent of the author and project popularity.
+         * @param descriptionLength Range of description lengths, e.g. {@code 20-200}.
+         *
+         * @return The spec.
+         *
+         * @throws IllegalArgumentException if a value is malformed or out of range.
+         */
+        public static Spec parse(String statusWeights, int authors, int projects, double skew,
+                String descriptionLength) {
+            Map<String, Integer> weights = new LinkedHashMap<>();
+            for (String pair : statusWeights.split(",")) {
+                String[] parts = pair.trim().split(":");
+                if (parts.length != 2) {
+                    throw new IllegalArgumentException("Expected status:weight, got: " + pair);
+                }
+                weights.put(parts[0].trim(), Integer.parseInt(parts[1].trim()));
+            }
+            String[] range = descriptionLength.trim().split("-");
+            if (range.length != 2) {
+                throw new IllegalArgumentException("Expected min-max, got: " + descriptionLength);
+            }
+            return new Spec(weights, authors, projects, skew, Integer.parseInt(range[0].trim()),
+                    Integer.parseInt(range[1].trim()));
+        }
+
+        /**
+         * The defaults: 20 % pending, 10 % in progress, 70 % completed, 1000 authors and 50
+         * projects with Zipf(1) popularity, descriptions of 20 to 200 characters.
+         *
+         * @return The default spec.
+         */
+        public static Spec defaults() {
+            return parse(DEFAULT_STATUSES, 1_000, 50, 1.0, DEFAULT_DESCRIPTION_LENGTH);
+        }
+    }
+
+    /**
+     * Status weights of {@link Spec#defaults()}.
+     */
+    public static final String DEFAULT_STATUSES = "pending:2,in-progress:1,completed:7";
+
+    /**
+     * Description lengths of {@link Spec#defaults()}.
+     */
+    public static final String DEFAULT_DESCRIPTION_LENGTH = "20-200";
+
+    /**
+     * Constructor.
+     *
+     * @param spec The distributions to draw from.
+     * @param seed The seed, the same seed gives the same tasks.
+     */
+    public TaskGenerator(Spec spec, long seed) {
+        this.seed = seed;
+        this.minDescription = spec.minDescription();
+        this.descriptionRange = spec.maxDescription() - spec.minDescription() + 1;
+        List<String> statuses = new ArrayList<>();
+        List<Integer> cumulative = new ArrayList<>();
+        int total = 0;
+        // sorted, so that the same spec draws the same statuses whatever the order of the map
+        for (String status : spec.statusWeights().keySet().stream().sorted().toList()) {
+            int weight = spec.statusWeights().get(status);
+            if (weight > 0) {
+                total += weight;
+                statuses.add(status);
+                cumulative.add(total);
+            }
+        }
+        this.statuses = statuses.toArray(String[]::new);
+        this.statusCumulative = cumulative.stream().mapToInt(Integer::intValue).toArray();
+        this.authors = names("Author ", spec.authors());
+        this.authorCumulative = zipfCumulative(spec.authors(), spec.skew());
+        this.projects = names("Project ", spec.projects());
+        this.projectCumulative = zipfCumulative(spec.projects(), spec.skew());
+    }
+
+    /**
+     * Generate task number {@code index} of the dataset.
+     *
+     * @param index Number of the task, from 0.
+     *
+     * @return The task.
+     */
+    public Task task(long index) {
+        SplittableRandom random = new SplittableRandom(mix(seed, index));
+        UUID id = new UUID((random.nextLong() & ~0xF000L) | 0x4000L,
+                (random.nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L);
+        String status = statuses[draw(statusCumulative, random.nextInt(
+                statusCumulative[statusCumulative.length - 1]))];
+        String author = authors[draw(authorCumulative, random.nextDouble())];
+        String project = projects[draw(projectCumulative, random.nextDouble())];
+        int length = minDescription + random.nextInt(descriptionRange);
+        int offset = random.nextInt(TEXT.length() - length + 1);
+        Instant createdAt = EPOCH.minusSeconds(random.nextLong(SPAN_SECONDS));
+        Instant updatedAt = createdAt.plusSeconds(
+                "pending".equals(status) ? 0 : random.nextLong(UPDATE_SECONDS));
+        return new Task(id, "Generated task " + seed + "-" + index, author, project, status,
+                TEXT.substring(offset, offset + length), createdAt, updatedAt);
+    }
+
+    /**
+     * Generate a consecutive range of tasks of the dataset.
+     *
+     * @param first Number of the first task.
+     * @param count Number of tasks.
+     *
+     * @return The tasks {@code first} to {@code first + count - 1}, in order.
+     */
+    public List<Task> tasks(long first, int count) {
+        List<Task> tasks = new ArrayList<>(count);
+        for (long i = first; i < first + count; ++i) {
+            tasks.add(task(i));
+        }
+        return tasks;
+    }
+
+
+    // ------------------------------------------------------------------------
+    // Private section from here on
+    // ------------------------------------------------------------------------
+
+    private static final Set<String> STATUSES = Set.of("pending", "in-progress", "completed");
+
+    // generated tasks are created within the year before, and updated within 30 days after
+    private static final Instant EPOCH = Instant.parse("2025-10-01T00:00:00Z");
+    private static final long SPAN_SECONDS = 365L * 24 * 3600;
+    private static final long UPDATE_SECONDS = 30L * 24 * 3600;
+
+    private static final String TEXT = text(4_096);
+
+    private final long seed;
+    private final int minDescription;
+    private final int descriptionRange;
+    private final String[] statuses;
+    private final int[] statusCumulative;
+    private final String[] authors;
+    private final double[] authorCumulative;
+    private final String[] projects;
+    private final double[] projectCumulative;
+
+
+    /**
+     * Seed of the random numbers of one task: the SplitMix64 finalizer of seed and index, so that
+     * tasks with neighbouring indexes draw unrelated numbers.
+     */
+    private static long mix(long seed, long index) {
+        long z = seed + (index + 1) * 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    private static String[] names(String prefix, int count) {
+        int digits = String.valueOf(count).length();
+        String[] names = new String[count];
+        for (int i = 0; i < count; ++i) {
+            names[i] = prefix + String.format("%0" + digits + "d", i + 1);
+        }
+        return names;
+    }
+
+    /**
+     * Cumulative Zipf distribution, normalized to 1: rank i has weight 1 / (i + 1)^skew.
+     */
+    private static double[] zipfCumulative(int n, double skew) {
+        double[] cumulative = new double[n];
+        double sum = 0;
+        for (int i = 0; i < n; ++i) {
+            sum += Math.pow(i + 1, -skew);
+            cumulative[i] = sum;
+        }
+        for (int i = 0; i < n; ++i) {
+            cumulative[i] /= sum;
+        }
+        return cumulative;
+    }
+
+    private static int draw(double[] cumulative, double uniform) {
+        int index = Arrays.binarySearch(cumulative, uniform);
+        return Math.min(index >= 0 ? index + 1 : -index - 1, cumulative.length - 1);
+    }
+
+    private static int draw(int[] cumulative, int uniform) {
+        int index = Arrays.binarySearch(cumulative, uniform);
+        return index >= 0 ? index + 1 : -index - 1;
+    }
+
+    /**
+     * Filler text of the given length, words from a fixed list in a fixed pseudo-random order.
+     */
+    private static String text(int length) {
+        String[] words = ("task implement review test deploy design document refactor fix "
+                + "update migrate schema endpoint service client server cache index query "
+                + "release customer report metric alert backlog sprint estimate feature bug "
+                + "database network security login payment order invoice search upload").split(" ");
+        SplittableRandom random = new SplittableRandom(42);
+        StringBuilder text = new StringBuilder(length + 16);
+        while (text.length() < length) {
+            text.append(words[random.nextInt(words.length)]).append(' ');
+        }
+        return text.substring(0, length);
+    }
+}
@@ -0,0 +1,220 @@
+package com.example.task_management_api.dataset;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import com.example.task_management_api.model.Task;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+
+/**
+ * Datasets of tasks as newline delimited JSON ({@value #MEDIA_TYPE}): one task per line, with all
+ * fields and timestamps in full precision, so that reading a dump gives back exactly the dumped
+ * tasks. Used to dump a store and load it again for repeatable benchmarks.
+ * <p>
+ * Also a command line tool writing a generated dataset (see {@link TaskGenerator}) to a file, to be
+ * loaded with {@code POST /tasks/import}. Run with
+ * </p>
+ *
+ * <pre>
+ * java -cp target/task-management-api-0.0.1-SNAPSHOT.jar \
+ *     -Dloader.main=com.example.task_management_api.dataset.TaskNdjson \
+ *     org.springframework.boot.loader.launch.PropertiesLauncher 1000000 tasks.ndjson --seed=7
+ * </pre>
+ */
+
+public final class TaskNdjson {
+
+    /**
+     * Media type of newline delimited JSON.
+     */
+    public static final String MEDIA_TYPE = "application/x-ndjson";
+
+    public static void main(String[] args) throws IOException {
+        Map<String, String> options = new HashMap<>();
+        String[] positional = new String[2];
+        int positionals = 0;
+        for (String arg : args) {
+            int equals = arg.indexOf('=');
+            if (arg.startsWith("--") && equals > 2) {
+                options.put(arg.substring(2, equals), arg.substring(equals + 1));
+            } else if (positionals < positional.length) {
+                positional[positionals++] = arg;
+            } else {
+                positionals = -1;
+                break;
+            }
+        }
+        if (positionals < 1) {
+            System.err.println("Usage: TaskNdjson <count> [file|-] [--seed=1]"
+                    + " [--statuses=" + TaskGenerator.DEFAULT_STATUSES + "] [--authors=1000]"
+                    + " [--projects=50] [--skew=1.0] [--description-length="
+                    + TaskGenerator.DEFAULT_DESCRIPTION_LENGTH + "]");
+            System.exit(2);
+        }
+        long count = Long.parseLong(positional[0]);
+        var generator = new TaskGenerator(TaskGenerator.Spec.parse(
+                options.getOrDefault("statuses", TaskGenerator.DEFAULT_STATUSES),
+                Integer.parseInt(options.getOrDefault("authors", "1000")),
+                Integer.parseInt(options.getOrDefault("projects", "50")),
+                Double.parseDouble(options.getOrDefault("skew", "1.0")),
+                options.getOrDefault("description-length",
+                        TaskGenerator.DEFAULT_DESCRIPTION_LENGTH)),
+                Long.parseLong(options.getOrDefault("seed", "1")));
+        Iterator<Task> tasks = new Iterator<>() {
+            private long next;
+
+            @Override
+            public boolean hasNext() {
+                return next < count;
+            }
+
+            @Override
+            public Task next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return generator.task(next++);
+            }
+        };
+        long start = System.nanoTime();
+        if (positional[1] == null || positional[1].equals("-")) {
+            write(tasks, System.out);
+            System.out.flush();
+        } else {
+            try (OutputStream out = new BufferedOutputStream(
+                    Files.newOutputStream(Path.of(positional[1])), 1 << 16)) {
+                write(tasks, out);
+            }
+        }
+        System.err.printf("Wrote %d tasks in %.1f s%n", count,
+                (System.nanoTime() - start) / 1e9);
+    }
+
+    /**
+     * Write tasks as NDJSON. The stream is flushed, not closed.
+     *
+     * @param tasks The tasks to write.
+     * @param out The stream to write to.
+     *
+     * @return The number of tasks written.
+     *
+     * @throws IOException if writing to the stream fails.
+     */
+    public static long write(Iterator<Task> tasks, OutputStream out) throws IOException {
+        long count = 0;
+        try (JsonGenerator generator = MAPPER.createGenerator(out)) {
+            generator.setRootValueSeparator(new SerializedString("\n"));
+            while (tasks.hasNext()) {
+                WRITER.writeValue(generator, tasks.next());
+                ++count;
+            }
+            if (count > 0) {
+                generator.writeRaw('\n');
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Read tasks from NDJSON, lazily while iterating. The stream is not closed.
+     * <p>
+     * id, title, author, project and status are required. A missing description is read as empty,
+     * missing timestamps as the time of reading.
+     * </p>
+     *
+     * @param in The stream to read from.
+     *
+     * @return The tasks in the order of the stream. Its methods throw
+     *         {@link IllegalArgumentException} naming the line for a line that is not a valid
+     *         task, and {@link UncheckedIOException} if reading from the stream fails.
+     *
+     * @throws IOException if reading from the stream fails.
+     */
+    public static Iterator<Task> read(InputStream in) throws IOException {
+        MappingIterator<Task> values = MAPPER.readerFor(Task.class).readValues(in);
+        return new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                try {
+                    return values.hasNextValue();
+                } catch (IOException e) {
+                    throw failure(values, e);
+                }
+            }
+
+            @Override
+            public Task next() {
+                Task task;
+                try {
+                    task = values.nextValue();
+                } catch (IOException e) {
+                    throw failure(values, e);
+                }
+                return complete(task, values.getParser().currentTokenLocation().getLineNr());
+            }
+        };
+    }
+
+
+    // ------------------------------------------------------------------------
+    // Private section from here on
+    // ------------------------------------------------------------------------
+
+    // not the application's ObjectMapper: that one writes timestamps in seconds only
+    private static final JsonMapper MAPPER = JsonMapper.builder()
+            .addModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .disable(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+            .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+            .disable(JsonParser.Feature.AUTO_CLOSE_SOURCE)
+            .build();
+    private static final ObjectWriter WRITER = MAPPER.writerFor(Task.class);
+
+
+    private TaskNdjson() {
+    }
+
+    private static RuntimeException failure(MappingIterator<Task> values, IOException e) {
+        if (e instanceof JsonProcessingException invalid) {
+            long line = invalid.getLocation() != null ? invalid.getLocation().getLineNr()
+                    : values.getParser().currentTokenLocation().getLineNr();
+            return new IllegalArgumentException(
+                    "Line " + line + ": " + invalid.getOriginalMessage(), e);
+        }
+        return new UncheckedIOException(e);
+    }
+
+    private static Task complete(Task task, long line) {
+        if (task == null || task.id() == null || task.title() == null || task.author() == null
+                || task.project() == null || task.status() == null) {
+            throw new IllegalArgumentException(
+                    "Line " + line + ": id, title, author, project and status are required");
+        }
+        if (task.description() != null && task.createdAt() != null && task.updatedAt() != null) {
+            return task;
+        }
+        var fallback = new Task(task.id(), task.title(), task.author(), task.project(),
+                task.status(), task.description() != null ? task.description() : "");
+        return new Task(task.id(), task.title(), task.author(), task.project(), task.status(),
+                fallback.description(),
+                task.createdAt() != null ? task.createdAt() : fallback.createdAt(),
+                task.updatedAt() != null ? task.updatedAt() : fallback.updatedAt());
+    }
+}
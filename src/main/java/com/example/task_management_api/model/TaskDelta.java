@@ -0,0 +1,24 @@
+package com.example.task_management_api.model;
+
+import java.util.List;
+
+
+/**
+ * Result of a delta sync: everything that changed in the repository after a given version.
+ * <p>
+ * Clients store {@code version} and pass it as {@code sinceVersion} on their next sync. If
+ * {@code resyncRequired} is true, the client's version is older than the retained history (e.g.
+ * tombstones were already purged or the repository was cleared in between). In that case
+ * {@code tasks} holds all current tasks and the client must replace its local state instead of
+ * merging.
+ * </p>
+ *
+ * @param version Repository version the delta is complete up to.
+ * @param resyncRequired true if tasks is a full replacement instead of a delta.
+ * @param tasks Tasks created or updated after the requested version (latest state only).
+ * @param deleted Tombstones of tasks deleted after the requested version.
+ */
+
+public record TaskDelta(long version, boolean resyncRequired, List<Task> tasks,
+        List<TaskTombstone> deleted) {
+}
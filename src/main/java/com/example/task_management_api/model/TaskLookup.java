@@ -0,0 +1,19 @@
+package com.example.task_management_api.model;
+
+import java.util.List;
+import java.util.UUID;
+
+
+/**
+ * Result of a multi-get ({@code POST /tasks/lookup}): the tasks found for the requested IDs and
+ * the IDs not found.
+ * <p>
+ * Both lists keep the order of the request, duplicate IDs in the request are answered once.
+ * </p>
+ *
+ * @param tasks Tasks found, in request order.
+ * @param missing Requested IDs without a task, in request order.
+ */
+
+public record TaskLookup(List<Task> tasks, List<UUID> missing) {
+}
@@ -0,0 +1,17 @@
+package com.example.task_management_api.model;
+
+import java.time.Instant;
+import java.util.UUID;
+
+
+/**
+ * Marker for a deleted task, as returned by delta sync. Tombstones are only retained for a bounded
+ * time after the deletion.
+ *
+ * @param id Unique identifier of the deleted task.
+ * @param version Repository version at which the task was deleted.
+ * @param deletedAt Timestamp of the deletion (in UTC).
+ */
+
+public record TaskTombstone(UUID id, long version, Instant deletedAt) {
+}
@@ -0,0 +1,65 @@
+package com.example.task_management_api.monitoring;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+
+/**
+ * Java Flight Recorder event for finding the UUID of a new task, with the number of retries needed
+ * because a candidate was already taken. Disabled unless a recording enables it, see
+ * {@link RepositoryOperationEvent}.
+ */
+
+@Name(NewTaskIdEvent.NAME)
+@Label("New Task ID")
+@Category({"Task Management API", "Service"})
+@Description("Search for a UUID not yet used by a task")
+@StackTrace(false)
+@Enabled(false)
+public final class NewTaskIdEvent extends Event {
+
+    public static final String NAME = "com.example.tasks.NewTaskId";
+
+    static {
+        TaskEvents.init();
+    }
+
+    /**
+     * Start timing the search, if a recording enables this event.
+     *
+     * @return The begun event, null if disabled.
+     */
+    public static NewTaskIdEvent beginIfEnabled() {
+        if (!TaskEvents.newTaskId) {
+            return null;
+        }
+        var event = new NewTaskIdEvent();
+        event.begin();
+        return event;
+    }
+
+    @Label("Retries")
+    @Description("Candidates rejected because a task with that UUID exists")
+    int retries;
+
+    @Label("Store Size")
+    @Description("Number of tasks in the store")
+    long storeSize;
+
+    /**
+     * Fill in the fields and commit the event. Only call if {@link #shouldCommit()}.
+     *
+     * @param retries Number of candidates rejected.
+     * @param storeSize Number of tasks in the store.
+     */
+    public void commit(int retries, long storeSize) {
+        this.retries = retries;
+        this.storeSize = storeSize;
+        commit();
+    }
+}
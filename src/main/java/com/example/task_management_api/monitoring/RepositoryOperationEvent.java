@@ -0,0 +1,88 @@
+package com.example.task_management_api.monitoring;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+
+/**
+ * Java Flight Recorder event for one operation of a task repository, with its duration.
+ * <p>
+ * Disabled unless a recording enables it, e.g. with the profile {@code jfr/tasks.jfc} shipped with
+ * the application. Use it as follows, so that a disabled event is not even allocated (see
+ * {@link TaskEvents}) and nothing is formatted:
+ * </p>
+ * 
+ * <pre>
+ * var event = RepositoryOperationEvent.beginIfEnabled();
+ * // ... the operation
+ * if (event != null &amp;&amp; event.shouldCommit()) {
+ *     event.commit("findByStatus", status, result.size(), count());
+ * }
+ * </pre>
+ */
+
+@Name(RepositoryOperationEvent.NAME)
+@Label("Task Repository Operation")
+@Category({"Task Management API", "Repository"})
+@Description("Operation of a task repository")
+@StackTrace(false)
+@Enabled(false)
+public final class RepositoryOperationEvent extends Event {
+
+    public static final String NAME = "com.example.tasks.RepositoryOperation";
+
+    static {
+        TaskEvents.init();
+    }
+
+    /**
+     * Start timing an operation, if a recording enables this event.
+     *
+     * @return The begun event, null if disabled.
+     */
+    public static RepositoryOperationEvent beginIfEnabled() {
+        if (!TaskEvents.repositoryOperation) {
+            return null;
+        }
+        var event = new RepositoryOperationEvent();
+        event.begin();
+        return event;
+    }
+
+    @Label("Operation")
+    @Description("Name of the repository method, e.g. findByStatus")
+    String operation;
+
+    @Label("Key")
+    @Description("Task ID, status or title/author the operation was called with, if any")
+    String key;
+
+    @Label("Result Size")
+    @Description("Number of tasks returned, created or removed")
+    int resultSize;
+
+    @Label("Store Size")
+    @Description("Number of tasks in the store after the operation")
+    long storeSize;
+
+    /**
+     * Fill in the fields and commit the event. Only call if {@link #shouldCommit()}.
+     *
+     * @param operation Name of the repository method.
+     * @param key What the operation was called with, null for none.
+     * @param resultSize Number of tasks returned, created or removed.
+     * @param storeSize Number of tasks in the store after the operation.
+     */
+    public void commit(String operation, Object key, int resultSize, long storeSize) {
+        this.operation = operation;
+        this.key = key != null ? key.toString() : null;
+        this.resultSize = resultSize;
+        this.storeSize = storeSize;
+        commit();
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.task_management_api.monitoring;
+
+import jdk.jfr.EventType;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.FlightRecorderListener;
+import jdk.jfr.Recording;
+
+
+/**
+ * Whether a Java Flight Recorder recording currently enables the events of this application.
+ * <p>
+ * The usual pattern of allocating an event and checking {@link jdk.jfr.Event#shouldCommit()}
+ * relies on the JIT to remove the allocation of a disabled event. Once any recording has run in
+ * the JVM, e.g. the continuous recording of the JDK's default profile, that no longer works and
+ * every operation allocates its event. The events of this application are therefore only
+ * allocated if these flags are set. They are updated whenever any recording starts or stops, so a
+ * disabled event costs one volatile read.
+ * </p>
+ *
+ * @implNote Flight Recorder itself is only initialized by the first recording. Looking up the
+ *           event types before would initialize it, so the flags are only computed from the
+ *           listener.
+ */
+
+final class TaskEvents {
+
+    static volatile boolean repositoryOperation;
+    static volatile boolean newTaskId;
+
+    static {
+        FlightRecorder.addListener(new FlightRecorderListener() {
+            @Override
+            public void recorderInitialized(FlightRecorder recorder) {
+                update();
+            }
+
+            @Override
+            public void recordingStateChanged(Recording recording) {
+                update();
+            }
+        });
+    }
+
+    /**
+     * Make sure the listener is registered. Called by the events on first use.
+     */
+    static void init() {
+        // registered by the static initializer
+    }
+
+
+    // ------------------------------------------------------------------------
+    // Private section from here on
+    // ------------------------------------------------------------------------
+
+    private TaskEvents() {
+    }
+
+    private static void update() {
+        repositoryOperation = EventType.getEventType(RepositoryOperationEvent.class).isEnabled();
+        newTaskId = EventType.getEventType(NewTaskIdEvent.class).isEnabled();
+    }
+}
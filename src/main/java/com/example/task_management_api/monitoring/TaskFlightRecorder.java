@@ -0,0 +1,101 @@
+package com.example.task_management_api.monitoring;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+
+
+/**
+ * Continuous Java Flight Recorder recording of the application's events, started with the
+ * application if tasks.jfr.enabled is true.
+ * <p>
+ * Records with the JDK's default profile plus {@link #SETTINGS} (the events of this application),
+ * keeping the last tasks.jfr.max-age on disk. The recording is written to tasks.jfr.destination
+ * when the application stops. While it runs, dump it with
+ * {@code jcmd <pid> JFR.dump name=tasks filename=tasks.jfr}. Summarize a dump with
+ * {@link TaskRecordingSummary}.
+ * </p>
+ */
+
+@Component
+@ConditionalOnProperty(name = "tasks.jfr.enabled", havingValue = "true")
+public class TaskFlightRecorder {
+
+    /**
+     * Classpath resource of the settings enabling the events of this application.
+     */
+    public static final String SETTINGS = "/jfr/tasks.jfc";
+
+    /**
+     * Constructor, starts the recording.
+     *
+     * @param maxAge How long events are kept.
+     * @param destination File the recording is written to when the application stops.
+     */
+    public TaskFlightRecorder(@Value("${tasks.jfr.max-age:PT1H}") Duration maxAge,
+            @Value("${tasks.jfr.destination:tasks.jfr}") Path destination) {
+        recording = new Recording(settings());
+        recording.setName("tasks");
+        recording.setToDisk(true);
+        recording.setMaxAge(maxAge);
+        recording.setDumpOnExit(true);
+        try {
+            recording.setDestination(destination);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        recording.start();
+    }
+
+    /**
+     * Get the settings of the JDK's default profile, with the events of this application enabled.
+     *
+     * @return settings for a {@link Recording}
+     */
+    public static Map<String, String> settings() {
+        try (Reader reader = new InputStreamReader(
+                TaskFlightRecorder.class.getResourceAsStream(SETTINGS),
+                StandardCharsets.UTF_8)) {
+            Map<String, String> settings =
+                    new HashMap<>(Configuration.getConfiguration("default").getSettings());
+            settings.putAll(Configuration.create(reader).getSettings());
+            return settings;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (ParseException e) {
+            throw new IllegalStateException("Invalid " + SETTINGS, e);
+        }
+    }
+
+    /**
+     * Stop the recording, which writes it to the destination.
+     */
+    @PreDestroy
+    public void stop() {
+        if (recording.getState() == RecordingState.RUNNING) {
+            recording.stop();
+        }
+        recording.close();
+    }
+
+
+    // ------------------------------------------------------------------------
+    // Private section from here on
+    // ------------------------------------------------------------------------
+
+    private final Recording recording;
+}
@@ -0,0 +1,156 @@
+package com.example.task_management_api.monitoring;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+
+/**
+ * Command line tool summarizing a Java Flight Recorder recording into a latency table per
+ * operation of the application's events ({@link RepositoryOperationEvent}, {@link NewTaskIdEvent}).
+ * Other events in the recording are skipped. Run with
+ * 
+ * <pre>
+ * java -cp target/classes com.example.task_management_api.monitoring.TaskRecordingSummary tasks.jfr
+ * </pre>
+ */
+
+public final class TaskRecordingSummary {
+
+    /**
+     * Latencies and sizes of one operation.
+     *
+     * @param operation Name of the operation, getNewUuid for {@link NewTaskIdEvent}.
+     * @param count Number of events.
+     * @param meanMicros Mean duration in microseconds.
+     * @param p50Micros Median duration in microseconds.
+     * @param p90Micros 90th percentile of the duration in microseconds.
+     * @param p99Micros 99th percentile of the duration in microseconds.
+     * @param maxMicros Maximum duration in microseconds.
+     * @param meanResultSize Mean number of tasks returned, created or removed; mean retries for
+     *        getNewUuid.
+     * @param maxStoreSize Largest store size seen.
+     */
+    public record Row(String operation, long count, double meanMicros, double p50Micros,
+            double p90Micros, double p99Micros, double maxMicros, double meanResultSize,
+            long maxStoreSize) {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 1) {
+            System.err.println("Usage: TaskRecordingSummary <recording.jfr>");
+            System.exit(2);
+        }
+        System.out.print(format(summarize(Path.of(args[0]))));
+    }
+
+    /**
+     * Read a recording and summarize the application's events per operation.
+     *
+     * @param recording The recording file.
+     *
+     * @return One row per operation, ordered by name.
+     *
+     * @throws IOException if the file cannot be read.
+     */
+    public static List<Row> summarize(Path recording) throws IOException {
+        Map<String, Samples> byOperation = new TreeMap<>();
+        try (RecordingFile file = new RecordingFile(recording)) {
+            while (file.hasMoreEvents()) {
+                RecordedEvent event = file.readEvent();
+                String operation;
+                long resultSize;
+                switch (event.getEventType().getName()) {
+                    case RepositoryOperationEvent.NAME -> {
+                        operation = event.getString("operation");
+                        resultSize = event.getInt("resultSize");
+                    }
+                    case NewTaskIdEvent.NAME -> {
+                        operation = "getNewUuid";
+                        resultSize = event.getInt("retries");
+                    }
+                    default -> {
+                        continue;
+                    }
+                }
+                byOperation.computeIfAbsent(operation, key -> new Samples())
+                        .add(event.getDuration().toNanos(), resultSize,
+                                event.getLong("storeSize"));
+            }
+        }
+        List<Row> rows = new ArrayList<>(byOperation.size());
+        byOperation.forEach((operation, samples) -> rows.add(samples.row(operation)));
+        return rows;
+    }
+
+    /**
+     * Format rows as a plain text table.
+     *
+     * @param rows The rows to format.
+     *
+     * @return The table, one line per row plus a header.
+     */
+    public static String format(List<Row> rows) {
+        StringBuilder table = new StringBuilder(String.format("%-24s %10s %10s %10s %10s %10s %10s"
+                + " %10s %12s%n", "operation", "count", "mean us", "p50 us", "p90 us", "p99 us",
+                "max us", "mean size", "max store"));
+        for (Row row : rows) {
+            table.append(String.format("%-24s %10d %10.1f %10.1f %10.1f %10.1f %10.1f %10.1f"
+                    + " %12d%n", row.operation(), row.count(), row.meanMicros(), row.p50Micros(),
+                    row.p90Micros(), row.p99Micros(), row.maxMicros(), row.meanResultSize(),
+                    row.maxStoreSize()));
+        }
+        return table.toString();
+    }
+
+
+    // ------------------------------------------------------------------------
+    // Private section from here on
+    // ------------------------------------------------------------------------
+
+    private TaskRecordingSummary() {
+    }
+
+    /**
+     * Durations of one operation, in a growing array to stay cheap for millions of events.
+     */
+    private static final class Samples {
+
+        private long[] nanos = new long[64];
+        private int count;
+        private long resultSizeSum;
+        private long maxStoreSize;
+
+        void add(long durationNanos, long resultSize, long storeSize) {
+            if (count == nanos.length) {
+                nanos = Arrays.copyOf(nanos, count * 2);
+            }
+            nanos[count++] = durationNanos;
+            resultSizeSum += resultSize;
+            maxStoreSize = Math.max(maxStoreSize, storeSize);
+        }
+
+        Row row(String operation) {
+            long[] sorted = Arrays.copyOf(nanos, count);
+            Arrays.sort(sorted);
+            double sum = 0;
+            for (long value : sorted) {
+                sum += value;
+            }
+            return new Row(operation, count, sum / count / 1e3, percentile(sorted, 0.50),
+                    percentile(sorted, 0.90), percentile(sorted, 0.99),
+                    sorted[count - 1] / 1e3, (double) resultSizeSum / count, maxStoreSize);
+        }
+
+        private static double percentile(long[] sorted, double fraction) {
+            int index = (int) Math.ceil(fraction * sorted.length) - 1;
+            return sorted[Math.max(index, 0)] / 1e3;
+        }
+    }
+}
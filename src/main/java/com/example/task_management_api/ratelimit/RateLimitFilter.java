@@ -0,0 +1,224 @@
+package com.example.task_management_api.ratelimit;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import com.example.task_management_api.cluster.ClusterForwarding;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+
+/**
+ * Per-client rate limiting and admission control for the /tasks endpoints.
+ * <p>
+ * Every client gets a {@link TokenBucket}. Requests take tokens according to their cost: listings
+ * ({@code GET /tasks} with any parameters, {@code GET /tasks/export}) copy the whole store, bulk
+ * loads ({@code /tasks/populate}, {@code POST /tasks/import}) write many tasks, both cost more than
+ * single task operations, which cost 1. A multi-get ({@code POST /tasks/lookup})
+ * replaces up to {@code tasks.lookup.max-ids} single gets and has its own cost. A client out of
+ * tokens gets 429 with Retry-After. Clients are identified by remote address, or by a
+ * configurable header if the service runs behind a proxy or gateway that sets one.
+ * </p>
+ * <p>
+ * Disabled by default, enable with {@code tasks.ratelimit.enabled=true}. Behind a load balancer
+ * all clients share the balancer's remote address and with it one bucket, so set
+ * {@code tasks.ratelimit.client-header} there; a warning is logged at startup if it is not set.
+ * </p>
+ * <p>
+ * Independent of the per-client limits, at most {@code max-concurrent-expensive} expensive requests
+ * are processed at the same time. Further expensive requests are shed with 503 and Retry-After, so
+ * under overload cheap requests keep their latency instead of queuing behind full store copies.
+ * </p>
+ * <p>
+ * Memory is bounded: at most {@code max-clients} buckets are kept. When that is reached, idle
+ * (full) buckets are evicted, which loses no state. If all buckets are in use, further clients
+ * share one overflow bucket.
+ * </p>
+ *
+ * @implNote Requests forwarded by other cluster nodes are not limited, they have been limited by
+ *           the node that received them. Only in cluster mode, and only with a header value of the
+ *           cluster (see {@link ClusterForwarding}); any other request is limited.
+ */
+
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@ConditionalOnProperty(name = "tasks.ratelimit.enabled", havingValue = "true")
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    /**
+     * Constructor.
+     *
+     * @param rate Tokens per second refilled into each client's bucket.
+     * @param burst Capacity of each client's bucket.
+     * @param listingCost Tokens taken by a listing or export.
+     * @param populateCost Tokens taken by /tasks/populate and /tasks/import.
+     * @param lookupCost Tokens taken by a multi-get.
+     * @param maxConcurrentExpensive Maximum number of requests costing more than 1 in progress at
+     *        once.
+     * @param maxClients Maximum number of buckets kept.
+     * @param clientHeader Header identifying the client, empty to use the remote address.
+     * @param clusterNodes Base URLs of the cluster nodes, empty in single instance mode.
+     * @param clusterSecret Shared secret of the cluster nodes, empty if none.
+     */
+    public RateLimitFilter(
+            @Value("${tasks.ratelimit.rate:100}") double rate,
+            @Value("${tasks.ratelimit.burst:200}") int burst,
+            @Value("${tasks.ratelimit.cost.listing:10}") int listingCost,
+            @Value("${tasks.ratelimit.cost.populate:10}") int populateCost,
+            @Value("${tasks.ratelimit.cost.lookup:10}") int lookupCost,
+            @Value("${tasks.ratelimit.max-concurrent-expensive:8}") int maxConcurrentExpensive,
+            @Value("${tasks.ratelimit.max-clients:10000}") int maxClients,
+            @Value("${tasks.ratelimit.client-header:}") String clientHeader,
+            @Value("${tasks.cluster.nodes:}") List<String> clusterNodes,
+            @Value("${tasks.cluster.secret:}") String clusterSecret) {
+        this.rate = rate;
+        this.burst = burst;
+        this.listingCost = listingCost;
+        this.populateCost = populateCost;
+        this.lookupCost = lookupCost;
+        this.maxConcurrentExpensive = maxConcurrentExpensive;
+        this.maxClients = maxClients;
+        this.clientHeader = clientHeader.isBlank() ? null : clientHeader;
+        if (this.clientHeader == null) {
+            log.warn("Rate limiting by remote address, tasks.ratelimit.client-header is not set."
+                    + " Behind a proxy or load balancer all clients share one bucket.");
+        }
+        this.overflow = new TokenBucket(rate, burst, System.nanoTime());
+        this.forwarding = new ClusterForwarding(clusterNodes, "", clusterSecret);
+    }
+
+    /**
+     * Get the number of client buckets currently kept.
+     *
+     * @return number of buckets
+     */
+    public int clientCount() {
+        return buckets.size();
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String uri = request.getRequestURI();
+        return !(uri.equals("/tasks") || uri.startsWith("/tasks/"))
+                || forwarding.isForwarded(request);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+            FilterChain chain) throws ServletException, IOException {
+        int cost = costOf(request);
+        long now = System.nanoTime();
+        long waitNanos = bucketFor(clientOf(request), now).tryAcquire(cost, now);
+        if (waitNanos > 0) {
+            reject(response, HttpStatus.TOO_MANY_REQUESTS, waitNanos);
+            return;
+        }
+        if (cost == 1) {
+            chain.doFilter(request, response);
+            return;
+        }
+        if (expensiveInFlight.incrementAndGet() > maxConcurrentExpensive) {
+            expensiveInFlight.decrementAndGet();
+            reject(response, HttpStatus.SERVICE_UNAVAILABLE, TimeUnit.SECONDS.toNanos(1));
+            return;
+        }
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            expensiveInFlight.decrementAndGet();
+        }
+    }
+
+
+    // ------------------------------------------------------------------------
+    // Private section from here on
+    // ------------------------------------------------------------------------
+
+    private static final Logger log = LoggerFactory.getLogger(RateLimitFilter.class);
+    private static final long SWEEP_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final double rate;
+    private final int burst;
+    private final int listingCost;
+    private final int populateCost;
+    private final int lookupCost;
+    private final int maxConcurrentExpensive;
+    private final int maxClients;
+    private final String clientHeader;
+    private final Map<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+    private final TokenBucket overflow;
+    private final ClusterForwarding forwarding;
+    private final AtomicInteger expensiveInFlight = new AtomicInteger();
+    private final AtomicLong lastSweep = new AtomicLong(System.nanoTime() - SWEEP_INTERVAL_NANOS);
+
+
+    private int costOf(HttpServletRequest request) {
+        String uri = request.getRequestURI();
+        if (uri.equals("/tasks") && "GET".equals(request.getMethod())
+                || uri.equals("/tasks/export")) {
+            return listingCost;
+        }
+        if (uri.equals("/tasks/populate") || uri.equals("/tasks/import")) {
+            return populateCost;
+        }
+        if (uri.equals("/tasks/lookup")) {
+            return lookupCost;
+        }
+        return 1;
+    }
+
+    private String clientOf(HttpServletRequest request) {
+        if (clientHeader != null) {
+            String client = request.getHeader(clientHeader);
+            if (client != null && !client.isEmpty()) {
+                return client;
+            }
+        }
+        return request.getRemoteAddr();
+    }
+
+    /**
+     * Get the bucket of a client, creating it if needed. Evicts idle buckets when the limit is
+     * reached, at most once per sweep interval. Falls back to the shared overflow bucket if no room
+     * could be made.
+     */
+    private TokenBucket bucketFor(String client, long now) {
+        TokenBucket bucket = buckets.get(client);
+        if (bucket != null) {
+            return bucket;
+        }
+        if (buckets.size() >= maxClients) {
+            long last = lastSweep.get();
+            if (now - last >= SWEEP_INTERVAL_NANOS && lastSweep.compareAndSet(last, now)) {
+                buckets.values().removeIf(candidate -> candidate.isIdle(now));
+            }
+            if (buckets.size() >= maxClients) {
+                return overflow;
+            }
+        }
+        return buckets.computeIfAbsent(client, key -> new TokenBucket(rate, burst, now));
+    }
+
+    private static void reject(HttpServletResponse response, HttpStatus status, long waitNanos)
+            throws IOException {
+        long seconds = Math.max(1, (waitNanos + 999_999_999L) / 1_000_000_000L);
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(seconds));
+        response.sendError(status.value(), status.getReasonPhrase());
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.task_management_api.ratelimit;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+
+/**
+ * Lock-free token bucket, implemented as generic cell rate algorithm (GCRA).
+ * <p>
+ * Instead of a token count and a refill timestamp, the bucket keeps a single "theoretical arrival
+ * time" (TAT): the point in time at which the bucket would be full again. Taking n tokens pushes
+ * the TAT n emission intervals further. A request is admitted as long as the TAT stays within the
+ * burst tolerance ahead of now. This is equivalent to a token bucket refilled continuously at
+ * {@code rate} tokens per second up to {@code burst} tokens, but needs only one compare-and-set per
+ * request and yields the wait time until enough tokens are available for free.
+ * </p>
+ */
+
+public class TokenBucket {
+
+    /**
+     * Constructor. The bucket starts full.
+     *
+     * @param tokensPerSecond Refill rate, > 0.
+     * @param burst Capacity of the bucket in tokens, >= 1.
+     * @param nowNanos Current time, as by System.nanoTime().
+     */
+    public TokenBucket(double tokensPerSecond, int burst, long nowNanos) {
+        if (tokensPerSecond <= 0 || burst < 1) {
+            throw new IllegalArgumentException(
+                    "Rate must be > 0 and burst >= 1, are " + tokensPerSecond + " and " + burst);
+        }
+        this.intervalNanos = Math.max(1, Math.round(1e9 / tokensPerSecond));
+        this.toleranceNanos = intervalNanos * burst;
+        this.tat = new AtomicLong(nowNanos);
+    }
+
+    /**
+     * Try to take tokens from the bucket.
+     *
+     * @param tokens Number of tokens to take. Requests costing more than the burst are never
+     *        admitted.
+     * @param nowNanos Current time, as by System.nanoTime().
+     *
+     * @return 0 if the tokens were taken, otherwise the nanoseconds until they would be available.
+     *         Nothing is taken in that case.
+     */
+    public long tryAcquire(int tokens, long nowNanos) {
+        long cost = intervalNanos * tokens;
+        while (true) {
+            long tat = this.tat.get();
+            long newTat = Math.max(tat - nowNanos, 0) + nowNanos + cost;
+            long ahead = newTat - nowNanos;
+            if (ahead > toleranceNanos) {
+                return Math.max(1, ahead - toleranceNanos);
+            }
+            if (this.tat.compareAndSet(tat, newTat)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Check if the bucket is full, i.e. has not been used within the time it takes to refill it.
+     * Idle buckets can be dropped, a new bucket behaves identically.
+     *
+     * @param nowNanos Current time, as by System.nanoTime().
+     *
+     * @return true if full
+     */
+    public boolean isIdle(long nowNanos) {
+        return tat.get() - nowNanos <= 0;
+    }
+
+
+    // ------------------------------------------------------------------------
+    // Private section from here on
+    // ------------------------------------------------------------------------
+
+    private final long intervalNanos;
+    private final long toleranceNanos;
+    private final AtomicLong tat;
+}
@@ -0,0 +1,86 @@
+package com.example.task_management_api.replication;
+
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+
+/**
+ * In-process implementation of {@link ReplicationTransport}, connecting a primary and any number of
+ * replicas living in the same JVM. Used for tests, benchmarks and single-machine demos.
+ * <p>
+ * Every replica gets its own delivery thread with a bounded queue, so a slow replica neither blocks
+ * the primary nor the other replicas. Batches that do not fit into a full queue are dropped; the
+ * replica notices the gap and catches up from a snapshot.
+ * </p>
+ */
+
+public class LoopbackReplicationTransport implements ReplicationTransport, AutoCloseable {
+
+    /**
+     * Constructor.
+     *
+     * @param queueCapacity Number of batches buffered per replica before batches are dropped.
+     */
+    public LoopbackReplicationTransport(int queueCapacity) {
+        this.queueCapacity = queueCapacity;
+    }
+
+    @Override
+    public void publish(ReplicationBatch batch) {
+        for (Replica replica : replicas) {
+            replica.delivery().execute(() -> replica.receiver().accept(batch));
+        }
+    }
+
+    @Override
+    public void serveSnapshots(Supplier<ReplicationSnapshot> provider) {
+        this.snapshotProvider = provider;
+    }
+
+    @Override
+    public synchronized void subscribe(Consumer<ReplicationBatch> receiver) {
+        var delivery = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), r -> {
+                    Thread thread = new Thread(r, "replication-loopback-" + replicas.size());
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.DiscardPolicy());
+        replicas.add(new Replica(receiver, delivery));
+    }
+
+    @Override
+    public ReplicationSnapshot fetchSnapshot() {
+        Supplier<ReplicationSnapshot> provider = snapshotProvider;
+        if (provider == null) {
+            throw new IllegalStateException("No primary serving snapshots on this transport");
+        }
+        return provider.get();
+    }
+
+    /**
+     * Stop all delivery threads.
+     */
+    @Override
+    public void close() {
+        replicas.forEach(replica -> replica.delivery().shutdownNow());
+    }
+
+
+    // ------------------------------------------------------------------------
+    // Private section from here on
+    // ------------------------------------------------------------------------
+
+    private final int queueCapacity;
+
+    private record Replica(Consumer<ReplicationBatch> receiver, ThreadPoolExecutor delivery) {
+    }
+
+    private final List<Replica> replicas = new CopyOnWriteArrayList<>();
+
+    private volatile Supplier<ReplicationSnapshot> snapshotProvider;
+}
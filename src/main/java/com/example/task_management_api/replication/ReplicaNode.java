@@ -0,0 +1,108 @@
+package com.example.task_management_api.replication;
+
+import com.example.task_management_api.repository.TaskChangeEvent;
+import com.example.task_management_api.repository.TaskRepository;
+
+
+/**
+ * Replica side of the task store replication.
+ * <p>
+ * Applies the batches shipped by the primary to a local repository, in sequence order. On start, on
+ * a gap in the received sequence numbers (dropped batches) and on an explicit resync request, the
+ * replica catches up by loading a snapshot of the primary and then continues with the log after the
+ * snapshot's sequence.
+ * </p>
+ *
+ * @implNote Applying events is idempotent (create overwrites, delete of a missing task is a no-op),
+ *           which is what makes "snapshot, then log from the snapshot's sequence" correct even
+ *           though the snapshot may already contain some of the later events.
+ */
+
+public class ReplicaNode {
+
+    /**
+     * Constructor. Subscribes to the transport and catches up from a snapshot of the primary.
+     *
+     * @param repository The local repository to replicate into. Should not receive other writes.
+     * @param transport The transport to the primary.
+     */
+    public ReplicaNode(TaskRepository repository, ReplicationTransport transport) {
+        this.repository = repository;
+        this.transport = transport;
+        transport.subscribe(this::apply);
+        catchUp();
+    }
+
+    /**
+     * Get the sequence number of the primary's change log up to which this replica is in sync.
+     *
+     * @return last applied sequence number
+     */
+    public long appliedSequence() {
+        return applied;
+    }
+
+    /**
+     * Get the number of snapshots loaded so far, including the initial one.
+     *
+     * @return number of snapshots
+     */
+    public long snapshotsLoaded() {
+        return snapshots;
+    }
+
+    /**
+     * Get the local repository of this replica.
+     *
+     * @return The repository.
+     */
+    public TaskRepository repository() {
+        return repository;
+    }
+
+
+    // ------------------------------------------------------------------------
+    // Private section from here on
+    // ------------------------------------------------------------------------
+
+    private final TaskRepository repository;
+    private final ReplicationTransport transport;
+
+    // guarded by this
+    private volatile long applied;
+    private volatile long snapshots;
+
+
+    private synchronized void catchUp() {
+        var snapshot = transport.fetchSnapshot();
+        repository.clear();
+        snapshot.tasks().forEach(repository::create);
+        applied = snapshot.sequence();
+        ++snapshots;
+    }
+
+    private synchronized void apply(ReplicationBatch batch) {
+        if (batch.resyncRequired()) {
+            catchUp();
+            return;
+        }
+        for (TaskChangeEvent event : batch.events()) {
+            if (event.sequence() <= applied) {
+                continue;
+            }
+            if (event.sequence() != applied + 1) {
+                // missed at least one batch
+                catchUp();
+                if (event.sequence() <= applied) {
+                    continue;
+                }
+            }
+            switch (event.type()) {
+                case CREATED, UPDATED -> repository.create(event.task());
+                case DELETED -> repository.deleteById(event.id());
+                case CLEARED -> repository.clear();
+            }
+            applied = event.sequence();
+        }
+    }
+}
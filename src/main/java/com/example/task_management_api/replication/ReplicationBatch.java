@@ -0,0 +1,16 @@
+package com.example.task_management_api.replication;
+
+import java.util.List;
+import com.example.task_management_api.repository.TaskChangeEvent;
+
+
+/**
+ * A batch of repository mutations shipped from the primary to its replicas.
+ *
+ * @param events Change events in sequence order, contiguous across consecutive batches.
+ * @param resyncRequired true if the primary could not ship all events (its change log was
+ *        overwritten before shipping) and replicas must catch up from a snapshot.
+ */
+
+public record ReplicationBatch(List<TaskChangeEvent> events, boolean resyncRequired) {
+}
@@ -0,0 +1,120 @@
+package com.example.task_management_api.replication;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.locks.LockSupport;
+import com.example.task_management_api.repository.TaskChangeLog;
+import com.example.task_management_api.repository.TaskRepository;
+
+
+/**
+ * Primary side of the task store replication.
+ * <p>
+ * A shipper thread tails the {@link TaskChangeLog} of the primary repository and publishes the
+ * events asynchronously, in batches of up to maxBatch events, via the {@link ReplicationTransport}.
+ * Writers on the primary are never involved beyond appending to the lock-free change log. The
+ * primary also serves snapshots so that new or lagging replicas can catch up.
+ * </p>
+ */
+
+public class ReplicationPrimary implements AutoCloseable {
+
+    /**
+     * Constructor. Starts shipping immediately, from the first event in the change log.
+     *
+     * @param repository The primary repository, used for snapshots.
+     * @param changeLog The change log of the primary repository.
+     * @param transport The transport to the replicas.
+     * @param maxBatch Maximum number of events per batch.
+     * @param idleWait How long the shipper waits when there is nothing to ship.
+     */
+    public ReplicationPrimary(TaskRepository repository, TaskChangeLog changeLog,
+            ReplicationTransport transport, int maxBatch, Duration idleWait) {
+        this.repository = repository;
+        this.changeLog = changeLog;
+        this.transport = transport;
+        this.maxBatch = maxBatch;
+        this.idleWaitNanos = idleWait.toNanos();
+        transport.serveSnapshots(this::snapshot);
+        shipper = new Thread(this::ship, "replication-shipper");
+        shipper.setDaemon(true);
+        shipper.start();
+    }
+
+    /**
+     * Take a snapshot of the primary.
+     *
+     * @implNote The sequence is read before the tasks, so the tasks are at least as new as the
+     *           sequence. Events after it may already be contained and are simply re-applied.
+     *
+     * @return The snapshot.
+     */
+    public ReplicationSnapshot snapshot() {
+        long sequence = changeLog.lastSequence();
+        return new ReplicationSnapshot(sequence, repository.findAll());
+    }
+
+    /**
+     * Get the sequence number up to which events have been handed to the transport.
+     *
+     * @return last shipped sequence number
+     */
+    public long shippedSequence() {
+        return cursor;
+    }
+
+    /**
+     * Get the number of batches shipped so far.
+     *
+     * @return number of batches
+     */
+    public long shippedBatches() {
+        return batches;
+    }
+
+    /**
+     * Stop shipping.
+     */
+    @Override
+    public void close() throws InterruptedException {
+        running = false;
+        LockSupport.unpark(shipper);
+        shipper.join();
+    }
+
+
+    // ------------------------------------------------------------------------
+    // Private section from here on
+    // ------------------------------------------------------------------------
+
+    private final TaskRepository repository;
+    private final TaskChangeLog changeLog;
+    private final ReplicationTransport transport;
+    private final int maxBatch;
+    private final long idleWaitNanos;
+    private final Thread shipper;
+
+    private volatile boolean running = true;
+    // only written by the shipper thread
+    private volatile long cursor;
+    private volatile long batches;
+
+
+    private void ship() {
+        while (running) {
+            var read = changeLog.read(cursor, maxBatch);
+            if (read.resyncRequired()) {
+                // shipper fell behind the ring buffer, replicas have to take a snapshot
+                cursor = changeLog.lastSequence();
+                transport.publish(new ReplicationBatch(List.of(), true));
+                ++batches;
+            } else if (read.events().isEmpty()) {
+                LockSupport.parkNanos(idleWaitNanos);
+            } else {
+                transport.publish(new ReplicationBatch(read.events(), false));
+                cursor = read.events().get(read.events().size() - 1).sequence();
+                ++batches;
+            }
+        }
+    }
+}
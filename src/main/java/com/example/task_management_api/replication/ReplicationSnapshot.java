@@ -0,0 +1,16 @@
+package com.example.task_management_api.replication;
+
+import java.util.List;
+import com.example.task_management_api.model.Task;
+
+
+/**
+ * Full state of the primary, used by replicas to catch up before applying the log.
+ *
+ * @param sequence Change log sequence the snapshot is at least as new as. Replaying all events after
+ *        it on top of the snapshot yields the state of the primary (events are idempotent).
+ * @param tasks All tasks of the primary.
+ */
+
+public record ReplicationSnapshot(long sequence, List<Task> tasks) {
+}
@@ -0,0 +1,51 @@
+package com.example.task_management_api.replication;
+
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+
+/**
+ * Pluggable transport between a replication primary and its replicas.
+ * <p>
+ * The primary publishes batches of change events and serves snapshots; replicas receive batches and
+ * fetch snapshots when they need to catch up. Implementations must deliver the batches to each
+ * replica in publishing order, but may drop batches for a replica that cannot keep up: replicas
+ * detect the gap in sequence numbers and catch up from a snapshot.
+ * </p>
+ */
+
+public interface ReplicationTransport {
+
+    // Primary side
+
+    /**
+     * Publish a batch to all replicas. Must not block on slow replicas.
+     *
+     * @param batch The batch to ship.
+     */
+    void publish(ReplicationBatch batch);
+
+    /**
+     * Register the provider answering snapshot requests of replicas.
+     *
+     * @param provider Supplier of a current snapshot of the primary.
+     */
+    void serveSnapshots(Supplier<ReplicationSnapshot> provider);
+
+
+    // Replica side
+
+    /**
+     * Register a replica for receiving batches.
+     *
+     * @param receiver Called with each batch, sequentially and in publishing order.
+     */
+    void subscribe(Consumer<ReplicationBatch> receiver);
+
+    /**
+     * Fetch a snapshot from the primary.
+     *
+     * @return The current snapshot of the primary.
+     */
+    ReplicationSnapshot fetchSnapshot();
+}
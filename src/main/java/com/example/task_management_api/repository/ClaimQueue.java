@@ -0,0 +1,115 @@
+package com.example.task_management_api.repository;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+import com.example.task_management_api.model.Task;
+
+
+/**
+ * Lock-free FIFO of the IDs of the tasks in one status, oldest first, behind
+ * {@link TaskRepository#claimNext(String, String)}.
+ * <p>
+ * Entries are hints, not the truth: a task that leaves the status by other means than a claim
+ * (deleted, replaced) stays queued, and a task replaced while keeping its status is queued again.
+ * Claimers therefore re-check the status of a polled ID while holding the map entry of the task and
+ * simply poll the next one if it no longer matches. To bound the memory taken by such stale
+ * entries, claimers compact the queue when it holds more than twice as many entries as there are
+ * tasks in the status. Writers only append: compacting is O(n) and must not run while a writer
+ * holds the map entry of a task.
+ * </p>
+ */
+
+final class ClaimQueue {
+
+    /**
+     * Constructor.
+     *
+     * @param tasks The tasks currently in the status, queued oldest (by createdAt) first.
+     */
+    ClaimQueue(Collection<Task> tasks) {
+        tasks.stream()
+                .sorted(Comparator.comparing(Task::createdAt,
+                        Comparator.nullsFirst(Comparator.naturalOrder())))
+                .forEach(task -> add(task.id()));
+    }
+
+    /**
+     * Get the claimed version of a task.
+     *
+     * @param task The task as stored.
+     * @param newStatus The status to move it to.
+     *
+     * @return The task in the new status, updated now.
+     */
+    static Task claimed(Task task, String newStatus) {
+        return new Task(task.id(), task.title(), task.author(), task.project(), newStatus,
+                task.description(), task.createdAt(), Instant.now());
+    }
+
+    /**
+     * Queue the ID of a task that entered the status.
+     *
+     * @param id The ID to append.
+     */
+    void add(UUID id) {
+        ids.add(id);
+        length.incrementAndGet();
+    }
+
+    /**
+     * Take the oldest ID.
+     *
+     * @return The ID, null if the queue is empty.
+     */
+    UUID poll() {
+        UUID id = ids.poll();
+        if (id != null) {
+            length.decrementAndGet();
+        }
+        return id;
+    }
+
+    /**
+     * Drop stale entries, if there are many of them. Only one thread compacts at a time, the
+     * others go on.
+     *
+     * @param live Number of tasks currently in the status.
+     * @param inStatus Whether the task with an ID is still in the status.
+     */
+    void compactIfNeeded(int live, Predicate<UUID> inStatus) {
+        if (length.get() <= 2 * live + MIN_COMPACTION_LENGTH || !compacting.compareAndSet(false,
+                true)) {
+            return;
+        }
+        try {
+            ids.removeIf(id -> {
+                if (inStatus.test(id)) {
+                    return false;
+                }
+                length.decrementAndGet();
+                return true;
+            });
+        } finally {
+            compacting.set(false);
+        }
+    }
+
+
+    // ------------------------------------------------------------------------
+    // Private section from here on
+    // ------------------------------------------------------------------------
+
+    // stale entries tolerated before compacting, so that small queues are never compacted
+    private static final int MIN_COMPACTION_LENGTH = 1024;
+
+    private final Queue<UUID> ids = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger length = new AtomicInteger();
+    private final AtomicBoolean compacting = new AtomicBoolean();
+}
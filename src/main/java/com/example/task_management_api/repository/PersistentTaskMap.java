@@ -0,0 +1,352 @@
+package com.example.task_management_api.repository;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.UUID;
+import com.example.task_management_api.model.Task;
+
+
+/**
+ * Immutable map of tasks by ID with structural sharing (hash array mapped trie).
+ * <p>
+ * {@link #plus(Task)} and {@link #minus(UUID)} return a new map that shares all untouched nodes
+ * with the old one, so an update copies only the path to the changed entry: at most 7 nodes of at
+ * most 32 references each. Any map instance is therefore a consistent point-in-time snapshot that
+ * never changes, and holding on to it costs nothing beyond keeping its nodes alive.
+ * </p>
+ * <p>
+ * {@link #values()} is a read-only list view iterated lazily from the trie, so a snapshot can be
+ * serialized without copying it into another collection first.
+ * </p>
+ *
+ * @implNote Each level consumes 5 bits of the spread UUID hash code. Nodes hold tasks directly
+ *           (keyed by task.id()) or child nodes; full 32-bit hash collisions end up in a collision
+ *           node at the bottom. Removal pulls single remaining tasks up into the parent, so the
+ *           trie stays as shallow as the set of keys requires.
+ */
+
+final class PersistentTaskMap {
+
+    /** The empty map. */
+    static final PersistentTaskMap EMPTY = new PersistentTaskMap(BitmapNode.EMPTY, 0);
+
+    /**
+     * Get a task by ID.
+     *
+     * @param id The ID to look up.
+     *
+     * @return The task, null if not contained.
+     */
+    Task get(UUID id) {
+        int hash = hash(id);
+        Object node = root;
+        for (int shift = 0;; shift += BITS) {
+            if (node instanceof BitmapNode bitmapNode) {
+                int bit = bit(hash, shift);
+                if ((bitmapNode.bitmap & bit) == 0) {
+                    return null;
+                }
+                node = bitmapNode.entries[bitmapNode.index(bit)];
+            } else if (node instanceof Task task) {
+                return task.id().equals(id) ? task : null;
+            } else {
+                return ((CollisionNode) node).get(id);
+            }
+        }
+    }
+
+    /**
+     * Get a map with the task added, or replacing the task with the same ID.
+     *
+     * @param task The task, keyed by its ID.
+     *
+     * @return The new map.
+     */
+    PersistentTaskMap plus(Task task) {
+        boolean replacing = get(task.id()) != null;
+        return new PersistentTaskMap(root.plus(task, hash(task.id()), 0),
+                replacing ? size : size + 1);
+    }
+
+    /**
+     * Get a map without the task with the given ID.
+     *
+     * @param id The ID of the task to remove.
+     *
+     * @return The new map, this map if the ID is not contained.
+     */
+    PersistentTaskMap minus(UUID id) {
+        if (get(id) == null) {
+            return this;
+        }
+        // the root is never pulled up into a single task
+        return new PersistentTaskMap((BitmapNode) root.minus(id, hash(id), 0), size - 1);
+    }
+
+    /**
+     * Get the number of tasks.
+     *
+     * @return number of tasks
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Get the tasks as read-only list, iterated lazily.
+     *
+     * @implNote Deliberately not RandomAccess: {@code get(int)} walks the trie from the start, so
+     *           consumers (like Jackson) iterate instead of indexing.
+     *
+     * @return The tasks, in no particular order.
+     */
+    List<Task> values() {
+        return new Values(this);
+    }
+
+
+    // ------------------------------------------------------------------------
+    // Private section from here on
+    // ------------------------------------------------------------------------
+
+    private static final int BITS = 5;
+    private static final int MASK = (1 << BITS) - 1;
+
+    private final BitmapNode root;
+    private final int size;
+
+
+    private PersistentTaskMap(BitmapNode root, int size) {
+        this.root = root;
+        this.size = size;
+    }
+
+    private static int hash(UUID id) {
+        int hash = id.hashCode();
+        return hash ^ (hash >>> 16);
+    }
+
+    private static int bit(int hash, int shift) {
+        return 1 << ((hash >>> shift) & MASK);
+    }
+
+    /**
+     * Inner node: a 32 bit bitmap of occupied slots and a compact array with one entry per set bit,
+     * either a Task or a child node.
+     */
+    private static final class BitmapNode {
+
+        static final BitmapNode EMPTY = new BitmapNode(0, new Object[0]);
+
+        final int bitmap;
+        final Object[] entries;
+
+        BitmapNode(int bitmap, Object[] entries) {
+            this.bitmap = bitmap;
+            this.entries = entries;
+        }
+
+        int index(int bit) {
+            return Integer.bitCount(bitmap & (bit - 1));
+        }
+
+        BitmapNode plus(Task task, int hash, int shift) {
+            int bit = bit(hash, shift);
+            int index = index(bit);
+            if ((bitmap & bit) == 0) {
+                Object[] newEntries = new Object[entries.length + 1];
+                System.arraycopy(entries, 0, newEntries, 0, index);
+                newEntries[index] = task;
+                System.arraycopy(entries, index, newEntries, index + 1, entries.length - index);
+                return new BitmapNode(bitmap | bit, newEntries);
+            }
+            Object entry = entries[index];
+            Object newEntry;
+            if (entry instanceof BitmapNode child) {
+                newEntry = child.plus(task, hash, shift + BITS);
+            } else if (entry instanceof CollisionNode collision) {
+                newEntry = collision.plus(task);
+            } else if (((Task) entry).id().equals(task.id())) {
+                newEntry = task;
+            } else {
+                newEntry = merge((Task) entry, task, hash, shift + BITS);
+            }
+            return with(index, newEntry);
+        }
+
+        /**
+         * Remove a task known to be contained. Returns the new node, or the single remaining Task
+         * (except at the root) to be pulled up by the parent.
+         */
+        Object minus(UUID id, int hash, int shift) {
+            int bit = bit(hash, shift);
+            int index = index(bit);
+            Object entry = entries[index];
+            Object newEntry;
+            if (entry instanceof BitmapNode child) {
+                newEntry = child.minus(id, hash, shift + BITS);
+            } else if (entry instanceof CollisionNode collision) {
+                newEntry = collision.minus(id);
+            } else {
+                newEntry = null;
+            }
+            if (newEntry == null) {
+                if (entries.length == 2 && shift > 0 && entries[1 - index] instanceof Task other) {
+                    return other;
+                }
+                Object[] newEntries = new Object[entries.length - 1];
+                System.arraycopy(entries, 0, newEntries, 0, index);
+                System.arraycopy(entries, index + 1, newEntries, index, newEntries.length - index);
+                return new BitmapNode(bitmap & ~bit, newEntries);
+            }
+            if (entries.length == 1 && shift > 0 && newEntry instanceof Task task) {
+                return task;
+            }
+            return with(index, newEntry);
+        }
+
+        private BitmapNode with(int index, Object entry) {
+            Object[] newEntries = entries.clone();
+            newEntries[index] = entry;
+            return new BitmapNode(bitmap, newEntries);
+        }
+
+        private static Object merge(Task existing, Task task, int hash, int shift) {
+            int existingHash = hash(existing.id());
+            if (shift >= Integer.SIZE) {
+                return new CollisionNode(new Task[] {existing, task});
+            }
+            return EMPTY.plus(existing, existingHash, shift).plus(task, hash, shift);
+        }
+    }
+
+    /**
+     * Leaf for tasks whose spread hash codes are identical.
+     */
+    private static final class CollisionNode {
+
+        final Task[] tasks;
+
+        CollisionNode(Task[] tasks) {
+            this.tasks = tasks;
+        }
+
+        Task get(UUID id) {
+            for (Task task : tasks) {
+                if (task.id().equals(id)) {
+                    return task;
+                }
+            }
+            return null;
+        }
+
+        CollisionNode plus(Task task) {
+            for (int i = 0; i < tasks.length; ++i) {
+                if (tasks[i].id().equals(task.id())) {
+                    Task[] newTasks = tasks.clone();
+                    newTasks[i] = task;
+                    return new CollisionNode(newTasks);
+                }
+            }
+            Task[] newTasks = Arrays.copyOf(tasks, tasks.length + 1);
+            newTasks[tasks.length] = task;
+            return new CollisionNode(newTasks);
+        }
+
+        /**
+         * Remove a task known to be contained. Returns the new node, or the single remaining Task.
+         */
+        Object minus(UUID id) {
+            Task[] newTasks = Arrays.stream(tasks)
+                    .filter(task -> !task.id().equals(id))
+                    .toArray(Task[]::new);
+            return newTasks.length == 1 ? newTasks[0] : new CollisionNode(newTasks);
+        }
+    }
+
+    /**
+     * Depth-first iterator over the trie, without allocation per element.
+     */
+    private static final class TaskIterator implements Iterator<Task> {
+
+        // deepest path: root, 6 inner levels, collision node
+        private final Object[][] stack = new Object[9][];
+        private final int[] positions = new int[9];
+        private int depth;
+        private Task next;
+
+        TaskIterator(BitmapNode root) {
+            stack[0] = root.entries;
+            advance();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next != null;
+        }
+
+        @Override
+        public Task next() {
+            if (next == null) {
+                throw new NoSuchElementException();
+            }
+            Task task = next;
+            advance();
+            return task;
+        }
+
+        private void advance() {
+            while (depth >= 0) {
+                Object[] entries = stack[depth];
+                if (positions[depth] == entries.length) {
+                    --depth;
+                    continue;
+                }
+                Object entry = entries[positions[depth]++];
+                if (entry instanceof Task task) {
+                    next = task;
+                    return;
+                }
+                ++depth;
+                stack[depth] = entry instanceof BitmapNode node ? node.entries
+                        : ((CollisionNode) entry).tasks;
+                positions[depth] = 0;
+            }
+            next = null;
+        }
+    }
+
+    private static final class Values extends AbstractList<Task> {
+
+        private final PersistentTaskMap map;
+
+        Values(PersistentTaskMap map) {
+            this.map = map;
+        }
+
+        @Override
+        public Iterator<Task> iterator() {
+            return new TaskIterator(map.root);
+        }
+
+        @Override
+        public Task get(int index) {
+            if (index < 0 || index >= map.size) {
+                throw new IndexOutOfBoundsException(index);
+            }
+            Iterator<Task> iterator = iterator();
+            for (int i = 0; i < index; ++i) {
+                iterator.next();
+            }
+            return iterator.next();
+        }
+
+        @Override
+        public int size() {
+            return map.size;
+        }
+    }
+}
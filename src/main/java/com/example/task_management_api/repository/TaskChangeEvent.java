@@ -0,0 +1,25 @@
+package com.example.task_management_api.repository;
+
+import java.util.UUID;
+import com.example.task_management_api.model.Task;
+
+
+/**
+ * A single mutation of the task repository, as published into the {@link TaskChangeLog}.
+ *
+ * @param sequence Monotonically increasing sequence number assigned by the change log.
+ * @param type Kind of mutation.
+ * @param id UUID of the affected task, null for {@link Type#CLEARED}.
+ * @param task The task after the mutation for CREATED / UPDATED, the removed task for DELETED
+ *        (null if not known), null for CLEARED.
+ */
+
+public record TaskChangeEvent(long sequence, Type type, UUID id, Task task) {
+
+    /**
+     * Kinds of mutations published by the repository.
+     */
+    public enum Type {
+        CREATED, UPDATED, DELETED, CLEARED
+    }
+}
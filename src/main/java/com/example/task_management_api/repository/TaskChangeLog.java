@@ -0,0 +1,272 @@
+package com.example.task_management_api.repository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import com.example.task_management_api.model.Task;
+
+
+/**
+ * Bounded, lock-free ring buffer of {@link TaskChangeEvent}s (change data capture of the task
+ * repository).
+ * <p>
+ * Writers claim a monotonically increasing sequence number with a single atomic increment and
+ * publish their event into the slot for that sequence. Writers never wait for readers: once the ring
+ * is full, the oldest events are overwritten. Readers that fall behind by more than the capacity of
+ * the ring are told to resync instead of holding writers back. Writers only wait for writers: a
+ * claim more than the capacity ahead of the oldest sequence not yet published waits until it is,
+ * so that its slot is not overwritten before it was published.
+ * </p>
+ * <p>
+ * Sequence numbers start at 1, unless a repository keeping versions across restarts continues
+ * after its last one ({@link #startAfter(long)}). A reader position of 0 means "nothing read yet".
+ * </p>
+ *
+ * @implNote Multiple writers may publish out of order (sequence 7 may land before sequence 6).
+ *           {@link #lastSequence()} therefore only advances over contiguously published events, so
+ *           that readers never skip a sequence number that is claimed but not yet published.
+ */
+
+@Component
+public class TaskChangeLog {
+
+    /**
+     * Result of reading from the change log.
+     *
+     * @param events Events read, in sequence order. Empty if nothing new is available.
+     * @param resyncRequired true if the requested position is no longer (or not yet) covered by the
+     *        ring and the reader must rebuild its state from a full read of the repository.
+     */
+    public record Batch(List<TaskChangeEvent> events, boolean resyncRequired) {
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param capacity Number of events retained. Rounded up to the next power of two.
+     */
+    public TaskChangeLog(@Value("${tasks.changes.capacity:65536}") int capacity) {
+        int size = capacity <= 2 ? 2 : Integer.highestOneBit(capacity - 1) << 1;
+        this.slots = new AtomicReferenceArray<>(size);
+        this.mask = size - 1;
+    }
+
+    /**
+     * Append a new event to the log.
+     *
+     * @param type Kind of mutation.
+     * @param id UUID of the affected task, null for CLEARED.
+     * @param task The task affected by the mutation, may be null.
+     *
+     * @return The sequence number assigned to the event.
+     */
+    public long append(TaskChangeEvent.Type type, UUID id, Task task) {
+        long sequence = claim();
+        publish(sequence, type, id, task);
+        return sequence;
+    }
+
+    /**
+     * Claim the next sequence number without publishing an event yet. Used by writers that need to
+     * stamp their data with the sequence number before the event becomes visible to readers.
+     *
+     * @apiNote Every claimed sequence number must be published, otherwise {@link #lastSequence()}
+     *          stops advancing.
+     *
+     * @return The claimed sequence number.
+     */
+    public long claim() {
+        return claim(1);
+    }
+
+    /**
+     * Claim a contiguous block of sequence numbers at once, for writers applying a batch.
+     *
+     * @apiNote Every claimed sequence number must be published, see {@link #claim()}. Waits while
+     *          the block would end more than {@link #capacity()} after the last sequence number
+     *          published contiguously.
+     *
+     * @param count Number of sequence numbers to claim.
+     *
+     * @return The first claimed sequence number, the block ends at first + count - 1.
+     *
+     * @throws IllegalArgumentException if count is larger than the capacity.
+     */
+    public long claim(int count) {
+        if (count > capacity()) {
+            throw new IllegalArgumentException(
+                    "Cannot claim " + count + " sequence numbers, capacity is " + capacity());
+        }
+        for (;;) {
+            long current = claimed.get();
+            if (current + count - published.get() > capacity()) {
+                // a slot of the block still awaits the event of a lap before
+                LockSupport.parkNanos(CLAIM_BACKOFF_NANOS);
+                continue;
+            }
+            if (claimed.compareAndSet(current, current + count)) {
+                return current + 1;
+            }
+        }
+    }
+
+    /**
+     * Continue the sequence numbers after the given one instead of starting at 1, for repositories
+     * that store the versions of their tasks across restarts. Readers positioned before it are
+     * told to resync.
+     *
+     * @param sequence The last sequence number used before.
+     *
+     * @throws IllegalStateException if a sequence number was claimed already.
+     */
+    public void startAfter(long sequence) {
+        if (!claimed.compareAndSet(0, sequence)) {
+            throw new IllegalStateException(
+                    "Cannot start after " + sequence + ", sequence numbers already claimed");
+        }
+        published.set(sequence);
+    }
+
+    /**
+     * Publish the event for a sequence number previously obtained via {@link #claim()}.
+     *
+     * @param sequence The claimed sequence number.
+     * @param type Kind of mutation.
+     * @param id UUID of the affected task, null for CLEARED.
+     * @param task The task affected by the mutation, may be null.
+     */
+    public void publish(long sequence, TaskChangeEvent.Type type, UUID id, Task task) {
+        slots.set(index(sequence), new TaskChangeEvent(sequence, type, id, task));
+        publishedEvents.incrementAndGet();
+        advancePublished();
+    }
+
+    /**
+     * Publish the events for a block of sequence numbers previously obtained via
+     * {@link #claim(int)}. Advances the published cursor once for the whole block.
+     *
+     * @param events The events, carrying their claimed sequence numbers.
+     */
+    public void publishAll(List<TaskChangeEvent> events) {
+        for (TaskChangeEvent event : events) {
+            slots.set(index(event.sequence()), event);
+        }
+        publishedEvents.addAndGet(events.size());
+        advancePublished();
+    }
+
+    /**
+     * Read up to maxEvents events following the given position.
+     *
+     * @param afterSequence Last sequence number the reader has already seen (0 for none).
+     * @param maxEvents Maximum number of events to return.
+     *
+     * @return The events read, or a batch flagging that a resync is required.
+     */
+    public Batch read(long afterSequence, int maxEvents) {
+        afterSequence = Math.max(0, afterSequence);
+        long head = published.get();
+        if (afterSequence > claimed.get()) {
+            // position from the future, e.g. from before a restart of the server
+            return RESYNC;
+        }
+        if (afterSequence >= head) {
+            return EMPTY;
+        }
+        if (afterSequence + 1 < head - mask) {
+            // oldest wanted event was already overwritten
+            return RESYNC;
+        }
+        long last = Math.min(head, afterSequence + maxEvents);
+        List<TaskChangeEvent> events = new ArrayList<>((int) (last - afterSequence));
+        for (long sequence = afterSequence + 1; sequence <= last; ++sequence) {
+            TaskChangeEvent event = slots.get(index(sequence));
+            if (event == null || event.sequence() != sequence) {
+                // overwritten by a writer while we were reading
+                return RESYNC;
+            }
+            events.add(event);
+        }
+        return new Batch(events, false);
+    }
+
+    /**
+     * Get the highest sequence number up to which all events have been published.
+     *
+     * @return The sequence number, 0 if nothing was published yet.
+     */
+    public long lastSequence() {
+        return published.get();
+    }
+
+    /**
+     * Get the number of events published so far, in whatever order. Unlike {@link #lastSequence()}
+     * this counts an event as soon as it is published, even while an earlier sequence number is
+     * still pending: read after a write has been published, it is at least the count that write
+     * left.
+     *
+     * @return The number of events published.
+     */
+    public long publishedCount() {
+        return publishedEvents.get();
+    }
+
+    /**
+     * Get the number of events retained by the ring.
+     *
+     * @return The capacity of the ring.
+     */
+    public int capacity() {
+        return mask + 1;
+    }
+
+
+    // ------------------------------------------------------------------------
+    // Private section from here on
+    // ------------------------------------------------------------------------
+
+    private static final Batch EMPTY = new Batch(List.of(), false);
+    private static final Batch RESYNC = new Batch(List.of(), true);
+    private static final long CLAIM_BACKOFF_NANOS = 10_000;
+
+    private final AtomicReferenceArray<TaskChangeEvent> slots;
+    private final int mask;
+
+    // last sequence number handed out to a writer
+    private final AtomicLong claimed = new AtomicLong();
+    // last sequence number up to which all slots are published
+    private final AtomicLong published = new AtomicLong();
+    // number of events published, in any order
+    private final AtomicLong publishedEvents = new AtomicLong();
+
+
+    private int index(long sequence) {
+        return (int) (sequence & mask);
+    }
+
+    /**
+     * Move the published cursor forward over all contiguously published slots. Any writer may do
+     * this for the others, so a writer finishing early does not have to wait for a slower one.
+     */
+    private void advancePublished() {
+        long current = published.get();
+        while (true) {
+            long next = current + 1;
+            TaskChangeEvent event = slots.get(index(next));
+            if (event == null || event.sequence() != next) {
+                // not yet published
+                return;
+            }
+            if (published.compareAndSet(current, next)) {
+                current = next;
+            } else {
+                current = published.get();
+            }
+        }
+    }
+}
@@ -1,9 +1,13 @@
 package com.example.task_management_api.repository;
 
+import java.util.Collection;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 import com.example.task_management_api.model.Task;
+import com.example.task_management_api.model.TaskDelta;
 
 
 
@@ -14,7 +18,16 @@ import com.example.task_management_api.model.Task;
  * Create, Read, Delete operations are supported along with methods to check existence, count, and
  * clear the repository.
  * 
- * @apiNote This interface does not include update operations for simplicity of toy project.
+ * @apiNote This interface does not include update operations for simplicity of toy project, apart
+ *          from claimNext, which atomically moves the oldest task in a status to another status
+ *          (work queue).
+ * @apiNote iterateByStatus walks the tasks with a status without copying them all first, for
+ *          background jobs working through them in slices. It is weakly consistent: tasks changed
+ *          during the iteration may or may not be seen, none is seen twice.
+ * @apiNote writeCount only increases, and does so by the time a mutation returns. Unlike
+ *          currentVersion, which only advances over contiguously published changes and may lag
+ *          behind a mutation that already returned, it covers every acknowledged write. Use it
+ *          to key responses cached by content.
  * @apiNote existsByTitleAndAuthor is included here for simplicity, though it could (should?) also
  *          be part of business logic.
  */
@@ -25,6 +38,8 @@ public interface TaskRepository {
 
     Task create(Task task);
 
+    List<Task> createAll(List<Task> tasks);
+
 
     // Read
 
@@ -32,17 +47,30 @@ public interface TaskRepository {
 
     Optional<Task> findById(UUID id);
 
+    List<Task> findAllById(Collection<UUID> ids);
+
     List<Task> findByStatus(String status);
 
+    Iterator<Task> iterateByStatus(String status);
+
+    TaskDelta findChangedSince(long version);
+
+    long versionOf(UUID id);
+
+    CompletableFuture<Void> watch(UUID id, long afterVersion);
+
 
     // Update
-    // nothing atm
+
+    Optional<Task> claimNext(String status, String newStatus);
 
     // Delete
     void clear();
 
     void deleteById(UUID id);
 
+    boolean deleteIfUnchanged(Task task);
+
 
     // Special query functions
 
@@ -54,4 +82,8 @@ public interface TaskRepository {
     long count();
 
     boolean isEmpty();
+
+    long currentVersion();
+
+    long writeCount();
 }
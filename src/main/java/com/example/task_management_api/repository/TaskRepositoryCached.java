@@ -0,0 +1,448 @@
+package com.example.task_management_api.repository;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import com.example.task_management_api.model.Task;
+import com.example.task_management_api.model.TaskDelta;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Read-through cache in front of a slow TaskRepository (disk or database), for
+ * {@link #findById(UUID)} and {@link #findByStatus(String)}. All other operations go straight to
+ * the backing repository.
+ * <p>
+ * Tasks by ID are kept in a bounded Caffeine cache, which evicts by W-TinyLFU: an admission filter
+ * estimating the frequency of keys keeps rarely read tasks from pushing out frequently read ones,
+ * and a small window admits new keys so that bursts are cached too. IDs without a task are cached
+ * as well (negative caching), for a shorter time. Listings by status are cached per status until
+ * the next mutation.
+ * </p>
+ * <p>
+ * Concurrent misses on the same key are loaded once: the first caller loads on its own thread, the
+ * others wait for its result instead of all hitting the backing repository (stampede protection).
+ * </p>
+ * <p>
+ * Every mutation goes to the backing repository first and then invalidates the cached entries it
+ * affects: the tasks it wrote, and all listings by status. Reads after a mutation has returned
+ * always see it. Hits, misses and the latency of loads are exposed as metrics
+ * {@code tasks.cache.*}.
+ * </p>
+ *
+ * @implNote Entries are invalidated rather than replaced with the written task, so that two
+ *           concurrent writers of a task cannot leave the older one cached. Loads of tasks in
+ *           flight are futures in a map of their own, which invalidation clears as well; a loaded
+ *           task is only cached if its future is still there. Listings are tagged with a mutation
+ *           counter taken before they are loaded; a listing tagged with an older count is stale and
+ *           reloaded.
+ * @implNote Tasks are cached once loaded, not as futures while loading: a Caffeine AsyncCache
+ *           writes every miss twice (the future, then its value), and with many misses callers
+ *           queue up on the lock of its eviction.
+ * @implNote Writes must go through this repository. Writes to the backing repository bypassing it
+ *           are only picked up once the cached entries expire.
+ */
+
+public class TaskRepositoryCached implements TaskRepository, MeterBinder, AutoCloseable {
+
+    /**
+     * Constructor.
+     *
+     * @param delegate The backing repository.
+     * @param maximumSize Maximum number of tasks (and missing IDs) cached.
+     * @param expireAfterWrite How long a cached task or listing is kept at most.
+     * @param negativeTtl How long an ID without a task is cached.
+     */
+    public TaskRepositoryCached(TaskRepository delegate, long maximumSize,
+            Duration expireAfterWrite, Duration negativeTtl) {
+        this.delegate = delegate;
+        this.byId = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(Expiry.<UUID, Optional<Task>>creating(
+                        (id, task) -> task.isPresent() ? expireAfterWrite : negativeTtl))
+                .recordStats()
+                .build();
+        this.byStatus = Caffeine.newBuilder()
+                .maximumSize(MAX_LISTINGS)
+                .expireAfterWrite(expireAfterWrite)
+                .build();
+    }
+
+    // Create
+
+    @Override
+    public Task create(Task task) {
+        try {
+            return delegate.create(task);
+        } finally {
+            invalidate(task.id());
+        }
+    }
+
+    @Override
+    public List<Task> createAll(List<Task> tasks) {
+        try {
+            return delegate.createAll(tasks);
+        } finally {
+            List<UUID> ids = tasks.stream().map(Task::id).toList();
+            ids.forEach(pending::remove);
+            byId.invalidateAll(ids);
+            mutations.incrementAndGet();
+        }
+    }
+
+    // Read
+
+    @Override
+    public List<Task> findAll() {
+        return delegate.findAll();
+    }
+
+    /**
+     * Find a Task by its unique ID, from the cache if present, else loaded from the backing
+     * repository and cached, also if there is no Task.
+     *
+     * @param id The UUID of the Task to find.
+     *
+     * @return An Optional containing the found Task, or empty if not found.
+     */
+    @Override
+    public Optional<Task> findById(UUID id) {
+        Optional<Task> cached = byId.getIfPresent(id);
+        if (cached != null) {
+            idHits.increment();
+            return cached;
+        }
+        var loading = new CompletableFuture<Optional<Task>>();
+        CompletableFuture<Optional<Task>> inFlight = pending.putIfAbsent(id, loading);
+        if (inFlight != null) {
+            idHits.increment();
+            return await(inFlight);
+        }
+        idMisses.increment();
+        Optional<Task> task = load(loading, () -> delegate.findById(id),
+                () -> pending.remove(id, loading));
+        // cache unless invalidated meanwhile, atomically with the check
+        pending.computeIfPresent(id, (key, future) -> {
+            if (future != loading) {
+                return future;
+            }
+            byId.put(key, task);
+            return null;
+        });
+        return task;
+    }
+
+    @Override
+    public List<Task> findAllById(Collection<UUID> ids) {
+        return delegate.findAllById(ids);
+    }
+
+    /**
+     * Find all Tasks with the specified status, from the cache if no mutation happened since the
+     * listing was loaded.
+     *
+     * @param status The status to filter Tasks by.
+     *
+     * @return A read-only list of Tasks matching the status, empty list if none found.
+     */
+    @Override
+    public List<Task> findByStatus(String status) {
+        for (;;) {
+            long mutation = mutations.get();
+            Listing cached = byStatus.getIfPresent(status);
+            if (cached != null && cached.mutation() == mutation) {
+                statusHits.increment();
+                return await(cached.tasks());
+            }
+            var loading = new Listing(mutation, new CompletableFuture<>());
+            boolean won = cached == null ? byStatus.asMap().putIfAbsent(status, loading) == null
+                    : byStatus.asMap().replace(status, cached, loading);
+            if (won) {
+                statusMisses.increment();
+                return load(loading.tasks(),
+                        () -> Collections.unmodifiableList(delegate.findByStatus(status)),
+                        () -> byStatus.asMap().remove(status, loading));
+            }
+        }
+    }
+
+    /**
+     * Iterate over the tasks with a status in the backing repository. Not cached: the iteration is
+     * meant for background jobs and would otherwise push out the tasks of requests.
+     */
+    @Override
+    public Iterator<Task> iterateByStatus(String status) {
+        return delegate.iterateByStatus(status);
+    }
+
+    @Override
+    public TaskDelta findChangedSince(long version) {
+        return delegate.findChangedSince(version);
+    }
+
+    @Override
+    public long versionOf(UUID id) {
+        return delegate.versionOf(id);
+    }
+
+    /**
+     * Watch a task in the backing repository. The backing repository wakes its watchers within the
+     * mutation, before this repository invalidates the task, so the task is invalidated first: a
+     * woken watcher reading the task sees the change, not the cached task.
+     *
+     * @return Future completed on the next change of the task. Cancel it to unregister.
+     */
+    @Override
+    public CompletableFuture<Void> watch(UUID id, long afterVersion) {
+        CompletableFuture<Void> watching = delegate.watch(id, afterVersion);
+        CompletableFuture<Void> watcher = watching.thenRun(() -> invalidate(id));
+        watcher.whenComplete((result, failure) -> {
+            if (watcher.isCancelled()) {
+                watching.cancel(false);
+            }
+        });
+        return watcher;
+    }
+
+    // Update
+
+    @Override
+    public Optional<Task> claimNext(String status, String newStatus) {
+        Optional<Task> claimed;
+        try {
+            claimed = delegate.claimNext(status, newStatus);
+        } catch (RuntimeException e) {
+            // may have changed a task in the status
+            mutations.incrementAndGet();
+            throw e;
+        }
+        claimed.ifPresent(task -> invalidate(task.id()));
+        return claimed;
+    }
+
+    // Delete
+
+    @Override
+    public void clear() {
+        try {
+            delegate.clear();
+        } finally {
+            pending.clear();
+            byId.invalidateAll();
+            mutations.incrementAndGet();
+        }
+    }
+
+    @Override
+    public void deleteById(UUID id) {
+        try {
+            delegate.deleteById(id);
+        } finally {
+            invalidate(id);
+        }
+    }
+
+    @Override
+    public boolean deleteIfUnchanged(Task task) {
+        try {
+            return delegate.deleteIfUnchanged(task);
+        } finally {
+            invalidate(task.id());
+        }
+    }
+
+    // Query
+
+    @Override
+    public boolean existsByTitleAndAuthor(String title, String author) {
+        return delegate.existsByTitleAndAuthor(title, author);
+    }
+
+
+    // Container-like convenience functions
+
+    @Override
+    public long count() {
+        return delegate.count();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return delegate.isEmpty();
+    }
+
+    @Override
+    public long currentVersion() {
+        return delegate.currentVersion();
+    }
+
+    /**
+     * Get a count increased after every mutation, once its cached entries are invalidated: the
+     * count of the backing repository moves on before, while a stale entry may still be read.
+     */
+    @Override
+    public long writeCount() {
+        return mutations.get();
+    }
+
+
+    // Cache
+
+    /**
+     * Get the share of {@link #findById(UUID)} calls answered without loading.
+     *
+     * @return The hit ratio, 0 before the first call.
+     */
+    public double hitRatio() {
+        return ratio(idHits, idMisses);
+    }
+
+    /**
+     * Get the number of loads from the backing repository, by ID and by status.
+     *
+     * @return The number of loads.
+     */
+    public long loadCount() {
+        return loads.sum();
+    }
+
+    /**
+     * Close the backing repository, if it needs closing. Called by Spring on context close.
+     *
+     * @throws Exception if closing the backing repository fails
+     */
+    @Override
+    public void close() throws Exception {
+        if (delegate instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        bindRequests(registry, "task", idHits, idMisses);
+        bindRequests(registry, "status", statusHits, statusMisses);
+        FunctionTimer.builder("tasks.cache.loads", this, cache -> cache.loads.sum(),
+                cache -> cache.loadNanos.sum(), TimeUnit.NANOSECONDS)
+                .description("Loads from the backing repository on a cache miss")
+                .register(registry);
+        Gauge.builder("tasks.cache.size", byId, Cache::estimatedSize)
+                .description("Tasks and missing IDs cached")
+                .register(registry);
+        FunctionCounter.builder("tasks.cache.evictions", byId,
+                cache -> cache.stats().evictionCount())
+                .description("Tasks evicted from the cache for size or age")
+                .register(registry);
+    }
+
+
+    // ------------------------------------------------------------------------
+    // Private section from here on
+    // ------------------------------------------------------------------------
+
+    // statuses are few; bounded in case callers pass arbitrary ones
+    private static final int MAX_LISTINGS = 64;
+
+    /**
+     * A listing by status, tagged with the mutation count it was loaded at.
+     */
+    private record Listing(long mutation, CompletableFuture<List<Task>> tasks) {
+    }
+
+    private final TaskRepository delegate;
+    private final Cache<UUID, Optional<Task>> byId;
+    private final Map<UUID, CompletableFuture<Optional<Task>>> pending =
+            new ConcurrentHashMap<>();
+    private final Cache<String, Listing> byStatus;
+
+    // increased after every mutation, listings loaded at an older count are stale
+    private final AtomicLong mutations = new AtomicLong();
+
+    private final LongAdder idHits = new LongAdder();
+    private final LongAdder idMisses = new LongAdder();
+    private final LongAdder statusHits = new LongAdder();
+    private final LongAdder statusMisses = new LongAdder();
+    private final LongAdder loads = new LongAdder();
+    private final LongAdder loadNanos = new LongAdder();
+
+
+    /**
+     * Load a value on the calling thread and complete the future waiting callers share. On failure
+     * the future is dropped first, so that the next caller tries again.
+     */
+    private <T> T load(CompletableFuture<T> loading, Supplier<T> loader, Runnable drop) {
+        long start = System.nanoTime();
+        try {
+            T value = loader.get();
+            loading.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            drop.run();
+            loading.completeExceptionally(e);
+            throw e;
+        } finally {
+            loads.increment();
+            loadNanos.add(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Wait for a (possibly still loading) cached value, failing like the load did.
+     */
+    private static <T> T await(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private void invalidate(UUID id) {
+        pending.remove(id);
+        byId.invalidate(id);
+        mutations.incrementAndGet();
+    }
+
+    private static double ratio(LongAdder hits, LongAdder misses) {
+        long requests = hits.sum() + misses.sum();
+        return requests == 0 ? 0 : (double) hits.sum() / requests;
+    }
+
+    private void bindRequests(MeterRegistry registry, String cache, LongAdder hits,
+            LongAdder misses) {
+        FunctionCounter.builder("tasks.cache.requests", hits, LongAdder::sum)
+                .tags("cache", cache, "result", "hit")
+                .description("Cached reads answered from the cache, including waits for a load")
+                .register(registry);
+        FunctionCounter.builder("tasks.cache.requests", misses, LongAdder::sum)
+                .tags("cache", cache, "result", "miss")
+                .description("Cached reads loaded from the backing repository")
+                .register(registry);
+        Gauge.builder("tasks.cache.hit.ratio", this, repository -> ratio(hits, misses))
+                .tags("cache", cache)
+                .description("Share of cached reads answered from the cache")
+                .register(registry);
+    }
+}
@@ -1,22 +1,74 @@
 package com.example.task_management_api.repository;
 
+import java.time.Duration;
+import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
-import org.springframework.stereotype.Repository;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 import com.example.task_management_api.model.Task;
+import com.example.task_management_api.model.TaskDelta;
+import com.example.task_management_api.model.TaskTombstone;
+import com.example.task_management_api.monitoring.RepositoryOperationEvent;
 
 /**
  * In-memory implementation of TaskRepository using a ConcurrentHashMap for thread-safe storage.
  * Suitable for testing and development purposes.
+ * <p>
+ * Every mutation is published into a {@link TaskChangeLog}, so that consumers can follow changes
+ * without polling the whole repository. The sequence number of that event doubles as the version of
+ * the repository after the mutation. Live tasks and tombstones of deleted tasks are additionally
+ * indexed by version, so that {@link #findChangedSince(long)} costs O(changes) instead of O(store).
+ * Likewise, secondary indexes on status and on (title, author) answer {@link #findByStatus(String)}
+ * and {@link #existsByTitleAndAuthor(String, String)} without scanning all tasks.
+ * </p>
+ * <p>
+ * Besides the concurrent map for lookups and per-task locking, all tasks are kept in a
+ * {@link PersistentTaskMap} whose root is swapped on every mutation. {@link #findAll()} hands out
+ * that root: an immutable, consistent point-in-time snapshot in O(1), without copying.
+ * </p>
+ * <p>
+ * Watchers of single tasks ({@link #watch(UUID, long)}) are completed after each mutation of their
+ * task, once the task's map entry has been released.
+ * </p>
+ * <p>
+ * create, createAll, findAll, findByStatus, existsByTitleAndAuthor and clear emit a
+ * {@link RepositoryOperationEvent} to Java Flight Recorder when a recording enables it.
+ * </p>
+ *
+ * @implNote Events for the same task are appended while holding the map entry (via compute), so
+ *           their sequence order always matches the order in which they were applied. The version
+ *           indexes are updated between claiming and publishing the sequence number, so a version
+ *           is never visible to readers before the indexes reflect it. clear() is exclusive against
+ *           all other mutations so that the CLEARED event cleanly separates mutations before and
+ *           after it. It swaps the store and its indexes as one generation, so readers see either
+ *           the complete old state or the empty new one, never a partly cleared store.
  */
 
-@Repository
 public class TaskRepositoryInMemory implements TaskRepository {
 
+    /**
+     * Constructor.
+     *
+     * @param changeLog The change log to publish mutations into.
+     * @param tombstoneRetention How long tombstones of deleted tasks are kept for delta sync.
+     */
+    public TaskRepositoryInMemory(TaskChangeLog changeLog, Duration tombstoneRetention) {
+        this.changeLog = changeLog;
+        this.tombstoneRetention = tombstoneRetention;
+    }
+
     // Create
 
     /**
@@ -31,21 +83,106 @@ public class TaskRepositoryInMemory implements TaskRepository {
      */
     @Override
     public Task create(Task task) {
-        tasks.put(task.id(), task);
+        var event = RepositoryOperationEvent.beginIfEnabled();
+        mutationLock.readLock().lock();
+        try {
+            Generation g = generation;
+            g.tasks.compute(task.id(), (id, previous) -> put(g, previous, task));
+        } finally {
+            mutationLock.readLock().unlock();
+        }
+        watchers.changed(task.id());
+        if (event != null && event.shouldCommit()) {
+            event.commit("create", task.id(), 1, count());
+        }
         return task;
     }
 
+    /**
+     * Create a batch of new Tasks. Same as calling {@link #create(Task)} for each, but the lock,
+     * the sequence numbers and the publishing in the change log are taken care of once per batch.
+     * The tasks become visible to delta readers together, when the batch is published.
+     *
+     * @apiNote Meant for new tasks. A task of the batch overwriting an existing one that is
+     *          concurrently modified outside the batch may get its event out of order. If storing a
+     *          task fails, the tasks before it stay stored; the failed and the following ones are
+     *          published as they are stored, as UPDATED with the stored task or DELETED without
+     *          one.
+     *
+     * @param batch The Tasks to be created, at most {@link TaskChangeLog#capacity()}.
+     *
+     * @return The created Tasks.
+     */
+    @Override
+    public List<Task> createAll(List<Task> batch) {
+        if (batch.isEmpty()) {
+            return batch;
+        }
+        var event = RepositoryOperationEvent.beginIfEnabled();
+        TaskChangeEvent.Type[] types = new TaskChangeEvent.Type[batch.size()];
+        mutationLock.readLock().lock();
+        try {
+            long first = changeLog.claim(batch.size());
+            Generation g = generation;
+            try {
+                for (int i = 0; i < batch.size(); ++i) {
+                    Task task = batch.get(i);
+                    long version = first + i;
+                    int slot = i;
+                    g.tasks.compute(task.id(), (id, previous) -> {
+                        if (previous != null) {
+                            unindex(g, previous);
+                        }
+                        index(g, task);
+                        g.snapshot.updateAndGet(map -> map.plus(task));
+                        g.liveByVersion.put(version, task);
+                        Long previousVersion = g.versions.put(id, version);
+                        if (previousVersion != null) {
+                            g.liveByVersion.remove(previousVersion);
+                        }
+                        types[slot] = previous == null ? TaskChangeEvent.Type.CREATED
+                                : TaskChangeEvent.Type.UPDATED;
+                        return task;
+                    });
+                }
+            } finally {
+                // every claimed sequence number is published, also those of tasks not written
+                List<TaskChangeEvent> events = new ArrayList<>(batch.size());
+                for (int i = 0; i < batch.size(); ++i) {
+                    Task task = batch.get(i);
+                    events.add(types[i] != null
+                            ? new TaskChangeEvent(first + i, types[i], task.id(), task)
+                            : restated(g, first + i, task.id()));
+                }
+                changeLog.publishAll(events);
+            }
+        } finally {
+            mutationLock.readLock().unlock();
+        }
+        batch.forEach(task -> watchers.changed(task.id()));
+        if (event != null && event.shouldCommit()) {
+            event.commit("createAll", null, batch.size(), count());
+        }
+        return batch;
+    }
+
     // Read
 
     /**
-     * Retrieve all Tasks from the repository.
+     * Retrieve all Tasks from the repository, as consistent snapshot in O(1) without copying.
      * 
-     * @return A list of all Tasks, empty list if none.
+     * @return A read-only list of all Tasks, empty list if none. Iterated lazily, later mutations
+     *         of the repository do not affect it.
      */
 
     @Override
     public List<Task> findAll() {
-        return new ArrayList<>(tasks.values());
+        var event = RepositoryOperationEvent.beginIfEnabled();
+        List<Task> all = generation.snapshot.get().values();
+        if (event != null && event.shouldCommit()) {
+            event.commit("findAll", null, all.size(), all.size());
+        }
+        return all;
     }
 
     /**
@@ -58,7 +195,28 @@ public class TaskRepositoryInMemory implements TaskRepository {
 
     @Override
     public Optional<Task> findById(UUID id) {
-        return Optional.ofNullable(tasks.get(id));
+        return Optional.ofNullable(generation.tasks.get(id));
+    }
+
+    /**
+     * Find the Tasks with the given IDs in one call, all read from the same snapshot.
+     * 
+     * @param ids The UUIDs of the Tasks to find.
+     * 
+     * @return The Tasks found, in the order of the IDs. IDs without a Task are skipped.
+     */
+
+    @Override
+    public List<Task> findAllById(Collection<UUID> ids) {
+        PersistentTaskMap snapshot = generation.snapshot.get();
+        List<Task> found = new ArrayList<>(ids.size());
+        for (UUID id : ids) {
+            Task task = snapshot.get(id);
+            if (task != null) {
+                found.add(task);
+            }
+        }
+        return found;
     }
 
     /**
@@ -71,23 +229,156 @@ public class TaskRepositoryInMemory implements TaskRepository {
 
     @Override
     public List<Task> findByStatus(String status) {
-        return tasks.values().stream()
-                .filter(task -> status.equals(task.status()))
-                .toList();
+        var event = RepositoryOperationEvent.beginIfEnabled();
+        List<Task> found =
+                new ArrayList<>(generation.byStatus.getOrDefault(status, Map.of()).values());
+        if (event != null && event.shouldCommit()) {
+            event.commit("findByStatus", status, found.size(), count());
+        }
+        return found;
+    }
+
+    /**
+     * Iterate over the Tasks with the specified status, directly on the status index, without
+     * copying it.
+     *
+     * @param status The status to filter Tasks by.
+     *
+     * @return A read-only, weakly consistent iterator over the Tasks matching the status.
+     */
+
+    @Override
+    public Iterator<Task> iterateByStatus(String status) {
+        return Collections.unmodifiableCollection(
+                generation.byStatus.getOrDefault(status, Map.of()).values()).iterator();
+    }
+
+    /**
+     * Find all changes after the given repository version (delta sync).
+     *
+     * @param version The version the caller is in sync with, 0 for none.
+     *
+     * @return Tasks created or updated and tombstones of tasks deleted after that version. If the
+     *         version predates the retained history, all current tasks flagged as full resync.
+     */
+
+    @Override
+    public TaskDelta findChangedSince(long version) {
+        purgeExpiredTombstones();
+        long watermark = changeLog.lastSequence();
+        // read after the watermark: a watermark covering a clear implies its generation
+        Generation g = generation;
+        long purged = purgedUpToVersion.get();
+        if (version < g.clearedAtVersion || version < purged || version > watermark) {
+            return new TaskDelta(watermark, true, g.snapshot.get().values(), List.of());
+        }
+        List<Task> changed =
+                new ArrayList<>(g.liveByVersion.subMap(version, false, watermark, true).values());
+        List<TaskTombstone> deleted =
+                new ArrayList<>(g.tombstones.subMap(version, false, watermark, true).values());
+        if (purgedUpToVersion.get() > version) {
+            // tombstones we were about to return got purged while reading
+            return new TaskDelta(watermark, true, g.snapshot.get().values(), List.of());
+        }
+        return new TaskDelta(watermark, false, changed, deleted);
+    }
+
+    /**
+     * Get the version of a Task, i.e. the repository version of its latest change.
+     * 
+     * @param id The UUID of the Task.
+     * 
+     * @return The version, 0 if the Task does not exist.
+     */
+
+    @Override
+    public long versionOf(UUID id) {
+        return generation.versions.getOrDefault(id, 0L);
+    }
+
+    /**
+     * Watch a Task for its next change (long-poll). The watcher takes no thread and no CPU while
+     * waiting.
+     * 
+     * @param id The UUID of the Task.
+     * @param afterVersion The version of the Task the caller knows.
+     * 
+     * @return A future completed once the Task has changed or been deleted after that version,
+     *         right away if it already has or does not exist. Cancel it to stop watching.
+     */
+
+    @Override
+    public CompletableFuture<Void> watch(UUID id, long afterVersion) {
+        return watchers.watch(id, afterVersion, this::versionOf);
     }
 
     // Update
-    // nothing atm
+
+    /**
+     * Atomically move the oldest Task in a status to another status (work queue), so that every
+     * Task is handed out once, however many callers claim concurrently.
+     * 
+     * @implNote The Tasks in the status are taken from a lock-free {@link ClaimQueue}, set up by
+     *           the first claim for that status (briefly blocking mutations) and kept up to date by
+     *           every mutation from then on. Oldest is by createdAt for Tasks present at that first
+     *           claim, by order of arrival in the status afterwards.
+     * 
+     * @param status The status to take the Task from, e.g. "pending".
+     * @param newStatus The status to move it to, e.g. "in-progress".
+     * 
+     * @return The claimed Task as now stored, with the new status and updatedAt, or empty if no
+     *         Task is in the status.
+     */
+
+    @Override
+    public Optional<Task> claimNext(String status, String newStatus) {
+        for (;;) {
+            Generation g = generation;
+            ClaimQueue queue = g.queues.get(status);
+            if (queue == null) {
+                setUpQueue(status);
+                continue;
+            }
+            Map<UUID, Task> withStatus = g.byStatus.getOrDefault(status, Map.of());
+            queue.compactIfNeeded(withStatus.size(), withStatus::containsKey);
+            UUID id = queue.poll();
+            if (id == null) {
+                return Optional.empty();
+            }
+            Task claimed = claim(g, id, status, newStatus);
+            if (claimed != null) {
+                return Optional.of(claimed);
+            }
+        }
+    }
 
     // Delete
 
     /**
-     * Clear all Tasks from the repository.
+     * Clear all Tasks from the repository in O(1), by replacing the store and all its indexes with
+     * a new, empty generation. The old one is left to the garbage collector.
      */
 
     @Override
     public void clear() {
-        tasks.clear();
+        var event = RepositoryOperationEvent.beginIfEnabled();
+        int cleared;
+        mutationLock.writeLock().lock();
+        try {
+            long version = changeLog.claim();
+            try {
+                cleared = generation.tasks.size();
+                generation = new Generation(version);
+            } finally {
+                changeLog.publish(version, TaskChangeEvent.Type.CLEARED, null, null);
+            }
+        } finally {
+            mutationLock.writeLock().unlock();
+        }
+        watchers.changedAll();
+        if (event != null && event.shouldCommit()) {
+            event.commit("clear", null, cleared, count());
+        }
     }
 
     /**
@@ -97,7 +388,20 @@ public class TaskRepositoryInMemory implements TaskRepository {
      */
     @Override
     public void deleteById(UUID id) {
-        tasks.remove(id);
+        delete(id, null);
+    }
+
+    /**
+     * Delete a Task only if it is still stored exactly as given, i.e. has not been replaced or
+     * deleted in the meantime.
+     *
+     * @param task The Task to delete, as read before.
+     *
+     * @return true if deleted, false if the stored Task differs or is gone.
+     */
+    @Override
+    public boolean deleteIfUnchanged(Task task) {
+        return delete(task.id(), task);
     }
 
     // Query
@@ -113,9 +417,16 @@ public class TaskRepositoryInMemory implements TaskRepository {
      * @return true if a matching Task exists, false otherwise.
      */
 
+    @Override
     public boolean existsByTitleAndAuthor(String title, String author) {
-        return tasks.values().stream().anyMatch(
-                task -> title.equals(task.title()) && author.equals(task.author()));
+        var event = RepositoryOperationEvent.beginIfEnabled();
+        boolean exists =
+                generation.byTitleAndAuthor.containsKey(new TitleAndAuthor(title, author));
+        if (event != null && event.shouldCommit()) {
+            event.commit("existsByTitleAndAuthor", title + " / " + author, exists ? 1 : 0,
+                    count());
+        }
+        return exists;
     }
 
 
@@ -128,7 +439,7 @@ public class TaskRepositoryInMemory implements TaskRepository {
      */
     @Override
     public long count() {
-        return tasks.size();
+        return generation.tasks.size();
     }
 
     /**
@@ -138,7 +449,26 @@ public class TaskRepositoryInMemory implements TaskRepository {
      */
     @Override
     public boolean isEmpty() {
-        return tasks.isEmpty();
+        return generation.tasks.isEmpty();
+    }
+
+    /**
+     * Get the current version of the repository, i.e. the version of the latest mutation visible
+     * to readers. Changes whenever the content of the repository changes.
+     * 
+     * @return The current version, 0 if never modified.
+     */
+    @Override
+    public long currentVersion() {
+        return changeLog.lastSequence();
+    }
+
+    /**
+     * Get the number of mutations published so far, see {@link TaskChangeLog#publishedCount()}.
+     */
+    @Override
+    public long writeCount() {
+        return changeLog.publishedCount();
     }
 
 
@@ -146,5 +476,217 @@ public class TaskRepositoryInMemory implements TaskRepository {
     // Private section from here on
     // ------------------------------------------------------------------------
 
-    private final Map<UUID, Task> tasks = new ConcurrentHashMap<>();
+    private final TaskChangeLog changeLog;
+
+    // shared by create / delete, exclusive for clear
+    private final ReadWriteLock mutationLock = new ReentrantReadWriteLock();
+
+    private record TitleAndAuthor(String title, String author) {
+    }
+
+    /**
+     * The store and all its indexes, replaced as a whole by clear().
+     */
+    private static final class Generation {
+
+        Generation(long clearedAtVersion) {
+            this.clearedAtVersion = clearedAtVersion;
+        }
+
+        final Map<UUID, Task> tasks = new ConcurrentHashMap<>();
+
+        // all tasks as immutable map, replaced on every mutation, for copy-free findAll
+        final AtomicReference<PersistentTaskMap> snapshot =
+                new AtomicReference<>(PersistentTaskMap.EMPTY);
+
+        // Secondary indexes: tasks by status, number of tasks per (title, author)
+        final Map<String, Map<UUID, Task>> byStatus = new ConcurrentHashMap<>();
+        final Map<TitleAndAuthor, Integer> byTitleAndAuthor = new ConcurrentHashMap<>();
+
+        // Delta sync: version of every live task, live tasks and tombstones indexed by version
+        final Map<UUID, Long> versions = new ConcurrentHashMap<>();
+        final ConcurrentSkipListMap<Long, Task> liveByVersion = new ConcurrentSkipListMap<>();
+        final ConcurrentSkipListMap<Long, TaskTombstone> tombstones =
+                new ConcurrentSkipListMap<>();
+
+        // Work queues by status, only for statuses claimed from
+        final Map<String, ClaimQueue> queues = new ConcurrentHashMap<>();
+
+        // clients in sync with an older version need a full resync
+        final long clearedAtVersion;
+    }
+
+    // only replaced while holding the mutation lock exclusively
+    private volatile Generation generation = new Generation(0);
+
+    // watchers of single tasks, across generations
+    private final TaskWatchers watchers = new TaskWatchers();
+
+    private final Duration tombstoneRetention;
+    // clients in sync with an older version than this need a full resync
+    private final AtomicLong purgedUpToVersion = new AtomicLong();
+
+
+    /**
+     * Store a task in place of previous (null if new), update all indexes and publish the change.
+     * Only called while holding the map entry of the task.
+     */
+    private Task put(Generation g, Task previous, Task task) {
+        long version = changeLog.claim();
+        try {
+            if (previous != null) {
+                unindex(g, previous);
+            }
+            index(g, task);
+            g.snapshot.updateAndGet(map -> map.plus(task));
+            g.liveByVersion.put(version, task);
+            Long previousVersion = g.versions.put(task.id(), version);
+            if (previousVersion != null) {
+                g.liveByVersion.remove(previousVersion);
+            }
+        } finally {
+            changeLog.publish(version, previous == null ? TaskChangeEvent.Type.CREATED
+                    : TaskChangeEvent.Type.UPDATED, task.id(), task);
+        }
+        return task;
+    }
+
+    /**
+     * Claim a task taken from the queue, if it is still in the status.
+     *
+     * @return The claimed task, null if it is gone, no longer in the status or of an older
+     *         generation.
+     */
+    private Task claim(Generation g, UUID id, String status, String newStatus) {
+        Task[] claimed = new Task[1];
+        mutationLock.readLock().lock();
+        try {
+            if (generation != g) {
+                return null;
+            }
+            g.tasks.computeIfPresent(id, (key, previous) -> {
+                if (!status.equals(previous.status())) {
+                    return previous;
+                }
+                claimed[0] = put(g, previous, ClaimQueue.claimed(previous, newStatus));
+                return claimed[0];
+            });
+        } finally {
+            mutationLock.readLock().unlock();
+        }
+        if (claimed[0] != null) {
+            watchers.changed(id);
+        }
+        return claimed[0];
+    }
+
+    /**
+     * Set up the work queue of a status from the tasks currently in it. Exclusive against all
+     * mutations, so that no task entering the status in the meantime is missed.
+     */
+    private void setUpQueue(String status) {
+        mutationLock.writeLock().lock();
+        try {
+            Generation g = generation;
+            g.queues.computeIfAbsent(status, key -> new ClaimQueue(
+                    g.byStatus.getOrDefault(key, Map.of()).values()));
+        } finally {
+            mutationLock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Add a task to the secondary indexes and to the work queue of its status, if any. Only called
+     * while holding the map entry of the task.
+     */
+    private static void index(Generation g, Task task) {
+        if (task.status() != null) {
+            Map<UUID, Task> withStatus = g.byStatus.computeIfAbsent(task.status(),
+                    status -> new ConcurrentHashMap<>());
+            withStatus.put(task.id(), task);
+            ClaimQueue queue = g.queues.get(task.status());
+            if (queue != null) {
+                queue.add(task.id());
+            }
+        }
+        g.byTitleAndAuthor.merge(new TitleAndAuthor(task.title(), task.author()), 1, Integer::sum);
+    }
+
+    /**
+     * The event for a claimed sequence number whose task was not written: re-states the task as
+     * stored, so that change log readers apply nothing that is not in the repository.
+     */
+    private static TaskChangeEvent restated(Generation g, long version, UUID id) {
+        Task current = id != null ? g.tasks.get(id) : null;
+        return current != null
+                ? new TaskChangeEvent(version, TaskChangeEvent.Type.UPDATED, id, current)
+                : new TaskChangeEvent(version, TaskChangeEvent.Type.DELETED, id, null);
+    }
+
+    /**
+     * Remove a task from the secondary indexes. Only called while holding the map entry of the task.
+     */
+    private static void unindex(Generation g, Task task) {
+        var withStatus = task.status() != null ? g.byStatus.get(task.status()) : null;
+        if (withStatus != null) {
+            withStatus.remove(task.id());
+        }
+        g.byTitleAndAuthor.computeIfPresent(new TitleAndAuthor(task.title(), task.author()),
+                (key, count) -> count == 1 ? null : count - 1);
+    }
+
+    /**
+     * Delete a task, if expected is given only if it is the stored one.
+     */
+    private boolean delete(UUID id, Task expected) {
+        boolean[] deleted = new boolean[1];
+        mutationLock.readLock().lock();
+        try {
+            Generation g = generation;
+            g.tasks.computeIfPresent(id, (key, previous) -> {
+                if (expected != null && !expected.equals(previous)) {
+                    return previous;
+                }
+                long version = changeLog.claim();
+                try {
+                    unindex(g, previous);
+                    g.snapshot.updateAndGet(map -> map.minus(key));
+                    g.tombstones.put(version, new TaskTombstone(key, version, Instant.now()));
+                    Long previousVersion = g.versions.remove(key);
+                    if (previousVersion != null) {
+                        g.liveByVersion.remove(previousVersion);
+                    }
+                } finally {
+                    changeLog.publish(version, TaskChangeEvent.Type.DELETED, key, previous);
+                }
+                deleted[0] = true;
+                return null;
+            });
+        } finally {
+            mutationLock.readLock().unlock();
+        }
+        if (deleted[0]) {
+            watchers.changed(id);
+        }
+        purgeExpiredTombstones();
+        return deleted[0];
+    }
+
+    /**
+     * Drop tombstones older than the retention period. Tombstones are ordered by version and thus
+     * (roughly) by deletion time, so this only ever looks at the head of the index.
+     *
+     * @implNote The purge watermark is raised before a tombstone is removed, so a concurrent delta
+     *           read either still sees the tombstone or notices the watermark.
+     */
+    private void purgeExpiredTombstones() {
+        Instant cutoff = Instant.now().minus(tombstoneRetention);
+        var tombstones = generation.tombstones;
+        Map.Entry<Long, TaskTombstone> oldest;
+        while ((oldest = tombstones.firstEntry()) != null
+                && !oldest.getValue().deletedAt().isAfter(cutoff)) {
+            purgedUpToVersion.accumulateAndGet(oldest.getKey(), Math::max);
+            tombstones.remove(oldest.getKey());
+        }
+    }
 }
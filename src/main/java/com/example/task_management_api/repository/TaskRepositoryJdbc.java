@@ -0,0 +1,874 @@
+package com.example.task_management_api.repository;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import javax.sql.DataSource;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import com.example.task_management_api.model.Task;
+import com.example.task_management_api.model.TaskDelta;
+import com.example.task_management_api.model.TaskTombstone;
+import com.example.task_management_api.monitoring.RepositoryOperationEvent;
+
+/**
+ * Relational implementation of TaskRepository on a (pooled) JDBC {@link DataSource}, selected by
+ * the Spring profile {@code jdbc}. Tested against embedded H2 as local stand-in for a database
+ * server.
+ * <p>
+ * Tasks live in table {@code tasks}, with the repository version of their latest change in column
+ * {@code version}. Deleted tasks leave a row in {@code task_tombstones} for delta sync. The schema
+ * is created at startup if missing, with indexes for the queries of the repository: (status,
+ * created_at, id) for {@link #findByStatus(String)} and {@link #claimNext(String, String)},
+ * created_at for queries by age (e.g. retention), version for {@link #findChangedSince(long)}, and
+ * a unique constraint on (title, author). The constraint answers
+ * {@link #existsByTitleAndAuthor(String, String)} from its index and rejects a duplicate that slips
+ * past that check with a {@link org.springframework.dao.DuplicateKeyException}.
+ * </p>
+ * <p>
+ * {@link #createAll(List)} writes a batch with one batched UPDATE and one batched INSERT (for the
+ * tasks not updated) in a single transaction, in chunks of batchSize rows. {@link #findAll()} and
+ * the other listings stream their rows with the given fetch size instead of materializing the whole
+ * result in the driver. All statements use a fixed set of SQL strings, also for the IN lists of
+ * {@link #findAllById(Collection)} (padded to a few sizes), so that the prepared statement caches
+ * of driver and database are reused.
+ * </p>
+ * <p>
+ * Every mutation is published into the {@link TaskChangeLog}, as in the in-memory repository.
+ * Versions are stored with the tasks and survive a restart: the change log continues after the
+ * highest stored version, clients in sync with an older version get a full resync once.
+ * </p>
+ * <p>
+ * create, createAll, findAll, findByStatus, existsByTitleAndAuthor and clear emit a
+ * {@link RepositoryOperationEvent} to Java Flight Recorder when a recording enables it.
+ * </p>
+ *
+ * @implNote Assumes a single application instance writing to the database. Mutations of a task
+ *           hold one of a fixed set of striped locks from claiming their sequence number until
+ *           publishing it, after the commit, so that the event order matches the order of the
+ *           writes and a version is never visible to readers before its row. A write failing in
+ *           the database still publishes its sequence number, re-stating the task as read
+ *           afterwards (as DELETED if it cannot be read), since every claimed sequence must be
+ *           published. clear() is exclusive against all other mutations and delta reads, as in
+ *           the in-memory repository.
+ * @implNote Timestamps are stored as TIMESTAMP(9) WITH TIME ZONE to keep the nanoseconds of an
+ *           Instant. PostgreSQL only stores microseconds: use TIMESTAMP(6) there and expect
+ *           truncated timestamps.
+ */
+
+public class TaskRepositoryJdbc implements TaskRepository {
+
+    /**
+     * Constructor. Creates the schema if missing and continues the change log after the highest
+     * version already stored.
+     *
+     * @param dataSource The (pooled) DataSource of the database.
+     * @param changeLog The change log to publish mutations into. Nothing must have been claimed
+     *        from it yet if the database already holds tasks.
+     * @param tombstoneRetention How long tombstones of deleted tasks are kept for delta sync.
+     * @param batchSize Number of rows per JDBC batch of createAll.
+     * @param fetchSize Number of rows fetched per round trip when reading listings.
+     */
+    public TaskRepositoryJdbc(DataSource dataSource, TaskChangeLog changeLog,
+            Duration tombstoneRetention, int batchSize, int fetchSize) {
+        this.jdbc = new JdbcTemplate(dataSource);
+        this.jdbc.setFetchSize(fetchSize);
+        var transactionManager = new DataSourceTransactionManager(dataSource);
+        this.transactions = new TransactionTemplate(transactionManager);
+        this.readOnly = new TransactionTemplate(transactionManager);
+        this.readOnly.setReadOnly(true);
+        this.changeLog = changeLog;
+        this.tombstoneRetention = tombstoneRetention;
+        this.batchSize = batchSize;
+        this.pageSize = fetchSize;
+        for (int i = 0; i < stripes.length; ++i) {
+            stripes[i] = new ReentrantLock();
+        }
+        initialize();
+    }
+
+    // Create
+
+    /**
+     * Create a new Task or replace the stored one with the same ID.
+     *
+     * @param task The Task to be created.
+     *
+     * @return The created Task.
+     *
+     * @throws org.springframework.dao.DuplicateKeyException if another Task with the same title and
+     *         author exists.
+     */
+    @Override
+    public Task create(Task task) {
+        var event = RepositoryOperationEvent.beginIfEnabled();
+        mutationLock.readLock().lock();
+        Lock lock = stripe(task.id());
+        lock.lock();
+        try {
+            long version = changeLog.claim();
+            boolean written = false;
+            try {
+                boolean updated = jdbc.update(UPDATE, ps -> bind(ps, task, version)) > 0;
+                if (!updated) {
+                    jdbc.update(INSERT, ps -> bind(ps, task, version));
+                }
+                changeLog.publish(version, updated ? TaskChangeEvent.Type.UPDATED
+                        : TaskChangeEvent.Type.CREATED, task.id(), task);
+                written = true;
+            } finally {
+                if (!written) {
+                    restate(version, task.id());
+                }
+            }
+        } finally {
+            lock.unlock();
+            mutationLock.readLock().unlock();
+        }
+        watchers.changed(task.id());
+        if (event != null && event.shouldCommit()) {
+            event.commit("create", task.id(), 1, count());
+        }
+        return task;
+    }
+
+    /**
+     * Create a batch of new Tasks in one transaction, with batched statements. All or none of the
+     * Tasks are written; they become visible to delta readers together.
+     *
+     * @param batch The Tasks to be created, at most {@link TaskChangeLog#capacity()}.
+     *
+     * @return The created Tasks.
+     *
+     * @throws org.springframework.dao.DuplicateKeyException if a Task with the same title and
+     *         author as one of the batch exists, or two of the batch share them.
+     */
+    @Override
+    public List<Task> createAll(List<Task> batch) {
+        if (batch.isEmpty()) {
+            return batch;
+        }
+        var event = RepositoryOperationEvent.beginIfEnabled();
+        BitSet locked = new BitSet(stripes.length);
+        batch.forEach(task -> locked.set(stripeIndex(task.id())));
+        mutationLock.readLock().lock();
+        // in ascending order, so that concurrent batches cannot deadlock
+        locked.stream().forEach(i -> stripes[i].lock());
+        try {
+            long first = changeLog.claim(batch.size());
+            boolean written = false;
+            try {
+                boolean[] updated = transactions.execute(status -> write(batch, first));
+                List<TaskChangeEvent> events = new ArrayList<>(batch.size());
+                for (int i = 0; i < batch.size(); ++i) {
+                    Task task = batch.get(i);
+                    events.add(new TaskChangeEvent(first + i, updated[i]
+                            ? TaskChangeEvent.Type.UPDATED : TaskChangeEvent.Type.CREATED,
+                            task.id(), task));
+                }
+                changeLog.publishAll(events);
+                written = true;
+            } finally {
+                if (!written) {
+                    for (int i = 0; i < batch.size(); ++i) {
+                        restate(first + i, batch.get(i).id());
+                    }
+                }
+            }
+        } finally {
+            locked.stream().forEach(i -> stripes[i].unlock());
+            mutationLock.readLock().unlock();
+        }
+        batch.forEach(task -> watchers.changed(task.id()));
+        if (event != null && event.shouldCommit()) {
+            event.commit("createAll", null, batch.size(), count());
+        }
+        return batch;
+    }
+
+    // Read
+
+    /**
+     * Retrieve all Tasks from the repository, streamed from the database with the fetch size.
+     *
+     * @return A list of all Tasks, empty list if none.
+     */
+    @Override
+    public List<Task> findAll() {
+        var event = RepositoryOperationEvent.beginIfEnabled();
+        List<Task> all = query(SELECT);
+        if (event != null && event.shouldCommit()) {
+            event.commit("findAll", null, all.size(), all.size());
+        }
+        return all;
+    }
+
+    /**
+     * Find a Task by its unique ID.
+     *
+     * @param id The UUID of the Task to find.
+     *
+     * @return An Optional containing the found Task, or empty if not found.
+     */
+    @Override
+    public Optional<Task> findById(UUID id) {
+        return jdbc.query(SELECT_BY_ID, TaskRepositoryJdbc::toTask, id).stream().findFirst();
+    }
+
+    /**
+     * Find the Tasks with the given IDs, with one query per chunk of up to 1000 IDs.
+     *
+     * @param ids The UUIDs of the Tasks to find.
+     *
+     * @return The Tasks found, in the order of the IDs. IDs without a Task are skipped.
+     */
+    @Override
+    public List<Task> findAllById(Collection<UUID> ids) {
+        Map<UUID, Task> byId = new HashMap<>(ids.size() * 2);
+        List<UUID> chunk = new ArrayList<>(IN_SIZES[IN_SIZES.length - 1]);
+        for (UUID id : ids) {
+            chunk.add(id);
+            if (chunk.size() == IN_SIZES[IN_SIZES.length - 1]) {
+                findChunk(chunk, byId);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            findChunk(chunk, byId);
+        }
+        List<Task> found = new ArrayList<>(byId.size());
+        for (UUID id : ids) {
+            Task task = byId.get(id);
+            if (task != null) {
+                found.add(task);
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Find all Tasks with the specified status, using the index on (status, created_at, id).
+     *
+     * @param status The status to filter Tasks by.
+     *
+     * @return A list of Tasks matching the status, oldest first, empty list if none found.
+     */
+    @Override
+    public List<Task> findByStatus(String status) {
+        var event = RepositoryOperationEvent.beginIfEnabled();
+        List<Task> found = query(SELECT_BY_STATUS, status);
+        if (event != null && event.shouldCommit()) {
+            event.commit("findByStatus", status, found.size(), count());
+        }
+        return found;
+    }
+
+    /**
+     * Iterate over the tasks with a status in pages of fetch size rows, ordered by ID. Each page is
+     * one query continuing after the last ID of the previous page (keyset pagination), so that no
+     * cursor or transaction is held open between pages.
+     *
+     * @param status The status to filter tasks by.
+     *
+     * @return A read-only iterator over the tasks matching the status.
+     */
+    @Override
+    public Iterator<Task> iterateByStatus(String status) {
+        return new Iterator<>() {
+            private List<Task> page = query(SELECT_PAGE_BY_STATUS, status, pageSize);
+            private int index;
+
+            @Override
+            public boolean hasNext() {
+                if (index == page.size() && page.size() == pageSize) {
+                    // the page was full, there may be more
+                    UUID last = page.get(index - 1).id();
+                    page = query(SELECT_NEXT_PAGE_BY_STATUS, status, last, pageSize);
+                    index = 0;
+                }
+                return index < page.size();
+            }
+
+            @Override
+            public Task next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return page.get(index++);
+            }
+        };
+    }
+
+    /**
+     * Find all changes after the given repository version (delta sync), using the index on the
+     * version of tasks and tombstones.
+     *
+     * @param version The version the caller is in sync with, 0 for none.
+     *
+     * @return Tasks created or updated and tombstones of tasks deleted after that version. If the
+     *         version predates the retained history, all current tasks flagged as full resync.
+     */
+    @Override
+    public TaskDelta findChangedSince(long version) {
+        purgeExpiredTombstones();
+        mutationLock.readLock().lock();
+        try {
+            long watermark = changeLog.lastSequence();
+            if (version < clearedAtVersion || version < purgedUpToVersion.get()
+                    || version > watermark) {
+                return new TaskDelta(watermark, true, findAll(), List.of());
+            }
+            List<Task> changed = query(SELECT_CHANGED, version, watermark);
+            List<TaskTombstone> deleted = jdbc.query(SELECT_TOMBSTONES,
+                    (rs, row) -> new TaskTombstone(rs.getObject(1, UUID.class), rs.getLong(2),
+                            instant(rs.getObject(3, OffsetDateTime.class))),
+                    version, watermark);
+            if (purgedUpToVersion.get() > version) {
+                // tombstones we were about to return got purged while reading
+                return new TaskDelta(watermark, true, findAll(), List.of());
+            }
+            return new TaskDelta(watermark, false, changed, deleted);
+        } finally {
+            mutationLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Get the version of a Task, i.e. the repository version of its latest change.
+     *
+     * @param id The UUID of the Task.
+     *
+     * @return The version, 0 if the Task does not exist.
+     */
+    @Override
+    public long versionOf(UUID id) {
+        List<Long> version = jdbc.queryForList(SELECT_VERSION, Long.class, id);
+        return version.isEmpty() ? 0 : version.get(0);
+    }
+
+    /**
+     * Watch a Task for its next change (long-poll). The watcher takes no thread, no CPU and no
+     * database connection while waiting.
+     *
+     * @param id The UUID of the Task.
+     * @param afterVersion The version of the Task the caller knows.
+     *
+     * @return A future completed once the Task has changed or been deleted after that version,
+     *         right away if it already has or does not exist. Cancel it to stop watching.
+     */
+    @Override
+    public CompletableFuture<Void> watch(UUID id, long afterVersion) {
+        return watchers.watch(id, afterVersion, this::versionOf);
+    }
+
+    // Update
+
+    /**
+     * Atomically move the oldest Task in a status to another status (work queue), so that every
+     * Task is handed out once, however many callers claim concurrently.
+     *
+     * @implNote Reads a few of the oldest candidates from the index on (status, created_at, id)
+     *           and claims the first one whose lock is free and which is still in the status, so
+     *           that concurrent callers spread over the candidates instead of all queueing for the
+     *           oldest (like SELECT ... FOR UPDATE SKIP LOCKED, within this instance).
+     *
+     * @param status The status to take the Task from, e.g. "pending".
+     * @param newStatus The status to move it to, e.g. "in-progress".
+     *
+     * @return The claimed Task as now stored, with the new status and updatedAt, or empty if no
+     *         Task is in the status.
+     */
+    @Override
+    public Optional<Task> claimNext(String status, String newStatus) {
+        for (;;) {
+            List<UUID> candidates = jdbc.queryForList(SELECT_CANDIDATES, UUID.class, status);
+            if (candidates.isEmpty()) {
+                return Optional.empty();
+            }
+            for (UUID id : candidates) {
+                Task claimed = tryClaim(id, status, newStatus);
+                if (claimed != null) {
+                    watchers.changed(id);
+                    return Optional.of(claimed);
+                }
+            }
+        }
+    }
+
+    // Delete
+
+    /**
+     * Clear all Tasks and tombstones from the repository.
+     */
+    @Override
+    public void clear() {
+        var event = RepositoryOperationEvent.beginIfEnabled();
+        int cleared = 0;
+        mutationLock.writeLock().lock();
+        try {
+            long version = changeLog.claim();
+            try {
+                cleared = transactions.execute(status -> {
+                    jdbc.update("DELETE FROM task_tombstones");
+                    return jdbc.update("DELETE FROM tasks");
+                });
+            } finally {
+                // even if it failed in parts: clients must resync, the content is unknown
+                clearedAtVersion = version;
+                changeLog.publish(version, TaskChangeEvent.Type.CLEARED, null, null);
+            }
+        } finally {
+            mutationLock.writeLock().unlock();
+        }
+        watchers.changedAll();
+        if (event != null && event.shouldCommit()) {
+            event.commit("clear", null, cleared, count());
+        }
+    }
+
+    /**
+     * Delete a Task by its unique ID.
+     *
+     * @param id The UUID of the Task to delete.
+     */
+    @Override
+    public void deleteById(UUID id) {
+        delete(id, null);
+    }
+
+    /**
+     * Delete a Task only if it is still stored exactly as given, i.e. has not been replaced or
+     * deleted in the meantime.
+     *
+     * @param task The Task to delete, as read before.
+     *
+     * @return true if deleted, false if the stored Task differs or is gone.
+     */
+    @Override
+    public boolean deleteIfUnchanged(Task task) {
+        return delete(task.id(), task);
+    }
+
+    // Query
+
+    /**
+     * Check if a Task exists with the given title and author, using the unique index.
+     *
+     * @param title The title of the Task.
+     * @param author The author of the Task.
+     *
+     * @return true if a matching Task exists, false otherwise.
+     */
+    @Override
+    public boolean existsByTitleAndAuthor(String title, String author) {
+        var event = RepositoryOperationEvent.beginIfEnabled();
+        boolean exists = Boolean.TRUE.equals(
+                jdbc.query(SELECT_BY_TITLE_AND_AUTHOR, EXISTS, title, author));
+        if (event != null && event.shouldCommit()) {
+            event.commit("existsByTitleAndAuthor", title + " / " + author, exists ? 1 : 0,
+                    count());
+        }
+        return exists;
+    }
+
+
+    // Container-like convenience functions
+
+    /**
+     * Get the count of Tasks in the repository.
+     *
+     * @return The number of Tasks.
+     */
+    @Override
+    public long count() {
+        Long count = jdbc.queryForObject("SELECT COUNT(*) FROM tasks", Long.class);
+        return count != null ? count : 0;
+    }
+
+    /**
+     * Check if the repository is empty.
+     *
+     * @return true if no Tasks are present, false otherwise.
+     */
+    @Override
+    public boolean isEmpty() {
+        return !Boolean.TRUE.equals(
+                jdbc.query("SELECT 1 FROM tasks FETCH FIRST 1 ROWS ONLY", EXISTS));
+    }
+
+    /**
+     * Get the current version of the repository, i.e. the version of the latest mutation visible
+     * to readers. Changes whenever the content of the repository changes.
+     *
+     * @return The current version, 0 if never modified.
+     */
+    @Override
+    public long currentVersion() {
+        return changeLog.lastSequence();
+    }
+
+    /**
+     * Get the number of mutations published so far, see {@link TaskChangeLog#publishedCount()}.
+     */
+    @Override
+    public long writeCount() {
+        return changeLog.publishedCount();
+    }
+
+
+    // ------------------------------------------------------------------------
+    // Private section from here on
+    // ------------------------------------------------------------------------
+
+    private static final List<String> SCHEMA = List.of(
+            """
+            CREATE TABLE IF NOT EXISTS tasks (
+                id UUID PRIMARY KEY,
+                title VARCHAR(1000),
+                author VARCHAR(1000),
+                project VARCHAR(1000),
+                status VARCHAR(100),
+                description VARCHAR(100000),
+                created_at TIMESTAMP(9) WITH TIME ZONE,
+                updated_at TIMESTAMP(9) WITH TIME ZONE,
+                version BIGINT NOT NULL,
+                CONSTRAINT tasks_title_author UNIQUE (title, author)
+            )""",
+            "CREATE INDEX IF NOT EXISTS tasks_status_created ON tasks (status, created_at, id)",
+            "CREATE INDEX IF NOT EXISTS tasks_created ON tasks (created_at)",
+            "CREATE INDEX IF NOT EXISTS tasks_version ON tasks (version)",
+            """
+            CREATE TABLE IF NOT EXISTS task_tombstones (
+                version BIGINT PRIMARY KEY,
+                id UUID NOT NULL,
+                deleted_at TIMESTAMP(9) WITH TIME ZONE NOT NULL
+            )""",
+            "CREATE INDEX IF NOT EXISTS task_tombstones_deleted ON task_tombstones (deleted_at)");
+
+    private static final String SELECT = "SELECT id, title, author, project, status, description,"
+            + " created_at, updated_at FROM tasks";
+    private static final String SELECT_BY_ID = SELECT + " WHERE id = ?";
+    private static final String SELECT_BY_STATUS =
+            SELECT + " WHERE status = ? ORDER BY status, created_at, id";
+    private static final String SELECT_PAGE_BY_STATUS =
+            SELECT + " WHERE status = ? ORDER BY id FETCH FIRST ? ROWS ONLY";
+    private static final String SELECT_NEXT_PAGE_BY_STATUS =
+            SELECT + " WHERE status = ? AND id > ? ORDER BY id FETCH FIRST ? ROWS ONLY";
+    private static final String SELECT_CHANGED =
+            SELECT + " WHERE version > ? AND version <= ? ORDER BY version";
+    private static final String SELECT_BY_TITLE_AND_AUTHOR =
+            "SELECT 1 FROM tasks WHERE title = ? AND author = ?";
+    private static final String SELECT_VERSION = "SELECT version FROM tasks WHERE id = ?";
+    private static final String SELECT_TOMBSTONES = "SELECT id, version, deleted_at"
+            + " FROM task_tombstones WHERE version > ? AND version <= ? ORDER BY version";
+    private static final ResultSetExtractor<Boolean> EXISTS = ResultSet::next;
+    // candidates read per attempt of claimNext. Ordered like the index (status leading, though
+    // constant), so that the database reads them off the index instead of sorting the status.
+    private static final String SELECT_CANDIDATES = "SELECT id FROM tasks WHERE status = ?"
+            + " ORDER BY status, created_at, id FETCH FIRST 32 ROWS ONLY";
+
+    // both bound by bind(), id last
+    private static final String UPDATE = "UPDATE tasks SET title = ?, author = ?, project = ?,"
+            + " status = ?, description = ?, created_at = ?, updated_at = ?, version = ?"
+            + " WHERE id = ?";
+    private static final String INSERT = "INSERT INTO tasks (title, author, project, status,"
+            + " description, created_at, updated_at, version, id)"
+            + " VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    // IN lists of findAllById are padded to one of these sizes, the last is the chunk size
+    private static final int[] IN_SIZES = {1, 10, 100, 1000};
+    private static final String[] SELECT_BY_IDS = new String[IN_SIZES.length];
+
+    static {
+        for (int i = 0; i < IN_SIZES.length; ++i) {
+            SELECT_BY_IDS[i] = SELECT + " WHERE id IN ("
+                    + String.join(", ", Collections.nCopies(IN_SIZES[i], "?")) + ")";
+        }
+    }
+
+    private static final int STRIPES = 256;
+
+    private record Versioned(Task task, long version) {
+    }
+
+    private final JdbcTemplate jdbc;
+    private final TransactionTemplate transactions;
+    private final TransactionTemplate readOnly;
+    private final TaskChangeLog changeLog;
+    private final int batchSize;
+    private final int pageSize;
+
+    // shared by all mutations and delta reads, exclusive for clear
+    private final ReadWriteLock mutationLock = new ReentrantReadWriteLock();
+    // per-task locks, a task always maps to the same stripe
+    private final Lock[] stripes = new Lock[STRIPES];
+
+    private final TaskWatchers watchers = new TaskWatchers();
+
+    private final Duration tombstoneRetention;
+    // clients in sync with an older version than these need a full resync
+    private volatile long clearedAtVersion;
+    private final AtomicLong purgedUpToVersion = new AtomicLong();
+    // tombstones are purged at most once per second, not on every delete
+    private final AtomicLong nextPurge = new AtomicLong();
+
+
+    /**
+     * Create the schema if missing. If tasks are stored already, continue the change log after
+     * their highest version; clients in sync with an older version must resync, since clears of
+     * the previous run are not known.
+     */
+    private void initialize() {
+        SCHEMA.forEach(jdbc::execute);
+        Long last = jdbc.queryForObject("SELECT MAX(v) FROM (SELECT MAX(version) AS v FROM tasks"
+                + " UNION ALL SELECT MAX(version) AS v FROM task_tombstones) AS versions",
+                Long.class);
+        if (last != null && last > 0) {
+            changeLog.startAfter(last);
+            clearedAtVersion = last;
+        }
+    }
+
+    private int stripeIndex(UUID id) {
+        return id.hashCode() & (STRIPES - 1);
+    }
+
+    private Lock stripe(UUID id) {
+        return stripes[stripeIndex(id)];
+    }
+
+    /**
+     * Write a batch starting at version first: update the tasks that exist, insert the others.
+     * Called within a transaction.
+     *
+     * @return per task of the batch, whether it replaced an existing one
+     */
+    private boolean[] write(List<Task> batch, long first) {
+        List<Versioned> rows = new ArrayList<>(batch.size());
+        for (int i = 0; i < batch.size(); ++i) {
+            rows.add(new Versioned(batch.get(i), first + i));
+        }
+        boolean[] updated = new boolean[batch.size()];
+        int[][] counts = jdbc.batchUpdate(UPDATE, rows, batchSize,
+                (ps, row) -> bind(ps, row.task(), row.version()));
+        List<Versioned> inserts = new ArrayList<>();
+        int i = 0;
+        for (int[] chunk : counts) {
+            for (int count : chunk) {
+                updated[i] = count > 0;
+                if (!updated[i]) {
+                    inserts.add(rows.get(i));
+                }
+                ++i;
+            }
+        }
+        jdbc.batchUpdate(INSERT, inserts, batchSize,
+                (ps, row) -> bind(ps, row.task(), row.version()));
+        return updated;
+    }
+
+    /**
+     * Claim a candidate task, unless another caller holds its lock or it left the status.
+     *
+     * @return The claimed task, null if not claimed.
+     */
+    private Task tryClaim(UUID id, String status, String newStatus) {
+        mutationLock.readLock().lock();
+        Lock lock = stripe(id);
+        if (!lock.tryLock()) {
+            mutationLock.readLock().unlock();
+            return null;
+        }
+        try {
+            Task previous = findById(id).orElse(null);
+            if (previous == null || !status.equals(previous.status())) {
+                return null;
+            }
+            Task claimed = ClaimQueue.claimed(previous, newStatus);
+            long version = changeLog.claim();
+            boolean written = false;
+            try {
+                jdbc.update(UPDATE, ps -> bind(ps, claimed, version));
+                changeLog.publish(version, TaskChangeEvent.Type.UPDATED, id, claimed);
+                written = true;
+            } finally {
+                if (!written) {
+                    restate(version, id);
+                }
+            }
+            return claimed;
+        } finally {
+            lock.unlock();
+            mutationLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Delete a task, if expected is given only if it is the stored one.
+     */
+    private boolean delete(UUID id, Task expected) {
+        boolean deleted = false;
+        mutationLock.readLock().lock();
+        Lock lock = stripe(id);
+        lock.lock();
+        try {
+            Task previous = findById(id).orElse(null);
+            if (previous != null && (expected == null || expected.equals(previous))) {
+                long version = changeLog.claim();
+                try {
+                    transactions.executeWithoutResult(status -> {
+                        jdbc.update("DELETE FROM tasks WHERE id = ?", id);
+                        jdbc.update("INSERT INTO task_tombstones (version, id, deleted_at)"
+                                + " VALUES (?, ?, ?)", ps -> {
+                                    ps.setLong(1, version);
+                                    ps.setObject(2, id);
+                                    ps.setObject(3, timestamp(Instant.now()),
+                                            Types.TIMESTAMP_WITH_TIMEZONE);
+                                });
+                    });
+                    changeLog.publish(version, TaskChangeEvent.Type.DELETED, id, previous);
+                    deleted = true;
+                } finally {
+                    if (!deleted) {
+                        restate(version, id);
+                    }
+                }
+            }
+        } finally {
+            lock.unlock();
+            mutationLock.readLock().unlock();
+        }
+        if (deleted) {
+            watchers.changed(id);
+        }
+        purgeExpiredTombstones();
+        return deleted;
+    }
+
+    /**
+     * Publish a claimed sequence number whose write failed, re-stating the task as stored. Only
+     * called while holding the lock of the task.
+     */
+    private void restate(long version, UUID id) {
+        Task current;
+        try {
+            current = findById(id).orElse(null);
+        } catch (DataAccessException e) {
+            current = null;
+        }
+        if (current != null) {
+            changeLog.publish(version, TaskChangeEvent.Type.UPDATED, id, current);
+        } else {
+            changeLog.publish(version, TaskChangeEvent.Type.DELETED, id, null);
+        }
+    }
+
+    /**
+     * Drop tombstones older than the retention period, at most once per second.
+     *
+     * @implNote The purge watermark is raised before a tombstone is removed, so a concurrent delta
+     *           read either still sees the tombstone or notices the watermark.
+     */
+    private void purgeExpiredTombstones() {
+        long now = System.currentTimeMillis();
+        long next = nextPurge.get();
+        if (now < next || !nextPurge.compareAndSet(next, now + 1_000)) {
+            return;
+        }
+        Long upTo = jdbc.queryForObject(
+                "SELECT MAX(version) FROM task_tombstones WHERE deleted_at <= ?", Long.class,
+                timestamp(Instant.now().minus(tombstoneRetention)));
+        if (upTo != null) {
+            purgedUpToVersion.accumulateAndGet(upTo, Math::max);
+            jdbc.update("DELETE FROM task_tombstones WHERE version <= ?", upTo);
+        }
+    }
+
+    /**
+     * Query tasks, streaming the rows in a read-only transaction, so that the driver honors the
+     * fetch size (PostgreSQL for instance only uses a cursor outside of auto-commit).
+     */
+    private List<Task> query(String sql, Object... args) {
+        List<Task> found = new ArrayList<>();
+        RowCallbackHandler collect = rs -> found.add(toTask(rs, 0));
+        readOnly.executeWithoutResult(status -> jdbc.query(sql, collect, args));
+        return found;
+    }
+
+    /**
+     * Look up one chunk of IDs, padded to the next IN list size with its last ID.
+     */
+    private void findChunk(List<UUID> chunk, Map<UUID, Task> byId) {
+        int shape = 0;
+        while (IN_SIZES[shape] < chunk.size()) {
+            ++shape;
+        }
+        Object[] args = new Object[IN_SIZES[shape]];
+        for (int i = 0; i < args.length; ++i) {
+            args[i] = chunk.get(Math.min(i, chunk.size() - 1));
+        }
+        jdbc.query(SELECT_BY_IDS[shape], (RowCallbackHandler) rs -> {
+            Task task = toTask(rs, 0);
+            byId.put(task.id(), task);
+        }, args);
+    }
+
+    /**
+     * Bind a task to UPDATE or INSERT.
+     */
+    private static void bind(PreparedStatement ps, Task task, long version) throws SQLException {
+        ps.setString(1, task.title());
+        ps.setString(2, task.author());
+        ps.setString(3, task.project());
+        ps.setString(4, task.status());
+        ps.setString(5, task.description());
+        ps.setObject(6, timestamp(task.createdAt()), Types.TIMESTAMP_WITH_TIMEZONE);
+        ps.setObject(7, timestamp(task.updatedAt()), Types.TIMESTAMP_WITH_TIMEZONE);
+        ps.setLong(8, version);
+        ps.setObject(9, task.id());
+    }
+
+    /**
+     * Map a row of {@link #SELECT} to a task.
+     */
+    private static Task toTask(ResultSet rs, int row) throws SQLException {
+        return new Task(rs.getObject(1, UUID.class), rs.getString(2), rs.getString(3),
+                rs.getString(4), rs.getString(5), rs.getString(6),
+                instant(rs.getObject(7, OffsetDateTime.class)),
+                instant(rs.getObject(8, OffsetDateTime.class)));
+    }
+
+    private static OffsetDateTime timestamp(Instant instant) {
+        return instant != null ? instant.atOffset(ZoneOffset.UTC) : null;
+    }
+
+    private static Instant instant(OffsetDateTime timestamp) {
+        return timestamp != null ? timestamp.toInstant() : null;
+    }
+}
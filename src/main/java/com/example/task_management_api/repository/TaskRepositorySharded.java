@@ -0,0 +1,336 @@
+package com.example.task_management_api.repository;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import com.example.task_management_api.model.Task;
+import com.example.task_management_api.model.TaskDelta;
+import com.example.task_management_api.model.TaskTombstone;
+
+
+/**
+ * Partitioned in-memory implementation of TaskRepository for multi-core write scaling.
+ * <p>
+ * Tasks are routed by the hash of their UUID to one of N independent {@link TaskRepositoryInMemory}
+ * shards, each with its own map, locks and indexes. Writes to different shards therefore never
+ * contend, apart from the single atomic increment in the shared {@link TaskChangeLog} that hands out
+ * versions. Queries over all tasks ({@link #findAll()}, {@link #findByStatus(String)},
+ * {@link #findChangedSince(long)}) fan out to all shards in parallel on a dedicated fork-join pool
+ * and merge the results.
+ * </p>
+ *
+ * @implNote clear() clears the shards one after the other, so a concurrent reader may see some
+ *           shards already cleared and others not. Each shard publishes its own CLEARED event.
+ */
+
+public class TaskRepositorySharded implements TaskRepository, AutoCloseable {
+
+    /**
+     * Constructor.
+     *
+     * @param shardCount Number of shards, at least 1.
+     * @param changeLog The change log shared by all shards.
+     * @param tombstoneRetention How long tombstones of deleted tasks are kept for delta sync.
+     */
+    public TaskRepositorySharded(int shardCount, TaskChangeLog changeLog,
+            Duration tombstoneRetention) {
+        if (shardCount < 1) {
+            throw new IllegalArgumentException("Shard count must be at least 1, is " + shardCount);
+        }
+        shards = new TaskRepositoryInMemory[shardCount];
+        for (int i = 0; i < shardCount; ++i) {
+            shards[i] = new TaskRepositoryInMemory(changeLog, tombstoneRetention);
+        }
+        this.changeLog = changeLog;
+        pool = new ForkJoinPool(Math.min(shardCount, Runtime.getRuntime().availableProcessors()));
+    }
+
+    // Create
+
+    @Override
+    public Task create(Task task) {
+        return shardFor(task.id()).create(task);
+    }
+
+    /**
+     * Create a batch of Tasks, split into one sub-batch per shard.
+     */
+    @Override
+    public List<Task> createAll(List<Task> batch) {
+        if (shards.length == 1) {
+            return shards[0].createAll(batch);
+        }
+        List<List<Task>> perShard = new ArrayList<>(shards.length);
+        for (int i = 0; i < shards.length; ++i) {
+            perShard.add(new ArrayList<>());
+        }
+        for (Task task : batch) {
+            perShard.get(shardIndex(task.id())).add(task);
+        }
+        for (int i = 0; i < shards.length; ++i) {
+            shards[i].createAll(perShard.get(i));
+        }
+        return batch;
+    }
+
+    // Read
+
+    @Override
+    public List<Task> findAll() {
+        return fanOut(TaskRepositoryInMemory::findAll);
+    }
+
+    @Override
+    public Optional<Task> findById(UUID id) {
+        return shardFor(id).findById(id);
+    }
+
+    /**
+     * Find the Tasks with the given IDs, each from its shard. Lookups are cheap and lock-free, so
+     * they run on the calling thread instead of fanning out.
+     */
+    @Override
+    public List<Task> findAllById(Collection<UUID> ids) {
+        List<Task> found = new ArrayList<>(ids.size());
+        for (UUID id : ids) {
+            shardFor(id).findById(id).ifPresent(found::add);
+        }
+        return found;
+    }
+
+    @Override
+    public List<Task> findByStatus(String status) {
+        return fanOut(shard -> shard.findByStatus(status));
+    }
+
+    /**
+     * Iterate over the tasks with a status, shard after shard. A shard's index is only iterated
+     * once the previous shards are done.
+     */
+    @Override
+    public Iterator<Task> iterateByStatus(String status) {
+        return new Iterator<>() {
+            private int shard;
+            private Iterator<Task> current = Collections.emptyIterator();
+
+            @Override
+            public boolean hasNext() {
+                while (!current.hasNext() && shard < shards.length) {
+                    current = shards[shard++].iterateByStatus(status);
+                }
+                return current.hasNext();
+            }
+
+            @Override
+            public Task next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return current.next();
+            }
+        };
+    }
+
+    /**
+     * Find all changes after the given repository version (delta sync), merged over all shards.
+     *
+     * @implNote Every shard answers up to its own watermark. The merged delta is declared complete
+     *           up to the lowest of these, so entries above it may be returned again by the next
+     *           sync, which is harmless as applying a delta is idempotent.
+     *
+     * @param version The version the caller is in sync with, 0 for none.
+     *
+     * @return The merged delta, or all tasks flagged as full resync if any shard requires it.
+     */
+    @Override
+    public TaskDelta findChangedSince(long version) {
+        List<TaskDelta> deltas = fanOut(shard -> List.of(shard.findChangedSince(version)));
+        long watermark = deltas.stream().mapToLong(TaskDelta::version).min().orElse(0);
+        if (deltas.stream().anyMatch(TaskDelta::resyncRequired)) {
+            return new TaskDelta(watermark, true, findAll(), List.of());
+        }
+        List<Task> changed = new ArrayList<>();
+        List<TaskTombstone> deleted = new ArrayList<>();
+        for (TaskDelta delta : deltas) {
+            changed.addAll(delta.tasks());
+            deleted.addAll(delta.deleted());
+        }
+        return new TaskDelta(watermark, false, changed, deleted);
+    }
+
+    @Override
+    public long versionOf(UUID id) {
+        return shardFor(id).versionOf(id);
+    }
+
+    @Override
+    public CompletableFuture<Void> watch(UUID id, long afterVersion) {
+        return shardFor(id).watch(id, afterVersion);
+    }
+
+    // Update
+
+    /**
+     * Claim the oldest Task in a status from one of the shards.
+     *
+     * @implNote Every shard has its own work queue. Claimers start at different shards in turn, so
+     *           that they do not all contend on the queue of the first shard. Tasks are therefore
+     *           handed out oldest first per shard, only approximately across shards.
+     */
+    @Override
+    public Optional<Task> claimNext(String status, String newStatus) {
+        int start = Math.floorMod(nextClaimShard.getAndIncrement(), shards.length);
+        for (int i = 0; i < shards.length; ++i) {
+            Optional<Task> claimed =
+                    shards[(start + i) % shards.length].claimNext(status, newStatus);
+            if (claimed.isPresent()) {
+                return claimed;
+            }
+        }
+        return Optional.empty();
+    }
+
+    // Delete
+
+    @Override
+    public void clear() {
+        for (TaskRepositoryInMemory shard : shards) {
+            shard.clear();
+        }
+    }
+
+    @Override
+    public void deleteById(UUID id) {
+        shardFor(id).deleteById(id);
+    }
+
+    @Override
+    public boolean deleteIfUnchanged(Task task) {
+        return shardFor(task.id()).deleteIfUnchanged(task);
+    }
+
+    // Query
+
+    /**
+     * Check if a Task exists with the given title and author in any shard.
+     *
+     * @implNote Each shard answers from its index in O(1), which is cheaper than forking tasks, so
+     *           the shards are asked sequentially.
+     */
+    @Override
+    public boolean existsByTitleAndAuthor(String title, String author) {
+        for (TaskRepositoryInMemory shard : shards) {
+            if (shard.existsByTitleAndAuthor(title, author)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Container-like convenience functions
+
+    @Override
+    public long count() {
+        long count = 0;
+        for (TaskRepositoryInMemory shard : shards) {
+            count += shard.count();
+        }
+        return count;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        for (TaskRepositoryInMemory shard : shards) {
+            if (!shard.isEmpty()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public long currentVersion() {
+        return changeLog.lastSequence();
+    }
+
+    /**
+     * Get the number of mutations published so far, see {@link TaskChangeLog#publishedCount()}.
+     */
+    @Override
+    public long writeCount() {
+        return changeLog.publishedCount();
+    }
+
+    /**
+     * Get the number of shards.
+     *
+     * @return number of shards
+     */
+    public int shardCount() {
+        return shards.length;
+    }
+
+    /**
+     * Shut down the fork-join pool used for fan-out queries. Called by Spring on context close.
+     */
+    @Override
+    public void close() {
+        pool.shutdown();
+    }
+
+
+    // ------------------------------------------------------------------------
+    // Private section from here on
+    // ------------------------------------------------------------------------
+
+    private final TaskRepositoryInMemory[] shards;
+    private final TaskChangeLog changeLog;
+    private final ForkJoinPool pool;
+    private final AtomicInteger nextClaimShard = new AtomicInteger();
+
+
+    private TaskRepositoryInMemory shardFor(UUID id) {
+        return shards[shardIndex(id)];
+    }
+
+    private int shardIndex(UUID id) {
+        int hash = id.hashCode();
+        return Math.floorMod(hash ^ (hash >>> 16), shards.length);
+    }
+
+    /**
+     * Run a query on all shards in parallel and concatenate the results.
+     */
+    private <R> List<R> fanOut(Function<TaskRepositoryInMemory, List<R>> query) {
+        if (shards.length == 1) {
+            return query.apply(shards[0]);
+        }
+        List<ForkJoinTask<List<R>>> parts = new ArrayList<>(shards.length);
+        for (TaskRepositoryInMemory shard : shards) {
+            parts.add(ForkJoinTask.adapt(() -> query.apply(shard)));
+        }
+        return pool.invoke(ForkJoinTask.adapt(() -> {
+            ForkJoinTask.invokeAll(parts);
+            int size = 0;
+            for (ForkJoinTask<List<R>> part : parts) {
+                size += part.getRawResult().size();
+            }
+            List<R> merged = new ArrayList<>(size);
+            for (ForkJoinTask<List<R>> part : parts) {
+                merged.addAll(part.getRawResult());
+            }
+            return merged;
+        }));
+    }
+}
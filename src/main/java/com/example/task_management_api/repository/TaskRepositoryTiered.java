@@ -0,0 +1,913 @@
+package com.example.task_management_api.repository;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import com.example.task_management_api.model.Task;
+import com.example.task_management_api.model.TaskDelta;
+import com.example.task_management_api.model.TaskTombstone;
+
+
+/**
+ * Two-tier implementation of TaskRepository for more tasks than fit on the heap.
+ * <p>
+ * Tasks in a spillable status (by default "completed") are kept in memory only while they are hot.
+ * When more than {@code hotCapacity} of them are in memory, the coldest are written to an
+ * append-only segment file and only their offset is kept. Reading a cold task by ID faults it back
+ * into memory. Tasks in all other statuses always stay in memory.
+ * </p>
+ * <p>
+ * Eviction follows access frequency with aging (CLOCK): every hot spillable task sits in a ring
+ * with a small saturating counter, incremented by {@link #findById(UUID)}. The evictor walks the
+ * ring, halves the counter of each task it passes and spills the first one it finds at zero. Tasks
+ * read often survive several passes, tasks touched once are spilled on the next pass.
+ * </p>
+ * <p>
+ * All indexes (status, (title, author), versions for delta sync) hold IDs only, so spilled tasks
+ * cost about 40 bytes of heap each. Queries over many tasks ({@link #findAll()},
+ * {@link #findByStatus(String)}, {@link #findChangedSince(long)}) read cold tasks from disk
+ * without promoting them, so a scan does not flush the hot tier. Mutations are published into the
+ * {@link TaskChangeLog} as in {@link TaskRepositoryInMemory}.
+ * </p>
+ *
+ * @implNote A task faulted in keeps the location of its disk copy; spilling it again without
+ *           modification writes nothing. Disk copies of deleted or replaced tasks become garbage
+ *           that is only reclaimed by clear(), which truncates the segment. The segment file is a
+ *           spill area, not persistence: it is deleted on close(). Access counters are updated
+ *           without synchronization, they only need to be approximately right.
+ * @implNote No disk I/O happens while holding a map entry, which would block all other operations
+ *           on its bin of the map: the disk copy of a cold task is read before taking the entry and
+ *           only used if the slot still points to it, otherwise the operation starts over. A spill
+ *           is written before taking the entry, too, and left as garbage if the task was modified
+ *           or accessed meanwhile.
+ */
+
+public class TaskRepositoryTiered implements TaskRepository, AutoCloseable {
+
+    /**
+     * Constructor, creates the segment file.
+     *
+     * @param changeLog The change log to publish mutations into.
+     * @param tombstoneRetention How long tombstones of deleted tasks are kept for delta sync.
+     * @param hotCapacity Maximum number of tasks in a spillable status kept in memory.
+     * @param spillableStatuses Statuses of the tasks that may be spilled to disk.
+     * @param directory Directory for the segment file.
+     */
+    public TaskRepositoryTiered(TaskChangeLog changeLog, Duration tombstoneRetention,
+            int hotCapacity, Set<String> spillableStatuses, Path directory) {
+        if (hotCapacity < 1) {
+            throw new IllegalArgumentException("Hot capacity must be at least 1, is " + hotCapacity);
+        }
+        this.changeLog = changeLog;
+        this.tombstoneRetention = tombstoneRetention;
+        this.hotCapacity = hotCapacity;
+        this.spillableStatuses = Set.copyOf(spillableStatuses);
+        try {
+            Files.createDirectories(directory);
+            this.segmentPath = Files.createTempFile(directory, "tasks-", ".segment");
+            this.segment = FileChannel.open(segmentPath, StandardOpenOption.READ,
+                    StandardOpenOption.WRITE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot create segment file in " + directory, e);
+        }
+    }
+
+    // Create
+
+    /**
+     * Create a new Task and store it in the hot tier.
+     *
+     * @apiNote The Task's ID must be unique; no check is performed here. If not unique, it will
+     *          overwrite existing Task and thus effectively be an update.
+     *
+     * @param task The Task to be created.
+     *
+     * @return The created Task.
+     */
+    @Override
+    public Task create(Task task) {
+        mutationLock.readLock().lock();
+        try {
+            computeLoaded(task.id(), (id, slot, previous) -> put(id, slot, previous, task));
+        } finally {
+            mutationLock.readLock().unlock();
+        }
+        watchers.changed(task.id());
+        evictIfNeeded();
+        return task;
+    }
+
+    /**
+     * Create a batch of new Tasks, one after the other.
+     */
+    @Override
+    public List<Task> createAll(List<Task> batch) {
+        batch.forEach(this::create);
+        return batch;
+    }
+
+    // Read
+
+    @Override
+    public List<Task> findAll() {
+        List<Task> all = new ArrayList<>(slots.size());
+        for (UUID id : slots.keySet()) {
+            Task task = peek(id);
+            if (task != null) {
+                all.add(task);
+            }
+        }
+        return all;
+    }
+
+    /**
+     * Find a Task by its unique ID. A cold task is read from disk and kept in memory again.
+     *
+     * @param id The UUID of the Task to find.
+     *
+     * @return An Optional containing the found Task, or empty if not found.
+     */
+    @Override
+    public Optional<Task> findById(UUID id) {
+        Slot slot = slots.get(id);
+        if (slot == null) {
+            return Optional.empty();
+        }
+        Task task = slot.task;
+        if (task != null) {
+            slot.touch();
+            return Optional.of(task);
+        }
+        Task[] found = new Task[1];
+        mutationLock.readLock().lock();
+        try {
+            computeLoaded(id, (key, current, loaded) -> {
+                if (current == null) {
+                    return null;
+                }
+                if (current.task == null) {
+                    int wasSpillableHot = spillableHot(current);
+                    current.task = loaded;
+                    faultIns.incrementAndGet();
+                    track(key, current, wasSpillableHot);
+                }
+                current.touch();
+                found[0] = current.task;
+                return current;
+            });
+        } finally {
+            mutationLock.readLock().unlock();
+        }
+        evictIfNeeded();
+        return Optional.ofNullable(found[0]);
+    }
+
+    /**
+     * Find the Tasks with the given IDs. Counts as a read of each of them, like
+     * {@link #findById(UUID)}: cold tasks are read from disk and kept in memory again.
+     *
+     * @param ids The UUIDs of the Tasks to find.
+     *
+     * @return The Tasks found, in the order of the IDs. IDs without a Task are skipped.
+     */
+    @Override
+    public List<Task> findAllById(Collection<UUID> ids) {
+        List<Task> found = new ArrayList<>(ids.size());
+        for (UUID id : ids) {
+            findById(id).ifPresent(found::add);
+        }
+        return found;
+    }
+
+    @Override
+    public List<Task> findByStatus(String status) {
+        Set<UUID> ids = byStatus.getOrDefault(status, Set.of());
+        List<Task> found = new ArrayList<>(ids.size());
+        for (UUID id : ids) {
+            Task task = peek(id);
+            if (task != null && status.equals(task.status())) {
+                found.add(task);
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Iterate over the tasks with a status on the status index, reading cold tasks from disk one at
+     * a time when reached, without promoting them.
+     */
+    @Override
+    public Iterator<Task> iterateByStatus(String status) {
+        Iterator<UUID> ids = byStatus.getOrDefault(status, Set.of()).iterator();
+        return new Iterator<>() {
+            private Task next;
+
+            @Override
+            public boolean hasNext() {
+                while (next == null && ids.hasNext()) {
+                    Task task = peek(ids.next());
+                    if (task != null && status.equals(task.status())) {
+                        next = task;
+                    }
+                }
+                return next != null;
+            }
+
+            @Override
+            public Task next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                Task task = next;
+                next = null;
+                return task;
+            }
+        };
+    }
+
+    @Override
+    public TaskDelta findChangedSince(long version) {
+        purgeExpiredTombstones();
+        long watermark = changeLog.lastSequence();
+        long purged = purgedUpToVersion.get();
+        if (version < clearedAtVersion || version < purged || version > watermark) {
+            return new TaskDelta(watermark, true, findAll(), List.of());
+        }
+        List<Task> changed = new ArrayList<>();
+        for (UUID id : liveByVersion.subMap(version, false, watermark, true).values()) {
+            Task task = peek(id);
+            if (task != null) {
+                changed.add(task);
+            }
+        }
+        List<TaskTombstone> deleted =
+                new ArrayList<>(tombstones.subMap(version, false, watermark, true).values());
+        if (purgedUpToVersion.get() > version) {
+            // tombstones we were about to return got purged while reading
+            return new TaskDelta(watermark, true, findAll(), List.of());
+        }
+        return new TaskDelta(watermark, false, changed, deleted);
+    }
+
+    @Override
+    public long versionOf(UUID id) {
+        return versions.getOrDefault(id, 0L);
+    }
+
+    /**
+     * Watch a Task for its next change, see {@link TaskRepositoryInMemory#watch(UUID, long)}.
+     * Watching does not fault a cold Task in.
+     */
+    @Override
+    public CompletableFuture<Void> watch(UUID id, long afterVersion) {
+        return watchers.watch(id, afterVersion, this::versionOf);
+    }
+
+    // Update
+
+    /**
+     * Atomically move the oldest Task in a status to another status (work queue), see
+     * {@link TaskRepositoryInMemory#claimNext(String, String)}. The claimed Task is kept in memory.
+     *
+     * @param status The status to take the Task from.
+     * @param newStatus The status to move it to.
+     *
+     * @return The claimed Task as now stored, or empty if no Task is in the status.
+     */
+    @Override
+    public Optional<Task> claimNext(String status, String newStatus) {
+        for (;;) {
+            ClaimQueue queue = queues.get(status);
+            if (queue == null) {
+                setUpQueue(status);
+                continue;
+            }
+            Set<UUID> withStatus = byStatus.getOrDefault(status, Set.of());
+            queue.compactIfNeeded(withStatus.size(), withStatus::contains);
+            UUID id = queue.poll();
+            if (id == null) {
+                return Optional.empty();
+            }
+            Task[] claimed = new Task[1];
+            mutationLock.readLock().lock();
+            try {
+                computeLoaded(id, (key, slot, previous) -> {
+                    if (slot == null || !status.equals(previous.status())) {
+                        return slot;
+                    }
+                    claimed[0] = ClaimQueue.claimed(previous, newStatus);
+                    return put(key, slot, previous, claimed[0]);
+                });
+            } finally {
+                mutationLock.readLock().unlock();
+            }
+            if (claimed[0] != null) {
+                watchers.changed(id);
+                evictIfNeeded();
+                return Optional.of(claimed[0]);
+            }
+        }
+    }
+
+    // Delete
+
+    /**
+     * Clear all Tasks from the repository and truncate the segment file.
+     */
+    @Override
+    public void clear() {
+        mutationLock.writeLock().lock();
+        try {
+            long version = changeLog.claim();
+            try {
+                slots.clear();
+                clock.clear();
+                spillableHotCount.set(0);
+                byStatus.clear();
+                queues.clear();
+                byTitleAndAuthor.clear();
+                versions.clear();
+                liveByVersion.clear();
+                tombstones.clear();
+                synchronized (appendLock) {
+                    segment.truncate(0);
+                    segmentEnd = 0;
+                    garbageBytes = 0;
+                }
+                clearedAtVersion = version;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            } finally {
+                changeLog.publish(version, TaskChangeEvent.Type.CLEARED, null, null);
+            }
+        } finally {
+            mutationLock.writeLock().unlock();
+        }
+        watchers.changedAll();
+    }
+
+    @Override
+    public void deleteById(UUID id) {
+        delete(id, null);
+    }
+
+    @Override
+    public boolean deleteIfUnchanged(Task task) {
+        return delete(task.id(), task);
+    }
+
+    // Query
+
+    @Override
+    public boolean existsByTitleAndAuthor(String title, String author) {
+        return byTitleAndAuthor.containsKey(new TitleAndAuthor(title, author));
+    }
+
+    // Container-like convenience functions
+
+    @Override
+    public long count() {
+        return slots.size();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return slots.isEmpty();
+    }
+
+    @Override
+    public long currentVersion() {
+        return changeLog.lastSequence();
+    }
+
+    /**
+     * Get the number of mutations published so far, see {@link TaskChangeLog#publishedCount()}.
+     */
+    @Override
+    public long writeCount() {
+        return changeLog.publishedCount();
+    }
+
+    /**
+     * Get the number of tasks currently spilled to disk.
+     *
+     * @return number of cold tasks
+     */
+    public long coldCount() {
+        return slots.values().stream().filter(slot -> slot.task == null).count();
+    }
+
+    /**
+     * Get the number of cold tasks read back into memory since startup.
+     *
+     * @return number of fault-ins
+     */
+    public long faultInCount() {
+        return faultIns.get();
+    }
+
+    /**
+     * Get the size of the segment file, including garbage.
+     *
+     * @return size in bytes
+     */
+    public long segmentSize() {
+        synchronized (appendLock) {
+            return segmentEnd;
+        }
+    }
+
+    /**
+     * Get the number of bytes in the segment file taken by disk copies of deleted or replaced
+     * tasks. Reclaimed by clear().
+     *
+     * @return garbage in bytes
+     */
+    public long garbageSize() {
+        synchronized (appendLock) {
+            return garbageBytes;
+        }
+    }
+
+    /**
+     * Close and delete the segment file. Called by Spring on context close.
+     */
+    @Override
+    public void close() {
+        try {
+            segment.close();
+            Files.deleteIfExists(segmentPath);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+
+    // ------------------------------------------------------------------------
+    // Private section from here on
+    // ------------------------------------------------------------------------
+
+    // limit of the access counters, as in 4 bit counters
+    private static final int MAX_FREQUENCY = 15;
+
+    /**
+     * A task, either in memory (task != null) or on disk only. A task in memory may additionally
+     * have a valid disk copy (copy != null). All fields but the access frequency are only written
+     * while holding the map entry. A live slot always has one of both: a task is set before the
+     * disk copy is dropped, a disk copy before the task is dropped, so that readers without the
+     * entry find one of them.
+     */
+    private static final class Slot {
+        volatile Task task;
+        volatile DiskCopy copy;
+        boolean inClock;
+        int frequency;
+
+        void touch() {
+            if (frequency < MAX_FREQUENCY) {
+                ++frequency;
+            }
+        }
+    }
+
+    /**
+     * Location of a record in the segment file, valid until clear().
+     */
+    private record DiskCopy(long offset, int length) {
+    }
+
+    /**
+     * Remapping of a slot (null if absent) given its task (null if absent), read from disk
+     * beforehand if cold.
+     */
+    @FunctionalInterface
+    private interface LoadedRemapping {
+        Slot apply(UUID id, Slot slot, Task task);
+    }
+
+    private record TitleAndAuthor(String title, String author) {
+    }
+
+    private final TaskChangeLog changeLog;
+    private final int hotCapacity;
+    private final Set<String> spillableStatuses;
+
+    private final Map<UUID, Slot> slots = new ConcurrentHashMap<>();
+
+    // shared by mutations and fault-ins, exclusive for clear (which truncates the segment)
+    private final ReadWriteLock mutationLock = new ReentrantReadWriteLock();
+
+    // Eviction: ring of IDs of spillable tasks in memory, number of those, single evicting thread
+    private final Queue<UUID> clock = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger spillableHotCount = new AtomicInteger();
+    private final ReentrantLock evictionLock = new ReentrantLock();
+    private final AtomicLong faultIns = new AtomicLong();
+
+    // Segment file: records are appended at segmentEnd under appendLock, read positionally
+    private final Path segmentPath;
+    private final FileChannel segment;
+    private final Object appendLock = new Object();
+    private long segmentEnd;
+    private long garbageBytes;
+
+    // Secondary indexes: IDs by status, number of tasks per (title, author)
+    private final Map<String, Set<UUID>> byStatus = new ConcurrentHashMap<>();
+    // Work queues by status, only for statuses claimed from
+    private final Map<String, ClaimQueue> queues = new ConcurrentHashMap<>();
+    private final Map<TitleAndAuthor, Integer> byTitleAndAuthor = new ConcurrentHashMap<>();
+
+    // Delta sync: version of every live task, IDs of live tasks and tombstones indexed by version
+    private final Map<UUID, Long> versions = new ConcurrentHashMap<>();
+    private final ConcurrentSkipListMap<Long, UUID> liveByVersion = new ConcurrentSkipListMap<>();
+    private final ConcurrentSkipListMap<Long, TaskTombstone> tombstones =
+            new ConcurrentSkipListMap<>();
+    private final Duration tombstoneRetention;
+    private volatile long clearedAtVersion;
+    private final AtomicLong purgedUpToVersion = new AtomicLong();
+
+    // watchers of single tasks
+    private final TaskWatchers watchers = new TaskWatchers();
+
+
+    /**
+     * Store a task in a slot (null if new) replacing its task previous (null if new), update all
+     * indexes and publish the change. Only called while holding the map entry.
+     */
+    private Slot put(UUID id, Slot slot, Task previous, Task task) {
+        long version = changeLog.claim();
+        try {
+            if (slot == null) {
+                slot = new Slot();
+            } else {
+                unindex(previous);
+            }
+            int wasSpillableHot = spillableHot(slot);
+            slot.task = task;
+            dropDiskCopy(slot);
+            track(id, slot, wasSpillableHot);
+            index(task);
+            liveByVersion.put(version, id);
+            Long previousVersion = versions.put(id, version);
+            if (previousVersion != null) {
+                liveByVersion.remove(previousVersion);
+            }
+        } finally {
+            changeLog.publish(version, previous == null ? TaskChangeEvent.Type.CREATED
+                    : TaskChangeEvent.Type.UPDATED, id, task);
+        }
+        return slot;
+    }
+
+    /**
+     * Set up the work queue of a status from the tasks currently in it, exclusive against all
+     * mutations.
+     */
+    private void setUpQueue(String status) {
+        mutationLock.writeLock().lock();
+        try {
+            queues.computeIfAbsent(status, key -> {
+                List<Task> tasks = new ArrayList<>();
+                for (UUID id : byStatus.getOrDefault(key, Set.of())) {
+                    Task task = peek(id);
+                    if (task != null) {
+                        tasks.add(task);
+                    }
+                }
+                return new ClaimQueue(tasks);
+            });
+        } finally {
+            mutationLock.writeLock().unlock();
+        }
+    }
+
+    private boolean delete(UUID id, Task expected) {
+        boolean[] deleted = new boolean[1];
+        mutationLock.readLock().lock();
+        try {
+            computeLoaded(id, (key, slot, previous) -> {
+                if (slot == null || expected != null && !expected.equals(previous)) {
+                    return slot;
+                }
+                long version = changeLog.claim();
+                try {
+                    if (spillableHot(slot) == 1) {
+                        spillableHotCount.decrementAndGet();
+                    }
+                    unindex(previous);
+                    dropDiskCopy(slot);
+                    tombstones.put(version, new TaskTombstone(key, version, Instant.now()));
+                    Long previousVersion = versions.remove(key);
+                    if (previousVersion != null) {
+                        liveByVersion.remove(previousVersion);
+                    }
+                } finally {
+                    changeLog.publish(version, TaskChangeEvent.Type.DELETED, key, previous);
+                }
+                deleted[0] = true;
+                return null;
+            });
+        } finally {
+            mutationLock.readLock().unlock();
+        }
+        if (deleted[0]) {
+            watchers.changed(id);
+        }
+        purgeExpiredTombstones();
+        return deleted[0];
+    }
+
+    private int spillableHot(Slot slot) {
+        Task task = slot.task;
+        return task != null && spillableStatuses.contains(task.status()) ? 1 : 0;
+    }
+
+    /**
+     * Account for a slot that may have become a spillable task in memory, or stopped being one.
+     * Only called while holding the map entry.
+     */
+    private void track(UUID id, Slot slot, int wasSpillableHot) {
+        int isSpillableHot = spillableHot(slot);
+        spillableHotCount.addAndGet(isSpillableHot - wasSpillableHot);
+        if (isSpillableHot == 1 && !slot.inClock) {
+            slot.inClock = true;
+            clock.add(id);
+        }
+    }
+
+    /**
+     * Spill the coldest tasks until at most hotCapacity spillable tasks are in memory. Only one
+     * thread evicts at a time, the others go on; the next mutation catches up.
+     */
+    private void evictIfNeeded() {
+        if (spillableHotCount.get() <= hotCapacity || !evictionLock.tryLock()) {
+            return;
+        }
+        mutationLock.readLock().lock();
+        try {
+            UUID id;
+            while (spillableHotCount.get() > hotCapacity && (id = clock.poll()) != null) {
+                passClockHand(id);
+            }
+        } finally {
+            mutationLock.readLock().unlock();
+            evictionLock.unlock();
+        }
+    }
+
+    /**
+     * Clock hand passing a task: drop it from the ring if no longer a spillable task in memory, age
+     * it if accessed since the last pass, otherwise spill it. A task without disk copy that looks
+     * due is written before taking its map entry.
+     */
+    private void passClockHand(UUID id) {
+        Slot due = slots.get(id);
+        Task task = due != null ? due.task : null;
+        DiskCopy written = null;
+        if (task != null && due.frequency == 0 && due.copy == null
+                && spillableStatuses.contains(task.status())) {
+            byte[] record = encode(task);
+            written = new DiskCopy(append(record), record.length);
+        }
+        DiskCopy spill = written;
+        boolean[] used = new boolean[1];
+        slots.computeIfPresent(id, (key, slot) -> {
+            if (spillableHot(slot) == 0) {
+                slot.inClock = false;
+                return slot;
+            }
+            if (slot.frequency > 0) {
+                slot.frequency >>= 1;
+                clock.add(key);
+                return slot;
+            }
+            if (slot.copy == null) {
+                if (spill == null || slot.task != task) {
+                    clock.add(key); // modified since, spilled on the next pass
+                    return slot;
+                }
+                slot.copy = spill;
+                used[0] = true;
+            }
+            slot.task = null;
+            slot.inClock = false;
+            spillableHotCount.decrementAndGet();
+            return slot;
+        });
+        if (written != null && !used[0]) {
+            discard(written);
+        }
+    }
+
+    /**
+     * Get a task, from disk if cold, without bringing it into memory and without taking its map
+     * entry.
+     */
+    private Task peek(UUID id) {
+        Slot slot = slots.get(id);
+        if (slot == null) {
+            return null;
+        }
+        Task task = slot.task;
+        if (task != null) {
+            return task;
+        }
+        mutationLock.readLock().lock(); // so that clear() does not truncate the segment meanwhile
+        try {
+            DiskCopy copy = slot.copy;
+            // no disk copy: faulted in and modified meanwhile (task set), or deleted (null)
+            return copy != null ? read(copy) : slot.task;
+        } finally {
+            mutationLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Remap the slot of a task while holding its map entry, with the task loaded. The disk copy of
+     * a cold task is read before taking the entry; if the slot does not point to that copy any
+     * more once the entry is taken, this starts over. Only called while holding the mutation lock.
+     */
+    private void computeLoaded(UUID id, LoadedRemapping remapping) {
+        for (;;) {
+            Slot before = slots.get(id);
+            DiskCopy copy = before != null && before.task == null ? before.copy : null;
+            Task cold = copy != null ? read(copy) : null;
+            boolean[] stale = new boolean[1];
+            slots.compute(id, (key, slot) -> {
+                Task task = slot != null ? slot.task : null;
+                if (slot != null && task == null) {
+                    if (slot.copy != copy || cold == null) {
+                        stale[0] = true;
+                        return slot;
+                    }
+                    task = cold;
+                }
+                return remapping.apply(key, slot, task);
+            });
+            if (!stale[0]) {
+                return;
+            }
+        }
+    }
+
+    private void dropDiskCopy(Slot slot) {
+        DiskCopy copy = slot.copy;
+        if (copy != null) {
+            slot.copy = null;
+            discard(copy);
+        }
+    }
+
+    private void discard(DiskCopy copy) {
+        synchronized (appendLock) {
+            garbageBytes += copy.length();
+        }
+    }
+
+    private void index(Task task) {
+        if (task.status() != null) {
+            Set<UUID> withStatus = byStatus.computeIfAbsent(task.status(),
+                    status -> ConcurrentHashMap.newKeySet());
+            withStatus.add(task.id());
+            ClaimQueue queue = queues.get(task.status());
+            if (queue != null) {
+                queue.add(task.id());
+            }
+        }
+        byTitleAndAuthor.merge(new TitleAndAuthor(task.title(), task.author()), 1, Integer::sum);
+    }
+
+    private void unindex(Task task) {
+        var withStatus = task.status() != null ? byStatus.get(task.status()) : null;
+        if (withStatus != null) {
+            withStatus.remove(task.id());
+        }
+        byTitleAndAuthor.computeIfPresent(new TitleAndAuthor(task.title(), task.author()),
+                (key, count) -> count == 1 ? null : count - 1);
+    }
+
+    private void purgeExpiredTombstones() {
+        Instant cutoff = Instant.now().minus(tombstoneRetention);
+        Map.Entry<Long, TaskTombstone> oldest;
+        while ((oldest = tombstones.firstEntry()) != null
+                && !oldest.getValue().deletedAt().isAfter(cutoff)) {
+            purgedUpToVersion.accumulateAndGet(oldest.getKey(), Math::max);
+            tombstones.remove(oldest.getKey());
+        }
+    }
+
+    // Segment file I/O
+
+    private long append(byte[] record) {
+        synchronized (appendLock) {
+            long offset = segmentEnd;
+            ByteBuffer buffer = ByteBuffer.wrap(record);
+            try {
+                while (buffer.hasRemaining()) {
+                    segment.write(buffer, offset + buffer.position());
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException("Cannot spill task to " + segmentPath, e);
+            }
+            segmentEnd += record.length;
+            return offset;
+        }
+    }
+
+    private Task read(DiskCopy copy) {
+        long offset = copy.offset();
+        ByteBuffer buffer = ByteBuffer.allocate(copy.length());
+        try {
+            while (buffer.hasRemaining()) {
+                if (segment.read(buffer, offset + buffer.position()) < 0) {
+                    throw new IOException("Unexpected end of segment at " + offset);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read task from " + segmentPath, e);
+        }
+        return decode(buffer.flip());
+    }
+
+    /*
+     * Record layout: id (2 longs), title, author, project, status, description (each int length
+     * in bytes or -1 for null, then UTF-8), createdAt, updatedAt (each long seconds or
+     * Long.MIN_VALUE for null, then int nanos).
+     */
+
+    private static byte[] encode(Task task) {
+        byte[][] strings = {utf8(task.title()), utf8(task.author()), utf8(task.project()),
+                utf8(task.status()), utf8(task.description())};
+        int size = 16 + 2 * 12;
+        for (byte[] string : strings) {
+            size += 4 + (string != null ? string.length : 0);
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(size);
+        buffer.putLong(task.id().getMostSignificantBits());
+        buffer.putLong(task.id().getLeastSignificantBits());
+        for (byte[] string : strings) {
+            buffer.putInt(string != null ? string.length : -1);
+            if (string != null) {
+                buffer.put(string);
+            }
+        }
+        putInstant(buffer, task.createdAt());
+        putInstant(buffer, task.updatedAt());
+        return buffer.array();
+    }
+
+    private static Task decode(ByteBuffer buffer) {
+        UUID id = new UUID(buffer.getLong(), buffer.getLong());
+        String[] strings = new String[5];
+        for (int i = 0; i < strings.length; ++i) {
+            int length = buffer.getInt();
+            if (length >= 0) {
+                strings[i] = new String(buffer.array(), buffer.position(), length,
+                        StandardCharsets.UTF_8);
+                buffer.position(buffer.position() + length);
+            }
+        }
+        return new Task(id, strings[0], strings[1], strings[2], strings[3], strings[4],
+                getInstant(buffer), getInstant(buffer));
+    }
+
+    private static byte[] utf8(String string) {
+        return string != null ? string.getBytes(StandardCharsets.UTF_8) : null;
+    }
+
+    private static void putInstant(ByteBuffer buffer, Instant instant) {
+        buffer.putLong(instant != null ? instant.getEpochSecond() : Long.MIN_VALUE);
+        buffer.putInt(instant != null ? instant.getNano() : 0);
+    }
+
+    private static Instant getInstant(ByteBuffer buffer) {
+        long seconds = buffer.getLong();
+        int nanos = buffer.getInt();
+        return seconds != Long.MIN_VALUE ? Instant.ofEpochSecond(seconds, nanos) : null;
+    }
+}
@@ -0,0 +1,103 @@
+package com.example.task_management_api.repository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.ToLongFunction;
+
+
+/**
+ * Per-task registry of one-shot watchers, behind {@link TaskRepository#watch(UUID, long)}.
+ * <p>
+ * A watcher is a future registered under the ID of a task. The repository calls
+ * {@link #changed(UUID)} after every mutation of a task, which completes and drops all watchers of
+ * that task. Watchers cost one map entry per watched task plus one future each, and no CPU at all
+ * until their task changes: nothing polls.
+ * </p>
+ *
+ * @implNote A watcher is registered first and then checked against the current version of the
+ *           task, while mutations update the version first and then complete the watchers. Either
+ *           way round, a change racing with the registration is not missed; at worst the watcher
+ *           is completed twice, which is a no-op.
+ */
+
+final class TaskWatchers {
+
+    /**
+     * Watch a task for a change after a version.
+     *
+     * @param id The ID of the task.
+     * @param afterVersion The version the caller knows.
+     * @param versionOf The current version of a task, 0 if it does not exist.
+     *
+     * @return Future completed on the next change of the task, right away if it has already changed
+     *         after afterVersion or does not exist. Cancel it to unregister.
+     */
+    CompletableFuture<Void> watch(UUID id, long afterVersion, ToLongFunction<UUID> versionOf) {
+        var watcher = new CompletableFuture<Void>();
+        watchers.compute(id, (key, list) -> {
+            List<CompletableFuture<Void>> watching = list != null ? list : new ArrayList<>(1);
+            watching.add(watcher);
+            return watching;
+        });
+        watcher.whenComplete((result, failure) -> {
+            if (watcher.isCancelled()) {
+                unregister(id, watcher);
+            }
+        });
+        long version = versionOf.applyAsLong(id);
+        if (version == 0 || version > afterVersion) {
+            // only this watcher is behind, the others still wait for the next change
+            watcher.complete(null);
+            unregister(id, watcher);
+        }
+        return watcher;
+    }
+
+    /**
+     * Complete all watchers of a task. Called after the mutation is visible to readers.
+     *
+     * @param id The ID of the changed task.
+     */
+    void changed(UUID id) {
+        List<CompletableFuture<Void>> list = watchers.remove(id);
+        if (list != null) {
+            list.forEach(watcher -> watcher.complete(null));
+        }
+    }
+
+    /**
+     * Complete all watchers, e.g. after all tasks were deleted.
+     */
+    void changedAll() {
+        watchers.keySet().forEach(this::changed);
+    }
+
+    /**
+     * Get the number of tasks watched.
+     *
+     * @return number of watched tasks
+     */
+    int watchedCount() {
+        return watchers.size();
+    }
+
+
+    // ------------------------------------------------------------------------
+    // Private section from here on
+    // ------------------------------------------------------------------------
+
+    // only modified through compute / remove, so a list removed from the map is not modified again
+    private final Map<UUID, List<CompletableFuture<Void>>> watchers = new ConcurrentHashMap<>();
+
+
+    private void unregister(UUID id, CompletableFuture<Void> watcher) {
+        watchers.computeIfPresent(id, (key, list) -> {
+            list.remove(watcher);
+            return list.isEmpty() ? null : list;
+        });
+    }
+}
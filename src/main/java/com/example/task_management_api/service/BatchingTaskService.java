@@ -0,0 +1,215 @@
+package com.example.task_management_api.service;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+import com.example.task_management_api.model.Task;
+import com.example.task_management_api.repository.TaskRepository;
+import jakarta.annotation.PreDestroy;
+
+
+/**
+ * TaskService applying creates through a single-writer pipeline in batches, for heavy ingest.
+ * <p>
+ * Request threads queue their create and wait for it. A single writer thread takes everything
+ * queued (up to the batch size), runs the duplicate checks and UUID generation for the whole batch
+ * and commits it with one {@link TaskRepository#createAll(List)}: one lock acquisition, one block
+ * of change log sequence numbers and one publish for the batch instead of one each per task. Every
+ * request then gets its own result, the created task (201) or 409 for a duplicate, including
+ * duplicates within the same batch. If the commit fails, the requests whose task got stored
+ * nevertheless get it, the others the failure. A batch rolled back by a constraint violation, e.g.
+ * the unique (title, author) of the jdbc profile hit by a task created concurrently by populate or
+ * import, is retried task by task instead: only the conflicting creates get 409.
+ * </p>
+ * <p>
+ * Active with tasks.writes.mode=batched outside of cluster mode. All other operations behave as in
+ * {@link TaskService}.
+ * </p>
+ *
+ * @implNote With a single writer, the duplicate check and the insert of a batch cannot interleave
+ *           with other creates, so the (title, author) check is exact, unlike the check-then-act of
+ *           the synchronous path under concurrency.
+ */
+
+@Service
+@ConditionalOnExpression("'${tasks.cluster.nodes:}'.isEmpty()"
+        + " and '${tasks.writes.mode:sync}' == 'batched'")
+public class BatchingTaskService extends TaskService {
+
+    /**
+     * Constructor, starts the writer thread.
+     *
+     * @param taskRepository The repository to write to.
+     * @param batchSize Maximum number of creates committed together.
+     * @param queueCapacity Maximum number of queued creates, request threads block when reached.
+     */
+    public BatchingTaskService(TaskRepository taskRepository,
+            @Value("${tasks.writes.batch-size:256}") int batchSize,
+            @Value("${tasks.writes.queue-capacity:10000}") int queueCapacity) {
+        super(taskRepository);
+        this.taskRepository = taskRepository;
+        this.batchSize = batchSize;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.writer = new Thread(this::writeLoop, "task-writer");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    /**
+     * Queues the create and waits until its batch has been committed.
+     *
+     * @throws ResponseStatusException with status 409 if a task with same title and author already
+     *         exists, or 503 if the service is shutting down.
+     */
+    @Override
+    public Task createTask(String title, String author, String project, String status,
+            String description) {
+        var pending = new PendingCreate(title, author, project, status, description);
+        try {
+            queue.put(pending);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Interrupted", e);
+        }
+        try {
+            return pending.result.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Stops the writer thread. Creates still queued are answered with 503.
+     */
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        writer.interrupt();
+        writer.join();
+        List<PendingCreate> left = new ArrayList<>();
+        queue.drainTo(left);
+        left.forEach(pending -> pending.result.completeExceptionally(new ResponseStatusException(
+                HttpStatus.SERVICE_UNAVAILABLE, "Service is shutting down")));
+    }
+
+
+    // ------------------------------------------------------------------------
+    // Private section from here on
+    // ------------------------------------------------------------------------
+
+    private final TaskRepository taskRepository;
+    private final int batchSize;
+    private final BlockingQueue<PendingCreate> queue;
+    private final Thread writer;
+
+
+    private record PendingCreate(String title, String author, String project, String status,
+            String description, CompletableFuture<Task> result) {
+
+        PendingCreate(String title, String author, String project, String status,
+                String description) {
+            this(title, author, project, status, description, new CompletableFuture<>());
+        }
+    }
+
+    private record TitleAndAuthor(String title, String author) {
+    }
+
+    private void writeLoop() {
+        List<PendingCreate> batch = new ArrayList<>(batchSize);
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                batch.add(queue.take());
+            } catch (InterruptedException e) {
+                return;
+            }
+            queue.drainTo(batch, batchSize - 1);
+            commit(batch);
+            batch.clear();
+        }
+    }
+
+    /**
+     * Check, build and commit a batch, then answer every create of it.
+     */
+    private void commit(List<PendingCreate> batch) {
+        List<PendingCreate> accepted = new ArrayList<>(batch.size());
+        List<Task> tasks = new ArrayList<>(batch.size());
+        Set<TitleAndAuthor> inBatch = new HashSet<>();
+        try {
+            for (PendingCreate pending : batch) {
+                if (taskRepository.existsByTitleAndAuthor(pending.title(), pending.author())
+                        || !inBatch.add(new TitleAndAuthor(pending.title(), pending.author()))) {
+                    pending.result().completeExceptionally(
+                            duplicateTask(pending.title(), pending.author()));
+                    continue;
+                }
+                accepted.add(pending);
+                tasks.add(new Task(newTaskId(pending.title(), pending.author()), pending.title(),
+                        pending.author(), pending.project(), pending.status(),
+                        pending.description()));
+            }
+            taskRepository.createAll(tasks);
+        } catch (RuntimeException e) {
+            answerFailed(batch, accepted, tasks, e);
+            return;
+        }
+        for (int i = 0; i < accepted.size(); ++i) {
+            accepted.get(i).result().complete(tasks.get(i));
+        }
+    }
+
+    /**
+     * Answer the creates of a batch that failed: createAll may have stored part of the batch, so
+     * the creates whose task is stored get it. After a constraint violation the others are created
+     * one by one, otherwise they get the failure.
+     */
+    private void answerFailed(List<PendingCreate> batch, List<PendingCreate> accepted,
+            List<Task> tasks, RuntimeException failure) {
+        Set<UUID> stored = new HashSet<>();
+        boolean retry = failure instanceof DataIntegrityViolationException;
+        try {
+            taskRepository.findAllById(tasks.stream().map(Task::id).toList())
+                    .forEach(task -> stored.add(task.id()));
+        } catch (RuntimeException e) {
+            failure.addSuppressed(e);
+            retry = false; // a retry could store a task twice
+        }
+        for (int i = 0; i < accepted.size(); ++i) {
+            if (stored.contains(tasks.get(i).id())) {
+                accepted.get(i).result().complete(tasks.get(i));
+            } else if (retry) {
+                createOne(accepted.get(i), tasks.get(i));
+            }
+        }
+        // no-op for the creates already answered
+        batch.forEach(pending -> pending.result().completeExceptionally(failure));
+    }
+
+    private void createOne(PendingCreate pending, Task task) {
+        try {
+            pending.result().complete(taskRepository.create(task));
+        } catch (DuplicateKeyException e) {
+            // created concurrently after the check, rejected by a unique constraint
+            pending.result().completeExceptionally(
+                    duplicateTask(pending.title(), pending.author()));
+        } catch (RuntimeException e) {
+            pending.result().completeExceptionally(e);
+        }
+    }
+}
@@ -0,0 +1,185 @@
+package com.example.task_management_api.service;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import com.example.task_management_api.repository.TaskChangeEvent;
+import com.example.task_management_api.repository.TaskChangeLog;
+import jakarta.annotation.PreDestroy;
+
+
+/**
+ * Streams the events of the {@link TaskChangeLog} to Server-Sent Events subscribers.
+ * <p>
+ * A single dispatcher thread checks the change log at a fixed interval and hands subscribers with
+ * pending events to a sender pool. Writers to the repository are never involved: they only append
+ * to the lock-free change log. A subscriber that is still busy sending is skipped by the dispatcher,
+ * so a slow client only delays itself. If it falls so far behind that the ring buffer has overwritten
+ * events it has not seen yet, it gets a "resync" event and its stream is completed.
+ * </p>
+ * <p>
+ * Events are sent with the sequence number as SSE id and the lower case mutation type (created,
+ * updated, deleted, cleared) as SSE event name. Reconnecting clients resume via the standard
+ * Last-Event-ID header.
+ * </p>
+ * <p>
+ * Lazy, so the dispatcher and its threads are only started with the first subscriber instead of at
+ * application startup.
+ * </p>
+ */
+
+@Service
+@Lazy
+public class TaskChangeStreamer {
+
+    /**
+     * Constructor.
+     *
+     * @param changeLog The change log to stream from.
+     * @param pollIntervalMs Interval in milliseconds at which the dispatcher checks for new events.
+     * @param timeoutMs Timeout in milliseconds of an SSE stream, after which clients have to
+     *        reconnect.
+     */
+    public TaskChangeStreamer(TaskChangeLog changeLog,
+            @Value("${tasks.changes.poll-interval-ms:50}") long pollIntervalMs,
+            @Value("${tasks.changes.sse-timeout-ms:1800000}") long timeoutMs) {
+        this.changeLog = changeLog;
+        this.timeoutMs = timeoutMs;
+        this.dispatcher.scheduleWithFixedDelay(this::dispatch, pollIntervalMs, pollIntervalMs,
+                TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Register a new subscriber.
+     *
+     * @param since Sequence number after which to start streaming. If null, only events published
+     *        after subscribing are streamed.
+     *
+     * @return The emitter for the controller to hand to Spring MVC.
+     */
+    public SseEmitter subscribe(Long since) {
+        var emitter = new SseEmitter(timeoutMs);
+        var subscriber =
+                new Subscriber(emitter, since != null ? since : changeLog.lastSequence());
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(e -> subscribers.remove(subscriber));
+        subscribers.add(subscriber);
+        return emitter;
+    }
+
+    /**
+     * Get the number of currently connected subscribers.
+     *
+     * @return number of subscribers
+     */
+    public int subscriberCount() {
+        return subscribers.size();
+    }
+
+    /**
+     * Stop the dispatcher and complete all open streams.
+     */
+    @PreDestroy
+    public void shutdown() {
+        dispatcher.shutdownNow();
+        senders.shutdownNow();
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+        subscribers.clear();
+    }
+
+
+    // ------------------------------------------------------------------------
+    // Private section from here on
+    // ------------------------------------------------------------------------
+
+    // max events read from the change log per read call
+    private static final int MAX_BATCH = 256;
+
+    private final TaskChangeLog changeLog;
+    private final long timeoutMs;
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+
+    private final ScheduledExecutorService dispatcher =
+            Executors.newSingleThreadScheduledExecutor(r -> daemon(r, "task-changes-dispatcher"));
+
+    // unbounded on purpose: each subscriber occupies at most one sender thread at a time
+    private final ExecutorService senders =
+            Executors.newCachedThreadPool(r -> daemon(r, "task-changes-sender"));
+
+
+    /**
+     * Connection state of one SSE client. The cursor is only written by the sender currently owning
+     * the subscriber (see busy flag).
+     */
+    private static final class Subscriber {
+        Subscriber(SseEmitter emitter, long cursor) {
+            this.emitter = emitter;
+            this.cursor = cursor;
+        }
+
+        final SseEmitter emitter;
+        final AtomicBoolean busy = new AtomicBoolean();
+        volatile long cursor;
+    }
+
+    private static Thread daemon(Runnable r, String name) {
+        Thread thread = new Thread(r, name);
+        thread.setDaemon(true);
+        return thread;
+    }
+
+    private void dispatch() {
+        long head = changeLog.lastSequence();
+        for (Subscriber subscriber : subscribers) {
+            if (subscriber.cursor != head && subscriber.busy.compareAndSet(false, true)) {
+                senders.execute(() -> drain(subscriber));
+            }
+        }
+    }
+
+    private void drain(Subscriber subscriber) {
+        try {
+            while (true) {
+                var batch = changeLog.read(subscriber.cursor, MAX_BATCH);
+                if (batch.resyncRequired()) {
+                    subscriber.emitter.send(SseEmitter.event()
+                            .name("resync")
+                            .data(Map.of("sequence", changeLog.lastSequence()),
+                                    MediaType.APPLICATION_JSON));
+                    subscribers.remove(subscriber);
+                    subscriber.emitter.complete();
+                    return;
+                }
+                if (batch.events().isEmpty()) {
+                    return;
+                }
+                for (TaskChangeEvent event : batch.events()) {
+                    subscriber.emitter.send(SseEmitter.event()
+                            .id(Long.toString(event.sequence()))
+                            .name(event.type().name().toLowerCase())
+                            .data(event, MediaType.APPLICATION_JSON));
+                    subscriber.cursor = event.sequence();
+                }
+            }
+        } catch (IOException | IllegalStateException e) {
+            // client went away or emitter already completed
+            subscribers.remove(subscriber);
+            subscriber.emitter.completeWithError(e);
+        } finally {
+            subscriber.busy.set(false);
+        }
+    }
+}
@@ -0,0 +1,173 @@
+package com.example.task_management_api.service;
+
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.web.context.request.async.DeferredResult;
+import com.example.task_management_api.model.Task;
+import jakarta.annotation.PreDestroy;
+
+
+/**
+ * Long-poll claims for the work queue: a worker asking for the next pending task while none is
+ * pending waits for one, up to a given time, instead of polling.
+ * <p>
+ * Waiting workers do not hold a request thread: each gets a {@link DeferredResult}. A single
+ * dispatcher thread tries to claim a task for the longest waiting worker at a fixed interval, hands
+ * out tasks in the order workers started waiting, and answers workers whose wait is over with 204.
+ * Claims that can be served right away never wait for the dispatcher.
+ * </p>
+ * <p>
+ * Lazy, so the dispatcher thread is only started with the first waiting claim instead of at
+ * application startup.
+ * </p>
+ *
+ * @implNote A task is claimed for a worker before its result is set. If the worker went away in
+ *           between, the task is kept and handed out by the next claim, so it does not get stuck in
+ *           progress without anyone working on it.
+ */
+
+@Service
+@Lazy
+public class TaskClaimer {
+
+    /**
+     * Constructor.
+     *
+     * @param taskService The service claiming the tasks.
+     * @param pollIntervalMs Interval in milliseconds at which waiting workers are served.
+     * @param maxWaitMs Upper limit in milliseconds for the wait requested by a worker.
+     */
+    public TaskClaimer(TaskService taskService,
+            @Value("${tasks.claim.poll-interval-ms:50}") long pollIntervalMs,
+            @Value("${tasks.claim.max-wait-ms:30000}") long maxWaitMs) {
+        this.taskService = taskService;
+        this.maxWaitMs = maxWaitMs;
+        this.dispatcher.scheduleWithFixedDelay(this::dispatch, pollIntervalMs, pollIntervalMs,
+                TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Claim the oldest pending task without waiting.
+     *
+     * @return The claimed task, or empty if none is pending.
+     */
+    public Optional<Task> claimNow() {
+        return Optional.ofNullable(undelivered.getAndSet(null)).or(taskService::claimTask);
+    }
+
+    /**
+     * Claim the oldest pending task, waiting for one if none is pending.
+     *
+     * @param waitMs How long to wait in milliseconds, capped at tasks.claim.max-wait-ms.
+     *
+     * @return The result for the controller to hand to Spring MVC: 200 with the claimed task, or
+     *         204 if none became pending in time.
+     */
+    public DeferredResult<ResponseEntity<Task>> claim(long waitMs) {
+        long wait = Math.min(Math.max(waitMs, 0), maxWaitMs);
+        // the dispatcher answers in time, the timeout of the result is only a safety net
+        var result = new DeferredResult<ResponseEntity<Task>>(wait + TIMEOUT_GRACE_MS,
+                ResponseEntity.noContent().build());
+        Optional<Task> claimed = claimNow();
+        if (claimed.isPresent() || wait == 0) {
+            result.setResult(response(claimed));
+            return result;
+        }
+        var waiter = new Waiter(result, System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(wait));
+        result.onCompletion(() -> waiters.remove(waiter));
+        waiters.add(waiter);
+        return result;
+    }
+
+    /**
+     * Get the number of workers currently waiting.
+     *
+     * @return number of waiting workers
+     */
+    public int waitingCount() {
+        return waiters.size();
+    }
+
+    /**
+     * Stop the dispatcher and answer all waiting workers with 204.
+     */
+    @PreDestroy
+    public void shutdown() {
+        dispatcher.shutdownNow();
+        waiters.forEach(waiter -> waiter.result.setResult(ResponseEntity.noContent().build()));
+        waiters.clear();
+    }
+
+
+    // ------------------------------------------------------------------------
+    // Private section from here on
+    // ------------------------------------------------------------------------
+
+    private static final Logger log = LoggerFactory.getLogger(TaskClaimer.class);
+
+    private static final long TIMEOUT_GRACE_MS = 5_000;
+
+    private final TaskService taskService;
+    private final long maxWaitMs;
+
+    // in order of arrival, removed on completion
+    private final Queue<Waiter> waiters = new ConcurrentLinkedQueue<>();
+
+    private final ScheduledExecutorService dispatcher =
+            Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread thread = new Thread(r, "task-claim-dispatcher");
+                thread.setDaemon(true);
+                return thread;
+            });
+
+    // claimed for a worker that went away, handed to the next claim
+    private final AtomicReference<Task> undelivered = new AtomicReference<>();
+
+
+    private record Waiter(DeferredResult<ResponseEntity<Task>> result, long deadline) {
+    }
+
+    private static ResponseEntity<Task> response(Optional<Task> claimed) {
+        return claimed.map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.noContent().build());
+    }
+
+    private void dispatch() {
+        try {
+            long now = System.nanoTime();
+            for (Waiter waiter : waiters) {
+                if (now - waiter.deadline() >= 0) {
+                    waiter.result().setResult(ResponseEntity.noContent().build());
+                }
+            }
+            for (Waiter waiter; (waiter = waiters.peek()) != null;) {
+                if (waiter.result().isSetOrExpired()) {
+                    waiters.remove(waiter);
+                    continue;
+                }
+                Task task = claimNow().orElse(null);
+                if (task == null) {
+                    return;
+                }
+                if (!waiters.remove(waiter)
+                        || !waiter.result().setResult(ResponseEntity.ok(task))) {
+                    undelivered.set(task);
+                }
+            }
+        } catch (RuntimeException e) {
+            // rethrowing would cancel the schedule, the next run simply tries again
+            log.warn("Dispatching claims to waiting workers failed", e);
+        }
+    }
+}
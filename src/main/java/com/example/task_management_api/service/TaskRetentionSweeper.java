@@ -0,0 +1,187 @@
+package com.example.task_management_api.service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.stereotype.Service;
+import com.example.task_management_api.model.Task;
+import com.example.task_management_api.repository.TaskRepository;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PreDestroy;
+
+
+/**
+ * Retention of finished tasks: evicts tasks in one of the configured statuses (by default
+ * "completed") whose updatedAt is older than {@code tasks.retention.max-age}.
+ * <p>
+ * A background thread sweeps the local repository every {@code sweep-interval}. A sweep works in
+ * slices of at most {@code batch-size} candidates and pauses between slices, so it never competes
+ * with requests for long. Candidates come from the status index, not from a full scan, and are
+ * read slice by slice as the sweep gets to them instead of copying the whole status. Evictions
+ * are regular deletes: indexes, tombstones for delta sync and the change log stay consistent, and
+ * replicas and change stream subscribers see a delete.
+ * </p>
+ * <p>
+ * Metrics: {@code tasks.retention.evictions} (tasks evicted), {@code tasks.retention.sweeps}
+ * (number and total time of sweeps, pauses excluded) and {@code tasks.retention.failures} (sweeps
+ * aborted by an exception, which is also logged; the next sweep runs as scheduled).
+ * </p>
+ *
+ * @implNote A candidate is only evicted if it is still stored as read by the sweep (see
+ *           {@link TaskRepository#deleteIfUnchanged(Task)}), so a task replaced in the meantime is
+ *           never lost. In cluster mode every node sweeps its own partition.
+ */
+
+@Service
+@ConditionalOnExpression("!'${tasks.retention.max-age:}'.isEmpty()")
+public class TaskRetentionSweeper implements MeterBinder {
+
+    /**
+     * Constructor, schedules the sweeps.
+     *
+     * @param taskRepository The repository to sweep.
+     * @param maxAge Tasks not updated for longer than this are evicted.
+     * @param statuses Statuses of the tasks subject to retention.
+     * @param sweepInterval Delay between the end of a sweep and the start of the next.
+     * @param batchSize Maximum number of candidates handled per slice.
+     * @param pause Pause between two slices.
+     */
+    public TaskRetentionSweeper(TaskRepository taskRepository,
+            @Value("${tasks.retention.max-age}") Duration maxAge,
+            @Value("${tasks.retention.statuses:completed}") List<String> statuses,
+            @Value("${tasks.retention.sweep-interval:PT1M}") Duration sweepInterval,
+            @Value("${tasks.retention.batch-size:500}") int batchSize,
+            @Value("${tasks.retention.pause:PT0.01S}") Duration pause) {
+        this.taskRepository = taskRepository;
+        this.maxAge = maxAge;
+        this.statuses = statuses;
+        this.batchSize = batchSize;
+        this.pause = pause;
+        this.scheduler.scheduleWithFixedDelay(this::sweepQuietly, sweepInterval.toMillis(),
+                sweepInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Run one complete sweep on the calling thread.
+     *
+     * @return number of tasks evicted
+     *
+     * @throws InterruptedException if interrupted while pausing between slices
+     */
+    public int sweep() throws InterruptedException {
+        Instant cutoff = Instant.now().minus(maxAge);
+        int evicted = 0;
+        for (String status : statuses) {
+            Iterator<Task> candidates = taskRepository.iterateByStatus(status);
+            for (boolean first = true; candidates.hasNext(); first = false) {
+                if (!first) {
+                    Thread.sleep(pause.toMillis());
+                }
+                long start = System.nanoTime();
+                int slice = 0;
+                for (int i = 0; i < batchSize && candidates.hasNext(); ++i) {
+                    Task task = candidates.next();
+                    if (task.updatedAt().isBefore(cutoff)
+                            && taskRepository.deleteIfUnchanged(task)) {
+                        ++slice;
+                    }
+                }
+                evicted += slice;
+                evictions.add(slice);
+                sweepNanos.add(System.nanoTime() - start);
+            }
+        }
+        sweeps.increment();
+        return evicted;
+    }
+
+    /**
+     * Get the number of tasks evicted since startup.
+     *
+     * @return number of evictions
+     */
+    public long evictionCount() {
+        return evictions.sum();
+    }
+
+    /**
+     * Get the number of scheduled sweeps aborted by an exception since startup.
+     *
+     * @return number of failed sweeps
+     */
+    public long failureCount() {
+        return failures.sum();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("tasks.retention.evictions", evictions, LongAdder::sum)
+                .description("Tasks evicted by retention")
+                .register(registry);
+        FunctionTimer.builder("tasks.retention.sweeps", this, sweeper -> sweeper.sweeps.sum(),
+                sweeper -> sweeper.sweepNanos.sum(), TimeUnit.NANOSECONDS)
+                .description("Retention sweeps, time spent excluding pauses")
+                .register(registry);
+        FunctionCounter.builder("tasks.retention.failures", failures, LongAdder::sum)
+                .description("Retention sweeps aborted by an exception")
+                .register(registry);
+    }
+
+    /**
+     * Stop sweeping.
+     */
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+    }
+
+
+    // ------------------------------------------------------------------------
+    // Private section from here on
+    // ------------------------------------------------------------------------
+
+    private static final Logger log = LoggerFactory.getLogger(TaskRetentionSweeper.class);
+
+    private final TaskRepository taskRepository;
+    private final Duration maxAge;
+    private final List<String> statuses;
+    private final int batchSize;
+    private final Duration pause;
+
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder sweeps = new LongAdder();
+    private final LongAdder sweepNanos = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+
+    private final ScheduledExecutorService scheduler =
+            Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread thread = new Thread(r, "task-retention");
+                thread.setDaemon(true);
+                return thread;
+            });
+
+
+    private void sweepQuietly() {
+        try {
+            sweep();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException e) {
+            // rethrowing would cancel the schedule, the next sweep simply starts over
+            failures.increment();
+            log.warn("Retention sweep failed", e);
+        }
+    }
+}
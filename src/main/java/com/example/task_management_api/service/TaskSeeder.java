@@ -0,0 +1,60 @@
+package com.example.task_management_api.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import jakarta.annotation.PostConstruct;
+
+
+/**
+ * Seeds the predefined tasks at startup via {@link TaskService#initializeTasks()}, as configured by
+ * {@code tasks.seed.mode}:
+ * <ul>
+ * <li>{@code sync} (default): during context startup, the tasks exist before the first request is
+ * served.</li>
+ * <li>{@code async}: on a background thread, so startup does not wait for it. Early requests may
+ * see an empty or partially seeded repository.</li>
+ * <li>{@code off}: no seeding, e.g. for production or when data is loaded otherwise.</li>
+ * </ul>
+ */
+
+@Component
+public class TaskSeeder {
+
+    public enum Mode {
+        SYNC, ASYNC, OFF
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param taskService The service to seed through.
+     * @param mode When to seed.
+     */
+    public TaskSeeder(TaskService taskService, @Value("${tasks.seed.mode:sync}") Mode mode) {
+        this.taskService = taskService;
+        this.mode = mode;
+    }
+
+    @PostConstruct
+    public void seed() {
+        switch (mode) {
+            case SYNC -> taskService.initializeTasks();
+            case ASYNC -> {
+                Thread seeder = new Thread(taskService::initializeTasks, "task-seeder");
+                seeder.setDaemon(true);
+                seeder.start();
+            }
+            case OFF -> {
+                // nothing to do
+            }
+        }
+    }
+
+
+    // ------------------------------------------------------------------------
+    // Private section from here on
+    // ------------------------------------------------------------------------
+
+    private final TaskService taskService;
+    private final Mode mode;
+}
@@ -1,17 +1,32 @@
 package com.example.task_management_api.service;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.web.server.ResponseStatusException;
+import com.example.task_management_api.dataset.TaskBulkLoader;
+import com.example.task_management_api.dataset.TaskGenerator;
+import com.example.task_management_api.dataset.TaskNdjson;
 import com.example.task_management_api.repository.TaskRepository;
-import jakarta.annotation.PostConstruct;
 import com.example.task_management_api.model.Task;
+import com.example.task_management_api.model.TaskDelta;
+import com.example.task_management_api.model.TaskLookup;
+import com.example.task_management_api.monitoring.NewTaskIdEvent;
 
 
 /**
@@ -30,14 +45,22 @@ import com.example.task_management_api.model.Task;
  * </p>
  * <p>
  * The service also includes an initialization method to populate the repository with predefined
- * tasks at startup, if the repository is empty. This is primarily for testing and demonstration
- * purposes.
+ * tasks at startup, if the repository is empty (see {@link TaskSeeder}). This is primarily for
+ * testing and demonstration purposes.
+ * </p>
+ * <p>
+ * In cluster mode (tasks.cluster.nodes set), the subclass ClusteredTaskService takes the place of
+ * this service and routes calls to the node owning the data. Otherwise, with
+ * tasks.writes.mode=batched the subclass {@link BatchingTaskService} takes its place and applies
+ * creates in batches.
  * </p>
  */
 
 
 
 @Service
+@ConditionalOnExpression("'${tasks.cluster.nodes:}'.isEmpty()"
+        + " and '${tasks.writes.mode:sync}' != 'batched'")
 public class TaskService {
     /*
      * Constructor
@@ -47,10 +70,10 @@ public class TaskService {
     }
 
     /**
-     * At startup, initializes the repository with two predefined tasks, if repository is empty.
-     * Used for testing and demo purposes.
+     * Initializes the repository with two predefined tasks, if repository is empty. Used for
+     * testing and demo purposes. Called at startup by {@link TaskSeeder}, depending on
+     * tasks.seed.mode.
      */
-    @PostConstruct
     public void initializeTasks() {
         if (taskRepository.isEmpty()) {
             createPredefinedTasks();
@@ -80,13 +103,62 @@ public class TaskService {
             String description) {
         // duplicate check: author / title
         if (taskRepository.existsByTitleAndAuthor(title, author)) {
-            throw new ResponseStatusException(HttpStatus.CONFLICT,
-                    "A task with same title and author ('" + title + "', '" + author
-                            + "') already exists.");
+            throw duplicateTask(title, author);
         }
-        var uuid = getNewUuid();
+        var uuid = newTaskId(title, author);
         var task = new Task(uuid, title, author, project, status, description);
-        return taskRepository.create(task);
+        try {
+            return taskRepository.create(task);
+        } catch (DuplicateKeyException e) {
+            // created concurrently after the check, rejected by a unique constraint
+            throw duplicateTask(title, author);
+        }
+    }
+
+    /**
+     * Creates generated tasks for scale tests, loading them in parallel straight into the
+     * repository (see {@link TaskBulkLoader}).
+     *
+     * @implNote Careful: Barebone task creation, no validation and no duplicate check!
+     *
+     * @param generator the generator of the dataset
+     * @param count the number of tasks, the dataset's tasks 0 to count - 1
+     * @return the number of tasks created
+     * @throws ResponseStatusException with status 409 if the repository rejects a task with same
+     *         title and author as an existing one
+     */
+    public long createGeneratedTasks(TaskGenerator generator, long count) {
+        try {
+            return new TaskBulkLoader(taskRepository).load(generator, count);
+        } catch (DuplicateKeyException e) {
+            throw duplicateTasks();
+        }
+    }
+
+    /**
+     * Imports tasks from NDJSON (see {@link TaskNdjson}), loading them in parallel straight into
+     * the repository. Tasks with the ID of an existing task replace it.
+     *
+     * @implNote Careful: Barebone task creation, no validation and no duplicate check!
+     *
+     * @param ndjson the stream of tasks, not closed
+     * @return the number of tasks imported
+     * @throws ResponseStatusException with status 400 if a line is not a valid task, the tasks
+     *         before it are imported
+     * @throws ResponseStatusException with status 409 if the repository rejects a task with same
+     *         title and author as an existing one
+     */
+    public long importTasks(InputStream ndjson) {
+        try {
+            return new TaskBulkLoader(taskRepository).load(TaskNdjson.read(ndjson));
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        } catch (DuplicateKeyException e) {
+            throw duplicateTasks();
+        } catch (IOException | UncheckedIOException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Could not read the tasks: " + e.getMessage());
+        }
     }
 
     // Read
@@ -118,6 +190,24 @@ public class TaskService {
         return taskRepository.findByStatus(status);
     }
 
+    /**
+     * Get all changes after the given repository version (delta sync). If version is negative,
+     * throws 400.
+     * 
+     * @apiNote: Broken separation of concerns, as throwing HTTP exception from service layer.
+     * 
+     * @param version the repository version the client is in sync with, 0 for none
+     * @return changed tasks and tombstones, or all tasks flagged as full resync
+     * @throws ResponseStatusException with status 400 if version is negative
+     */
+    public TaskDelta getTasksChangedSince(long version) {
+        if (version < 0) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Invalid sinceVersion '" + version + "'. Must be 0 or greater.");
+        }
+        return taskRepository.findChangedSince(version);
+    }
+
     /*
      * Get a task by its UUID. If no such task exists, throws 404.
      * 
@@ -135,8 +225,72 @@ public class TaskService {
                         "Task not found. Id: " + id));
     }
 
+    /**
+     * Gets the version of a task, i.e. the repository version of its latest change. Read it before
+     * the task itself, so that a change in between is reported again rather than missed.
+     * 
+     * @param id the UUID of the task
+     * @return the version, 0 if no such task exists, or -1 if versions of tasks are not available
+     */
+    public long getTaskVersion(UUID id) {
+        return taskRepository.versionOf(id);
+    }
+
+    /**
+     * Watches a task for its next change after the given version (long-poll). If version is
+     * negative, throws 400.
+     * 
+     * @apiNote: Broken separation of concerns, as throwing HTTP exception from service layer.
+     * 
+     * @param id the UUID of the task to watch
+     * @param version the version of the task the client knows
+     * @return future completed once the task changed or was deleted after that version, right away
+     *         if it already has or does not exist; cancel it to stop watching
+     * @throws ResponseStatusException with status 400 if version is negative
+     */
+    public CompletableFuture<Void> watchTask(UUID id, long version) {
+        if (version < 0) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Invalid waitForChange '" + version + "'. Must be 0 or greater.");
+        }
+        return taskRepository.watch(id, version);
+    }
+
+    /**
+     * Get many tasks by their UUIDs in one repository call (multi-get). Unknown UUIDs are reported
+     * as missing instead of failing the whole lookup.
+     * 
+     * @param ids the UUIDs of the tasks to retrieve, duplicates are answered once
+     * @return the tasks found and the UUIDs missing, both in the order of ids
+     */
+    public TaskLookup lookupTasks(Collection<UUID> ids) {
+        List<UUID> distinct = new ArrayList<>(new LinkedHashSet<>(ids));
+        List<Task> found = taskRepository.findAllById(distinct);
+        if (found.size() == distinct.size()) {
+            return new TaskLookup(found, List.of());
+        }
+        Set<UUID> foundIds = new HashSet<>();
+        found.forEach(task -> foundIds.add(task.id()));
+        List<UUID> missing = new ArrayList<>(distinct.size() - found.size());
+        for (UUID id : distinct) {
+            if (!foundIds.contains(id)) {
+                missing.add(id);
+            }
+        }
+        return new TaskLookup(found, missing);
+    }
+
     // Update
-    // will not implement atm
+
+    /**
+     * Claims the oldest pending task for a worker (work queue): atomically moves it to
+     * "in-progress" and returns it. Concurrent claims never get the same task.
+     * 
+     * @return the claimed task, in status "in-progress", or empty if no task is pending
+     */
+    public Optional<Task> claimTask() {
+        return taskRepository.claimNext("pending", "in-progress");
+    }
 
     // Delete
 
@@ -168,6 +322,18 @@ public class TaskService {
         return taskRepository.count();
     }
 
+    /**
+     * Gets the current version of the repository content, as key for caching responses derived
+     * from it. Increases with every write by the time the write returns, so a request arriving
+     * after a write has been acknowledged reads a higher version than any response rendered before
+     * that write.
+     * 
+     * @return the current version, or -1 if responses must not be cached by version
+     */
+    public long currentVersion() {
+        return taskRepository.writeCount();
+    }
+
     /**
      * Checks if repository is empty.
      * 
@@ -192,10 +358,33 @@ public class TaskService {
      *           the two tasks is present, still creates both
      */
     public void createPredefinedTasks() {
+        predefinedTasks().forEach(taskRepository::create);
+
+        /*
+         * tested how things react to nulls. Not pretty. Especially if title or author or is null,
+         * createTask will fail add an a new task, as the repository query to check for duplicates
+         * fails.
+         *
+         * Decision: atm rely on defense in controller, not here or in repository / model.
+         *
+         * taskRepository.create(new Task( UUID.randomUUID(), "Testing programs right", //
+         * "A. Nonymous", null, "RESTful API", "in-progress", "What can I say ...?"));
+         * 
+         */
+
+    }
+
+
+    /**
+     * The two predefined tasks created by {@link #createPredefinedTasks()}.
+     * 
+     * @return list of the predefined tasks with hardcoded UUIDs and timestamps
+     */
+    protected List<Task> predefinedTasks() {
         UUID taskId = UUID.fromString("550e8400-e29b-41d4-a716-446655440000");
         Instant tCreated = Instant.parse("2025-09-29T13:23:16Z");
         Instant tUpdated = Instant.parse("2025-09-29T13:23:16Z");
-        Task task = new Task(
+        Task first = new Task(
                 taskId,
                 "Implement User Authentication",
                 "Alice Johnson",
@@ -204,13 +393,11 @@ public class TaskService {
                 "Create a secure user authentication system using JWT.",
                 tCreated,
                 tUpdated);
-        taskRepository.create(task);
-
 
         taskId = UUID.fromString("123e4567-e89b-12d3-a456-426614174000");
         tCreated = Instant.parse("2025-09-28T10:15:30Z");
         tUpdated = Instant.parse("2025-09-29T09:00:00Z");
-        task = new Task(
+        Task second = new Task(
                 taskId,
                 "Design Database Scheme",
                 "Bob Smith",
@@ -219,20 +406,45 @@ public class TaskService {
                 "Draft the database schema for the project",
                 tCreated,
                 tUpdated);
-        taskRepository.create(task);
 
-        /*
-         * tested how things react to nulls. Not pretty. Especially if title or author or is null,
-         * createTask will fail add an a new task, as the repository query to check for duplicates
-         * fails.
-         *
-         * Decision: atm rely on defense in controller, not here or in repository / model.
-         *
-         * taskRepository.create(new Task( UUID.randomUUID(), "Testing programs right", //
-         * "A. Nonymous", null, "RESTful API", "in-progress", "What can I say ...?"));
-         * 
-         */
+        return List.of(first, second);
+    }
+
+    /**
+     * Creates the exception reporting that a task with same title and author already exists.
+     * 
+     * @param title the title of the rejected task
+     * @param author the author of the rejected task
+     * @return ResponseStatusException with status 409
+     */
+    protected static ResponseStatusException duplicateTask(String title, String author) {
+        return new ResponseStatusException(HttpStatus.CONFLICT,
+                "A task with same title and author ('" + title + "', '" + author
+                        + "') already exists.");
+    }
 
+    /**
+     * Creates the exception reporting that bulk created tasks clash with existing ones by title and
+     * author.
+     *
+     * @return ResponseStatusException with status 409
+     */
+    protected static ResponseStatusException duplicateTasks() {
+        return new ResponseStatusException(HttpStatus.CONFLICT,
+                "A task with same title and author as one of the tasks already exists.");
+    }
+
+    /**
+     * Creates the UUID for a new task. Hook for subclasses that need to control on which node or
+     * partition a task ends up.
+     * 
+     * @param title the title of the new task
+     * @param author the author of the new task
+     * @return UUID not yet present in repository
+     * @throws IllegalStateException if no proper UUID could be found.
+     */
+    protected UUID newTaskId(String title, String author) {
+        return getNewUuid();
     }
 
 
@@ -262,20 +474,28 @@ public class TaskService {
      * Creates a new UUID suitable for inserting a new task into repository.
      *
      * @apiNote Caution: not production level ready. Tries up to 1000 UUIDs, if all already present,
-     *          throws.
+     *          throws. Emits a {@link NewTaskIdEvent} with the number of retries to Java Flight
+     *          Recorder when a recording enables it.
      *
      * @return UUID
      * @throws IllegalStateException if no proper UUID could be found.
      */
     private UUID getNewUuid() {
+        var event = NewTaskIdEvent.beginIfEnabled();
         boolean haveUuid = false;
+        int retries = 0;
         UUID newId = UUID.randomUUID();
         for (int i = 0; i < 1000 && !haveUuid; ++i) {
             var idInRepository = taskRepository.findById(newId);
             if (!idInRepository.isPresent()) {
                 haveUuid = true;
+            } else {
+                ++retries;
+                newId = UUID.randomUUID();
             }
-            newId = UUID.randomUUID();
+        }
+        if (event != null && event.shouldCommit()) {
+            event.commit(retries, taskRepository.count());
         }
         if (!haveUuid) {
             // in "real" production code: exception handler for whole project
@@ -1,13 +1,23 @@
 package com.example.task_management_api;
 
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import javax.sql.DataSource;
 import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
 
 @SpringBootTest
 class TaskManagementApiApplicationTests {
 
+	@Autowired
+	private ApplicationContext context;
+
 	@Test
 	void contextLoads() {
+		// the database is only set up with the profile jdbc
+		assertNull(context.getBeanProvider(DataSource.class).getIfAvailable());
 	}
 
 }
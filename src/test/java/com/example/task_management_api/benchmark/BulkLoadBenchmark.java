@@ -0,0 +1,120 @@
+package com.example.task_management_api.benchmark;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.UUID;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import com.example.task_management_api.dataset.TaskBulkLoader;
+import com.example.task_management_api.dataset.TaskGenerator;
+import com.example.task_management_api.dataset.TaskNdjson;
+import com.example.task_management_api.model.Task;
+import com.example.task_management_api.repository.TaskChangeLog;
+import com.example.task_management_api.repository.TaskRepository;
+import com.example.task_management_api.repository.TaskRepositoryInMemory;
+import com.example.task_management_api.repository.TaskRepositorySharded;
+import com.example.task_management_api.service.TaskService;
+
+/**
+ * Throughput of filling a store with generated tasks: generation alone, the parallel bulk loader
+ * into the in-memory and the sharded repository with 1 and several threads, against creating the
+ * same tasks one by one through the service, and writing and reading the dataset as NDJSON. Prints
+ * tasks per second.
+ *
+ * @implNote Not part of the regular test run. Run with
+ *           {@code ./mvnw test -Dgroups=benchmark -DexcludedGroups= -Dtest=BulkLoadBenchmark}
+ */
+
+@Tag("benchmark")
+class BulkLoadBenchmark {
+
+    private static final int TASKS = 500_000;
+    private static final int SERVICE_TASKS = 50_000;
+    private static final int SHARDS = 8;
+    private static final int[] THREADS = {1, 4};
+
+    @Test
+    void fillStore() throws Exception {
+        TaskGenerator generator = new TaskGenerator(TaskGenerator.Spec.defaults(), 1);
+        for (int round = 0; round < 2; ++round) { // first round warms up
+            boolean print = round == 1;
+            if (print) {
+                System.out.printf("%n%-40s %14s%n", "tasks/s (" + TASKS + " tasks)", "");
+            }
+
+            long start = System.nanoTime();
+            long sum = 0;
+            for (int i = 0; i < TASKS; ++i) {
+                sum += generator.task(i).description().length();
+            }
+            report(print, "generate only", TASKS, start, sum);
+
+            for (int threads : THREADS) {
+                var memory = new TaskRepositoryInMemory(new TaskChangeLog(1 << 16),
+                        Duration.ofHours(1));
+                start = System.nanoTime();
+                new TaskBulkLoader(memory, threads, TaskBulkLoader.DEFAULT_BATCH_SIZE)
+                        .load(generator, TASKS);
+                report(print, "bulk load in-memory, " + threads + " threads", TASKS, start,
+                        memory.count());
+            }
+            for (int threads : THREADS) {
+                try (var sharded = new TaskRepositorySharded(SHARDS, new TaskChangeLog(1 << 16),
+                        Duration.ofHours(1))) {
+                    start = System.nanoTime();
+                    new TaskBulkLoader(sharded, threads, TaskBulkLoader.DEFAULT_BATCH_SIZE)
+                            .load(generator, TASKS);
+                    report(print, "bulk load sharded (" + SHARDS + "), " + threads + " threads",
+                            TASKS, start, sharded.count());
+                }
+            }
+
+            var viaService = new TaskRepositoryInMemory(new TaskChangeLog(1 << 16),
+                    Duration.ofHours(1));
+            TaskService service = new TaskService(viaService);
+            start = System.nanoTime();
+            for (int i = 0; i < SERVICE_TASKS; ++i) {
+                Task task = generator.task(i);
+                service.createTask(task.title(), task.author(), task.project(), task.status(),
+                        task.description());
+            }
+            report(print, "TaskService.createTask one by one", SERVICE_TASKS, start,
+                    viaService.count());
+
+            TaskRepository source = new TaskRepositoryInMemory(new TaskChangeLog(1 << 16),
+                    Duration.ofHours(1));
+            new TaskBulkLoader(source).load(generator, TASKS);
+            var out = new ByteArrayOutputStream(TASKS * 300);
+            start = System.nanoTime();
+            TaskNdjson.write(source.findAll().iterator(), out);
+            report(print, "NDJSON write", TASKS, start, out.size());
+
+            start = System.nanoTime();
+            Iterator<Task> read = TaskNdjson.read(new ByteArrayInputStream(out.toByteArray()));
+            UUID last = null;
+            while (read.hasNext()) {
+                last = read.next().id();
+            }
+            report(print, "NDJSON read", TASKS, start, last.hashCode());
+
+            var reloaded = new TaskRepositoryInMemory(new TaskChangeLog(1 << 16),
+                    Duration.ofHours(1));
+            start = System.nanoTime();
+            new TaskBulkLoader(reloaded).load(
+                    TaskNdjson.read(new ByteArrayInputStream(out.toByteArray())));
+            report(print, "NDJSON reload into in-memory", TASKS, start, reloaded.count());
+            if (print) {
+                System.out.printf("%-40s %11.0f MB%n", "NDJSON size", out.size() / 1e6);
+            }
+        }
+    }
+
+    private static void report(boolean print, String name, long tasks, long start, long check) {
+        double perSecond = tasks / ((System.nanoTime() - start) / 1e9);
+        if (print) {
+            System.out.printf("%-40s %14.0f%s%n", name, perSecond, check == 0 ? " (!)" : "");
+        }
+    }
+}
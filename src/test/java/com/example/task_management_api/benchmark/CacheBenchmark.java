@@ -0,0 +1,192 @@
+package com.example.task_management_api.benchmark;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import com.example.task_management_api.model.Task;
+import com.example.task_management_api.repository.TaskChangeLog;
+import com.example.task_management_api.repository.TaskRepository;
+import com.example.task_management_api.repository.TaskRepositoryCached;
+import com.example.task_management_api.repository.TaskRepositoryInMemory;
+
+/**
+ * Read-through cache in front of a backing repository that takes {@value #LATENCY_MICROS} µs per
+ * read, like a database or disk: throughput, hit ratio and backend reads for a skewed (Zipf)
+ * workload of reads by ID with 5 % writes, without cache and with caches of different sizes. A
+ * second run lets many callers miss on the same task at once (stampede).
+ *
+ * @implNote Not part of the regular test run. Run with
+ *           {@code ./mvnw test -Dgroups=benchmark -DexcludedGroups= -Dtest=CacheBenchmark}
+ * @implNote The latency is a park, not a busy loop, so that callers waiting for the backend do not
+ *           take CPU from the others, as with real I/O.
+ */
+
+@Tag("benchmark")
+class CacheBenchmark {
+
+    private static final long LATENCY_MICROS = 500;
+    private static final int TASKS = 100_000;
+    private static final double ZIPF_EXPONENT = 1.0;
+    private static final int THREADS = 64;
+    private static final long RUN_MILLIS = 3_000;
+    private static final int[] CACHE_SIZES = {0, 1_000, 10_000};
+    private static final int STAMPEDE_CALLERS = 256;
+
+    @Test
+    void skewedReadsThroughSlowBackend() throws Exception {
+        SlowRepository backing = new SlowRepository();
+        List<Task> tasks = new ArrayList<>(TASKS);
+        for (int i = 0; i < TASKS; ++i) {
+            tasks.add(backing.create(new Task(UUID.randomUUID(), "Task " + i, "Author",
+                    "Project", "pending", "Cached task " + i)));
+        }
+        double[] zipf = zipfCumulative(TASKS, ZIPF_EXPONENT);
+
+        System.out.printf("%n%-12s %12s %10s %16s %14s%n", "cache size", "ops/s", "hit ratio",
+                "backend reads/s", "mean load µs");
+        for (int size : CACHE_SIZES) {
+            TaskRepository repository = size == 0 ? backing
+                    : new TaskRepositoryCached(backing, size, Duration.ofMinutes(10),
+                            Duration.ofSeconds(10));
+            run(size, repository, backing, tasks, zipf);
+        }
+
+        System.out.printf("%n%-12s %10s %16s %12s%n", "stampede", "callers", "backend reads",
+                "wall ms");
+        stampede("no cache", backing, backing);
+        stampede("cache", new TaskRepositoryCached(backing, 1_000, Duration.ofMinutes(10),
+                Duration.ofSeconds(10)), backing);
+    }
+
+    private static void run(int size, TaskRepository repository, SlowRepository backing,
+            List<Task> tasks, double[] zipf) throws Exception {
+        AtomicBoolean running = new AtomicBoolean(true);
+        LongAdder ops = new LongAdder();
+        long backendBefore = backing.reads.sum();
+        List<Thread> threads = new ArrayList<>(THREADS);
+        for (int t = 0; t < THREADS; ++t) {
+            Thread thread = new Thread(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                long done = 0;
+                while (running.get()) {
+                    Task task = tasks.get(sample(zipf, random.nextDouble()));
+                    if (random.nextInt(100) < 5) {
+                        repository.create(task);
+                    } else {
+                        repository.findById(task.id());
+                    }
+                    ++done;
+                }
+                ops.add(done);
+            });
+            thread.start();
+            threads.add(thread);
+        }
+        Thread.sleep(RUN_MILLIS);
+        running.set(false);
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        double seconds = RUN_MILLIS / 1e3;
+        double backendReads = (backing.reads.sum() - backendBefore) / seconds;
+        if (repository instanceof TaskRepositoryCached cached) {
+            System.out.printf("%-12d %12.0f %10.3f %16.0f %14.0f%n", size, ops.sum() / seconds,
+                    cached.hitRatio(), backendReads, backing.meanReadMicros());
+        } else {
+            System.out.printf("%-12s %12.0f %10s %16.0f %14.0f%n", "none", ops.sum() / seconds,
+                    "-", backendReads, backing.meanReadMicros());
+        }
+    }
+
+    private static void stampede(String name, TaskRepository repository, SlowRepository backing)
+            throws Exception {
+        UUID id = backing.create(new Task(UUID.randomUUID(), "Hot " + name, "Author", "Project",
+                "pending", "Suddenly popular")).id();
+        long backendBefore = backing.reads.sum();
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>(STAMPEDE_CALLERS);
+        for (int t = 0; t < STAMPEDE_CALLERS; ++t) {
+            Thread thread = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                repository.findById(id).orElseThrow();
+            });
+            thread.start();
+            threads.add(thread);
+        }
+        long begin = System.nanoTime();
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        System.out.printf("%-12s %10d %16d %12.1f%n", name, STAMPEDE_CALLERS,
+                backing.reads.sum() - backendBefore, (System.nanoTime() - begin) / 1e6);
+    }
+
+    /**
+     * Cumulative Zipf distribution over n ranks: rank i is read with weight 1 / (i + 1)^exponent.
+     */
+    private static double[] zipfCumulative(int n, double exponent) {
+        double[] cumulative = new double[n];
+        double sum = 0;
+        for (int i = 0; i < n; ++i) {
+            sum += 1 / Math.pow(i + 1, exponent);
+            cumulative[i] = sum;
+        }
+        for (int i = 0; i < n; ++i) {
+            cumulative[i] /= sum;
+        }
+        return cumulative;
+    }
+
+    private static int sample(double[] cumulative, double uniform) {
+        int index = Arrays.binarySearch(cumulative, uniform);
+        return Math.min(index >= 0 ? index : -index - 1, cumulative.length - 1);
+    }
+
+    /**
+     * In-memory repository with the latency of a database or disk on every read by ID or status.
+     */
+    private static final class SlowRepository extends TaskRepositoryInMemory {
+
+        SlowRepository() {
+            super(new TaskChangeLog(1 << 16), Duration.ofHours(1));
+        }
+
+        final LongAdder reads = new LongAdder();
+        final LongAdder readNanos = new LongAdder();
+
+        @Override
+        public Optional<Task> findById(UUID id) {
+            long start = System.nanoTime();
+            LockSupport.parkNanos(LATENCY_MICROS * 1_000);
+            Optional<Task> task = super.findById(id);
+            reads.increment();
+            readNanos.add(System.nanoTime() - start);
+            return task;
+        }
+
+        @Override
+        public List<Task> findByStatus(String status) {
+            LockSupport.parkNanos(LATENCY_MICROS * 1_000);
+            return super.findByStatus(status);
+        }
+
+        double meanReadMicros() {
+            return reads.sum() == 0 ? 0 : readNanos.sum() / 1e3 / reads.sum();
+        }
+    }
+}
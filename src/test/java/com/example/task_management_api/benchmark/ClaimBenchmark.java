@@ -0,0 +1,144 @@
+package com.example.task_management_api.benchmark;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import com.example.task_management_api.model.Task;
+import com.example.task_management_api.repository.TaskChangeLog;
+import com.example.task_management_api.repository.TaskRepository;
+import com.example.task_management_api.repository.TaskRepositoryInMemory;
+
+/**
+ * Claim throughput of the work queue with 1 to 256 concurrent workers: over HTTP
+ * ({@code POST /tasks/claim}, each worker a thread with its own keep-alive connection) and directly
+ * on the repository. Every run drains a queue of pending tasks and checks that no task was handed
+ * out twice.
+ *
+ * @implNote Not part of the regular test run. Run with
+ *           {@code ./mvnw test -Dgroups=benchmark -DexcludedGroups= -Dtest=ClaimBenchmark}
+ */
+
+@Tag("benchmark")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {"tasks.ratelimit.enabled=false", "tasks.seed.mode=off"})
+class ClaimBenchmark {
+
+    private static final int[] WORKERS = {1, 16, 128, 256};
+    private static final int HTTP_TASKS = 10_000;
+    private static final int REPOSITORY_TASKS = 1_000_000;
+
+    @Autowired
+    private TaskRepository repository;
+
+    @LocalServerPort
+    private int port;
+
+    @Test
+    void claimThroughputByWorkers() throws Exception {
+        System.out.printf("%n%-12s %8s %14s %12s%n", "", "workers", "claims/s", "duplicates");
+        run("http", 16, HTTP_TASKS, this::fill, this::claimHttp); // warm up
+        for (int workers : WORKERS) {
+            print("http", workers, run("http", workers, HTTP_TASKS, this::fill, this::claimHttp));
+        }
+        for (int workers : WORKERS) {
+            var local = new TaskRepositoryInMemory(new TaskChangeLog(1 << 16),
+                    Duration.ofHours(1));
+            print("repository", workers, run("repository", workers, REPOSITORY_TASKS,
+                    tasks -> fill(local, tasks), client -> claimLocal(local)));
+        }
+    }
+
+    private interface Claim {
+        UUID next(HttpClient client) throws Exception;
+    }
+
+    private interface Fill {
+        void fill(int tasks);
+    }
+
+    private static void print(String name, int workers, double[] result) {
+        System.out.printf("%-12s %8d %14.0f %12.0f%n", name, workers, result[0], result[1]);
+    }
+
+    /**
+     * Drain a queue of pending tasks with the given number of workers.
+     *
+     * @return claims per second and number of duplicates
+     */
+    private static double[] run(String name, int workers, int tasks, Fill fill, Claim claim)
+            throws Exception {
+        fill.fill(tasks);
+        Set<UUID> claimed = ConcurrentHashMap.newKeySet();
+        LongAdder duplicates = new LongAdder();
+        List<Thread> threads = new ArrayList<>(workers);
+        long start = System.nanoTime();
+        for (int w = 0; w < workers; ++w) {
+            Thread thread = new Thread(() -> {
+                HttpClient client = HttpClient.newBuilder()
+                        .version(HttpClient.Version.HTTP_1_1)
+                        .build();
+                try {
+                    for (UUID id; (id = claim.next(client)) != null;) {
+                        if (!claimed.add(id)) {
+                            duplicates.increment();
+                        }
+                    }
+                } catch (Exception e) {
+                    throw new IllegalStateException(name + " worker failed", e);
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        if (claimed.size() != tasks) {
+            throw new IllegalStateException(name + ": claimed " + claimed.size() + " of " + tasks);
+        }
+        return new double[] {tasks / seconds, duplicates.sum()};
+    }
+
+    private void fill(int tasks) {
+        repository.clear();
+        fill(repository, tasks);
+    }
+
+    private static void fill(TaskRepository target, int tasks) {
+        for (int i = 0; i < tasks; ++i) {
+            target.create(new Task(UUID.randomUUID(), "Job " + i, "Producer", "Jobs", "pending",
+                    "Payload of job " + i));
+        }
+    }
+
+    private UUID claimHttp(HttpClient client) throws Exception {
+        HttpResponse<String> response = client.send(
+                HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/tasks/claim"))
+                        .POST(HttpRequest.BodyPublishers.noBody())
+                        .build(),
+                HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() == 204) {
+            return null;
+        }
+        // "id" is the first property of a task
+        return UUID.fromString(response.body().substring(7, 43));
+    }
+
+    private static UUID claimLocal(TaskRepository target) {
+        return target.claimNext("pending", "in-progress").map(Task::id).orElse(null);
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.task_management_api.benchmark;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Instant;
+import java.util.UUID;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import com.example.task_management_api.config.JacksonConfig;
+import com.example.task_management_api.model.Task;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+/**
+ * Bytes on the wire and CPU time of a JSON task listing, uncompressed and gzip compressed at the
+ * fastest and the default level, for 100 to 1M tasks. The listing is streamed into a counting sink,
+ * so even 1M tasks need no memory for the payload.
+ *
+ * @implNote Not part of the regular test run. Run with
+ *           {@code ./mvnw test -Dgroups=benchmark -DexcludedGroups= -Dtest=CompressionBenchmark}
+ */
+
+@Tag("benchmark")
+class CompressionBenchmark {
+
+    private static final int NONE = Integer.MIN_VALUE;
+    private static final int[] SIZES = {100, 1_000, 10_000, 100_000, 1_000_000};
+
+    @Test
+    void bytesOnWireAndCpuBySize() throws Exception {
+        ObjectWriter writer = JacksonConfig.configure(new ObjectMapper()).writerFor(Task.class);
+        // warm up
+        for (int i = 0; i < 5; ++i) {
+            measure(writer, 10_000, NONE);
+            measure(writer, 10_000, Deflater.BEST_SPEED);
+            measure(writer, 10_000, 6);
+        }
+        System.out.printf("%n%9s %12s %9s %12s %9s %12s %9s%n", "tasks", "json bytes", "json ms",
+                "gzip-1 bytes", "gzip-1 ms", "gzip-6 bytes", "gzip-6 ms");
+        for (int size : SIZES) {
+            long[] json = measure(writer, size, NONE);
+            long[] fast = measure(writer, size, Deflater.BEST_SPEED);
+            long[] normal = measure(writer, size, 6);
+            System.out.printf("%9d %12d %9.1f %12d %9.1f %12d %9.1f%n", size, json[0], json[1] / 1e6,
+                    fast[0], fast[1] / 1e6, normal[0], normal[1] / 1e6);
+        }
+    }
+
+    /**
+     * Serialize a listing of the given size.
+     *
+     * @return bytes written and nanoseconds taken
+     */
+    private static long[] measure(ObjectWriter writer, int size, int level) throws IOException {
+        CountingOutputStream sink = new CountingOutputStream();
+        Instant now = Instant.now();
+        long begin = System.nanoTime();
+        try (OutputStream out = level == NONE ? sink : new LeveledGzipOutputStream(sink, level);
+                JsonGenerator generator = writer.createGenerator(out)) {
+            generator.writeStartArray();
+            for (int i = 0; i < size; ++i) {
+                writer.writeValue(generator, new Task(new UUID(i, i), "Task title " + i,
+                        "Author " + (i % 50), "Project " + (i % 10),
+                        i % 3 == 0 ? "completed" : "pending",
+                        "A description of moderate length for task " + i, now, now));
+            }
+            generator.writeEndArray();
+        }
+        return new long[] {sink.count, System.nanoTime() - begin};
+    }
+
+    private static final class CountingOutputStream extends OutputStream {
+        long count;
+
+        @Override
+        public void write(int b) {
+            ++count;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            count += len;
+        }
+    }
+
+    private static final class LeveledGzipOutputStream extends GZIPOutputStream {
+        LeveledGzipOutputStream(OutputStream out, int level) throws IOException {
+            super(out, 64 * 1024);
+            def.setLevel(level);
+        }
+    }
+}
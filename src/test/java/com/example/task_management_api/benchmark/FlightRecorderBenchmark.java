@@ -0,0 +1,93 @@
+package com.example.task_management_api.benchmark;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.UUID;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import com.example.task_management_api.model.Task;
+import com.example.task_management_api.monitoring.TaskFlightRecorder;
+import com.example.task_management_api.repository.TaskChangeLog;
+import com.example.task_management_api.repository.TaskRepositoryInMemory;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+
+/**
+ * Cost of the Java Flight Recorder events of the repository: a mix of creates (replacing tasks of a
+ * fixed set), duplicate checks, small status queries and listings without any recording, with a
+ * recording of the JDK's default profile (our events disabled) and with the shipped profile (our
+ * events enabled). Prints ns and bytes allocated per operation.
+ *
+ * @implNote Not part of the regular test run. Run with
+ *           {@code ./mvnw test -Dgroups=benchmark -DexcludedGroups= -Dtest=FlightRecorderBenchmark}
+ */
+
+@Tag("benchmark")
+class FlightRecorderBenchmark {
+
+    private static final int TASKS = 10_000;
+    private static final int OPERATIONS = 4_000_000;
+    private static final int ROUNDS = 5;
+
+    private static volatile long blackhole;
+
+    @Test
+    void overheadOfEvents() throws Exception {
+        System.out.printf("%n%-22s %10s %12s%n", "", "ns/op", "bytes/op");
+        run("warm-up", null);
+        for (int round = 0; round < ROUNDS; ++round) {
+            run("no recording", null);
+            run("default profile", new Recording(Configuration.getConfiguration("default")));
+            run("tasks.jfc profile", new Recording(TaskFlightRecorder.settings()));
+        }
+    }
+
+    private static void run(String name, Recording recording) {
+        var repository = new TaskRepositoryInMemory(new TaskChangeLog(1 << 16),
+                Duration.ofHours(1));
+        UUID[] ids = new UUID[TASKS];
+        for (int i = 0; i < TASKS; ++i) {
+            ids[i] = UUID.randomUUID();
+            repository.create(task(ids[i], status(i)));
+        }
+        if (recording != null) {
+            recording.setToDisk(false);
+            recording.start();
+        }
+        var threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long self = Thread.currentThread().getId();
+        long allocatedBefore = threads.getThreadAllocatedBytes(self);
+        long sink = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < OPERATIONS; ++i) {
+            switch (i & 3) {
+                case 0 -> {
+                    int slot = (i >> 2) % TASKS;
+                    sink += repository.create(task(ids[slot], status(slot))).title().length();
+                }
+                case 1 -> sink += repository.existsByTitleAndAuthor("Task", "Author") ? 1 : 0;
+                case 2 -> sink += repository.findByStatus("rare").size();
+                default -> sink += repository.findAll().size();
+            }
+        }
+        long nanos = System.nanoTime() - start;
+        long allocated = threads.getThreadAllocatedBytes(self) - allocatedBefore;
+        if (recording != null) {
+            recording.close();
+        }
+        blackhole = sink;
+        if (!name.equals("warm-up")) {
+            System.out.printf("%-22s %10.1f %12d%n", name, (double) nanos / OPERATIONS,
+                    allocated / OPERATIONS);
+        }
+    }
+
+    // one task in 100 is rare, so that findByStatus returns a small list
+    private static String status(int slot) {
+        return slot % 100 == 0 ? "rare" : "pending";
+    }
+
+    private static Task task(UUID id, String status) {
+        return new Task(id, "Task", "Author", "Project", status, "");
+    }
+}
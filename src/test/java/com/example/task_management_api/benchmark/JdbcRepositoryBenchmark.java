@@ -0,0 +1,150 @@
+package com.example.task_management_api.benchmark;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.atomic.LongAdder;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import com.example.task_management_api.model.Task;
+import com.example.task_management_api.repository.TaskChangeLog;
+import com.example.task_management_api.repository.TaskRepository;
+import com.example.task_management_api.repository.TaskRepositoryInMemory;
+import com.example.task_management_api.repository.TaskRepositoryJdbc;
+import com.zaxxer.hikari.HikariDataSource;
+
+/**
+ * Throughput of the JDBC repository on embedded H2 (through a Hikari pool, as with the profile
+ * jdbc) against the in-memory repository: single and batched creates, point reads, duplicate
+ * checks, listings and claims. Prints operations per second.
+ *
+ * @implNote Not part of the regular test run. Run with
+ *           {@code ./mvnw test -Dgroups=benchmark -DexcludedGroups= -Dtest=JdbcRepositoryBenchmark}
+ * @implNote Embedded H2 runs in the same JVM, so there is no network round trip: a database server
+ *           adds its latency to every statement, which the batched creates pay once per batch.
+ */
+
+@Tag("benchmark")
+class JdbcRepositoryBenchmark {
+
+    private static final int SINGLE_CREATES = 20_000;
+    private static final int BATCHED_CREATES = 200_000;
+    private static final int BATCH = 500;
+    private static final int READS = 50_000;
+    private static final int LISTINGS = 5;
+    private static final int CLAIMS = 10_000;
+    private static final int[] CLAIM_WORKERS = {1, 16};
+
+    @Test
+    void throughputAgainstInMemory() throws Exception {
+        try (HikariDataSource dataSource = new HikariDataSource()) {
+            dataSource.setJdbcUrl("jdbc:h2:mem:benchmark");
+            dataSource.setMaximumPoolSize(16);
+            run(new TaskRepositoryJdbc(dataSource, new TaskChangeLog(1 << 16),
+                    Duration.ofHours(1), BATCH, 1_000)); // warm up
+            System.out.printf("%n%-24s %14s %14s%n", "ops/s", "in-memory", "jdbc (H2)");
+            double[] memory = run(new TaskRepositoryInMemory(new TaskChangeLog(1 << 16),
+                    Duration.ofHours(1)));
+            double[] jdbc = run(new TaskRepositoryJdbc(dataSource, new TaskChangeLog(1 << 16),
+                    Duration.ofHours(1), BATCH, 1_000));
+            for (int i = 0; i < OPERATIONS.length; ++i) {
+                System.out.printf("%-24s %14.0f %14.0f%n", OPERATIONS[i], memory[i], jdbc[i]);
+            }
+        }
+    }
+
+    private static final String[] OPERATIONS = {"create", "createAll (" + BATCH + ")",
+            "findById", "existsByTitleAndAuthor", "findByStatus (tasks)", "findAll (tasks)",
+            "claimNext 1 worker", "claimNext 16 workers"};
+
+    private static double[] run(TaskRepository repository) throws Exception {
+        repository.clear();
+        double[] result = new double[OPERATIONS.length];
+        List<Task> tasks = tasks(0, SINGLE_CREATES);
+        long start = System.nanoTime();
+        tasks.forEach(repository::create);
+        result[0] = perSecond(tasks.size(), start);
+
+        List<Task> batched = tasks(SINGLE_CREATES, BATCHED_CREATES);
+        start = System.nanoTime();
+        for (int i = 0; i < batched.size(); i += BATCH) {
+            repository.createAll(batched.subList(i, i + BATCH));
+        }
+        result[1] = perSecond(batched.size(), start);
+
+        Random random = new Random(42);
+        start = System.nanoTime();
+        for (int i = 0; i < READS; ++i) {
+            repository.findById(batched.get(random.nextInt(batched.size())).id());
+        }
+        result[2] = perSecond(READS, start);
+
+        start = System.nanoTime();
+        for (int i = 0; i < READS; ++i) {
+            Task task = batched.get(random.nextInt(batched.size()));
+            repository.existsByTitleAndAuthor(task.title(), task.author());
+        }
+        result[3] = perSecond(READS, start);
+
+        long rows = 0;
+        start = System.nanoTime();
+        for (int i = 0; i < LISTINGS; ++i) {
+            rows += repository.findByStatus("completed").size();
+        }
+        result[4] = perSecond(rows, start);
+
+        rows = 0;
+        start = System.nanoTime();
+        for (int i = 0; i < LISTINGS; ++i) {
+            rows += repository.findAll().size();
+        }
+        result[5] = perSecond(rows, start);
+
+        for (int w = 0; w < CLAIM_WORKERS.length; ++w) {
+            repository.createAll(tasks(-CLAIMS * (w + 1), CLAIMS).stream()
+                    .map(task -> new Task(task.id(), task.title(), task.author(), task.project(),
+                            "pending", task.description(), task.createdAt(), task.updatedAt()))
+                    .toList());
+            result[6 + w] = claims(repository, CLAIM_WORKERS[w]);
+        }
+        return result;
+    }
+
+    private static double claims(TaskRepository repository, int workers) throws Exception {
+        LongAdder claimed = new LongAdder();
+        List<Thread> threads = new ArrayList<>(workers);
+        long start = System.nanoTime();
+        for (int w = 0; w < workers; ++w) {
+            Thread thread = new Thread(() -> {
+                while (repository.claimNext("pending", "in-progress").isPresent()) {
+                    claimed.increment();
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        return perSecond(claimed.sum(), start);
+    }
+
+    /**
+     * Tasks with distinct titles, mostly completed, descriptions of about 100 characters.
+     */
+    private static List<Task> tasks(int first, int count) {
+        List<Task> tasks = new ArrayList<>(count);
+        for (int i = first; i < first + count; ++i) {
+            tasks.add(new Task(UUID.randomUUID(), "Task " + i, "Author " + (i % 100), "Project",
+                    i % 10 == 0 ? "pending" : "completed",
+                    "Description of task " + i + " ".repeat(80)));
+        }
+        return tasks;
+    }
+
+    private static double perSecond(long operations, long start) {
+        return operations / ((System.nanoTime() - start) / 1e9);
+    }
+}
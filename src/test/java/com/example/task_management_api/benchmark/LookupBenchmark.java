@@ -0,0 +1,116 @@
+package com.example.task_management_api.benchmark;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import com.example.task_management_api.model.Task;
+import com.example.task_management_api.repository.TaskRepository;
+
+/**
+ * Latency of resolving a page of task IDs over HTTP: one {@code GET /tasks/{id}} per ID after the
+ * other, as the UI does, against a single {@code POST /tasks/lookup}. Loopback with keep-alive, so
+ * the round trips are as cheap as they get; over a real network the gap only widens. Prints p50 /
+ * p99 per page in milliseconds.
+ *
+ * @implNote Not part of the regular test run. Run with
+ *           {@code ./mvnw test -Dgroups=benchmark -DexcludedGroups= -Dtest=LookupBenchmark}
+ */
+
+@Tag("benchmark")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {"tasks.ratelimit.enabled=false", "tasks.seed.mode=off"})
+class LookupBenchmark {
+
+    private static final int TASKS = 10_000;
+    private static final int[] PAGE_SIZES = {10, 100, 1_000};
+    private static final int PAGES = 50;
+
+    @Autowired
+    private TaskRepository repository;
+
+    @LocalServerPort
+    private int port;
+
+    @Test
+    void sequentialGetsAgainstLookup() throws Exception {
+        repository.clear();
+        List<UUID> ids = new ArrayList<>(TASKS);
+        for (int i = 0; i < TASKS; ++i) {
+            Task task = new Task(UUID.randomUUID(), "Task " + i, "Author", "Project",
+                    i % 3 == 0 ? "completed" : "pending",
+                    "A description of a typical length for task " + i);
+            repository.create(task);
+            ids.add(task.id());
+        }
+        HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        // warm up
+        for (int i = 0; i < 5; ++i) {
+            sequential(client, ids.subList(0, 1_000));
+            lookup(client, ids.subList(0, 1_000));
+        }
+
+        System.out.printf("%n%6s %16s %16s %16s %16s%n", "ids", "gets p50 ms", "gets p99 ms",
+                "lookup p50 ms", "lookup p99 ms");
+        for (int size : PAGE_SIZES) {
+            long[] gets = new long[PAGES];
+            long[] lookups = new long[PAGES];
+            for (int page = 0; page < PAGES; ++page) {
+                int from = (page * size) % (TASKS - size);
+                List<UUID> pageIds = ids.subList(from, from + size);
+                gets[page] = sequential(client, pageIds);
+                lookups[page] = lookup(client, pageIds);
+            }
+            Arrays.sort(gets);
+            Arrays.sort(lookups);
+            System.out.printf("%6d %16.2f %16.2f %16.2f %16.2f%n", size,
+                    percentile(gets, 0.5), percentile(gets, 0.99),
+                    percentile(lookups, 0.5), percentile(lookups, 0.99));
+        }
+    }
+
+    private long sequential(HttpClient client, List<UUID> ids) throws Exception {
+        long start = System.nanoTime();
+        for (UUID id : ids) {
+            send(client, HttpRequest.newBuilder(uri("/tasks/" + id)).GET().build());
+        }
+        return System.nanoTime() - start;
+    }
+
+    private long lookup(HttpClient client, List<UUID> ids) throws Exception {
+        String body = ids.stream().map(id -> "\"" + id + "\"")
+                .collect(Collectors.joining(",", "{\"ids\":[", "]}"));
+        long start = System.nanoTime();
+        send(client, HttpRequest.newBuilder(uri("/tasks/lookup"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build());
+        return System.nanoTime() - start;
+    }
+
+    private static void send(HttpClient client, HttpRequest request) throws Exception {
+        HttpResponse<byte[]> response =
+                client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException(request.uri() + " answered " + response.statusCode());
+        }
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+
+    private static double percentile(long[] sortedNanos, double p) {
+        return sortedNanos[(int) Math.min(sortedNanos.length - 1, sortedNanos.length * p)] / 1e6;
+    }
+}
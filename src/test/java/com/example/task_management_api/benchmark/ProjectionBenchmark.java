@@ -0,0 +1,92 @@
+package com.example.task_management_api.benchmark;
+
+import java.io.OutputStream;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import com.example.task_management_api.config.JacksonConfig;
+import com.example.task_management_api.model.Task;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+
+/**
+ * Payload size and serialization throughput of a JSON listing of 10k tasks for typical sparse
+ * fieldsets ({@code GET /tasks?fields=...}) against all fields.
+ *
+ * @implNote Not part of the regular test run. Run with
+ *           {@code ./mvnw test -Dgroups=benchmark -DexcludedGroups= -Dtest=ProjectionBenchmark}
+ */
+
+@Tag("benchmark")
+class ProjectionBenchmark {
+
+    private static final int TASKS = 10_000;
+    private static final long RUN_MILLIS = 1_000;
+    private static final List<String> FIELD_SETS =
+            List.of("", "id,title,status", "id,title,status,updatedAt", "id");
+
+    @Test
+    void payloadAndThroughputByFieldSet() throws Exception {
+        ObjectMapper mapper = JacksonConfig.configure(new ObjectMapper());
+        List<Task> tasks = new ArrayList<>(TASKS);
+        Instant now = Instant.now();
+        for (int i = 0; i < TASKS; ++i) {
+            tasks.add(new Task(UUID.randomUUID(), "Task title " + i, "Author " + (i % 50),
+                    "Project " + (i % 10), i % 3 == 0 ? "completed" : "pending",
+                    "A description of a typical length, a sentence or two explaining what task " + i
+                            + " is about and what needs to be done to complete it.",
+                    now, now));
+        }
+        System.out.printf("%n%-28s %12s %14s %14s%n", "fields", "bytes", "listings/s", "MB/s");
+        for (String fields : FIELD_SETS) {
+            ObjectWriter writer = fields.isEmpty() ? mapper.writer()
+                    : mapper.writer(new SimpleFilterProvider().addFilter(
+                            JacksonConfig.TASK_FIELDS_FILTER,
+                            SimpleBeanPropertyFilter.filterOutAllExcept(Set.of(fields.split(",")))));
+            run(fields.isEmpty() ? "(all)" : fields, writer, tasks, RUN_MILLIS / 2); // warm up
+            run(fields.isEmpty() ? "(all)" : fields, writer, tasks, RUN_MILLIS);
+        }
+    }
+
+    private static void run(String name, ObjectWriter writer, List<Task> tasks, long millis)
+            throws Exception {
+        CountingOutputStream sink = new CountingOutputStream();
+        long listings = 0;
+        long start = System.nanoTime();
+        long end = start + millis * 1_000_000;
+        while (System.nanoTime() < end) {
+            writer.writeValue(sink, tasks);
+            ++listings;
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        if (millis == RUN_MILLIS) {
+            System.out.printf("%-28s %12d %14.1f %14.1f%n", name, sink.count / listings,
+                    listings / seconds, sink.count / seconds / 1e6);
+        }
+    }
+
+    private static final class CountingOutputStream extends OutputStream {
+        long count;
+
+        @Override
+        public void write(int b) {
+            ++count;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            count += len;
+        }
+
+        @Override
+        public void close() {
+            // keep counting across listings
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.task_management_api.benchmark;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import com.example.task_management_api.model.Task;
+import com.example.task_management_api.replication.LoopbackReplicationTransport;
+import com.example.task_management_api.replication.ReplicaNode;
+import com.example.task_management_api.replication.ReplicationPrimary;
+import com.example.task_management_api.repository.TaskChangeLog;
+import com.example.task_management_api.repository.TaskRepositoryInMemory;
+
+/**
+ * Primary write throughput with 0, 1 and 3 in-process replicas, and replication lag (time from a
+ * write on the primary until all replicas applied it).
+ *
+ * @implNote Not part of the regular test run. Run with
+ *           {@code ./mvnw test -Dgroups=benchmark -DexcludedGroups= -Dtest=ReplicationBenchmark}
+ */
+
+@Tag("benchmark")
+class ReplicationBenchmark {
+
+    private static final int WRITES = 200_000;
+    private static final int LAG_SAMPLES = 2_000;
+
+    @Test
+    void throughputAndLagByReplicaCount() throws Exception {
+        System.out.printf("%n%9s %14s %12s %12s %12s%n", "replicas", "creates/s", "drain ms",
+                "lag p50 us", "lag p99 us");
+        for (int replicas : new int[] {0, 1, 3}) {
+            run(replicas);
+        }
+    }
+
+    private static void run(int replicaCount) throws Exception {
+        var changeLog = new TaskChangeLog(1 << 16);
+        var primaryRepository = new TaskRepositoryInMemory(changeLog, Duration.ofHours(1));
+        try (var transport = new LoopbackReplicationTransport(1024)) {
+            var primary = new ReplicationPrimary(primaryRepository, changeLog, transport, 512,
+                    Duration.ofNanos(50_000));
+            List<ReplicaNode> replicas = new ArrayList<>();
+            for (int i = 0; i < replicaCount; ++i) {
+                replicas.add(new ReplicaNode(new TaskRepositoryInMemory(new TaskChangeLog(1 << 16),
+                        Duration.ofHours(1)), transport));
+            }
+
+            // throughput: writes on the primary as fast as possible
+            long begin = System.nanoTime();
+            for (int i = 0; i < WRITES; ++i) {
+                primaryRepository.create(task(i));
+            }
+            double seconds = (System.nanoTime() - begin) / 1e9;
+            long target = changeLog.lastSequence();
+            long drainBegin = System.nanoTime();
+            for (ReplicaNode replica : replicas) {
+                while (replica.appliedSequence() < target) {
+                    Thread.onSpinWait();
+                }
+            }
+            double drainMillis = (System.nanoTime() - drainBegin) / 1e6;
+
+            // lag: single writes, wait until every replica applied them
+            long[] lags = new long[LAG_SAMPLES];
+            for (int i = 0; i < LAG_SAMPLES && !replicas.isEmpty(); ++i) {
+                long start = System.nanoTime();
+                primaryRepository.create(task(WRITES + i));
+                long sequence = changeLog.lastSequence();
+                for (ReplicaNode replica : replicas) {
+                    while (replica.appliedSequence() < sequence) {
+                        Thread.onSpinWait();
+                    }
+                }
+                lags[i] = System.nanoTime() - start;
+            }
+            Arrays.sort(lags);
+            System.out.printf("%9d %14.0f %12.1f %12.1f %12.1f%n", replicaCount, WRITES / seconds,
+                    drainMillis, lags[LAG_SAMPLES / 2] / 1e3, lags[LAG_SAMPLES * 99 / 100] / 1e3);
+            primary.close();
+        }
+    }
+
+    private static Task task(int i) {
+        return new Task(UUID.randomUUID(), "Task " + i, "Author", "Project", "pending", "");
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.task_management_api.benchmark;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import com.example.task_management_api.model.Task;
+import com.example.task_management_api.repository.TaskChangeLog;
+import com.example.task_management_api.repository.TaskRepository;
+import com.example.task_management_api.repository.TaskRepositoryInMemory;
+import com.example.task_management_api.repository.TaskRepositorySharded;
+
+/**
+ * Write scaling curve of the single in-memory repository against the sharded one, for 1 to 64
+ * writer threads. Prints creates per second.
+ *
+ * @implNote Not part of the regular test run. Run with
+ *           {@code ./mvnw test -Dgroups=benchmark -DexcludedGroups= -Dtest=RepositoryScalingBenchmark}
+ */
+
+@Tag("benchmark")
+class RepositoryScalingBenchmark {
+
+    private static final int[] THREADS = {1, 2, 4, 8, 16, 32, 64};
+    private static final int[] SHARDS = {1, 8, 64};
+    private static final long RUN_MILLIS = 500;
+
+    @Test
+    void writeThroughputByThreadCount() throws Exception {
+        System.out.printf("%nCreates/s (%d cores)%n%8s", Runtime.getRuntime().availableProcessors(),
+                "threads");
+        for (int shards : SHARDS) {
+            System.out.printf("%14s", shards + " shard(s)");
+        }
+        System.out.println();
+        for (int threads : THREADS) {
+            System.out.printf("%8d", threads);
+            for (int shards : SHARDS) {
+                System.out.printf("%14.0f", measure(repository(shards), threads));
+            }
+            System.out.println();
+        }
+    }
+
+    private static TaskRepository repository(int shards) {
+        var changeLog = new TaskChangeLog(1 << 16);
+        if (shards == 1) {
+            return new TaskRepositoryInMemory(changeLog, Duration.ofHours(1));
+        }
+        return new TaskRepositorySharded(shards, changeLog, Duration.ofHours(1));
+    }
+
+    private static double measure(TaskRepository repository, int threads) throws Exception {
+        AtomicBoolean running = new AtomicBoolean(true);
+        LongAdder ops = new LongAdder();
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> workers = new ArrayList<>();
+        for (int t = 0; t < threads; ++t) {
+            int worker = t;
+            Thread thread = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                long i = 0;
+                while (running.get()) {
+                    repository.create(new Task(UUID.randomUUID(), "Title " + i,
+                            "Author " + worker, "Project", "pending", ""));
+                    ++i;
+                }
+                ops.add(i);
+            });
+            workers.add(thread);
+            thread.start();
+        }
+        long begin = System.nanoTime();
+        start.countDown();
+        Thread.sleep(RUN_MILLIS);
+        running.set(false);
+        for (Thread thread : workers) {
+            thread.join();
+        }
+        double seconds = (System.nanoTime() - begin) / 1e9;
+        if (repository instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+        return ops.sum() / seconds;
+    }
+}
@@ -0,0 +1,116 @@
+package com.example.task_management_api.benchmark;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import com.example.task_management_api.model.Task;
+import com.example.task_management_api.repository.TaskChangeLog;
+import com.example.task_management_api.repository.TaskRepositoryInMemory;
+
+/**
+ * Full listing reads under concurrent writes: copying all tasks into a list per read (as findAll
+ * did before) against using the persistent map snapshot of the repository directly. Every read
+ * iterates all tasks, like serialization does. Prints reads/s, bytes allocated per read and the
+ * writes/s of the concurrent writers.
+ *
+ * @implNote Not part of the regular test run. Run with
+ *           {@code ./mvnw test -Dgroups=benchmark -DexcludedGroups= -Dtest=SnapshotReadBenchmark}
+ */
+
+@Tag("benchmark")
+class SnapshotReadBenchmark {
+
+    private static final int[] SIZES = {1_000, 100_000};
+    private static final int WRITERS = 2;
+    private static final long RUN_MILLIS = 2_000;
+
+    private static volatile long blackhole;
+
+    @Test
+    void listingUnderConcurrentWrites() throws Exception {
+        System.out.printf("%n%-10s %8s %12s %16s %12s%n", "", "tasks", "reads/s", "bytes/read",
+                "writes/s");
+        for (int size : SIZES) {
+            for (boolean copy : new boolean[] {true, false}) {
+                var repository =
+                        new TaskRepositoryInMemory(new TaskChangeLog(1 << 16), Duration.ofHours(1));
+                List<UUID> ids = fill(size, repository::create);
+                run(copy ? "copy" : "snapshot", size,
+                        copy ? () -> new ArrayList<>(repository.findAll()) : repository::findAll,
+                        id -> {
+                            repository.deleteById(id);
+                            return repository.create(task()).id();
+                        }, ids);
+            }
+        }
+    }
+
+    private interface Replace {
+        UUID replace(UUID id);
+    }
+
+    private static List<UUID> fill(int size, Consumer<Task> create) {
+        List<UUID> ids = new ArrayList<>(size);
+        for (int i = 0; i < size; ++i) {
+            Task task = task();
+            create.accept(task);
+            ids.add(task.id());
+        }
+        return ids;
+    }
+
+    private static void run(String name, int size, Supplier<List<Task>> read, Replace write,
+            List<UUID> ids) throws Exception {
+        AtomicBoolean running = new AtomicBoolean(true);
+        LongAdder writes = new LongAdder();
+        List<Thread> writers = new ArrayList<>();
+        for (int w = 0; w < WRITERS; ++w) {
+            int offset = w;
+            Thread writer = new Thread(() -> {
+                // each writer replaces its own stripe of tasks, oldest first
+                for (int i = offset; running.get(); i += WRITERS) {
+                    int slot = i % ids.size();
+                    ids.set(slot, write.replace(ids.get(slot)));
+                    writes.increment();
+                }
+            });
+            writers.add(writer);
+            writer.start();
+        }
+
+        var threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long self = Thread.currentThread().getId();
+        long reads = 0;
+        long sink = 0;
+        long allocatedBefore = threads.getThreadAllocatedBytes(self);
+        long start = System.nanoTime();
+        long end = start + RUN_MILLIS * 1_000_000;
+        while (System.nanoTime() < end) {
+            for (Task task : read.get()) {
+                sink += task.title().length();
+            }
+            ++reads;
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        long allocated = threads.getThreadAllocatedBytes(self) - allocatedBefore;
+        running.set(false);
+        for (Thread writer : writers) {
+            writer.join();
+        }
+        blackhole = sink;
+        System.out.printf("%-10s %8d %12.0f %16d %12.0f%n", name, size, reads / seconds,
+                allocated / reads, writes.sum() / seconds);
+    }
+
+    private static Task task() {
+        return new Task(UUID.randomUUID(), "Task", "Author", "Project", "pending", "");
+    }
+}
@@ -0,0 +1,103 @@
+package com.example.task_management_api.benchmark;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import com.example.task_management_api.model.Task;
+import com.example.task_management_api.repository.TaskChangeLog;
+import com.example.task_management_api.repository.TaskRepository;
+import com.example.task_management_api.repository.TaskRepositoryInMemory;
+import com.example.task_management_api.repository.TaskRepositoryTiered;
+
+/**
+ * findById latency of the tiered repository for hot and cold keys, with a dataset 10x the hot
+ * capacity, against the all in-memory repository. Prints p50 / p99 / p99.9 and the heap used.
+ *
+ * @implNote Not part of the regular test run. Run with
+ *           {@code ./mvnw test -Dgroups=benchmark -DexcludedGroups= -Dtest=TieredStorageBenchmark}
+ */
+
+@Tag("benchmark")
+class TieredStorageBenchmark {
+
+    private static final int HOT_CAPACITY = 20_000;
+    private static final int TASKS = 10 * HOT_CAPACITY;
+    private static final int HOT_KEYS = HOT_CAPACITY / 2;
+    private static final int DESCRIPTION_LENGTH = 1024;
+    private static final int READS = 200_000;
+
+    @Test
+    void findByIdLatencyHotAndCold() throws Exception {
+        Path directory = Files.createTempDirectory("tiered-benchmark");
+        System.out.printf("%n%d tasks of ~%d bytes, hot capacity %d, %d hot keys%n", TASKS,
+                DESCRIPTION_LENGTH, HOT_CAPACITY, HOT_KEYS);
+        System.out.printf("%-22s %10s %10s %10s %10s%n", "", "p50 us", "p99 us", "p99.9 us",
+                "heap MB");
+
+        var inMemory = new TaskRepositoryInMemory(new TaskChangeLog(1 << 12), Duration.ofHours(1));
+        run("in-memory", inMemory);
+        inMemory.clear();
+
+        try (var tiered = new TaskRepositoryTiered(new TaskChangeLog(1 << 12), Duration.ofHours(1),
+                HOT_CAPACITY, Set.of("completed"), directory)) {
+            run("tiered", tiered);
+            System.out.printf("segment %d MB, %d cold, %d fault-ins%n",
+                    tiered.segmentSize() >> 20, tiered.coldCount(), tiered.faultInCount());
+        }
+    }
+
+    private static void run(String name, TaskRepository repository) {
+        UUID[] ids = new UUID[TASKS];
+        String description = "x".repeat(DESCRIPTION_LENGTH);
+        for (int i = 0; i < TASKS; ++i) {
+            ids[i] = UUID.randomUUID();
+            repository.create(new Task(ids[i], "Task " + i, "Author", "Project", "completed",
+                    description + i));
+        }
+        long heap = usedHeap();
+
+        // warm up and let the hot keys become hot
+        for (int i = 0; i < READS; ++i) {
+            repository.findById(ids[i % HOT_KEYS]);
+        }
+        long[] hot = new long[READS];
+        long[] cold = new long[READS];
+        var random = ThreadLocalRandom.current();
+        for (int i = 0; i < READS; ++i) {
+            // interleaved, so cold reads compete with hot keys for the hot tier
+            UUID hotKey = ids[random.nextInt(HOT_KEYS)];
+            UUID coldKey = ids[HOT_KEYS + random.nextInt(TASKS - HOT_KEYS)];
+            long start = System.nanoTime();
+            repository.findById(hotKey);
+            long middle = System.nanoTime();
+            repository.findById(coldKey);
+            long end = System.nanoTime();
+            hot[i] = middle - start;
+            cold[i] = end - middle;
+        }
+        print(name + " hot keys", hot, heap);
+        print(name + " cold keys", cold, heap);
+    }
+
+    private static void print(String name, long[] latencies, long heap) {
+        Arrays.sort(latencies);
+        System.out.printf("%-22s %10.1f %10.1f %10.1f %10d%n", name,
+                latencies[latencies.length / 2] / 1e3,
+                latencies[(int) (latencies.length * 0.99)] / 1e3,
+                latencies[(int) (latencies.length * 0.999)] / 1e3, heap >> 20);
+    }
+
+    private static long usedHeap() {
+        for (int i = 0; i < 3; ++i) {
+            System.gc();
+        }
+        Runtime runtime = Runtime.getRuntime();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
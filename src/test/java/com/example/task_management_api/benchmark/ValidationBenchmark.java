@@ -0,0 +1,89 @@
+package com.example.task_management_api.benchmark;
+
+import java.util.function.IntSupplier;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import com.example.task_management_api.controller.TaskController.TaskCreateRequest;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Pattern;
+
+/**
+ * Cost per request of validating a create request: Hibernate Validator on the previous annotated
+ * record against the hand written {@link TaskCreateRequest#violations()}. Both include building and
+ * normalizing the record, as Jackson does for every POST /tasks.
+ *
+ * @implNote Not part of the regular test run. Run with
+ *           {@code ./mvnw test -Dgroups=benchmark -DexcludedGroups= -Dtest=ValidationBenchmark}
+ */
+
+@Tag("benchmark")
+class ValidationBenchmark {
+
+    private static final long RUN_NANOS = 2_000_000_000L;
+
+    /** Keeps the JIT from dropping the validations as dead code. */
+    private static volatile long blackhole;
+
+    /** The request as it was validated before, annotations and normalization unchanged. */
+    record AnnotatedCreateRequest(
+            @NotBlank(message = "Title is required") String title,
+            @NotBlank(message = "Author is required") String author,
+            @NotBlank(message = "Project is required") String project,
+            @NotBlank(message = "Status is required") @Pattern(
+                    regexp = "(?i)^(pending|in-progress|completed)$",
+                    message = "Status must be 'pending', 'in-progress', or 'completed'.") String status,
+            String description) {
+
+        AnnotatedCreateRequest {
+            status = status.trim().toLowerCase();
+            description = description == null ? "" : description.trim();
+            title = title.trim();
+            author = author.trim();
+            project = project.trim();
+        }
+    }
+
+    @Test
+    void validationCostPerRequest() {
+        try (ValidatorFactory factory = Validation.buildDefaultValidatorFactory()) {
+            Validator validator = factory.getValidator();
+            System.out.printf("%n%-24s %12s %12s%n", "", "valid ns", "invalid ns");
+            System.out.printf("%-24s %12.0f %12.0f%n", "hibernate validator",
+                    measure(() -> validator.validate(new AnnotatedCreateRequest(" Title ",
+                            "Author", "Project", " Pending ", "Description")).size()),
+                    measure(() -> validator.validate(new AnnotatedCreateRequest(" ", "Author",
+                            "Project", "unknown", "Description")).size()));
+            System.out.printf("%-24s %12.0f %12.0f%n", "violations()",
+                    measure(() -> new TaskCreateRequest(" Title ", "Author", "Project",
+                            " Pending ", "Description").violations().size()),
+                    measure(() -> new TaskCreateRequest(" ", "Author", "Project", "unknown",
+                            "Description").violations().size()));
+        }
+    }
+
+    /**
+     * Run the validation repeatedly, warm up first.
+     *
+     * @return nanoseconds per validation
+     */
+    private static double measure(IntSupplier validation) {
+        long sink = 0;
+        for (int i = 0; i < 200_000; ++i) {
+            sink += validation.getAsInt();
+        }
+        long count = 0;
+        long begin = System.nanoTime();
+        while (System.nanoTime() - begin < RUN_NANOS) {
+            for (int i = 0; i < 1_000; ++i) {
+                sink += validation.getAsInt();
+            }
+            count += 1_000;
+        }
+        double nanos = (double) (System.nanoTime() - begin) / count;
+        blackhole = sink;
+        return nanos;
+    }
+}
@@ -0,0 +1,173 @@
+package com.example.task_management_api.benchmark;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadInfo;
+import java.lang.management.ThreadMXBean;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import com.example.task_management_api.model.Task;
+import com.example.task_management_api.repository.TaskChangeLog;
+import com.example.task_management_api.repository.TaskRepository;
+import com.example.task_management_api.repository.TaskRepositoryInMemory;
+
+/**
+ * Cost of parked watchers ({@code GET /tasks/{id}?waitForChange=}): heap per watcher, CPU while
+ * idle and time to answer all of them once their tasks change. Measured directly on the repository
+ * and over HTTP, where every watcher is an open keep-alive connection with a parked request.
+ * Client and server share the JVM, so the HTTP heap figure includes the client side of each
+ * connection and is an upper bound for the server.
+ *
+ * @implNote Not part of the regular test run. Run with
+ *           {@code ./mvnw test -Dgroups=benchmark -DexcludedGroups= -Dtest=WatchBenchmark}
+ */
+
+@Tag("benchmark")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {"tasks.ratelimit.enabled=false", "tasks.seed.mode=off"})
+class WatchBenchmark {
+
+    private static final int REPOSITORY_WATCHERS = 100_000;
+    private static final int HTTP_WATCHERS = 5_000;
+    private static final int CONNECT_BATCH = 250;
+    private static final long IDLE_MS = 5_000;
+
+    @Autowired
+    private TaskRepository repository;
+
+    @LocalServerPort
+    private int port;
+
+    @Test
+    void parkedWatchers() throws Exception {
+        System.out.printf("%n%-12s %9s %16s %18s %14s%n", "", "watchers", "heap/watcher B",
+                "idle CPU ms/s", "wake-up ms");
+        repositoryWatchers();
+        httpWatchers();
+    }
+
+    private void repositoryWatchers() {
+        var local = new TaskRepositoryInMemory(new TaskChangeLog(1 << 16),
+                Duration.ofHours(1));
+        List<UUID> ids = tasks(local, REPOSITORY_WATCHERS);
+        long heapBefore = usedHeap();
+        long[] versions = ids.stream().mapToLong(local::versionOf).toArray();
+        List<CompletableFuture<Void>> watchers = new ArrayList<>(ids.size());
+        for (int i = 0; i < ids.size(); ++i) {
+            watchers.add(local.watch(ids.get(i), versions[i]));
+        }
+        long heapPerWatcher = (usedHeap() - heapBefore) / ids.size();
+        double idleCpu = idleCpuMsPerSecond();
+        long start = System.nanoTime();
+        ids.forEach(local::deleteById);
+        CompletableFuture.allOf(watchers.toArray(CompletableFuture[]::new)).join();
+        print("repository", ids.size(), heapPerWatcher, idleCpu, start);
+    }
+
+    private void httpWatchers() throws Exception {
+        repository.clear();
+        List<UUID> ids = tasks(repository, HTTP_WATCHERS);
+        HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        // warm up the request path
+        for (int i = 0; i < 1_000; ++i) {
+            client.send(HttpRequest.newBuilder(uri(ids.get(i), 0)).build(),
+                    HttpResponse.BodyHandlers.discarding());
+        }
+        double baselineCpu = idleCpuMsPerSecond();
+        long heapBefore = usedHeap();
+        List<CompletableFuture<HttpResponse<Void>>> watchers = new ArrayList<>(ids.size());
+        for (int i = 0; i < ids.size(); ++i) {
+            // concurrent requests of the client each open a connection of their own
+            watchers.add(client.sendAsync(
+                    HttpRequest.newBuilder(uri(ids.get(i), repository.versionOf(ids.get(i))))
+                            .build(),
+                    HttpResponse.BodyHandlers.discarding()));
+            if (i % CONNECT_BATCH == CONNECT_BATCH - 1) {
+                Thread.sleep(100); // stay within the accept backlog
+            }
+        }
+        Thread.sleep(2_000);
+        if (watchers.stream().anyMatch(CompletableFuture::isDone)) {
+            throw new IllegalStateException("watchers answered before any change");
+        }
+        long heapPerWatcher = (usedHeap() - heapBefore) / ids.size();
+        double idleCpu = idleCpuMsPerSecond();
+        long start = System.nanoTime();
+        ids.forEach(repository::deleteById);
+        for (var watcher : watchers) {
+            if (watcher.join().statusCode() != 404) {
+                throw new IllegalStateException("expected 404 for deleted task");
+            }
+        }
+        print("http", ids.size(), heapPerWatcher, idleCpu, start);
+        System.out.printf("%-12s %9d %16s %18.1f%n", "http idle", 0, "", baselineCpu);
+    }
+
+    private static List<UUID> tasks(TaskRepository target, int count) {
+        List<UUID> ids = new ArrayList<>(count);
+        for (int i = 0; i < count; ++i) {
+            Task task = new Task(UUID.randomUUID(), "Task " + i, "Author", "Project", "pending",
+                    "Watched task " + i);
+            target.create(task);
+            ids.add(task.id());
+        }
+        return ids;
+    }
+
+    private URI uri(UUID id, long version) {
+        return URI.create("http://localhost:" + port + "/tasks/" + id + "?waitForChange=" + version
+                + "&timeout=60000");
+    }
+
+    private static void print(String name, int watchers, long heapPerWatcher, double idleCpu,
+            long start) {
+        System.out.printf("%-12s %9d %16d %18.1f %14.1f%n", name, watchers, heapPerWatcher,
+                idleCpu, (System.nanoTime() - start) / 1e6);
+    }
+
+    private static long usedHeap() {
+        for (int i = 0; i < 3; ++i) {
+            System.gc();
+        }
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+
+    /**
+     * CPU time of all application threads while nothing happens, in milliseconds per second. Only
+     * Java threads are counted, so that the GC cleaning up after {@link #usedHeap()} does not show,
+     * and the threads of the test harness are left out.
+     */
+    private static double idleCpuMsPerSecond() {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        Map<Long, Long> before = new HashMap<>();
+        for (long thread : threads.getAllThreadIds()) {
+            before.put(thread, threads.getThreadCpuTime(thread));
+        }
+        try {
+            Thread.sleep(IDLE_MS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        long cpu = 0;
+        for (ThreadInfo info : threads.getThreadInfo(threads.getAllThreadIds())) {
+            long now = info != null ? threads.getThreadCpuTime(info.getThreadId()) : -1;
+            if (now >= 0 && !info.getThreadName().startsWith("surefire")) {
+                cpu += now - before.getOrDefault(info.getThreadId(), 0L);
+            }
+        }
+        return cpu / 1e6 / (IDLE_MS / 1_000.0);
+    }
+}
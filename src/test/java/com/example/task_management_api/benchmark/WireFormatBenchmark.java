@@ -0,0 +1,77 @@
+package com.example.task_management_api.benchmark;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import com.example.task_management_api.config.JacksonConfig;
+import com.example.task_management_api.model.Task;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+
+/**
+ * Payload size and serialise / deserialise throughput of a task listing in JSON, Smile and CBOR,
+ * all configured by {@link JacksonConfig}.
+ *
+ * @implNote Not part of the regular test run. Run with
+ *           {@code ./mvnw test -Dgroups=benchmark -DexcludedGroups= -Dtest=WireFormatBenchmark}
+ */
+
+@Tag("benchmark")
+class WireFormatBenchmark {
+
+    private static final int TASKS = 1_000;
+    private static final long RUN_NANOS = 1_000_000_000L;
+
+    @Test
+    void payloadSizeAndThroughput() throws Exception {
+        List<Task> tasks = new ArrayList<>(TASKS);
+        Instant now = Instant.now();
+        for (int i = 0; i < TASKS; ++i) {
+            tasks.add(new Task(UUID.randomUUID(), "Task title " + i, "Author " + (i % 50),
+                    "Project " + (i % 10), i % 3 == 0 ? "completed" : "pending",
+                    "A description of moderate length for task " + i, now, now));
+        }
+        System.out.printf("%n%d tasks per listing%n%6s %12s %14s %14s%n", TASKS, "format",
+                "bytes", "ser lists/s", "deser lists/s");
+        run("json", JacksonConfig.configure(new ObjectMapper()), tasks);
+        run("smile", JacksonConfig.configure(new SmileMapper()), tasks);
+        run("cbor", JacksonConfig.configure(new CBORMapper()), tasks);
+    }
+
+    private static void run(String name, ObjectMapper mapper, List<Task> tasks)
+            throws Exception {
+        JavaType listType = mapper.getTypeFactory().constructCollectionType(List.class, Task.class);
+        var writer = mapper.writerFor(listType);
+        var reader = mapper.readerFor(listType);
+        byte[] payload = writer.writeValueAsBytes(tasks);
+
+        // warm up
+        for (int i = 0; i < 200; ++i) {
+            reader.readValue(writer.writeValueAsBytes(tasks));
+        }
+
+        long serialized = 0;
+        long begin = System.nanoTime();
+        while (System.nanoTime() - begin < RUN_NANOS) {
+            writer.writeValueAsBytes(tasks);
+            ++serialized;
+        }
+        double serSeconds = (System.nanoTime() - begin) / 1e9;
+
+        long deserialized = 0;
+        begin = System.nanoTime();
+        while (System.nanoTime() - begin < RUN_NANOS) {
+            reader.readValue(payload);
+            ++deserialized;
+        }
+        double deserSeconds = (System.nanoTime() - begin) / 1e9;
+
+        System.out.printf("%6s %12d %14.0f %14.0f%n", name, payload.length,
+                serialized / serSeconds, deserialized / deserSeconds);
+    }
+}
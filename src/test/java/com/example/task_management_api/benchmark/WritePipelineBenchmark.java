@@ -0,0 +1,98 @@
+package com.example.task_management_api.benchmark;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import com.example.task_management_api.repository.TaskChangeLog;
+import com.example.task_management_api.repository.TaskRepositoryInMemory;
+import com.example.task_management_api.service.BatchingTaskService;
+import com.example.task_management_api.service.TaskService;
+
+/**
+ * Create throughput and latency of the synchronous TaskService against the batched write pipeline
+ * of BatchingTaskService, for 1 to 64 concurrent clients.
+ *
+ * @implNote Not part of the regular test run. Run with
+ *           {@code ./mvnw test -Dgroups=benchmark -DexcludedGroups= -Dtest=WritePipelineBenchmark}
+ */
+
+@Tag("benchmark")
+class WritePipelineBenchmark {
+
+    private static final int[] THREADS = {1, 8, 64};
+    private static final long RUN_MILLIS = 1_000;
+    private static final int MAX_SAMPLES = 1 << 20;
+
+    @Test
+    void throughputAndLatencyByClients() throws Exception {
+        System.out.printf("%n%8s %8s %12s %12s %12s%n", "mode", "threads", "creates/s", "p50 us",
+                "p99 us");
+        for (int threads : THREADS) {
+            run("sync", threads);
+            run("batched", threads);
+        }
+    }
+
+    private static void run(String mode, int threads) throws Exception {
+        var repository = new TaskRepositoryInMemory(new TaskChangeLog(1 << 16), Duration.ofHours(1));
+        BatchingTaskService batching =
+                mode.equals("batched") ? new BatchingTaskService(repository, 256, 10_000) : null;
+        TaskService service = batching != null ? batching : new TaskService(repository);
+
+        AtomicBoolean running = new AtomicBoolean(true);
+        CountDownLatch start = new CountDownLatch(1);
+        long[][] latencies = new long[threads][];
+        int[] counts = new int[threads];
+        List<Thread> workers = new ArrayList<>();
+        for (int t = 0; t < threads; ++t) {
+            int worker = t;
+            Thread thread = new Thread(() -> {
+                long[] samples = new long[MAX_SAMPLES / threads];
+                int i = 0;
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                while (running.get()) {
+                    long begin = System.nanoTime();
+                    service.createTask("Title " + i, "Author " + worker, "Project", "pending", "");
+                    samples[i % samples.length] = System.nanoTime() - begin;
+                    ++i;
+                }
+                latencies[worker] = samples;
+                counts[worker] = i;
+            });
+            workers.add(thread);
+            thread.start();
+        }
+        long begin = System.nanoTime();
+        start.countDown();
+        Thread.sleep(RUN_MILLIS);
+        running.set(false);
+        for (Thread thread : workers) {
+            thread.join();
+        }
+        double seconds = (System.nanoTime() - begin) / 1e9;
+        if (batching != null) {
+            batching.shutdown();
+        }
+
+        long total = Arrays.stream(counts).asLongStream().sum();
+        long[] all = new long[(int) Math.min(total, MAX_SAMPLES)];
+        int n = 0;
+        for (int t = 0; t < threads; ++t) {
+            int kept = Math.min(counts[t], latencies[t].length);
+            System.arraycopy(latencies[t], 0, all, n, Math.min(kept, all.length - n));
+            n += Math.min(kept, all.length - n);
+        }
+        Arrays.sort(all, 0, n);
+        System.out.printf("%8s %8d %12.0f %12.1f %12.1f%n", mode, threads, total / seconds,
+                all[n / 2] / 1e3, all[(int) (n * 0.99)] / 1e3);
+    }
+}
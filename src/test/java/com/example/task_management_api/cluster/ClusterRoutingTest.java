@@ -0,0 +1,189 @@
+package com.example.task_management_api.cluster;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.aot.DisabledInAotMode;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestClient;
+import com.example.task_management_api.TaskManagementApiApplication;
+
+/**
+ * Starts three instances of the application on localhost ports, forming one cluster, and checks
+ * routing, scatter-gather and the cluster-wide (title, author) uniqueness.
+ *
+ * @implNote Disabled in native test runs: AOT fixes the beans for single instance mode at build
+ *           time, so the instances cannot be switched to cluster mode by arguments.
+ */
+
+@DisabledInAotMode
+class ClusterRoutingTest {
+
+    private static final List<ConfigurableApplicationContext> instances = new ArrayList<>();
+    private static final List<String> nodes = new ArrayList<>();
+
+    @BeforeAll
+    static void startCluster() throws IOException {
+        for (int i = 0; i < 3; ++i) {
+            try (ServerSocket socket = new ServerSocket(0)) {
+                nodes.add("http://localhost:" + socket.getLocalPort());
+            }
+        }
+        for (String node : nodes) {
+            instances.add(new SpringApplicationBuilder(TaskManagementApiApplication.class)
+                    .run("--server.port=" + node.substring(node.lastIndexOf(':') + 1),
+                            "--tasks.cluster.self=" + node,
+                            "--tasks.cluster.nodes=" + String.join(",", nodes),
+                            "--server.error.include-message=always"));
+        }
+    }
+
+    @AfterAll
+    static void stopCluster() {
+        instances.forEach(ConfigurableApplicationContext::close);
+    }
+
+    @Test
+    void ring_shouldSpreadKeysOverAllNodes() {
+        var ring = new ConsistentHashRing<>(List.of("a", "b", "c"), 128);
+        Map<String, Integer> owned = new java.util.HashMap<>();
+        for (int i = 0; i < 30_000; ++i) {
+            owned.merge(ring.ownerOf(UUID.randomUUID()), 1, Integer::sum);
+        }
+        owned.values().forEach(count -> assertTrue(count > 7_000, owned.toString()));
+    }
+
+    @Test
+    void cluster_shouldPartitionTasksAndRouteRequests() {
+        client(0).delete().uri("/tasks").retrieve().toBodilessEntity();
+
+        List<String> ids = new ArrayList<>();
+        for (int i = 0; i < 30; ++i) {
+            Map<String, Object> created = client(i % 3).post().uri("/tasks")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(Map.of("title", "Task " + i, "author", "Author", "project", "Project",
+                            "status", i % 2 == 0 ? "pending" : "completed"))
+                    .retrieve().body(new ParameterizedTypeReference<Map<String, Object>>() {});
+            ids.add((String) created.get("id"));
+        }
+
+        // every node sees the whole cluster
+        for (int n = 0; n < 3; ++n) {
+            assertEquals(30L, count(client(n)));
+            assertEquals(15, client(n).get().uri("/tasks?status=pending").retrieve()
+                    .body(List.class).size());
+        }
+
+        // but each node only holds its own partition
+        long local = 0;
+        Set<Long> partitionSizes = new HashSet<>();
+        for (int n = 0; n < 3; ++n) {
+            long size = count(localClient(n));
+            partitionSizes.add(size);
+            local += size;
+        }
+        assertEquals(30, local);
+        assertFalse(partitionSizes.contains(30L));
+        // a forwarded header not naming a node is not taken for one
+        assertEquals(30L, count(RestClient.builder().baseUrl(nodes.get(0))
+                .defaultHeader(ClusteredTaskService.FORWARDED_HEADER, "spoofed").build()));
+
+        // single-task operations work from any node
+        for (String id : ids) {
+            assertEquals(id, client(1).get().uri("/tasks/{id}", id).retrieve()
+                    .body(Map.class).get("id"));
+        }
+        client(2).delete().uri("/tasks/{id}", ids.get(0)).retrieve().toBodilessEntity();
+        assertThrows(HttpClientErrorException.NotFound.class,
+                () -> client(0).get().uri("/tasks/{id}", ids.get(0)).retrieve().body(Map.class));
+        assertEquals(29L, count(client(1)));
+
+        // multi-get spanning all partitions keeps the request order
+        List<String> lookupIds = new ArrayList<>(ids);
+        java.util.Collections.reverse(lookupIds);
+        String unknown = UUID.randomUUID().toString();
+        lookupIds.add(unknown);
+        Map<String, List<Object>> lookup = client(1).post().uri("/tasks/lookup")
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(Map.of("ids", lookupIds))
+                .retrieve().body(new ParameterizedTypeReference<>() {});
+        assertEquals(lookupIds.subList(0, 29), lookup.get("tasks").stream()
+                .map(task -> ((Map<?, ?>) task).get("id")).toList());
+        assertEquals(List.of(ids.get(0), unknown), lookup.get("missing"));
+
+        // claims drain the pending tasks of all partitions, each task once
+        Set<Object> claimed = new HashSet<>();
+        for (int i = 0; i < 14; ++i) {
+            Map<?, ?> task = client(i % 3).post().uri("/tasks/claim").retrieve().body(Map.class);
+            assertEquals("in-progress", task.get("status"));
+            assertTrue(claimed.add(task.get("id")));
+        }
+        assertEquals(204, client(0).post().uri("/tasks/claim").retrieve().toBodilessEntity()
+                .getStatusCode().value());
+    }
+
+    @Test
+    void duplicateTitleAndAuthor_shouldConflictWhicheverNodeIsAsked() {
+        var request = Map.of("title", "Unique in cluster", "author", "Somebody", "project",
+                "Project", "status", "pending");
+        client(0).post().uri("/tasks").contentType(MediaType.APPLICATION_JSON).body(request)
+                .retrieve().toBodilessEntity();
+        for (int n = 0; n < 3; ++n) {
+            RestClient node = client(n);
+            assertThrows(HttpClientErrorException.Conflict.class, () -> node.post().uri("/tasks")
+                    .contentType(MediaType.APPLICATION_JSON).body(request)
+                    .retrieve().toBodilessEntity());
+        }
+    }
+
+
+    @Test
+    void predefinedTasks_shouldBeSeededOnTheOwnerOfTitleAndAuthor() {
+        client(0).delete().uri("/tasks").retrieve().toBodilessEntity();
+        for (int i = 0; i < 2; ++i) {
+            client(1).get().uri("/tasks/populate").retrieve().toBodilessEntity();
+        }
+        assertEquals(2L, count(client(2)));
+
+        var request = Map.of("title", "Implement User Authentication", "author",
+                "Alice Johnson", "project", "Project", "status", "pending");
+        for (int n = 0; n < 3; ++n) {
+            RestClient node = client(n);
+            var conflict = assertThrows(HttpClientErrorException.Conflict.class,
+                    () -> node.post().uri("/tasks").contentType(MediaType.APPLICATION_JSON)
+                            .body(request).retrieve().toBodilessEntity());
+            // the reason of the owning node is passed through
+            assertTrue(conflict.getResponseBodyAsString().contains("already exists"),
+                    conflict.getResponseBodyAsString());
+        }
+    }
+
+
+    private static RestClient client(int node) {
+        return RestClient.create(nodes.get(node));
+    }
+
+    private static RestClient localClient(int node) {
+        return RestClient.builder().baseUrl(nodes.get(node))
+                .defaultHeader(ClusteredTaskService.FORWARDED_HEADER, nodes.get(node)).build();
+    }
+
+    private static long count(RestClient client) {
+        return ((Number) client.get().uri("/tasks/count").retrieve().body(Map.class)
+                .get("count")).longValue();
+    }
+}
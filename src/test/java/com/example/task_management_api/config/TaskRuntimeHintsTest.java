@@ -0,0 +1,46 @@
+package com.example.task_management_api.config;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+import com.example.task_management_api.controller.TaskController.TaskCreateRequest;
+import com.example.task_management_api.controller.TaskController.TaskLookupRequest;
+import com.example.task_management_api.model.Task;
+import com.example.task_management_api.model.TaskLookup;
+import com.example.task_management_api.repository.TaskChangeEvent;
+
+/**
+ * Checks that the native image hints cover the types bound and instantiated reflectively.
+ */
+
+class TaskRuntimeHintsTest {
+
+    private final RuntimeHints hints = new RuntimeHints();
+
+    @Test
+    void hints_shouldCoverBindingAndSerializer() throws Exception {
+        new TaskRuntimeHints().registerHints(hints, getClass().getClassLoader());
+        var reflection = RuntimeHintsPredicates.reflection();
+
+        assertTrue(reflection.onType(Task.class).withMemberCategory(
+                MemberCategory.INVOKE_DECLARED_CONSTRUCTORS).test(hints));
+        assertTrue(reflection.onMethod(Task.class.getMethod("title")).test(hints));
+        assertTrue(reflection.onType(TaskCreateRequest.class).withMemberCategory(
+                MemberCategory.INVOKE_DECLARED_CONSTRUCTORS).test(hints));
+        assertTrue(reflection.onType(TaskChangeEvent.class).withMemberCategory(
+                MemberCategory.INVOKE_DECLARED_CONSTRUCTORS).test(hints));
+        assertTrue(reflection.onMethod(TaskChangeEvent.class.getMethod("task")).test(hints));
+        assertTrue(reflection.onType(TaskLookupRequest.class).withMemberCategory(
+                MemberCategory.INVOKE_DECLARED_CONSTRUCTORS).test(hints));
+        assertTrue(reflection.onMethod(TaskLookupRequest.class.getMethod("ids")).test(hints));
+        assertTrue(reflection.onType(TaskLookup.class).withMemberCategory(
+                MemberCategory.INVOKE_DECLARED_CONSTRUCTORS).test(hints));
+        assertTrue(reflection.onMethod(TaskLookup.class.getMethod("missing")).test(hints));
+        assertTrue(reflection.onType(JacksonConfig.InstantSecondsSerializer.class)
+                .withMemberCategory(MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS).test(hints));
+        assertTrue(reflection.onType(JacksonConfig.TaskFieldsMixIn.class).test(hints));
+    }
+}
@@ -0,0 +1,168 @@
+package com.example.task_management_api.controller;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import com.example.task_management_api.repository.TaskChangeEvent;
+import com.example.task_management_api.repository.TaskChangeLog;
+import com.example.task_management_api.repository.TaskRepositoryInMemory;
+import com.example.task_management_api.service.TaskService;
+import jakarta.servlet.FilterChain;
+
+/**
+ * Unit tests for the single-flight coalescing of identical concurrent listings.
+ */
+
+class CoalescingFilterTest {
+
+    private final TaskChangeLog changeLog = new TaskChangeLog(1024);
+    private final TaskService taskService =
+            new TaskService(new TaskRepositoryInMemory(changeLog, Duration.ofHours(1)));
+    private final CoalescingFilter filter =
+            new CoalescingFilter(taskService, Duration.ofSeconds(10));
+    private final AtomicInteger computations = new AtomicInteger();
+    private final CountDownLatch leaderEntered = new CountDownLatch(1);
+    private final CountDownLatch releaseLeader = new CountDownLatch(1);
+
+    /** The first computation blocks until released, later ones answer immediately. */
+    private final FilterChain chain = (request, response) -> {
+        int computation = computations.incrementAndGet();
+        if (computation == 1) {
+            leaderEntered.countDown();
+            try {
+                releaseLeader.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        response.setContentType("application/json");
+        response.getOutputStream().write(("[" + computation + "]").getBytes(StandardCharsets.UTF_8));
+    };
+
+    @Test
+    void concurrentIdenticalListings_shouldShareOneComputation() throws Exception {
+        List<MockHttpServletResponse> responses = new ArrayList<>();
+        List<Thread> threads = new ArrayList<>();
+        threads.add(start(responses));
+        leaderEntered.await();
+        for (int i = 0; i < 5; ++i) {
+            threads.add(start(responses));
+        }
+        awaitWaiting(threads.subList(1, threads.size()));
+        releaseLeader.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(1, computations.get());
+        assertEquals(1, filter.leaderCount());
+        assertEquals(5, filter.followerCount());
+        for (MockHttpServletResponse response : responses) {
+            assertEquals(200, response.getStatus());
+            assertEquals("application/json", response.getContentType());
+            assertEquals("[1]", response.getContentAsString());
+        }
+    }
+
+    @Test
+    void listingAfterWrite_shouldNotJoinFlightStartedBefore() throws Exception {
+        List<MockHttpServletResponse> responses = new ArrayList<>();
+        Thread leader = start(responses);
+        leaderEntered.await();
+
+        taskService.createTask("Title", "Author", "Project", "pending", "");
+        var afterWrite = new MockHttpServletResponse();
+        filter.doFilter(request(), afterWrite, chain);
+
+        assertEquals("[2]", afterWrite.getContentAsString());
+        releaseLeader.countDown();
+        leader.join();
+        assertEquals("[1]", responses.get(0).getContentAsString());
+        assertEquals(2, filter.leaderCount());
+        assertEquals(0, filter.followerCount());
+    }
+
+    @Test
+    void listingAfterWrite_shouldNotJoinFlightStartedBeforeWhileSlowWriterHoldsEarlierSequence()
+            throws Exception {
+        // A slow writer holds an earlier sequence, the published watermark cannot move past it
+        long open = changeLog.claim();
+        List<MockHttpServletResponse> responses = new ArrayList<>();
+        Thread leader = start(responses);
+        leaderEntered.await();
+
+        taskService.createTask("Title", "Author", "Project", "pending", "");
+        assertEquals(open - 1, changeLog.lastSequence());
+        var afterWrite = new MockHttpServletResponse();
+        filter.doFilter(request(), afterWrite, chain);
+
+        assertEquals("[2]", afterWrite.getContentAsString());
+        changeLog.publish(open, TaskChangeEvent.Type.DELETED, UUID.randomUUID(), null);
+        releaseLeader.countDown();
+        leader.join();
+        assertEquals(2, filter.leaderCount());
+        assertEquals(0, filter.followerCount());
+    }
+
+    @Test
+    void follower_shouldRunItselfWhenTheLeaderHangs() throws Exception {
+        var impatient = new CoalescingFilter(taskService, Duration.ofMillis(50));
+        Thread leader = new Thread(() -> {
+            try {
+                impatient.doFilter(request(), new MockHttpServletResponse(), chain);
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        leader.start();
+        leaderEntered.await();
+
+        var follower = new MockHttpServletResponse();
+        impatient.doFilter(request(), follower, chain);
+        assertEquals("[2]", follower.getContentAsString());
+        assertEquals(0, impatient.followerCount());
+
+        releaseLeader.countDown();
+        leader.join();
+    }
+
+    private Thread start(List<MockHttpServletResponse> responses) {
+        var response = new MockHttpServletResponse();
+        synchronized (responses) {
+            responses.add(response);
+        }
+        Thread thread = new Thread(() -> {
+            try {
+                filter.doFilter(request(), response, chain);
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        thread.start();
+        return thread;
+    }
+
+    private static MockHttpServletRequest request() {
+        var request = new MockHttpServletRequest("GET", "/tasks");
+        request.setQueryString("status=pending");
+        request.addHeader("Accept", "application/json");
+        return request;
+    }
+
+    private static void awaitWaiting(List<Thread> threads) throws InterruptedException {
+        for (Thread thread : threads) {
+            while (thread.getState() != Thread.State.TIMED_WAITING) {
+                Thread.sleep(1);
+            }
+        }
+    }
+}
@@ -1,15 +1,32 @@
 package com.example.task_management_api.controller;
 
+import com.example.task_management_api.config.JacksonConfig;
 import com.example.task_management_api.model.Task;
+import com.example.task_management_api.repository.TaskChangeEvent;
+import com.example.task_management_api.repository.TaskChangeLog;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import java.io.ByteArrayInputStream;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.zip.GZIPInputStream;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockAsyncContext;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -32,6 +49,9 @@ class TaskControllerIntegrationTest {
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private TaskChangeLog changeLog;
+
     @BeforeEach
     void setUp() throws Exception {
         // Register JavaTimeModule to handle ZonedDateTime
@@ -289,6 +309,453 @@ class TaskControllerIntegrationTest {
     }
 
 
+    @Test
+    void changeStream_shouldSendMutationsAsServerSentEvents() throws Exception {
+        MvcResult streaming = mockMvc.perform(get("/tasks/changes")
+                .accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        createTask("Streamed");
+
+        // the emitter writes each event to the response as it is sent
+        String events = "";
+        for (long deadline = System.currentTimeMillis() + 10_000;
+                !events.contains("Streamed") && System.currentTimeMillis() < deadline;) {
+            Thread.sleep(20);
+            events = streaming.getResponse().getContentAsString();
+        }
+        assertEquals(MediaType.TEXT_EVENT_STREAM_VALUE,
+                streaming.getResponse().getContentType().split(";")[0]);
+        assertEquals(true, events.matches("(?s)id:\\d+\nevent:created\ndata:\\{.*\"title\":"
+                + "\"Streamed\".*"), events);
+    }
+
+    @Test
+    void getTasksChangedSince_shouldReturnOnlyChangesAndTombstones() throws Exception {
+        String first = mockMvc.perform(post("/tasks")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("""
+                        {
+                            "title": "Before Sync",
+                            "author": "Author",
+                            "project": "Project",
+                            "status": "pending"
+                        }
+                        """))
+                .andExpect(status().isCreated())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        Task firstTask = objectMapper.readValue(first, Task.class);
+
+        // Full first sync
+        String sync = mockMvc.perform(get("/tasks").param("sinceVersion", "0"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.tasks.length()").value(1))
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        long version = objectMapper.readTree(sync).get("version").asLong();
+
+        // Changes after the sync
+        mockMvc.perform(post("/tasks")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("""
+                        {
+                            "title": "After Sync",
+                            "author": "Author",
+                            "project": "Project",
+                            "status": "pending"
+                        }
+                        """))
+                .andExpect(status().isCreated());
+        mockMvc.perform(delete("/tasks/" + firstTask.id()))
+                .andExpect(status().isNoContent());
+
+        mockMvc.perform(get("/tasks").param("sinceVersion", Long.toString(version)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.resyncRequired").value(false))
+                .andExpect(jsonPath("$.tasks.length()").value(1))
+                .andExpect(jsonPath("$.tasks[0].title").value("After Sync"))
+                .andExpect(jsonPath("$.deleted.length()").value(1))
+                .andExpect(jsonPath("$.deleted[0].id").value(firstTask.id().toString()));
+
+        // Versions from before the last clear require a full resync
+        mockMvc.perform(get("/tasks").param("sinceVersion", "0"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.resyncRequired").value(true));
+
+        mockMvc.perform(get("/tasks").param("sinceVersion", "-1"))
+                .andExpect(status().isBadRequest());
+    }
+
+
+    @Test
+    void binaryFormats_shouldBeNegotiatedForRequestsAndResponses() throws Exception {
+        var cbor = JacksonConfig.configure(new CBORMapper());
+        var smile = JacksonConfig.configure(new SmileMapper());
+        var cborType = MediaType.parseMediaType("application/cbor");
+        var smileType = MediaType.parseMediaType("application/x-jackson-smile");
+
+        // Create via Smile, answer in CBOR
+        byte[] created = mockMvc.perform(post("/tasks")
+                .contentType(smileType)
+                .accept(cborType)
+                .content(smile.writeValueAsBytes(Map.of(
+                        "title", "Binary Task",
+                        "author", "Author",
+                        "project", "Project",
+                        "status", "pending"))))
+                .andExpect(status().isCreated())
+                .andExpect(content().contentType(cborType))
+                .andReturn()
+                .getResponse()
+                .getContentAsByteArray();
+        Task task = cbor.readValue(created, Task.class);
+        assertEquals("Binary Task", task.title());
+        assertEquals(0, task.createdAt().getNano());
+
+        // List in Smile
+        byte[] listed = mockMvc.perform(get("/tasks").accept(smileType))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(smileType))
+                .andReturn()
+                .getResponse()
+                .getContentAsByteArray();
+        Task[] tasks = smile.readValue(listed, Task[].class);
+        assertEquals(1, tasks.length);
+        assertEquals(task, tasks[0]);
+
+        // JSON stays the default
+        mockMvc.perform(get("/tasks"))
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON));
+    }
+
+    @Test
+    void largeListing_shouldBeServedGzippedFromCache() throws Exception {
+        // Small listing: below the threshold, not compressed
+        createTask("Task 0");
+        mockMvc.perform(get("/tasks").header("Accept-Encoding", "gzip"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("Content-Encoding"));
+
+        for (int i = 1; i < 40; ++i) {
+            createTask("Task " + i);
+        }
+        byte[] first = mockMvc.perform(get("/tasks").header("Accept-Encoding", "gzip, deflate"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Encoding", "gzip"))
+                .andExpect(header().string("Vary", "Accept, Accept-Encoding"))
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andReturn()
+                .getResponse()
+                .getContentAsByteArray();
+        Task[] tasks = objectMapper.readValue(gunzip(first), Task[].class);
+        assertEquals(40, tasks.length);
+
+        // Same version: identical bytes from the cache
+        byte[] second = mockMvc.perform(get("/tasks").header("Accept-Encoding", "gzip"))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsByteArray();
+        assertArrayEquals(first, second);
+
+        // New version: rendered again
+        createTask("Task 40");
+        byte[] third = mockMvc.perform(get("/tasks").header("Accept-Encoding", "gzip"))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsByteArray();
+        assertEquals(41, objectMapper.readValue(gunzip(third), Task[].class).length);
+
+        // Without Accept-Encoding: plain
+        mockMvc.perform(get("/tasks"))
+                .andExpect(header().doesNotExist("Content-Encoding"))
+                .andExpect(jsonPath("$.length()").value(41));
+    }
+
+    @Test
+    void cachedGzipListing_shouldIncludeWriteAcknowledgedBehindSlowWriter() throws Exception {
+        for (int i = 0; i < 40; ++i) {
+            createTask("Task " + i);
+        }
+        mockMvc.perform(get("/tasks").header("Accept-Encoding", "gzip"))
+                .andExpect(header().string("Content-Encoding", "gzip"));
+
+        // A slow writer holds an earlier sequence, the published version cannot move past it
+        long open = changeLog.claim();
+        try {
+            createTask("Task 40");
+            byte[] listed = mockMvc.perform(get("/tasks").header("Accept-Encoding", "gzip"))
+                    .andExpect(header().string("Content-Encoding", "gzip"))
+                    .andReturn()
+                    .getResponse()
+                    .getContentAsByteArray();
+            assertEquals(41, objectMapper.readValue(gunzip(listed), Task[].class).length);
+        } finally {
+            changeLog.publish(open, TaskChangeEvent.Type.DELETED, UUID.randomUUID(), null);
+        }
+
+        // gzip refused by its q-value: plain
+        mockMvc.perform(get("/tasks").header("Accept-Encoding", "gzip;q=0, deflate"))
+                .andExpect(header().doesNotExist("Content-Encoding"))
+                .andExpect(jsonPath("$.length()").value(41));
+        mockMvc.perform(get("/tasks").header("Accept-Encoding", "*;q=0.5, gzip; q=0"))
+                .andExpect(header().doesNotExist("Content-Encoding"));
+        mockMvc.perform(get("/tasks").header("Accept-Encoding", "deflate;q=1, *;q=0.1"))
+                .andExpect(header().string("Content-Encoding", "gzip"));
+    }
+
+    @Test
+    void fields_shouldRestrictSerializedProperties() throws Exception {
+        createTask("Task 0");
+        createTask("Task 1");
+
+        String listed = mockMvc.perform(get("/tasks").param("fields", "status, id,title"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].id").exists())
+                .andExpect(jsonPath("$[0].title").exists())
+                .andExpect(jsonPath("$[0].status").value("pending"))
+                .andExpect(jsonPath("$[0].description").doesNotExist())
+                .andExpect(jsonPath("$[0].createdAt").doesNotExist())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        String id = objectMapper.readTree(listed).get(0).get("id").asText();
+
+        mockMvc.perform(get("/tasks/" + id).param("fields", "title"))
+                .andExpect(status().isOk())
+                .andExpect(content().json("{\"title\": \"" + objectMapper.readTree(listed).get(0)
+                        .get("title").asText() + "\"}", true));
+
+        var smile = JacksonConfig.configure(new SmileMapper());
+        byte[] binary = mockMvc.perform(get("/tasks").param("fields", "author")
+                .accept(MediaType.parseMediaType("application/x-jackson-smile")))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsByteArray();
+        assertEquals(Map.of("author", "Compression Author"),
+                smile.readValue(binary, Map[].class)[0]);
+
+        // Without fields: everything, also after projected responses
+        mockMvc.perform(get("/tasks/" + id))
+                .andExpect(jsonPath("$.description").exists())
+                .andExpect(jsonPath("$.updatedAt").exists());
+
+        mockMvc.perform(get("/tasks").param("fields", "id,secret"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/tasks").param("fields", " , "))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void lookup_shouldReturnFoundAndMissingInRequestOrder() throws Exception {
+        createTask("Task 0");
+        createTask("Task 1");
+        var listed = objectMapper.readTree(mockMvc.perform(get("/tasks"))
+                .andReturn().getResponse().getContentAsString());
+        String first = listed.get(0).get("id").asText();
+        String second = listed.get(1).get("id").asText();
+        String unknown = "00000000-0000-0000-0000-000000000001";
+
+        mockMvc.perform(post("/tasks/lookup")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(
+                        Map.of("ids", List.of(second, unknown, first, second)))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.tasks.length()").value(2))
+                .andExpect(jsonPath("$.tasks[0].id").value(second))
+                .andExpect(jsonPath("$.tasks[1].id").value(first))
+                .andExpect(jsonPath("$.tasks[1].description").exists())
+                .andExpect(jsonPath("$.missing.length()").value(1))
+                .andExpect(jsonPath("$.missing[0]").value(unknown));
+
+        mockMvc.perform(post("/tasks/lookup").param("fields", "id")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(Map.of("ids", List.of(first)))))
+                .andExpect(status().isOk())
+                .andExpect(content().json(
+                        "{\"tasks\": [{\"id\": \"" + first + "\"}], \"missing\": []}", true));
+
+        mockMvc.perform(post("/tasks/lookup")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"ids\": []}"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(post("/tasks/lookup")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"ids\": [\"not-a-uuid\"]}"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(post("/tasks/lookup")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(Map.of("ids",
+                        java.util.Collections.nCopies(1001, unknown)))))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void claim_shouldHandOutPendingTasksOnceAndWaitForNewOnes() throws Exception {
+        mockMvc.perform(post("/tasks/claim"))
+                .andExpect(status().isNoContent());
+
+        createTask("Task 0");
+        mockMvc.perform(post("/tasks/claim"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.title").value("Task 0"))
+                .andExpect(jsonPath("$.status").value("in-progress"));
+        mockMvc.perform(post("/tasks/claim"))
+                .andExpect(status().isNoContent());
+
+        // long-poll: answered as soon as a task becomes pending
+        MvcResult waiting = mockMvc.perform(post("/tasks/claim").param("waitMs", "10000"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        createTask("Task 1");
+        waiting.getAsyncResult(10_000);
+        mockMvc.perform(asyncDispatch(waiting))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.title").value("Task 1"))
+                .andExpect(jsonPath("$.status").value("in-progress"));
+
+        // or with 204 when the wait is over
+        MvcResult expiring = mockMvc.perform(post("/tasks/claim").param("waitMs", "100"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        expiring.getAsyncResult(10_000);
+        mockMvc.perform(asyncDispatch(expiring))
+                .andExpect(status().isNoContent());
+    }
+
+    @Test
+    void watch_shouldAnswerOnChangeDeletionOrTimeout() throws Exception {
+        createTask("Watched");
+        String id = objectMapper.readTree(mockMvc.perform(get("/tasks"))
+                .andReturn().getResponse().getContentAsString()).get(0).get("id").asText();
+        long version = Long.parseLong(mockMvc.perform(get("/tasks/{id}", id))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(TaskController.VERSION_HEADER))
+                .andReturn().getResponse().getHeader(TaskController.VERSION_HEADER));
+
+        // parked until the task changes
+        MvcResult watching = mockMvc.perform(get("/tasks/{id}", id)
+                .param("waitForChange", Long.toString(version)).param("timeout", "10000"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(post("/tasks/claim"))
+                .andExpect(status().isOk());
+        watching.getAsyncResult(10_000);
+        String changed = mockMvc.perform(asyncDispatch(watching))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("in-progress"))
+                .andReturn().getResponse().getHeader(TaskController.VERSION_HEADER);
+        long newVersion = Long.parseLong(changed);
+        assertEquals(true, newVersion > version);
+
+        // answered right away if the version is outdated
+        MvcResult outdated = mockMvc.perform(get("/tasks/{id}", id)
+                .param("waitForChange", Long.toString(version)).param("fields", "status"))
+                .andReturn();
+        outdated.getAsyncResult(10_000);
+        mockMvc.perform(asyncDispatch(outdated))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("in-progress"))
+                .andExpect(jsonPath("$.title").doesNotExist());
+
+        // 304 when the wait is over
+        MvcResult expiring = mockMvc.perform(get("/tasks/{id}", id)
+                .param("waitForChange", changed).param("timeout", "100"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        // MockMvc does not time out async requests by itself
+        var context = (MockAsyncContext) expiring.getRequest().getAsyncContext();
+        for (AsyncListener listener : context.getListeners()) {
+            listener.onTimeout(new AsyncEvent(context));
+        }
+        mockMvc.perform(asyncDispatch(expiring))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(TaskController.VERSION_HEADER, changed));
+
+        // 404 once deleted, or if there is no such task
+        MvcResult deleting = mockMvc.perform(get("/tasks/{id}", id)
+                .param("waitForChange", changed))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(delete("/tasks/{id}", id))
+                .andExpect(status().isNoContent());
+        deleting.getAsyncResult(10_000);
+        mockMvc.perform(asyncDispatch(deleting))
+                .andExpect(status().isNotFound());
+        MvcResult missing = mockMvc.perform(get("/tasks/{id}", id).param("waitForChange", "0"))
+                .andReturn();
+        missing.getAsyncResult(10_000);
+        mockMvc.perform(asyncDispatch(missing))
+                .andExpect(status().isNotFound());
+
+        mockMvc.perform(get("/tasks/{id}", id).param("waitForChange", "-1"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void populateExportAndImport_shouldRoundTripGeneratedTasks() throws Exception {
+        mockMvc.perform(get("/tasks/populate").param("n", "2000").param("seed", "5"))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.count").value(2000));
+        mockMvc.perform(get("/tasks/count"))
+                .andExpect(jsonPath("$.count").value(2000));
+        mockMvc.perform(get("/tasks/populate").param("n", "-1"))
+                .andExpect(status().isBadRequest());
+        // larger runs only if configured
+        mockMvc.perform(get("/tasks/populate").param("n", "100001"))
+                .andExpect(status().isBadRequest());
+
+        byte[] dump = mockMvc.perform(get("/tasks/export"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-ndjson"))
+                .andReturn().getResponse().getContentAsByteArray();
+        assertEquals(2000, new String(dump).lines().count());
+        Set<Task> before = pendingTasks();
+
+        mockMvc.perform(delete("/tasks"));
+        mockMvc.perform(post("/tasks/import").contentType("application/x-ndjson").content(dump))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.imported").value(2000));
+        mockMvc.perform(get("/tasks/count"))
+                .andExpect(jsonPath("$.count").value(2000));
+        assertEquals(before, pendingTasks());
+
+        mockMvc.perform(post("/tasks/import").contentType("application/x-ndjson")
+                .content("{\"title\": \"no id\"}\n"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private Set<Task> pendingTasks() throws Exception {
+        byte[] content = mockMvc.perform(get("/tasks").param("status", "pending"))
+                .andReturn().getResponse().getContentAsByteArray();
+        return Set.of(objectMapper.readValue(content, Task[].class));
+    }
+
+    private void createTask(String title) throws Exception {
+        mockMvc.perform(post("/tasks")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(Map.of(
+                        "title", title,
+                        "author", "Compression Author",
+                        "project", "Project",
+                        "status", "pending",
+                        "description", "Some description to make the listing a bit larger"))))
+                .andExpect(status().isCreated());
+    }
+
+    private static byte[] gunzip(byte[] content) throws Exception {
+        try (var in = new GZIPInputStream(new ByteArrayInputStream(content))) {
+            return in.readAllBytes();
+        }
+    }
+
+
     private static org.hamcrest.Matcher<String> matchesPattern(String regex) {
         return org.hamcrest.text.MatchesPattern.matchesPattern(regex);
     }
@@ -0,0 +1,55 @@
+package com.example.task_management_api.controller;
+
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import com.example.task_management_api.repository.TaskRepository;
+import com.example.task_management_api.repository.TaskRepositoryJdbc;
+
+/**
+ * Integration test of the application with the Spring profile jdbc: tasks stored in the embedded
+ * H2 database through the pooled DataSource.
+ */
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("jdbc")
+class TaskControllerJdbcProfileTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TaskRepository repository;
+
+    @Test
+    void createAndList_shouldGoThroughTheDatabase() throws Exception {
+        assertInstanceOf(TaskRepositoryJdbc.class, repository);
+        mockMvc.perform(delete("/tasks"));
+        String task = """
+                {"title": "Stored", "author": "Author", "project": "Project",
+                 "status": "pending", "description": "In H2"}
+                """;
+
+        mockMvc.perform(post("/tasks").contentType(MediaType.APPLICATION_JSON).content(task))
+                .andExpect(status().isCreated());
+        mockMvc.perform(post("/tasks").contentType(MediaType.APPLICATION_JSON).content(task))
+                .andExpect(status().isConflict());
+
+        mockMvc.perform(get("/tasks").param("status", "pending"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].description").value("In H2"));
+        mockMvc.perform(get("/tasks").param("sinceVersion", "0"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.tasks.length()").value(1));
+    }
+}
@@ -6,6 +6,7 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.http.MediaType;
+import org.springframework.test.context.aot.DisabledInAotMode;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
 
@@ -23,8 +24,11 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
  * 
  * @implNote This code almost fully generated by Claude 4.5, with some manual adjustments when IDE
  *           highlighted some issues. Input for code generation: controller/TaskController.java
+ * 
+ * @implNote Disabled in native test runs, Mockito cannot mock in a native image.
  */
 
+@DisabledInAotMode
 @WebMvcTest(TaskController.class)
 class TaskControllerWebLayerTest {
 
@@ -171,6 +175,27 @@ class TaskControllerWebLayerTest {
                 .andExpect(status().isBadRequest());
     }
 
+    @Test
+    void createTask_withBlankFields_shouldReportAllViolations() throws Exception {
+        // Arrange
+        String requestBody = """
+                {
+                    "title": "   ",
+                    "author": "Author",
+                    "project": "Project",
+                    "status": " "
+                }
+                """;
+
+        // Act & Assert
+        mockMvc.perform(post("/tasks")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(requestBody))
+                .andExpect(status().isBadRequest())
+                .andExpect(status().reason("Title is required; Status is required; "
+                        + "Status must be 'pending', 'in-progress', or 'completed'."));
+    }
+
     @Test
     void createTask_withoutDescription_shouldSucceed() throws Exception {
         // Arrange
@@ -0,0 +1,122 @@
+package com.example.task_management_api.dataset;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+import com.example.task_management_api.model.Task;
+import com.example.task_management_api.repository.TaskChangeLog;
+import com.example.task_management_api.repository.TaskRepositoryInMemory;
+
+/**
+ * Unit tests for the parallel bulk loader and the NDJSON datasets: generated and streamed tasks
+ * all arrive, a dump reads back exactly, invalid lines and failing batches are reported.
+ */
+
+class TaskBulkLoaderTest {
+
+    private final TaskRepositoryInMemory repository =
+            new TaskRepositoryInMemory(new TaskChangeLog(1 << 10), Duration.ofHours(1));
+    private final TaskGenerator generator = new TaskGenerator(TaskGenerator.Spec.defaults(), 3);
+
+    @Test
+    void load_shouldLoadAllGeneratedTasksInParallel() {
+        assertEquals(10_001, new TaskBulkLoader(repository, 4, 100).load(generator, 10_001));
+        assertEquals(sorted(generator.tasks(0, 10_001)), sorted(repository.findAll()));
+
+        // the same seed again replaces the tasks
+        new TaskBulkLoader(repository, 2, 64).load(generator, 500);
+        assertEquals(10_001, repository.count());
+    }
+
+    @Test
+    void dumpAndReload_shouldGiveBackTheSameTasks() throws Exception {
+        new TaskBulkLoader(repository).load(generator, 2_500);
+        Task precise = new Task(UUID.randomUUID(), "Precise \"quoted\"\ntitle", "Author",
+                "Project", "pending", "", Instant.parse("2025-01-02T03:04:05.123456789Z"),
+                Instant.parse("2025-01-02T03:04:05.123456789Z"));
+        repository.create(precise);
+        var out = new ByteArrayOutputStream();
+        assertEquals(2_501, TaskNdjson.write(repository.findAll().iterator(), out));
+        String dump = out.toString(StandardCharsets.UTF_8);
+        assertEquals(2_501, dump.lines().count());
+        assertTrue(dump.endsWith("}\n"));
+
+        var reloaded = new TaskRepositoryInMemory(new TaskChangeLog(1 << 10), Duration.ofHours(1));
+        long count = new TaskBulkLoader(reloaded, 3, 100)
+                .load(TaskNdjson.read(new ByteArrayInputStream(out.toByteArray())));
+        assertEquals(2_501, count);
+        assertEquals(sorted(repository.findAll()), sorted(reloaded.findAll()));
+    }
+
+    @Test
+    void read_shouldNameTheFirstInvalidLine() throws Exception {
+        String id = UUID.randomUUID().toString();
+        String valid = "{\"id\":\"" + id + "\",\"title\":\"T\",\"author\":\"A\",\"project\":\"P\","
+                + "\"status\":\"pending\"}\n";
+        Iterator<Task> tasks = TaskNdjson.read(stream(valid + "\n" + valid.replace("T", "U")));
+        Task task = tasks.next();
+        assertEquals("", task.description());
+        assertNotNull(task.createdAt());
+        assertEquals("U", tasks.next().title());
+        assertFalse(tasks.hasNext());
+
+        var missing = assertThrows(IllegalArgumentException.class,
+                () -> drain(stream(valid + "{\"id\":\"" + id + "\",\"title\":\"T\"}\n")));
+        assertTrue(missing.getMessage().startsWith("Line 2:"), missing.getMessage());
+        var malformed = assertThrows(IllegalArgumentException.class,
+                () -> drain(stream(valid + valid + "{\"id\": 1\n")));
+        assertTrue(malformed.getMessage().startsWith("Line 3:"), malformed.getMessage());
+    }
+
+    @Test
+    void load_shouldRethrowTheFirstFailure() {
+        AtomicInteger batches = new AtomicInteger();
+        var failing = new TaskRepositoryInMemory(new TaskChangeLog(1 << 10),
+                Duration.ofHours(1)) {
+            @Override
+            public List<Task> createAll(List<Task> batch) {
+                if (batches.incrementAndGet() == 3) {
+                    throw new IllegalStateException("disk full");
+                }
+                return super.createAll(batch);
+            }
+        };
+        var loader = new TaskBulkLoader(failing, 2, 10);
+        var e = assertThrows(IllegalStateException.class, () -> loader.load(generator, 1_000));
+        assertEquals("disk full", e.getMessage());
+        assertTrue(failing.count() < 1_000);
+
+        batches.set(0);
+        assertThrows(IllegalStateException.class,
+                () -> loader.load(generator.tasks(0, 1_000).iterator()));
+    }
+
+
+    private static List<Task> sorted(List<Task> tasks) {
+        List<Task> sorted = new ArrayList<>(tasks);
+        sorted.sort(Comparator.comparing(Task::id));
+        return sorted;
+    }
+
+    private static ByteArrayInputStream stream(String ndjson) {
+        return new ByteArrayInputStream(ndjson.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static void drain(ByteArrayInputStream in) throws Exception {
+        Iterator<Task> tasks = TaskNdjson.read(in);
+        while (tasks.hasNext()) {
+            tasks.next();
+        }
+    }
+}
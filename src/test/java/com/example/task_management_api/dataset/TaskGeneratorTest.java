@@ -0,0 +1,87 @@
+package com.example.task_management_api.dataset;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.Test;
+import com.example.task_management_api.model.Task;
+
+/**
+ * Unit tests for the generator of synthetic tasks: reproducible per index, unique IDs and titles,
+ * and distributions as specified.
+ */
+
+class TaskGeneratorTest {
+
+    private final TaskGenerator generator = new TaskGenerator(TaskGenerator.Spec.defaults(), 7);
+
+    @Test
+    void tasks_shouldDependOnlyOnSeedAndIndex() {
+        List<Task> tasks = generator.tasks(0, 100);
+        assertEquals(tasks, new TaskGenerator(TaskGenerator.Spec.defaults(), 7).tasks(0, 100));
+        assertEquals(tasks.subList(40, 60), generator.tasks(40, 20));
+        assertEquals(tasks.get(99), generator.task(99));
+        assertNotEquals(tasks.get(0).id(),
+                new TaskGenerator(TaskGenerator.Spec.defaults(), 8).task(0).id());
+    }
+
+    @Test
+    void tasks_shouldHaveUniqueIdsAndTitlesAndValidFields() {
+        List<Task> tasks = generator.tasks(0, 10_000);
+        assertEquals(10_000, tasks.stream().map(Task::id).distinct().count());
+        assertEquals(10_000, tasks.stream().map(Task::title).distinct().count());
+        for (Task task : tasks) {
+            assertEquals(4, task.id().version());
+            assertTrue(Set.of("pending", "in-progress", "completed").contains(task.status()));
+            assertTrue(task.description().length() >= 20 && task.description().length() <= 200);
+            assertFalse(task.updatedAt().isBefore(task.createdAt()));
+            assertEquals(0, task.createdAt().getNano());
+        }
+    }
+
+    @Test
+    void tasks_shouldFollowTheDistributions() {
+        var spec = TaskGenerator.Spec.parse("pending:1,completed:3", 10, 3, 0, "5-5");
+        List<Task> tasks = new TaskGenerator(spec, 1).tasks(0, 40_000);
+        Map<String, Long> byStatus = count(tasks, Task::status);
+        assertEquals(Set.of("pending", "completed"), byStatus.keySet());
+        assertEquals(0.25, byStatus.get("pending") / 40_000.0, 0.01);
+        assertEquals(10, count(tasks, Task::author).size());
+        assertEquals(3, count(tasks, Task::project).size());
+        assertTrue(tasks.stream().allMatch(task -> task.description().length() == 5));
+
+        // with skew 1, the first of 1000 authors writes about 1 / H(1000) = 13 % of the tasks
+        Map<String, Long> byAuthor = count(generator.tasks(0, 40_000), Task::author);
+        assertEquals(0.134, byAuthor.get("Author 0001") / 40_000.0, 0.01);
+        assertTrue(byAuthor.get("Author 0001") > 10 * byAuthor.get("Author 0100"));
+    }
+
+    @Test
+    void spec_shouldRejectInvalidValues() {
+        assertThrows(IllegalArgumentException.class,
+                () -> TaskGenerator.Spec.parse("done:1", 10, 10, 1, "1-2"));
+        assertThrows(IllegalArgumentException.class,
+                () -> TaskGenerator.Spec.parse("pending:0", 10, 10, 1, "1-2"));
+        assertThrows(IllegalArgumentException.class,
+                () -> TaskGenerator.Spec.parse("pending", 10, 10, 1, "1-2"));
+        assertThrows(IllegalArgumentException.class,
+                () -> TaskGenerator.Spec.parse("pending:1", 0, 10, 1, "1-2"));
+        assertThrows(IllegalArgumentException.class,
+                () -> TaskGenerator.Spec.parse("pending:1", 10, 10, 1, "5-2"));
+        assertThrows(IllegalArgumentException.class,
+                () -> TaskGenerator.Spec.parse("pending:1", 10, 10, 1, "10"));
+        assertEquals(new HashSet<>(List.of("pending")),
+                TaskGenerator.Spec.parse(" pending : 1 ", 1, 1, 0, " 0 - 0 ")
+                        .statusWeights().keySet());
+    }
+
+
+    private static Map<String, Long> count(List<Task> tasks, Function<Task, String> key) {
+        return tasks.stream().collect(Collectors.groupingBy(key, Collectors.counting()));
+    }
+}
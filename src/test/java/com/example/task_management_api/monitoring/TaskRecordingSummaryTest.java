@@ -0,0 +1,85 @@
+package com.example.task_management_api.monitoring;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import com.example.task_management_api.model.Task;
+import com.example.task_management_api.repository.TaskChangeLog;
+import com.example.task_management_api.repository.TaskRepositoryInMemory;
+import com.example.task_management_api.service.TaskService;
+import jdk.jfr.Recording;
+
+/**
+ * Tests of the Java Flight Recorder events: recorded with the shipped settings, not recorded
+ * without, and summarized per operation by {@link TaskRecordingSummary}.
+ */
+
+class TaskRecordingSummaryTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void summarize_shouldReportEveryInstrumentedOperation() throws Exception {
+        var repository = new TaskRepositoryInMemory(new TaskChangeLog(1 << 10),
+                Duration.ofHours(1));
+        var service = new TaskService(repository);
+        Path file = directory.resolve("tasks.jfr");
+        try (Recording recording = new Recording(TaskFlightRecorder.settings())) {
+            recording.start();
+            for (int i = 0; i < 10; ++i) {
+                service.createTask("Task " + i, "Author", "Project", "pending", "");
+            }
+            repository.create(new Task(UUID.randomUUID(), "Done", "Author", "Project",
+                    "completed", ""));
+            assertEquals(10, repository.findByStatus("pending").size());
+            assertEquals(11, repository.findAll().size());
+            repository.clear();
+            recording.stop();
+            recording.dump(file);
+        }
+
+        Map<String, TaskRecordingSummary.Row> rows = TaskRecordingSummary.summarize(file)
+                .stream()
+                .collect(Collectors.toMap(TaskRecordingSummary.Row::operation,
+                        Function.identity()));
+        assertEquals(11, rows.get("create").count());
+        assertEquals(10, rows.get("existsByTitleAndAuthor").count());
+        assertEquals(10, rows.get("getNewUuid").count());
+        assertEquals(0, rows.get("getNewUuid").meanResultSize());
+        assertEquals(10, rows.get("findByStatus").meanResultSize());
+        assertEquals(11, rows.get("findAll").maxStoreSize());
+        assertEquals(11, rows.get("clear").meanResultSize());
+        assertTrue(rows.get("create").p99Micros() >= rows.get("create").p50Micros());
+        String table = TaskRecordingSummary.format(List.copyOf(rows.values()));
+        assertTrue(table.startsWith("operation"));
+        assertEquals(rows.size() + 1, table.lines().count());
+    }
+
+    @Test
+    void events_shouldBeDisabledByDefault() throws Exception {
+        var repository = new TaskRepositoryInMemory(new TaskChangeLog(1 << 10),
+                Duration.ofHours(1));
+        Path file = directory.resolve("default.jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable("jdk.CPULoad");
+            recording.start();
+            repository.create(new Task(UUID.randomUUID(), "Task", "Author", "Project",
+                    "pending", ""));
+            // disabled events are not even allocated
+            assertFalse(TaskEvents.repositoryOperation);
+            assertFalse(TaskEvents.newTaskId);
+            recording.stop();
+            recording.dump(file);
+        }
+        assertEquals(List.of(), TaskRecordingSummary.summarize(file));
+    }
+}
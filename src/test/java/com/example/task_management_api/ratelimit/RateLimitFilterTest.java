@@ -0,0 +1,134 @@
+package com.example.task_management_api.ratelimit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import com.example.task_management_api.cluster.ClusteredTaskService;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+
+/**
+ * Unit tests for the token bucket and the rate limit filter: refill, cost weights, 429 / 503 with
+ * Retry-After and bounded client memory.
+ */
+
+class RateLimitFilterTest {
+
+    private static final FilterChain OK = (request, response) -> {
+    };
+
+    @Test
+    void tokenBucket_shouldAdmitBurstThenRefillAtRate() {
+        long now = 1_000_000_000L;
+        var bucket = new TokenBucket(10, 5, now); // one token per 100 ms
+
+        for (int i = 0; i < 5; ++i) {
+            assertEquals(0, bucket.tryAcquire(1, now));
+        }
+        assertEquals(100_000_000L, bucket.tryAcquire(1, now));
+        assertFalse(bucket.isIdle(now));
+
+        now += 100_000_000L;
+        assertEquals(0, bucket.tryAcquire(1, now));
+        assertEquals(200_000_000L, bucket.tryAcquire(2, now));
+        assertTrue(bucket.tryAcquire(6, now + 10_000_000_000L) > 0); // more than the burst
+
+        assertTrue(bucket.isIdle(now + 500_000_000L));
+    }
+
+    @Test
+    void filter_shouldWeighListingsAndAnswer429WithRetryAfter() throws Exception {
+        var filter = new RateLimitFilter(1, 20, 10, 10, 10, 8, 100, "", List.of(), "");
+
+        assertEquals(200, perform(filter, "GET", "/tasks", "10.0.0.1", OK).getStatus());
+        assertEquals(200, perform(filter, "GET", "/tasks", "10.0.0.1", OK).getStatus());
+        var limited = perform(filter, "GET", "/tasks", "10.0.0.1", OK);
+        assertEquals(429, limited.getStatus());
+        assertEquals("10", limited.getHeader("Retry-After"));
+
+        // other clients and paths outside /tasks are not affected
+        assertEquals(200, perform(filter, "GET", "/tasks", "10.0.0.2", OK).getStatus());
+        assertEquals(200, perform(filter, "GET", "/index.html", "10.0.0.1", OK).getStatus());
+    }
+
+    @Test
+    void filter_shouldShedExpensiveRequestsButAdmitCheapOnesUnderOverload() throws Exception {
+        var filter = new RateLimitFilter(1000, 1000, 10, 10, 10, 1, 100, "", List.of(), "");
+        int[] nested = new int[2];
+
+        // while one listing is in progress, another listing is shed, a single task read is not
+        perform(filter, "GET", "/tasks", "10.0.0.1", (request, response) -> {
+            var shed = perform(filter, "GET", "/tasks", "10.0.0.2", OK);
+            nested[0] = shed.getStatus();
+            assertEquals("1", shed.getHeader("Retry-After"));
+            nested[1] = perform(filter, "GET", "/tasks/42", "10.0.0.3", OK).getStatus();
+        });
+
+        assertEquals(503, nested[0]);
+        assertEquals(200, nested[1]);
+        assertEquals(200, perform(filter, "GET", "/tasks", "10.0.0.2", OK).getStatus());
+    }
+
+    @Test
+    void filter_shouldBoundClientsAndUseConfiguredHeader() throws Exception {
+        var filter = new RateLimitFilter(1000, 1000, 10, 10, 10, 8, 3, "X-Client-Id",
+                List.of(), "");
+
+        for (int i = 0; i < 10; ++i) {
+            var request = request("GET", "/tasks/42", "10.0.0.1");
+            request.addHeader("X-Client-Id", "client-" + i);
+            filter.doFilter(request, new MockHttpServletResponse(), OK);
+        }
+
+        assertEquals(3, filter.clientCount());
+    }
+
+    @Test
+    void filter_shouldOnlyExemptRequestsForwardedByClusterNodes() throws Exception {
+        String node = "http://node-1:8080";
+        var single = new RateLimitFilter(1, 10, 10, 10, 10, 8, 100, "", List.of(), "");
+        var cluster = new RateLimitFilter(1, 10, 10, 10, 10, 8, 100, "",
+                List.of(node, "http://node-2:8080"), "");
+        var secured = new RateLimitFilter(1, 10, 10, 10, 10, 8, 100, "", List.of(node), "s3cret");
+
+        // without cluster mode, or with a value that is no node, the header changes nothing
+        assertEquals(200, forwarded(single, node).getStatus());
+        assertEquals(429, forwarded(single, node).getStatus());
+        assertEquals(200, forwarded(cluster, "anything").getStatus());
+        assertEquals(429, forwarded(cluster, "anything").getStatus());
+
+        // a node's base URL, or the secret if there is one, exempts the request
+        for (int i = 0; i < 3; ++i) {
+            assertEquals(200, forwarded(cluster, node).getStatus());
+            assertEquals(200, forwarded(secured, "s3cret").getStatus());
+        }
+        forwarded(secured, node);
+        assertEquals(429, forwarded(secured, node).getStatus());
+    }
+
+    private static MockHttpServletResponse forwarded(RateLimitFilter filter, String value)
+            throws ServletException, IOException {
+        var request = request("GET", "/tasks", "10.0.0.1");
+        request.addHeader(ClusteredTaskService.FORWARDED_HEADER, value);
+        var response = new MockHttpServletResponse();
+        filter.doFilter(request, response, OK);
+        return response;
+    }
+
+    private static MockHttpServletResponse perform(RateLimitFilter filter, String method,
+            String uri, String client, FilterChain chain) throws ServletException, IOException {
+        var response = new MockHttpServletResponse();
+        filter.doFilter(request(method, uri, client), response, chain);
+        return response;
+    }
+
+    private static MockHttpServletRequest request(String method, String uri, String client) {
+        var request = new MockHttpServletRequest(method, uri);
+        request.setRemoteAddr(client);
+        return request;
+    }
+}
@@ -0,0 +1,149 @@
+package com.example.task_management_api.replication;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import com.example.task_management_api.model.Task;
+import com.example.task_management_api.repository.TaskChangeLog;
+import com.example.task_management_api.repository.TaskRepositoryInMemory;
+
+/**
+ * Tests of primary / replica replication over the in-process loopback transport.
+ */
+
+class ReplicationTest {
+
+    private final TaskChangeLog primaryLog = new TaskChangeLog(1 << 12);
+    private final TaskRepositoryInMemory primaryRepository =
+            new TaskRepositoryInMemory(primaryLog, Duration.ofHours(1));
+    private final LoopbackReplicationTransport transport = new LoopbackReplicationTransport(64);
+    private final ReplicationPrimary primary = new ReplicationPrimary(primaryRepository,
+            primaryLog, transport, 128, Duration.ofMillis(1));
+
+    @AfterEach
+    void tearDown() throws Exception {
+        primary.close();
+        transport.close();
+    }
+
+    @Test
+    void replicas_shouldApplyCreatesDeletesAndClear() throws Exception {
+        ReplicaNode first = replica();
+        ReplicaNode second = replica();
+
+        UUID deleted = UUID.randomUUID();
+        primaryRepository.create(task(deleted, "Deleted"));
+        for (int i = 0; i < 100; ++i) {
+            primaryRepository.create(task(UUID.randomUUID(), "Task " + i));
+        }
+        primaryRepository.deleteById(deleted);
+
+        awaitInSync(first);
+        awaitInSync(second);
+        assertSameTasks(first);
+        assertSameTasks(second);
+        assertTrue(first.repository().findById(deleted).isEmpty());
+
+        primaryRepository.clear();
+        awaitInSync(first);
+        assertTrue(first.repository().isEmpty());
+    }
+
+    @Test
+    void lateReplica_shouldCatchUpFromSnapshotPlusLog() throws Exception {
+        for (int i = 0; i < 50; ++i) {
+            primaryRepository.create(task(UUID.randomUUID(), "Early " + i));
+        }
+        ReplicaNode late = replica();
+        for (int i = 0; i < 50; ++i) {
+            primaryRepository.create(task(UUID.randomUUID(), "Later " + i));
+        }
+
+        awaitInSync(late);
+        assertSameTasks(late);
+        assertEquals(100, late.repository().count());
+    }
+
+    @Test
+    void replica_shouldResyncFromSnapshotAfterMissingBatches() throws Exception {
+        AtomicBoolean dropping = new AtomicBoolean();
+        AtomicInteger dropped = new AtomicInteger();
+        // transport view of the replica that loses batches while dropping is set
+        var lossyTransport = new ReplicationTransport() {
+            @Override
+            public void publish(ReplicationBatch batch) {
+                transport.publish(batch);
+            }
+
+            @Override
+            public void serveSnapshots(Supplier<ReplicationSnapshot> provider) {
+                transport.serveSnapshots(provider);
+            }
+
+            @Override
+            public void subscribe(Consumer<ReplicationBatch> receiver) {
+                transport.subscribe(batch -> {
+                    if (dropping.get()) {
+                        dropped.incrementAndGet();
+                    } else {
+                        receiver.accept(batch);
+                    }
+                });
+            }
+
+            @Override
+            public ReplicationSnapshot fetchSnapshot() {
+                return transport.fetchSnapshot();
+            }
+        };
+        ReplicaNode replica = new ReplicaNode(new TaskRepositoryInMemory(
+                new TaskChangeLog(1 << 12), Duration.ofHours(1)), lossyTransport);
+        assertEquals(1, replica.snapshotsLoaded());
+
+        dropping.set(true);
+        primaryRepository.create(task(UUID.randomUUID(), "Missed"));
+        await(() -> dropped.get() > 0);
+        dropping.set(false);
+        primaryRepository.create(task(UUID.randomUUID(), "Received"));
+
+        awaitInSync(replica);
+        assertEquals(2, replica.snapshotsLoaded());
+        assertSameTasks(replica);
+    }
+
+
+    private ReplicaNode replica() {
+        return new ReplicaNode(new TaskRepositoryInMemory(new TaskChangeLog(1 << 12),
+                Duration.ofHours(1)), transport);
+    }
+
+    private static Task task(UUID id, String title) {
+        return new Task(id, title, "Author", "Project", "pending", "");
+    }
+
+    private void awaitInSync(ReplicaNode replica) throws InterruptedException {
+        await(() -> replica.appliedSequence() >= primaryLog.lastSequence());
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "replica did not catch up in time");
+            Thread.sleep(1);
+        }
+    }
+
+    private void assertSameTasks(ReplicaNode replica) {
+        assertEquals(new HashSet<>(primaryRepository.findAll()),
+                new HashSet<>(replica.repository().findAll()));
+    }
+}
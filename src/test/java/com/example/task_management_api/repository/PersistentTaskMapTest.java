@@ -0,0 +1,90 @@
+package com.example.task_management_api.repository;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import com.example.task_management_api.model.Task;
+
+/**
+ * Unit tests for the persistent task map against a HashMap as model, including full hash
+ * collisions, and for the snapshot semantics of findAll.
+ */
+
+class PersistentTaskMapTest {
+
+    @Test
+    void randomOperations_shouldMatchHashMap() {
+        Random random = new Random(42);
+        List<UUID> ids = new ArrayList<>();
+        for (int i = 0; i < 2000; ++i) {
+            long msb = random.nextLong();
+            long lsb = random.nextLong();
+            ids.add(new UUID(msb, lsb));
+            // same msb ^ lsb, hence same hash code
+            ids.add(new UUID(msb ^ i, lsb ^ i));
+        }
+        Map<UUID, Task> model = new HashMap<>();
+        PersistentTaskMap map = PersistentTaskMap.EMPTY;
+        for (int i = 0; i < 20_000; ++i) {
+            UUID id = ids.get(random.nextInt(ids.size()));
+            if (random.nextInt(3) == 0) {
+                model.remove(id);
+                map = map.minus(id);
+            } else {
+                Task task = task(id, "Task " + i);
+                model.put(id, task);
+                map = map.plus(task);
+            }
+        }
+
+        assertEquals(model.size(), map.size());
+        for (UUID id : ids) {
+            assertEquals(model.get(id), map.get(id));
+        }
+        assertEquals(new HashSet<>(model.values()), new HashSet<>(map.values()));
+        assertEquals(model.size(), map.values().size());
+    }
+
+    @Test
+    void oldVersions_shouldBeUnaffectedByUpdates() {
+        Task task = task(UUID.randomUUID(), "Title");
+        PersistentTaskMap before = PersistentTaskMap.EMPTY.plus(task);
+        PersistentTaskMap after = before.plus(task(task.id(), "Changed")).minus(task.id());
+
+        assertEquals(task, before.get(task.id()));
+        assertEquals(List.of(task), before.values());
+        assertEquals(0, after.size());
+        assertSame(after, after.minus(task.id()));
+    }
+
+    @Test
+    void findAll_shouldBeSnapshotUnaffectedByLaterWrites() {
+        var repository = new TaskRepositoryInMemory(new TaskChangeLog(1024), Duration.ofHours(1));
+        Task kept = repository.create(task(UUID.randomUUID(), "Kept"));
+        Task deleted = repository.create(task(UUID.randomUUID(), "Deleted"));
+
+        List<Task> snapshot = repository.findAll();
+        repository.deleteById(deleted.id());
+        repository.create(task(UUID.randomUUID(), "Added"));
+
+        assertEquals(new HashSet<>(List.of(kept, deleted)), new HashSet<>(snapshot));
+        assertEquals(2, repository.findAll().size());
+        assertThrows(UnsupportedOperationException.class, () -> snapshot.add(kept));
+
+        repository.clear();
+        assertTrue(repository.findAll().isEmpty());
+        assertEquals(2, snapshot.size());
+    }
+
+    private static Task task(UUID id, String title) {
+        return new Task(id, title, "Author", "Project", "pending", "");
+    }
+}
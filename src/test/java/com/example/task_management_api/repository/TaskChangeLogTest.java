@@ -0,0 +1,218 @@
+package com.example.task_management_api.repository;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+import com.example.task_management_api.model.Task;
+
+/**
+ * Unit tests for the change data capture ring buffer and the events published by
+ * TaskRepositoryInMemory.
+ */
+
+class TaskChangeLogTest {
+
+    @Test
+    void capacity_shouldBeRoundedUpToPowerOfTwo() {
+        assertEquals(8, new TaskChangeLog(5).capacity());
+        assertEquals(8, new TaskChangeLog(8).capacity());
+    }
+
+    @Test
+    void read_shouldReturnEventsInSequenceOrder() {
+        TaskChangeLog log = new TaskChangeLog(16);
+        UUID id = UUID.randomUUID();
+        log.append(TaskChangeEvent.Type.CREATED, id, null);
+        log.append(TaskChangeEvent.Type.DELETED, id, null);
+
+        var batch = log.read(0, 10);
+        assertFalse(batch.resyncRequired());
+        assertEquals(2, batch.events().size());
+        assertEquals(1, batch.events().get(0).sequence());
+        assertEquals(TaskChangeEvent.Type.DELETED, batch.events().get(1).type());
+
+        assertTrue(log.read(2, 10).events().isEmpty());
+        assertEquals(1, log.read(1, 10).events().size());
+    }
+
+    @Test
+    void read_shouldSignalResyncWhenReaderFellBehind() {
+        TaskChangeLog log = new TaskChangeLog(4);
+        for (int i = 0; i < 10; ++i) {
+            log.append(TaskChangeEvent.Type.CREATED, UUID.randomUUID(), null);
+        }
+        assertTrue(log.read(2, 10).resyncRequired());
+        assertFalse(log.read(6, 10).resyncRequired());
+        assertEquals(4, log.read(6, 10).events().size());
+
+        // position from before a server restart
+        assertTrue(log.read(42, 10).resyncRequired());
+    }
+
+    @Test
+    void claim_aLapAheadOfAnOpenClaim_shouldWaitForItsPublication() throws Exception {
+        TaskChangeLog log = new TaskChangeLog(4);
+        long open = log.claim();
+        for (int i = 0; i < 3; ++i) {
+            log.append(TaskChangeEvent.Type.CREATED, UUID.randomUUID(), null);
+        }
+        assertEquals(0, log.lastSequence());
+
+        // the next sequence needs the slot of the open claim
+        ExecutorService pool = Executors.newSingleThreadExecutor();
+        Future<Long> lapping = pool.submit(
+                () -> log.append(TaskChangeEvent.Type.CREATED, UUID.randomUUID(), null));
+        Thread.sleep(100);
+        assertFalse(lapping.isDone());
+        assertEquals(0, log.lastSequence());
+
+        log.publish(open, TaskChangeEvent.Type.CREATED, UUID.randomUUID(), null);
+        assertEquals(5, lapping.get(10, TimeUnit.SECONDS));
+        assertEquals(5, log.lastSequence());
+        assertEquals(4, log.read(1, 10).events().size());
+        pool.shutdown();
+
+        assertThrows(IllegalArgumentException.class, () -> log.claim(5));
+    }
+
+    @Test
+    void append_fromConcurrentWriters_shouldPublishEverySequence() throws Exception {
+        TaskChangeLog log = new TaskChangeLog(1 << 16);
+        int writers = 8;
+        int perWriter = 2000;
+        ExecutorService pool = Executors.newFixedThreadPool(writers);
+        CountDownLatch start = new CountDownLatch(1);
+        for (int w = 0; w < writers; ++w) {
+            pool.execute(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                for (int i = 0; i < perWriter; ++i) {
+                    log.append(TaskChangeEvent.Type.CREATED, UUID.randomUUID(), null);
+                }
+            });
+        }
+        start.countDown();
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(10, TimeUnit.SECONDS));
+
+        assertEquals(writers * perWriter, log.lastSequence());
+        var batch = log.read(0, writers * perWriter);
+        assertEquals(writers * perWriter, batch.events().size());
+        var seen = ConcurrentHashMap.newKeySet();
+        batch.events().forEach(e -> seen.add(e.sequence()));
+        assertEquals(writers * perWriter, seen.size());
+    }
+
+    @Test
+    void repository_shouldPublishCreateUpdateDeleteAndClear() {
+        TaskChangeLog log = new TaskChangeLog(16);
+        TaskRepositoryInMemory repository = new TaskRepositoryInMemory(log, Duration.ofHours(1));
+        UUID id = UUID.randomUUID();
+        Task task = new Task(id, "Title", "Author", "Project", "pending", "");
+
+        repository.create(task);
+        repository.create(task);
+        repository.deleteById(id);
+        repository.deleteById(id); // not present: no event
+        repository.clear();
+
+        var types = log.read(0, 10).events().stream().map(TaskChangeEvent::type).toList();
+        assertEquals(java.util.List.of(TaskChangeEvent.Type.CREATED,
+                TaskChangeEvent.Type.UPDATED, TaskChangeEvent.Type.DELETED,
+                TaskChangeEvent.Type.CLEARED), types);
+    }
+
+    @Test
+    void repository_createAll_shouldPublishBatchWithContiguousSequences() {
+        TaskChangeLog log = new TaskChangeLog(16);
+        TaskRepositoryInMemory repository = new TaskRepositoryInMemory(log, Duration.ofHours(1));
+        Task existing = new Task(UUID.randomUUID(), "Existing", "Author", "Project", "pending", "");
+        repository.create(existing);
+
+        repository.createAll(java.util.List.of(
+                new Task(UUID.randomUUID(), "First", "Author", "Project", "pending", ""),
+                new Task(existing.id(), "Existing", "Author", "Project", "completed", ""),
+                new Task(UUID.randomUUID(), "Third", "Author", "Project", "pending", "")));
+
+        assertEquals(4, log.lastSequence());
+        var events = log.read(1, 10).events();
+        assertEquals(java.util.List.of(2L, 3L, 4L),
+                events.stream().map(TaskChangeEvent::sequence).toList());
+        assertEquals(TaskChangeEvent.Type.UPDATED, events.get(1).type());
+        assertEquals(2, repository.findByStatus("pending").size());
+        assertEquals(3, repository.findChangedSince(1).tasks().size());
+    }
+
+    @Test
+    void repository_createAll_shouldNotPublishTasksThatWereNotStored() {
+        TaskChangeLog log = new TaskChangeLog(16);
+        TaskRepositoryInMemory repository = new TaskRepositoryInMemory(log, Duration.ofHours(1));
+        Task existing = new Task(UUID.randomUUID(), "Existing", "Author", "Project", "pending", "");
+        repository.create(existing);
+        Task first = new Task(UUID.randomUUID(), "First", "Author", "Project", "pending", "");
+        Task invalid = new Task(null, "Invalid", "Author", "Project", "pending", "");
+
+        assertThrows(NullPointerException.class, () -> repository.createAll(java.util.List.of(first,
+                invalid, new Task(existing.id(), "Existing", "Author", "Project", "completed", ""),
+                new Task(UUID.randomUUID(), "Never", "Author", "Project", "pending", ""))));
+
+        // all claimed sequence numbers are published, but only the first task as created
+        assertEquals(5, log.lastSequence());
+        var events = log.read(1, 10).events();
+        assertEquals(new TaskChangeEvent(2, TaskChangeEvent.Type.CREATED, first.id(), first),
+                events.get(0));
+        assertEquals(TaskChangeEvent.Type.DELETED, events.get(1).type());
+        assertNull(events.get(1).task());
+        assertEquals(new TaskChangeEvent(4, TaskChangeEvent.Type.UPDATED, existing.id(), existing),
+                events.get(2));
+        assertEquals(TaskChangeEvent.Type.DELETED, events.get(3).type());
+        assertNull(events.get(3).task());
+        assertEquals(2, repository.count());
+    }
+
+    @Test
+    void repository_clear_shouldNeverExposePartlyClearedStore() throws Exception {
+        TaskChangeLog log = new TaskChangeLog(1 << 16);
+        TaskRepositoryInMemory repository = new TaskRepositoryInMemory(log, Duration.ofHours(1));
+        int size = 20_000;
+        for (int i = 0; i < size; ++i) {
+            repository.create(new Task(UUID.randomUUID(), "Task " + i, "Author", "Project",
+                    "pending", ""));
+        }
+        long version = repository.currentVersion();
+        var partial = new java.util.concurrent.atomic.AtomicLong(-1);
+        var cleared = new java.util.concurrent.atomic.AtomicBoolean();
+        Thread reader = new Thread(() -> {
+            while (!cleared.get()) {
+                long count = repository.count();
+                long pending = repository.findByStatus("pending").size();
+                if ((count != 0 && count != size) || (pending != 0 && pending != size)) {
+                    partial.set(count);
+                }
+            }
+        });
+        reader.start();
+
+        repository.clear();
+        cleared.set(true);
+        reader.join();
+
+        assertEquals(-1, partial.get());
+        assertTrue(repository.isEmpty());
+        assertFalse(repository.existsByTitleAndAuthor("Task 1", "Author"));
+        var delta = repository.findChangedSince(version);
+        assertTrue(delta.resyncRequired());
+        assertTrue(delta.tasks().isEmpty());
+    }
+}
@@ -0,0 +1,180 @@
+package com.example.task_management_api.repository;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+import com.example.task_management_api.model.Task;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Unit tests for the read-through cache: hits and negative caching, invalidation by every kind of
+ * mutation, a single load for concurrent misses, and the metrics.
+ */
+
+class TaskRepositoryCachedTest {
+
+    private final CountingRepository backing = new CountingRepository();
+    private final TaskRepositoryCached repository =
+            new TaskRepositoryCached(backing, 1_000, Duration.ofMinutes(1), Duration.ofMinutes(1));
+
+    @Test
+    void findById_shouldLoadOnceAndCacheMissingIds() {
+        Task task = repository.create(task("pending"));
+        for (int i = 0; i < 3; ++i) {
+            assertEquals(task, repository.findById(task.id()).orElseThrow());
+        }
+        assertEquals(1, backing.findByIdCalls.get());
+
+        UUID missing = UUID.randomUUID();
+        for (int i = 0; i < 3; ++i) {
+            assertTrue(repository.findById(missing).isEmpty());
+        }
+        assertEquals(2, backing.findByIdCalls.get());
+        assertEquals(4.0 / 6, repository.hitRatio(), 1e-9);
+
+        // a create ends the negative caching of its ID
+        Task created = new Task(missing, "Created", "Author", "Project", "pending", "");
+        repository.create(created);
+        assertEquals(created, repository.findById(missing).orElseThrow());
+    }
+
+    @Test
+    void mutations_shouldInvalidateTasksAndListings() {
+        Task task = repository.create(task("pending"));
+        assertEquals(List.of(task), repository.findByStatus("pending"));
+        assertEquals(List.of(task), repository.findByStatus("pending"));
+        assertEquals(1, backing.findByStatusCalls.get());
+        repository.findById(task.id());
+
+        Task completed = new Task(task.id(), task.title(), task.author(), task.project(),
+                "completed", "");
+        repository.create(completed);
+        assertEquals(completed, repository.findById(task.id()).orElseThrow());
+        assertEquals(List.of(), repository.findByStatus("pending"));
+        assertEquals(List.of(completed), repository.findByStatus("completed"));
+
+        Task other = repository.create(task("pending"));
+        repository.findById(other.id());
+        Task claimed = repository.claimNext("pending", "in-progress").orElseThrow();
+        assertEquals(claimed, repository.findById(other.id()).orElseThrow());
+        assertEquals(List.of(claimed), repository.findByStatus("in-progress"));
+
+        repository.deleteById(other.id());
+        assertTrue(repository.findById(other.id()).isEmpty());
+        repository.deleteIfUnchanged(completed);
+        assertTrue(repository.findById(task.id()).isEmpty());
+
+        Task batched = task("pending");
+        repository.findById(batched.id());
+        repository.createAll(List.of(batched));
+        assertEquals(batched, repository.findById(batched.id()).orElseThrow());
+
+        repository.clear();
+        assertTrue(repository.findById(batched.id()).isEmpty());
+        assertEquals(List.of(), repository.findByStatus("pending"));
+    }
+
+    @Test
+    void concurrentMisses_shouldLoadOnce() throws Exception {
+        Task task = repository.create(task("pending"));
+        backing.gate = new CountDownLatch(1);
+        int callers = 16;
+        ExecutorService executor = Executors.newFixedThreadPool(callers);
+        try {
+            List<Future<Optional<Task>>> results = new ArrayList<>();
+            for (int i = 0; i < callers; ++i) {
+                results.add(executor.submit(() -> repository.findById(task.id())));
+            }
+            // all callers are either loading or waiting for the load
+            Thread.sleep(200);
+            backing.gate.countDown();
+            for (var result : results) {
+                assertEquals(task, result.get(10, TimeUnit.SECONDS).orElseThrow());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(1, backing.findByIdCalls.get());
+        assertEquals(1, repository.loadCount());
+    }
+
+    @Test
+    void failedLoads_shouldNotBeCached() {
+        Task task = repository.create(task("pending"));
+        backing.failing = true;
+        assertThrows(IllegalStateException.class, () -> repository.findById(task.id()));
+        backing.failing = false;
+        assertEquals(task, repository.findById(task.id()).orElseThrow());
+    }
+
+    @Test
+    void metrics_shouldReportHitsMissesAndLoads() {
+        var registry = new SimpleMeterRegistry();
+        repository.bindTo(registry);
+        Task task = repository.create(task("pending"));
+        repository.findById(task.id());
+        repository.findById(task.id());
+        repository.findByStatus("pending");
+
+        assertEquals(1, registry.get("tasks.cache.requests").tags("cache", "task", "result", "hit")
+                .functionCounter().count());
+        assertEquals(1, registry.get("tasks.cache.requests").tags("cache", "status", "result",
+                "miss").functionCounter().count());
+        assertEquals(0.5, registry.get("tasks.cache.hit.ratio").tags("cache", "task").gauge()
+                .value());
+        assertEquals(2, registry.get("tasks.cache.loads").functionTimer().count());
+    }
+
+
+    private static Task task(String status) {
+        return new Task(UUID.randomUUID(), "Task " + UUID.randomUUID(), "Author", "Project",
+                status, "");
+    }
+
+    /**
+     * Backing repository counting the reads the cache should absorb, optionally blocking them
+     * until a gate opens or failing them.
+     */
+    private static final class CountingRepository extends TaskRepositoryInMemory {
+
+        CountingRepository() {
+            super(new TaskChangeLog(1 << 10), Duration.ofHours(1));
+        }
+
+        final AtomicInteger findByIdCalls = new AtomicInteger();
+        final AtomicInteger findByStatusCalls = new AtomicInteger();
+        volatile CountDownLatch gate = new CountDownLatch(0);
+        volatile boolean failing;
+
+        @Override
+        public Optional<Task> findById(UUID id) {
+            findByIdCalls.incrementAndGet();
+            try {
+                gate.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            if (failing) {
+                throw new IllegalStateException("backend down");
+            }
+            return super.findById(id);
+        }
+
+        @Override
+        public List<Task> findByStatus(String status) {
+            findByStatusCalls.incrementAndGet();
+            return super.findByStatus(status);
+        }
+    }
+}
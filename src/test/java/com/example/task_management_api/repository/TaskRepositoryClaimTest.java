@@ -0,0 +1,153 @@
+package com.example.task_management_api.repository;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import com.example.task_management_api.model.Task;
+
+/**
+ * Tests of the work queue ({@link TaskRepository#claimNext(String, String)}) for all repository
+ * implementations: order, exactly-once hand-out under concurrency, and tasks leaving the status by
+ * other means.
+ */
+
+class TaskRepositoryClaimTest {
+
+    @TempDir
+    static Path directory;
+
+    static Stream<String> implementations() {
+        return Stream.of("in-memory", "sharded", "tiered", "jdbc");
+    }
+
+    // the sharded repository hands out oldest first per shard only, the JDBC one strictly by
+    // createdAt, so a task replaced in the status does not keep its place
+    static Stream<String> orderedImplementations() {
+        return Stream.of("in-memory", "tiered");
+    }
+
+    @ParameterizedTest
+    @MethodSource("orderedImplementations")
+    void claimNext_shouldHandOutOldestFirstAndSkipTasksNoLongerPending(String implementation)
+            throws Exception {
+        TaskRepository repository = create(implementation);
+        Instant start = Instant.parse("2025-01-01T00:00:00Z");
+        List<UUID> ids = new ArrayList<>();
+        // created newest first, so that only createdAt gives the right order
+        for (int i = 4; i >= 0; --i) {
+            UUID id = new UUID(0, i);
+            repository.create(new Task(id, "Task " + i, "Author", "Project", "pending", "",
+                    start.plusSeconds(i), start.plusSeconds(i)));
+            ids.add(0, id);
+        }
+        repository.create(
+                new Task(UUID.randomUUID(), "Done", "Author", "Project", "completed", ""));
+
+        Task first = repository.claimNext("pending", "in-progress").orElseThrow();
+        assertEquals(ids.get(0), first.id());
+        assertEquals("in-progress", first.status());
+        assertEquals(start, first.createdAt());
+        assertEquals(first, repository.findById(first.id()).orElseThrow());
+        assertEquals(4, repository.findByStatus("pending").size());
+
+        // tasks leaving the status are skipped, a task replaced in the status keeps its place
+        repository.deleteById(ids.get(1));
+        repository.create(new Task(ids.get(2), "Task 2", "Author", "Project", "completed", ""));
+        repository.create(new Task(ids.get(3), "Task 3", "Author", "Project", "pending", ""));
+        UUID late = UUID.randomUUID();
+        repository.create(new Task(late, "Late", "Author", "Project", "pending", ""));
+
+        assertEquals(ids.get(3), repository.claimNext("pending", "in-progress").orElseThrow().id());
+        assertEquals(ids.get(4), repository.claimNext("pending", "in-progress").orElseThrow().id());
+        assertEquals(late, repository.claimNext("pending", "in-progress").orElseThrow().id());
+        assertTrue(repository.claimNext("pending", "in-progress").isEmpty());
+        assertEquals(4, repository.findByStatus("in-progress").size());
+
+        repository.clear();
+        repository.create(new Task(late, "Late", "Author", "Project", "pending", ""));
+        assertEquals(late, repository.claimNext("pending", "in-progress").orElseThrow().id());
+        close(repository);
+    }
+
+    @ParameterizedTest
+    @MethodSource("implementations")
+    void claimNext_shouldHandOutEveryTaskExactlyOnceUnderConcurrency(String implementation)
+            throws Exception {
+        TaskRepository repository = create(implementation);
+        int tasks = 5_000;
+        int workers = 16;
+        // claiming starts while tasks are still being created
+        for (int i = 0; i < tasks / 2; ++i) {
+            repository.create(new Task(UUID.randomUUID(), "Task " + i, "Author", "Project",
+                    "pending", ""));
+        }
+        Set<UUID> claimed = ConcurrentHashMap.newKeySet();
+        List<UUID> duplicates = new ArrayList<>();
+        CountDownLatch created = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+        for (int w = 0; w < workers; ++w) {
+            Thread thread = new Thread(() -> {
+                boolean done = false;
+                while (!done) {
+                    done = created.getCount() == 0;
+                    for (var task = repository.claimNext("pending", "in-progress");
+                            task.isPresent();
+                            task = repository.claimNext("pending", "in-progress")) {
+                        if (!claimed.add(task.get().id())) {
+                            synchronized (duplicates) {
+                                duplicates.add(task.get().id());
+                            }
+                        }
+                    }
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+        for (int i = tasks / 2; i < tasks; ++i) {
+            repository.create(new Task(UUID.randomUUID(), "Task " + i, "Author", "Project",
+                    "pending", ""));
+        }
+        created.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(List.of(), duplicates);
+        assertEquals(tasks, claimed.size());
+        assertTrue(repository.findByStatus("pending").isEmpty());
+        assertEquals(tasks, repository.findByStatus("in-progress").size());
+        close(repository);
+    }
+
+
+    private static TaskRepository create(String implementation) {
+        TaskChangeLog changeLog = new TaskChangeLog(1 << 14);
+        return switch (implementation) {
+            case "in-memory" -> new TaskRepositoryInMemory(changeLog, Duration.ofHours(1));
+            case "sharded" -> new TaskRepositorySharded(4, changeLog, Duration.ofHours(1));
+            case "jdbc" -> new TaskRepositoryJdbc(TaskRepositoryJdbcTest.dataSource(), changeLog,
+                    Duration.ofHours(1), 100, 100);
+            default -> new TaskRepositoryTiered(changeLog, Duration.ofHours(1), 100,
+                    Set.of("completed", "in-progress"), directory);
+        };
+    }
+
+    private static void close(TaskRepository repository) throws Exception {
+        if (repository instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+    }
+}
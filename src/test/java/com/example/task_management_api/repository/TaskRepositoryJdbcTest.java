@@ -0,0 +1,208 @@
+package com.example.task_management_api.repository;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DuplicateKeyException;
+import com.example.task_management_api.model.Task;
+import com.example.task_management_api.model.TaskDelta;
+import com.zaxxer.hikari.HikariDataSource;
+
+/**
+ * Unit tests for the JDBC repository against embedded H2: round trip of all fields, batches, the
+ * unique constraint on (title, author), multi-get, delta sync and versions across a restart.
+ */
+
+class TaskRepositoryJdbcTest {
+
+    private final HikariDataSource dataSource = dataSource();
+    private final TaskChangeLog changeLog = new TaskChangeLog(1 << 12);
+    private final TaskRepositoryJdbc repository =
+            new TaskRepositoryJdbc(dataSource, changeLog, Duration.ofHours(1), 50, 100);
+
+    /**
+     * A new, empty in-memory H2 database, dropped once the pool closes its connections.
+     */
+    static HikariDataSource dataSource() {
+        var dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl("jdbc:h2:mem:" + UUID.randomUUID());
+        dataSource.setMaximumPoolSize(16);
+        dataSource.setMinimumIdle(1);
+        return dataSource;
+    }
+
+    @AfterEach
+    void tearDown() {
+        dataSource.close();
+    }
+
+    @Test
+    void create_shouldStoreAllFieldsAndReplaceById() {
+        Instant created = Instant.parse("2025-01-01T12:34:56.123456789Z");
+        Task task = new Task(UUID.randomUUID(), "Title", "Author", "Project", "pending",
+                "Description", created, created.plusSeconds(1));
+        repository.create(task);
+        assertEquals(task, repository.findById(task.id()).orElseThrow());
+        assertEquals(1, repository.count());
+        assertFalse(repository.isEmpty());
+        assertTrue(repository.existsByTitleAndAuthor("Title", "Author"));
+        assertFalse(repository.existsByTitleAndAuthor("Title", "Other"));
+
+        Task completed = new Task(task.id(), "Title", "Author", "Project", "completed",
+                "Description", created, created.plusSeconds(2));
+        repository.create(completed);
+        assertEquals(completed, repository.findById(task.id()).orElseThrow());
+        assertEquals(List.of(completed), repository.findByStatus("completed"));
+        assertEquals(List.of(), repository.findByStatus("pending"));
+
+        var events = changeLog.read(0, 10).events();
+        assertEquals(TaskChangeEvent.Type.CREATED, events.get(0).type());
+        assertEquals(TaskChangeEvent.Type.UPDATED, events.get(1).type());
+        assertEquals(repository.currentVersion(), repository.versionOf(task.id()));
+    }
+
+    @Test
+    void create_shouldRejectDuplicateTitleAndAuthor() {
+        repository.create(task("Title"));
+        long version = repository.currentVersion();
+
+        assertThrows(DuplicateKeyException.class, () -> repository.create(task("Title")));
+        assertEquals(1, repository.count());
+        // the sequence of the failed write is published nevertheless
+        assertEquals(version + 1, repository.currentVersion());
+
+        List<Task> batch = List.of(task("First"), task("Title"));
+        assertThrows(DuplicateKeyException.class, () -> repository.createAll(batch));
+        assertEquals(1, repository.count());
+        assertEquals(version + 3, repository.currentVersion());
+    }
+
+    @Test
+    void createAll_shouldWriteBatchesInChunks() {
+        Task existing = repository.create(task("Task 0"));
+        List<Task> batch = new ArrayList<>();
+        batch.add(new Task(existing.id(), "Task 0", "Author", "Project", "completed", ""));
+        for (int i = 1; i < 120; ++i) {
+            batch.add(task("Task " + i));
+        }
+        repository.createAll(batch);
+
+        assertEquals(120, repository.count());
+        assertEquals(119, repository.findByStatus("pending").size());
+        var events = changeLog.read(1, 200).events();
+        assertEquals(120, events.size());
+        assertEquals(TaskChangeEvent.Type.UPDATED, events.get(0).type());
+        assertEquals(TaskChangeEvent.Type.CREATED, events.get(119).type());
+        assertEquals(batch.get(119), events.get(119).task());
+        assertEquals(121, repository.versionOf(batch.get(119).id()));
+    }
+
+    @Test
+    void iterateByStatus_shouldPageThroughAllTasksWhileDeleting() {
+        List<Task> batch = new ArrayList<>();
+        for (int i = 0; i < 250; ++i) {
+            batch.add(task("Task " + i));
+        }
+        batch.add(new Task(UUID.randomUUID(), "Done", "Author", "Project", "completed", ""));
+        repository.createAll(batch);
+
+        // three pages of the fetch size 100, deleting behind the iteration
+        Set<UUID> seen = new HashSet<>();
+        for (Iterator<Task> pending = repository.iterateByStatus("pending"); pending.hasNext();) {
+            Task task = pending.next();
+            assertTrue(seen.add(task.id()));
+            assertTrue(repository.deleteIfUnchanged(task));
+        }
+        assertEquals(250, seen.size());
+        assertEquals(1, repository.count());
+        assertFalse(repository.iterateByStatus("unknown").hasNext());
+    }
+
+    @Test
+    void findAll_andFindAllById_shouldReturnAllRequestedTasks() {
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < 1_500; ++i) {
+            tasks.add(task("Task " + i));
+        }
+        repository.createAll(tasks);
+        assertEquals(1_500, repository.findAll().size());
+
+        // more than one chunk, in request order, unknown IDs skipped
+        List<UUID> ids = new ArrayList<>();
+        for (int i = tasks.size() - 1; i >= 0; i -= 2) {
+            ids.add(tasks.get(i).id());
+            ids.add(UUID.randomUUID());
+        }
+        List<Task> found = repository.findAllById(ids);
+        assertEquals(750, found.size());
+        assertEquals(tasks.get(1_499), found.get(0));
+        assertEquals(tasks.get(1), found.get(749));
+        assertEquals(List.of(tasks.get(7)), repository.findAllById(List.of(tasks.get(7).id())));
+    }
+
+    @Test
+    void deleteIfUnchanged_shouldOnlyDeleteTheStoredTask() {
+        Task task = repository.create(task("Title"));
+        Task stale = new Task(task.id(), "Title", "Author", "Project", "completed", "");
+        assertFalse(repository.deleteIfUnchanged(stale));
+        assertTrue(repository.deleteIfUnchanged(task));
+        assertFalse(repository.deleteIfUnchanged(task));
+        assertTrue(repository.isEmpty());
+        assertEquals(0, repository.versionOf(task.id()));
+    }
+
+    @Test
+    void findChangedSince_shouldReturnChangesTombstonesAndResyncAfterClear() {
+        Task kept = repository.create(task("Kept"));
+        Task deleted = repository.create(task("Deleted"));
+        long version = repository.currentVersion();
+        Task added = repository.create(task("Added"));
+        repository.deleteById(deleted.id());
+
+        TaskDelta delta = repository.findChangedSince(version);
+        assertFalse(delta.resyncRequired());
+        assertEquals(repository.currentVersion(), delta.version());
+        assertEquals(List.of(added), delta.tasks());
+        assertEquals(deleted.id(), delta.deleted().get(0).id());
+        assertEquals(List.of(), repository.findChangedSince(delta.version()).tasks());
+
+        repository.clear();
+        repository.create(kept);
+        TaskDelta afterClear = repository.findChangedSince(delta.version());
+        assertTrue(afterClear.resyncRequired());
+        assertEquals(List.of(kept), afterClear.tasks());
+    }
+
+    @Test
+    void restart_shouldContinueVersionsAndResyncOlderClients() {
+        Task first = repository.create(task("First"));
+        long version = repository.currentVersion();
+        Task second = repository.create(task("Second"));
+        long last = repository.currentVersion();
+
+        var restarted = new TaskRepositoryJdbc(dataSource, new TaskChangeLog(1 << 12),
+                Duration.ofHours(1), 50, 100);
+        assertEquals(last, restarted.currentVersion());
+        assertEquals(last, restarted.versionOf(second.id()));
+        assertTrue(restarted.findChangedSince(version).resyncRequired());
+        assertEquals(List.of(), restarted.findChangedSince(last).tasks());
+
+        restarted.deleteById(first.id());
+        assertEquals(last + 1, restarted.currentVersion());
+        assertEquals(first.id(), restarted.findChangedSince(last).deleted().get(0).id());
+    }
+
+
+    private static Task task(String title) {
+        return new Task(UUID.randomUUID(), title, "Author", "Project", "pending", "");
+    }
+}
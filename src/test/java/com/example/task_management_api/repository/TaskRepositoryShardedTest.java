@@ -0,0 +1,76 @@
+package com.example.task_management_api.repository;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+import java.util.UUID;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import com.example.task_management_api.model.Task;
+
+/**
+ * Unit tests for the sharded repository: routing by UUID and merging of cross-shard queries.
+ */
+
+class TaskRepositoryShardedTest {
+
+    private final TaskRepositorySharded repository =
+            new TaskRepositorySharded(8, new TaskChangeLog(1024), Duration.ofHours(1));
+
+    @AfterEach
+    void tearDown() {
+        repository.close();
+    }
+
+    @Test
+    void crossShardQueries_shouldMergeAllShards() {
+        for (int i = 0; i < 100; ++i) {
+            repository.create(new Task(UUID.randomUUID(), "Task " + i, "Author", "Project",
+                    i % 2 == 0 ? "pending" : "completed", ""));
+        }
+
+        assertEquals(100, repository.count());
+        assertEquals(100, repository.findAll().size());
+        assertEquals(50, repository.findByStatus("pending").size());
+        assertEquals(50, repository.findByStatus("completed").size());
+        assertTrue(repository.findByStatus("in-progress").isEmpty());
+        assertTrue(repository.existsByTitleAndAuthor("Task 42", "Author"));
+        assertFalse(repository.existsByTitleAndAuthor("Task 42", "Someone Else"));
+    }
+
+    @Test
+    void singleTaskOperations_shouldBeRoutedToOwningShard() {
+        UUID id = UUID.randomUUID();
+        Task task = new Task(id, "Title", "Author", "Project", "pending", "");
+        repository.create(task);
+        assertEquals(task, repository.findById(id).orElseThrow());
+
+        repository.create(new Task(id, "Title", "Author", "Project", "completed", ""));
+        assertEquals(1, repository.count());
+        assertTrue(repository.findByStatus("pending").isEmpty());
+
+        repository.deleteById(id);
+        assertTrue(repository.findById(id).isEmpty());
+        assertTrue(repository.isEmpty());
+        assertFalse(repository.existsByTitleAndAuthor("Title", "Author"));
+    }
+
+    @Test
+    void findChangedSince_shouldMergeDeltasOfAllShards() {
+        UUID deleted = UUID.randomUUID();
+        repository.create(new Task(deleted, "Deleted", "Author", "Project", "pending", ""));
+        long version = repository.findChangedSince(0).version();
+
+        for (int i = 0; i < 20; ++i) {
+            repository.create(new Task(UUID.randomUUID(), "Task " + i, "Author", "Project",
+                    "pending", ""));
+        }
+        repository.deleteById(deleted);
+
+        var delta = repository.findChangedSince(version);
+        assertFalse(delta.resyncRequired());
+        assertEquals(20, delta.tasks().size());
+        assertEquals(1, delta.deleted().size());
+        assertEquals(deleted, delta.deleted().get(0).id());
+    }
+}
@@ -0,0 +1,147 @@
+package com.example.task_management_api.repository;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import com.example.task_management_api.model.Task;
+
+/**
+ * Unit tests for the tiered repository: spilling beyond the hot capacity, faulting back in,
+ * frequency driven eviction and consistency of indexes and delta sync for cold tasks.
+ */
+
+class TaskRepositoryTieredTest {
+
+    @TempDir
+    static Path directory;
+
+    private final TaskRepositoryTiered repository = new TaskRepositoryTiered(
+            new TaskChangeLog(1 << 12), Duration.ofHours(1), 10, Set.of("completed"), directory);
+
+    @AfterEach
+    void tearDown() {
+        repository.close();
+    }
+
+    @Test
+    void coldTasks_shouldBeSpilledAndFaultedBackIn() {
+        List<Task> completed = new ArrayList<>();
+        for (int i = 0; i < 100; ++i) {
+            completed.add(repository.create(task("Completed " + i, "completed")));
+            repository.create(task("Pending " + i, "pending"));
+        }
+
+        assertEquals(200, repository.count());
+        assertEquals(90, repository.coldCount());
+        assertTrue(repository.segmentSize() > 0);
+
+        for (Task task : completed) {
+            assertEquals(task, repository.findById(task.id()).orElseThrow());
+        }
+        assertTrue(repository.faultInCount() >= 90);
+        assertEquals(90, repository.coldCount());
+        assertEquals(100, repository.findByStatus("completed").size());
+        assertEquals(100, repository.findByStatus("pending").size());
+        assertEquals(200, repository.findAll().size());
+        assertTrue(repository.existsByTitleAndAuthor("Completed 42", "Author"));
+    }
+
+    @Test
+    void frequentlyReadTasks_shouldStayHot() {
+        Task favourite = repository.create(task("Favourite", "completed"));
+        for (int i = 0; i < 100; ++i) {
+            repository.findById(favourite.id());
+            repository.create(task("Completed " + i, "completed"));
+            repository.findById(favourite.id());
+        }
+        long faultIns = repository.faultInCount();
+
+        repository.findById(favourite.id());
+
+        assertEquals(faultIns, repository.faultInCount());
+    }
+
+    @Test
+    void mutationsOfColdTasks_shouldKeepIndexesAndDeltaConsistent() {
+        List<Task> completed = new ArrayList<>();
+        for (int i = 0; i < 50; ++i) {
+            completed.add(repository.create(task("Completed " + i, "completed")));
+        }
+        long version = repository.currentVersion();
+        Task cold = completed.get(0);
+        Task replaced = new Task(cold.id(), "Reopened", "Author", "Project", "pending", "");
+
+        repository.create(replaced);
+        repository.deleteById(completed.get(1).id());
+
+        assertEquals(replaced, repository.findById(cold.id()).orElseThrow());
+        assertFalse(repository.existsByTitleAndAuthor(cold.title(), "Author"));
+        assertFalse(repository.deleteIfUnchanged(cold));
+        assertEquals(48, repository.findByStatus("completed").size());
+        assertEquals(1, repository.findByStatus("pending").size());
+        assertEquals(49, repository.count());
+        assertTrue(repository.garbageSize() > 0);
+
+        var delta = repository.findChangedSince(version);
+        assertEquals(List.of(replaced), delta.tasks());
+        assertEquals(1, delta.deleted().size());
+
+        repository.clear();
+        assertTrue(repository.isEmpty());
+        assertEquals(0, repository.segmentSize());
+    }
+
+    @Test
+    void concurrentReadsAndUpdatesOfColdTasks_shouldSeeTheLatestCopy() throws Exception {
+        List<Task> completed = new ArrayList<>();
+        for (int i = 0; i < 200; ++i) {
+            completed.add(repository.create(task("Completed " + i, "completed")));
+        }
+        // every thread updates its own tasks and reads all, faulting in and spilling concurrently
+        int threads = 4;
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < threads; ++t) {
+            int thread = t;
+            futures.add(pool.submit(() -> {
+                for (int round = 1; round <= 20; ++round) {
+                    for (int i = thread; i < completed.size(); i += threads) {
+                        Task task = completed.get(i);
+                        repository.create(new Task(task.id(), task.title(), "Author", "Project",
+                                "completed", "Round " + round));
+                        assertEquals("Round " + round,
+                                repository.findById(task.id()).orElseThrow().description());
+                    }
+                    for (Task task : completed) {
+                        assertTrue(repository.findById(task.id()).isPresent());
+                    }
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        pool.shutdown();
+
+        assertEquals(200, repository.count());
+        assertTrue(repository.coldCount() > 0);
+        for (Task task : repository.findByStatus("completed")) {
+            assertEquals("Round 20", task.description());
+        }
+    }
+
+    private static Task task(String title, String status) {
+        return new Task(UUID.randomUUID(), title, "Author", "Project", status, "Description");
+    }
+}
@@ -0,0 +1,154 @@
+package com.example.task_management_api.repository;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import com.example.task_management_api.model.Task;
+
+/**
+ * Tests of watching single tasks ({@link TaskRepository#watch(UUID, long)}) for all repository
+ * implementations: which mutations complete a watcher, outdated versions, and unregistering.
+ */
+
+class TaskRepositoryWatchTest {
+
+    @TempDir
+    static Path directory;
+
+    static Stream<String> implementations() {
+        return Stream.of("in-memory", "sharded", "tiered", "jdbc", "cached");
+    }
+
+    @ParameterizedTest
+    @MethodSource("implementations")
+    void watch_shouldCompleteOnChangeOfTheWatchedTaskOnly(String implementation)
+            throws Exception {
+        TaskRepository repository = create(implementation);
+        UUID id = UUID.randomUUID();
+        repository.create(new Task(id, "Watched", "Author", "Project", "pending", ""));
+        long version = repository.versionOf(id);
+        assertTrue(version > 0);
+
+        CompletableFuture<Void> watcher = repository.watch(id, version);
+        repository.create(new Task(UUID.randomUUID(), "Other", "Author", "Project", "pending", ""));
+        assertFalse(watcher.isDone());
+        // an outdated version is answered right away
+        assertTrue(repository.watch(id, version - 1).isDone());
+
+        repository.create(new Task(id, "Watched", "Author", "Project", "completed", ""));
+        assertTrue(watcher.isDone());
+        assertTrue(repository.versionOf(id) > version);
+
+        // claims, deletes and clears are changes too
+        UUID claimed = UUID.randomUUID();
+        repository.create(new Task(claimed, "Claimed", "Author", "Project", "pending", ""));
+        CompletableFuture<Void> claimWatcher =
+                repository.watch(claimed, repository.versionOf(claimed));
+        while (!claimWatcher.isDone()
+                && repository.claimNext("pending", "in-progress").isPresent()) {
+            // the other pending task may come first
+        }
+        assertTrue(claimWatcher.isDone());
+
+        CompletableFuture<Void> deleteWatcher = repository.watch(id, repository.versionOf(id));
+        assertFalse(deleteWatcher.isDone());
+        repository.deleteById(id);
+        assertTrue(deleteWatcher.isDone());
+        assertEquals(0, repository.versionOf(id));
+        // a task that does not exist is answered right away
+        assertTrue(repository.watch(id, 0).isDone());
+
+        CompletableFuture<Void> clearWatcher =
+                repository.watch(claimed, repository.versionOf(claimed));
+        assertFalse(clearWatcher.isDone());
+        repository.clear();
+        assertTrue(clearWatcher.isDone());
+        close(repository);
+    }
+
+    @Test
+    void watch_shouldUnregisterCancelledWatchers() {
+        var watchers = new TaskWatchers();
+        UUID id = UUID.randomUUID();
+        CompletableFuture<Void> first = watchers.watch(id, 1, key -> 1);
+        CompletableFuture<Void> second = watchers.watch(id, 1, key -> 1);
+        assertEquals(1, watchers.watchedCount());
+
+        first.cancel(false);
+        assertEquals(1, watchers.watchedCount());
+        second.cancel(false);
+        assertEquals(0, watchers.watchedCount());
+
+        CompletableFuture<Void> third = watchers.watch(id, 1, key -> 1);
+        watchers.changed(id);
+        assertTrue(third.isDone() && !third.isCancelled());
+        assertEquals(0, watchers.watchedCount());
+    }
+
+    @Test
+    void watch_onCachedRepository_shouldSeeTheChangeWhenWoken() {
+        var repository = cached(new TaskRepositoryInMemory(new TaskChangeLog(1 << 12),
+                Duration.ofHours(1)));
+        UUID id = UUID.randomUUID();
+        repository.create(new Task(id, "Watched", "Author", "Project", "pending", ""));
+        assertEquals("pending", repository.findById(id).orElseThrow().status());
+
+        // woken on the writing thread, within the mutation of the backing repository
+        var seen = new AtomicReference<Task>();
+        repository.watch(id, repository.versionOf(id))
+                .thenRun(() -> seen.set(repository.findById(id).orElseThrow()));
+        repository.create(new Task(id, "Watched", "Author", "Project", "completed", ""));
+        assertEquals("completed", seen.get().status());
+    }
+
+    @Test
+    void watch_withOutdatedVersion_shouldCompleteOnlyItself() {
+        var watchers = new TaskWatchers();
+        UUID id = UUID.randomUUID();
+        CompletableFuture<Void> current = watchers.watch(id, 2, key -> 2);
+
+        CompletableFuture<Void> outdated = watchers.watch(id, 1, key -> 2);
+        assertTrue(outdated.isDone());
+        assertFalse(current.isDone());
+        assertEquals(1, watchers.watchedCount());
+
+        watchers.changed(id);
+        assertTrue(current.isDone());
+        assertEquals(0, watchers.watchedCount());
+    }
+
+
+    private static TaskRepository create(String implementation) {
+        TaskChangeLog changeLog = new TaskChangeLog(1 << 14);
+        return switch (implementation) {
+            case "in-memory" -> new TaskRepositoryInMemory(changeLog, Duration.ofHours(1));
+            case "sharded" -> new TaskRepositorySharded(4, changeLog, Duration.ofHours(1));
+            case "jdbc" -> new TaskRepositoryJdbc(TaskRepositoryJdbcTest.dataSource(), changeLog,
+                    Duration.ofHours(1), 100, 100);
+            case "cached" -> cached(new TaskRepositoryInMemory(changeLog, Duration.ofHours(1)));
+            default -> new TaskRepositoryTiered(changeLog, Duration.ofHours(1), 100,
+                    Set.of("completed", "in-progress"), directory);
+        };
+    }
+
+    private static TaskRepositoryCached cached(TaskRepository backing) {
+        return new TaskRepositoryCached(backing, 1_000, Duration.ofMinutes(1),
+                Duration.ofMinutes(1));
+    }
+
+    private static void close(TaskRepository repository) throws Exception {
+        if (repository instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package com.example.task_management_api.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+import com.example.task_management_api.model.Task;
+import com.example.task_management_api.repository.TaskChangeLog;
+import com.example.task_management_api.repository.TaskRepositoryInMemory;
+
+/**
+ * Unit tests for the batched write pipeline: every create gets its own result, duplicates are
+ * rejected across and within batches.
+ */
+
+class BatchingTaskServiceTest {
+
+    private final TaskChangeLog changeLog = new TaskChangeLog(1 << 12);
+    private final TaskRepositoryInMemory repository =
+            new TaskRepositoryInMemory(changeLog, Duration.ofHours(1));
+    private final BatchingTaskService service = new BatchingTaskService(repository, 64, 1000);
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        service.shutdown();
+    }
+
+    @Test
+    void concurrentCreates_shouldEachGetCreatedOrConflict() throws Exception {
+        int writers = 8;
+        int perWriter = 100;
+        AtomicInteger conflicts = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(writers);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int w = 0; w < writers; ++w) {
+            futures.add(pool.submit(() -> {
+                for (int i = 0; i < perWriter; ++i) {
+                    // every title is created by two writers
+                    try {
+                        var task = service.createTask("Task " + i, "Author", "Project", "pending",
+                                "");
+                        assertEquals("Task " + i, task.title());
+                        assertNotNull(task.id());
+                    } catch (ResponseStatusException e) {
+                        assertEquals(HttpStatus.CONFLICT, e.getStatusCode());
+                        conflicts.incrementAndGet();
+                    }
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        pool.shutdown();
+
+        assertEquals(perWriter, repository.count());
+        assertEquals(writers * perWriter - perWriter, conflicts.get());
+        assertEquals(perWriter, changeLog.lastSequence());
+    }
+
+    @Test
+    void failedCommit_shouldAnswerStoredTasksAsCreated() throws Exception {
+        // stores the tasks titled "Stored ..." of each batch, then fails
+        var failing = new TaskRepositoryInMemory(new TaskChangeLog(1 << 12), Duration.ofHours(1)) {
+            @Override
+            public List<Task> createAll(List<Task> batch) {
+                super.createAll(batch.stream()
+                        .filter(task -> task.title().startsWith("Stored")).toList());
+                throw new IllegalStateException("disk full");
+            }
+        };
+        var partly = new BatchingTaskService(failing, 64, 1000);
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<Task>> stored = new ArrayList<>();
+            List<Future<Task>> lost = new ArrayList<>();
+            for (int i = 0; i < 20; ++i) {
+                String title = "Stored " + i;
+                stored.add(pool.submit(() -> partly.createTask(title, "A", "P", "pending", "")));
+                String other = "Lost " + i;
+                lost.add(pool.submit(() -> partly.createTask(other, "A", "P", "pending", "")));
+            }
+            for (Future<Task> future : stored) {
+                assertEquals(future.get(), failing.findById(future.get().id()).orElseThrow());
+            }
+            for (Future<Task> future : lost) {
+                var e = assertThrows(ExecutionException.class, future::get);
+                assertEquals("disk full", e.getCause().getMessage());
+            }
+            assertEquals(20, failing.count());
+        } finally {
+            pool.shutdown();
+            partly.shutdown();
+        }
+    }
+
+    @Test
+    void batchRolledBackByDuplicate_shouldConflictOnlyTheDuplicate() throws Exception {
+        // "Taken" is created concurrently after the duplicate check, a unique constraint rejects
+        // it and rolls back the whole batch
+        var constrained = new TaskRepositoryInMemory(new TaskChangeLog(1 << 12),
+                Duration.ofHours(1)) {
+            @Override
+            public List<Task> createAll(List<Task> batch) {
+                if (batch.stream().anyMatch(task -> task.title().equals("Taken"))) {
+                    throw new DuplicateKeyException("tasks_title_author");
+                }
+                return super.createAll(batch);
+            }
+
+            @Override
+            public Task create(Task task) {
+                if (task.title().equals("Taken")) {
+                    throw new DuplicateKeyException("tasks_title_author");
+                }
+                return super.create(task);
+            }
+        };
+        var batching = new BatchingTaskService(constrained, 64, 1000);
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<Task>> others = new ArrayList<>();
+            for (int i = 0; i < 20; ++i) {
+                String title = "Task " + i;
+                others.add(pool.submit(() -> batching.createTask(title, "A", "P", "pending", "")));
+            }
+            Future<Task> taken =
+                    pool.submit(() -> batching.createTask("Taken", "A", "P", "pending", ""));
+
+            for (Future<Task> future : others) {
+                assertEquals(future.get(), constrained.findById(future.get().id()).orElseThrow());
+            }
+            var e = assertThrows(ExecutionException.class, taken::get);
+            var conflict = assertInstanceOf(ResponseStatusException.class, e.getCause());
+            assertEquals(HttpStatus.CONFLICT, conflict.getStatusCode());
+            assertEquals(20, constrained.count());
+        } finally {
+            pool.shutdown();
+            batching.shutdown();
+        }
+    }
+
+    @Test
+    void createTask_shouldBeVisibleWhenAnswered() {
+        var task = service.createTask("Title", "Author", "Project", "completed", "Description");
+
+        assertEquals(task, service.getTaskById(task.id()));
+        var conflict = assertThrows(ResponseStatusException.class,
+                () -> service.createTask("Title", "Author", "Other", "pending", ""));
+        assertEquals(HttpStatus.CONFLICT, conflict.getStatusCode());
+    }
+}
@@ -0,0 +1,93 @@
+package com.example.task_management_api.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import com.example.task_management_api.model.Task;
+import com.example.task_management_api.repository.TaskChangeLog;
+import com.example.task_management_api.repository.TaskRepositoryInMemory;
+
+/**
+ * Unit tests for retention: only expired tasks in a retained status are evicted, as regular
+ * deletes, and tasks replaced during a sweep survive.
+ */
+
+class TaskRetentionSweeperTest {
+
+    private final TaskRepositoryInMemory repository =
+            new TaskRepositoryInMemory(new TaskChangeLog(1 << 12), Duration.ofHours(1));
+    private final TaskRetentionSweeper sweeper = new TaskRetentionSweeper(repository,
+            Duration.ofDays(7), List.of("completed"), Duration.ofHours(1), 16, Duration.ZERO);
+
+    @AfterEach
+    void tearDown() {
+        sweeper.shutdown();
+    }
+
+    @Test
+    void sweep_shouldEvictOnlyExpiredTasksInRetainedStatus() throws InterruptedException {
+        Instant old = Instant.now().minus(Duration.ofDays(30));
+        for (int i = 0; i < 100; ++i) {
+            repository.create(task("Old completed " + i, "completed", old));
+            repository.create(task("Old pending " + i, "pending", old));
+            repository.create(task("New completed " + i, "completed", Instant.now()));
+        }
+        long version = repository.currentVersion();
+
+        assertEquals(100, sweeper.sweep());
+
+        assertEquals(200, repository.count());
+        assertEquals(100, repository.findByStatus("completed").size());
+        assertEquals(100, repository.findByStatus("pending").size());
+        assertFalse(repository.existsByTitleAndAuthor("Old completed 42", "Author"));
+        assertTrue(repository.existsByTitleAndAuthor("Old pending 42", "Author"));
+        assertEquals(100, repository.findChangedSince(version).deleted().size());
+        assertEquals(100, sweeper.evictionCount());
+        assertEquals(0, sweeper.sweep());
+    }
+
+    @Test
+    void failingSweeps_shouldBeCountedAndKeepTheSchedule() throws InterruptedException {
+        var failing = new TaskRepositoryInMemory(new TaskChangeLog(1 << 12), Duration.ofHours(1)) {
+            @Override
+            public Iterator<Task> iterateByStatus(String status) {
+                throw new IllegalStateException("index unavailable");
+            }
+        };
+        var scheduled = new TaskRetentionSweeper(failing, Duration.ofDays(7),
+                List.of("completed"), Duration.ofMillis(10), 16, Duration.ZERO);
+        try {
+            long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+            while (scheduled.failureCount() < 3 && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+            assertTrue(scheduled.failureCount() >= 3);
+        } finally {
+            scheduled.shutdown();
+        }
+    }
+
+    @Test
+    void deleteIfUnchanged_shouldKeepReplacedTask() {
+        Task expired = task("Title", "completed", Instant.now().minus(Duration.ofDays(30)));
+        repository.create(expired);
+        Task replaced = new Task(expired.id(), "Title", "Author", "Project", "completed", "");
+        repository.create(replaced);
+
+        assertFalse(repository.deleteIfUnchanged(expired));
+        assertEquals(replaced, repository.findById(expired.id()).orElseThrow());
+        assertTrue(repository.deleteIfUnchanged(replaced));
+        assertTrue(repository.isEmpty());
+    }
+
+    private static Task task(String title, String status, Instant updatedAt) {
+        return new Task(UUID.randomUUID(), title, "Author", "Project", status, "", updatedAt,
+                updatedAt);
+    }
+}